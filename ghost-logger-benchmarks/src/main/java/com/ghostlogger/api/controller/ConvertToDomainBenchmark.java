@@ -0,0 +1,56 @@
+package com.ghostlogger.api.controller;
+
+import com.ghostlogger.benchmark.Payloads;
+import com.ghostlogger.core.api.dto.request.LogBatchRequest;
+import com.ghostlogger.core.api.dto.request.LogEntryRequest;
+import com.ghostlogger.core.domain.model.TraceContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LogIngestionController#convertToDomain} over a deserialized batch
+ * <p>
+ * Lives in the controller's package to reach the package-private method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--enable-preview", "-Dlogback.configurationFile=logback-benchmark.xml"})
+public class ConvertToDomainBenchmark {
+
+    @Param({"20", "200"})
+    public int batchSize;
+
+    private List<LogEntryRequest> requests;
+    private TraceContext traceContext;
+
+    @Setup
+    public void setUp() throws IOException {
+        LogBatchRequest batch = Payloads.objectMapper().readValue(Payloads.batchJson(batchSize, 42), LogBatchRequest.class);
+        requests = batch.logs();
+        traceContext = new TraceContext("4bf92f3577b34da6a3ce929d0e0e4736", "00f067aa0ba902b7", null, null);
+    }
+
+    @Benchmark
+    public void convertBatch(final Blackhole blackhole) {
+        for (LogEntryRequest request : requests) {
+            blackhole.consume(LogIngestionController.convertToDomain(request, traceContext));
+        }
+    }
+}
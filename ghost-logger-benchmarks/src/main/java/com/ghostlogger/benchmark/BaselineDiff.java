@@ -0,0 +1,103 @@
+package com.ghostlogger.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compare two JMH JSON result files, benchmark by benchmark
+ * <p>
+ * For every benchmark and parameter combination present in both files, prints the
+ * score and the allocation per operation ({@code gc.alloc.rate.norm}) of each run
+ * and the relative change. A change is a regression when it is worse than the
+ * threshold (default 10%): a higher time or allocation, or a lower throughput.
+ * Exits with status 1 if any regression is found, so it can gate a build.
+ * <pre>
+ * java -cp ghost-logger-benchmarks/target/benchmarks.jar com.ghostlogger.benchmark.BaselineDiff \
+ *     baselines/abc1234.json jmh-result.json [thresholdPercent]
+ * </pre>
+ */
+public final class BaselineDiff {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private BaselineDiff() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineDiff <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> current = load(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %8s %14s %14s %8s%n",
+            "benchmark", "baseline", "current", "change", "alloc base", "alloc now", "change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s%n", entry.getKey(), "(new)");
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            double scoreBefore = before.path("primaryMetric").path("score").asDouble();
+            double scoreAfter = after.path("primaryMetric").path("score").asDouble();
+            double scoreChange = change(scoreBefore, scoreAfter);
+            double allocBefore = allocation(before);
+            double allocAfter = allocation(after);
+            double allocChange = change(allocBefore, allocAfter);
+
+            boolean slower = higherIsBetter ? scoreChange < -threshold : scoreChange > threshold;
+            boolean allocates = allocChange > threshold && allocAfter - allocBefore >= 1;
+            if (slower || allocates) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %7.1f%% %14.1f %14.1f %7.1f%%%s%n",
+                entry.getKey(), scoreBefore, scoreAfter, scoreChange, allocBefore, allocAfter, allocChange,
+                slower || allocates ? "  REGRESSION" : "");
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.printf("%-90s %14s%n", key, "(removed)");
+            }
+        }
+
+        System.out.printf("%d regression(s) beyond %.1f%%%n", regressions, threshold);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Results keyed by benchmark name, mode and parameters
+     */
+    private static Map<String, JsonNode> load(final File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText())
+                .append(" [").append(result.path("mode").asText()).append(']');
+            Map<String, String> params = new TreeMap<>();
+            result.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            params.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static double allocation(final JsonNode result) {
+        return result.path("secondaryMetrics").path(ALLOCATION).path("score").asDouble(Double.NaN);
+    }
+
+    private static double change(final double before, final double after) {
+        return before == 0 ? 0 : (after - before) / before * 100;
+    }
+}
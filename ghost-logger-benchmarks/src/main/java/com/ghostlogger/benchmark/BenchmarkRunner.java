@@ -0,0 +1,68 @@
+package com.ghostlogger.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry point of {@code benchmarks.jar}
+ * <p>
+ * Accepts the usual JMH options (benchmark regex, {@code -f}, {@code -wi}, ...) and
+ * always attaches the GC profiler, so every result carries allocation per operation
+ * ({@code gc.alloc.rate.norm}) next to its score. Results are written as JSON;
+ * {@code --baseline <file>} names the file, to be diffed later with {@link BaselineDiff}.
+ * <pre>
+ * java --enable-preview -jar ghost-logger-benchmarks/target/benchmarks.jar \
+ *     --baseline ghost-logger-benchmarks/baselines/$(git rev-parse --short HEAD).json [regex] [JMH options]
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULT = "jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> jmhArgs = new ArrayList<>();
+        String baseline = null;
+        for (int i = 0; i < args.length; i++) {
+            if ("--baseline".equals(args[i]) && i + 1 < args.length) {
+                baseline = args[++i];
+            } else {
+                jmhArgs.add(args[i]);
+            }
+        }
+
+        CommandLineOptions commandLine = new CommandLineOptions(jmhArgs.toArray(String[]::new));
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+            return;
+        }
+        if (commandLine.shouldList()) {
+            new Runner(commandLine).list();
+            return;
+        }
+
+        String result = baseline != null ? baseline : commandLine.getResult().orElse(DEFAULT_RESULT);
+        Path parent = Path.of(result).toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .parent(commandLine)
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result(result);
+        new Runner(options.build()).run();
+        System.out.println("Results written to " + result);
+    }
+}
@@ -0,0 +1,90 @@
+package com.ghostlogger.benchmark;
+
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.template.TemplateMiner;
+import com.ghostlogger.core.domain.template.TemplateMinerPolicy;
+import com.ghostlogger.infrastructure.adapter.InMemoryLogRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link InMemoryLogRepository} save and findBySource under contention
+ * <p>
+ * The repository is pre-filled with {@code entries} rows and writers overwrite
+ * those same ids, so its size, and with it the cost of a findBySource scan,
+ * stays constant across iterations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--enable-preview", "-Dlogback.configurationFile=logback-benchmark.xml"})
+public class InMemoryLogRepositoryBenchmark {
+
+    @Param({"10000"})
+    public int entries;
+
+    private InMemoryLogRepository repository;
+    private List<LogEntry> rows;
+
+    @Setup
+    public void setUp() {
+        TemplateMiner templateMiner = new TemplateMiner(TemplateMinerPolicy.defaults());
+        repository = new InMemoryLogRepository(templateMiner);
+        rows = Payloads.domainBatch(entries, 42);
+        for (LogEntry row : rows) {
+            templateMiner.mine(row.message(), 1);
+            repository.save(row);
+        }
+    }
+
+    /**
+     * Per-thread cursor over the rows, so writers do not share a counter
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        LogEntry next(final List<LogEntry> rows) {
+            LogEntry row = rows.get(next);
+            next = next + 1 == rows.size() ? 0 : next + 1;
+            return row;
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public LogEntry save(final Cursor cursor) {
+        return repository.save(cursor.next(rows));
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public LogEntry readWriteSave(final Cursor cursor) {
+        return repository.save(cursor.next(rows));
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public List<LogEntry> readWriteFindBySource(final Cursor cursor) {
+        return repository.findBySource(cursor.next(rows).source());
+    }
+}
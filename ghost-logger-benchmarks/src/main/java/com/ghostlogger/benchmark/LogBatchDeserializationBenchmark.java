@@ -0,0 +1,57 @@
+package com.ghostlogger.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.ghostlogger.core.api.dto.request.LogBatchRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson polymorphic deserialization of {@link LogBatchRequest}
+ * <p>
+ * Every entry is resolved through the {@code type} discriminator of
+ * {@code LogEntryRequest}. {@link #fromStream()} reads from an InputStream, as
+ * Spring's message converter does; {@link #fromBytes()} is the lower bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--enable-preview", "-Dlogback.configurationFile=logback-benchmark.xml"})
+public class LogBatchDeserializationBenchmark {
+
+    @Param({"1", "20", "200"})
+    public int batchSize;
+
+    private ObjectReader reader;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        reader = Payloads.objectMapper().readerFor(LogBatchRequest.class);
+        body = Payloads.batchJson(batchSize, 42);
+    }
+
+    @Benchmark
+    public LogBatchRequest fromBytes() throws IOException {
+        return reader.readValue(body);
+    }
+
+    @Benchmark
+    public LogBatchRequest fromStream() throws IOException {
+        return reader.readValue(new ByteArrayInputStream(body));
+    }
+}
@@ -0,0 +1,136 @@
+package com.ghostlogger.benchmark;
+
+import com.ghostlogger.core.domain.analytics.CardinalityPolicy;
+import com.ghostlogger.core.domain.analytics.CardinalityTracker;
+import com.ghostlogger.core.domain.analytics.MetricAggregator;
+import com.ghostlogger.core.domain.analytics.MetricRollupCompactor;
+import com.ghostlogger.core.domain.analytics.RollupPolicy;
+import com.ghostlogger.core.domain.analytics.WindowResolution;
+import com.ghostlogger.core.domain.model.MetricLog;
+import com.ghostlogger.core.domain.model.TraceContext;
+import com.ghostlogger.core.domain.template.TemplateMiner;
+import com.ghostlogger.core.domain.template.TemplateMinerPolicy;
+import com.ghostlogger.infrastructure.adapter.InMemoryLogRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memory and storage held after a year of synthetic metrics
+ * <p>
+ * Replays one sample per series per minute for a simulated year through the
+ * {@link MetricAggregator} and the raw {@link InMemoryLogRepository}, sealing
+ * windows every simulated minute and enforcing rollup retention every simulated
+ * hour, as {@code MetricWindowScheduler} does in the server. The score is the
+ * replay time; the footprint is reported through auxiliary counters:
+ * <ul>
+ *   <li>{@code windowBytes} - sealed-window footprint estimated by the aggregator</li>
+ *   <li>{@code retainedHeapBytes} - heap growth measured after a full GC</li>
+ *   <li>{@code tenSecondWindows} / {@code oneMinuteWindows} / {@code oneHourWindows}</li>
+ *   <li>{@code rawSamples} - raw MetricLog rows left after raw retention</li>
+ * </ul>
+ * With the default policy the totals must plateau at the tier capacities, rather
+ * than grow with the number of samples ingested.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx4g", "-Dlogback.configurationFile=logback-benchmark.xml"})
+public class MetricRollupFootprintBenchmark {
+
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Duration SAMPLE_INTERVAL = Duration.ofMinutes(1);
+    private static final Duration SIMULATED = Duration.ofDays(365);
+
+    @Param({"20"})
+    public int series;
+
+    private MetricAggregator aggregator;
+    private InMemoryLogRepository repository;
+    private MetricRollupCompactor compactor;
+    private Map<String, String>[] tags;
+    private long heapBefore;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long windowBytes;
+        public long retainedHeapBytes;
+        public long tenSecondWindows;
+        public long oneMinuteWindows;
+        public long oneHourWindows;
+        public long rawSamples;
+    }
+
+    @Setup(Level.Iteration)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        heapBefore = usedHeapAfterGc();
+        TemplateMiner templateMiner = new TemplateMiner(TemplateMinerPolicy.defaults());
+        aggregator = new MetricAggregator(RollupPolicy.defaults(), new CardinalityTracker(CardinalityPolicy.defaults()));
+        repository = new InMemoryLogRepository(templateMiner);
+        compactor = new MetricRollupCompactor(aggregator, repository);
+        tags = new Map[series];
+        for (int i = 0; i < series; i++) {
+            tags[i] = Map.of("host", "host-" + i, "region", i % 2 == 0 ? "eu-west-1" : "us-east-1");
+        }
+    }
+
+    @Benchmark
+    public MetricAggregator yearOfMetrics(final Footprint footprint) {
+        SplittableRandom random = new SplittableRandom(42);
+        TraceContext traceContext = new TraceContext("rollup-benchmark", "span", null, null);
+        long samples = SIMULATED.dividedBy(SAMPLE_INTERVAL);
+        long samplesPerHour = Duration.ofHours(1).dividedBy(SAMPLE_INTERVAL);
+        for (long sample = 0; sample < samples; sample++) {
+            Instant timestamp = START.plus(SAMPLE_INTERVAL.multipliedBy(sample));
+            for (int i = 0; i < series; i++) {
+                MetricLog metricLog = new MetricLog(new UUID(sample, i), "Request latency", "rollup-benchmark",
+                    timestamp, traceContext, "http.server.latency", Math.exp(3 + random.nextDouble()), "ms", tags[i]);
+                repository.save(metricLog);
+                aggregator.record(metricLog);
+            }
+            compactor.sealWindows(timestamp);
+            if (sample % samplesPerHour == 0) {
+                compactor.enforceRetention(timestamp);
+            }
+        }
+
+        footprint.windowBytes = aggregator.footprintBytes();
+        footprint.tenSecondWindows = aggregator.windowCount(WindowResolution.TEN_SECONDS);
+        footprint.oneMinuteWindows = aggregator.windowCount(WindowResolution.ONE_MINUTE);
+        footprint.oneHourWindows = aggregator.windowCount(WindowResolution.ONE_HOUR);
+        footprint.rawSamples = repository.findAll().size();
+        footprint.retainedHeapBytes = usedHeapAfterGc() - heapBefore;
+        return aggregator;
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,135 @@
+package com.ghostlogger.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.ghostlogger.core.domain.model.AuditLog;
+import com.ghostlogger.core.domain.model.ErrorLog;
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.model.MetricLog;
+import com.ghostlogger.core.domain.model.TraceContext;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Deterministic ingest payloads shared by the benchmarks
+ * <p>
+ * Batches mix 60% ERROR, 10% AUDIT and 30% METRIC entries over a small set of
+ * sources and traces, with templated messages and bounded metric tags, so
+ * the template miner, aggregator and trackers see production-like repetition
+ * rather than one entry copied N times.
+ */
+public final class Payloads {
+
+    private static final String[] SOURCES = {
+        "checkout-service", "payment-service", "inventory-service", "auth-service", "search-service"
+    };
+    private static final String[] REGIONS = {"eu-west-1", "us-east-1", "ap-south-1"};
+    private static final String STACK_TRACE = """
+        java.lang.IllegalStateException: Payment declined
+        \tat com.example.checkout.PaymentService.charge(PaymentService.java:88)
+        \tat com.example.checkout.CheckoutController.submit(CheckoutController.java:41)
+        Caused by: java.io.IOException: Connection reset
+        \tat java.base/sun.nio.ch.SocketDispatcher.read0(Native Method)
+        \t... 12 more""";
+
+    private Payloads() {
+    }
+
+    /**
+     * ObjectMapper configured like Spring Boot's auto-configured one (java.time support,
+     * unknown properties ignored)
+     */
+    public static ObjectMapper objectMapper() {
+        return JsonMapper.builder()
+            .findAndAddModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    }
+
+    /**
+     * A {@code LogBatchRequest} body, as sent to {@code POST /api/v1/logs/ingest}
+     */
+    public static byte[] batchJson(final int size, final long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        String traceId = UUID.nameUUIDFromBytes(Long.toString(seed).getBytes(StandardCharsets.UTF_8)).toString();
+        StringBuilder json = new StringBuilder(size * 400).append("{\"logs\":[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            String source = SOURCES[random.nextInt(SOURCES.length)];
+            String timestamp = Instant.ofEpochMilli(1_700_000_000_000L + i * 7L).toString();
+            String traceContext = "{\"traceId\":\"" + traceId + "\",\"spanId\":\"span-" + (i % 8)
+                + "\",\"userId\":\"user-" + random.nextInt(500) + "\"}";
+            int kind = random.nextInt(10);
+            if (kind < 6) {
+                json.append("{\"type\":\"ERROR\",\"message\":\"Payment ").append(random.nextInt(100_000))
+                    .append(" declined for order ").append(random.nextInt(1_000_000))
+                    .append("\",\"source\":\"").append(source)
+                    .append("\",\"timestamp\":\"").append(timestamp)
+                    .append("\",\"traceContext\":").append(traceContext)
+                    .append(",\"severity\":\"").append(random.nextInt(4) == 0 ? "FATAL" : "ERROR")
+                    .append("\",\"exceptionType\":\"java.lang.IllegalStateException\",\"stackTrace\":\"")
+                    .append(STACK_TRACE.replace("\n", "\\n").replace("\t", "\\t")).append("\"}");
+            } else if (kind < 7) {
+                json.append("{\"type\":\"AUDIT\",\"message\":\"User updated order ").append(random.nextInt(1_000_000))
+                    .append("\",\"source\":\"").append(source)
+                    .append("\",\"timestamp\":\"").append(timestamp)
+                    .append("\",\"traceContext\":").append(traceContext)
+                    .append(",\"userId\":\"user-").append(random.nextInt(500))
+                    .append("\",\"action\":\"UPDATE\",\"resourceType\":\"Order\",\"resourceId\":\"order-")
+                    .append(random.nextInt(1_000_000)).append("\",\"metadata\":{\"ip\":\"10.0.")
+                    .append(random.nextInt(256)).append('.').append(random.nextInt(256)).append("\"}}");
+            } else {
+                json.append("{\"type\":\"METRIC\",\"message\":\"Request latency\",\"source\":\"").append(source)
+                    .append("\",\"timestamp\":\"").append(timestamp)
+                    .append("\",\"traceContext\":").append(traceContext)
+                    .append(",\"metricName\":\"http.server.latency\",\"value\":")
+                    .append(Math.exp(3 + random.nextDouble()))
+                    .append(",\"unit\":\"ms\",\"tags\":{\"region\":\"").append(REGIONS[random.nextInt(REGIONS.length)])
+                    .append("\",\"status\":\"").append(random.nextInt(20) == 0 ? "500" : "200").append("\"}}");
+            }
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The same mix as {@link #batchJson(int, long)}, already converted to domain entries
+     */
+    public static List<LogEntry> domainBatch(final int size, final long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        TraceContext traceContext = new TraceContext("trace-" + seed, "span-0", null, null);
+        List<LogEntry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String source = SOURCES[random.nextInt(SOURCES.length)];
+            Instant timestamp = Instant.ofEpochMilli(1_700_000_000_000L + i * 7L);
+            int kind = random.nextInt(10);
+            if (kind < 6) {
+                entries.add(new ErrorLog(UUID.randomUUID(),
+                    "Payment " + random.nextInt(100_000) + " declined for order " + random.nextInt(1_000_000),
+                    source, timestamp, traceContext,
+                    random.nextInt(4) == 0 ? LogEntry.LogLevel.FATAL : LogEntry.LogLevel.ERROR,
+                    "java.lang.IllegalStateException", STACK_TRACE));
+            } else if (kind < 7) {
+                entries.add(new AuditLog(UUID.randomUUID(),
+                    "User updated order " + random.nextInt(1_000_000),
+                    source, timestamp, traceContext,
+                    "user-" + random.nextInt(500), "UPDATE", "Order", "order-" + random.nextInt(1_000_000),
+                    Map.of("ip", "10.0." + random.nextInt(256) + "." + random.nextInt(256))));
+            } else {
+                entries.add(new MetricLog(UUID.randomUUID(), "Request latency", source, timestamp, traceContext,
+                    "http.server.latency", Math.exp(3 + random.nextDouble()), "ms",
+                    Map.of("region", REGIONS[random.nextInt(REGIONS.length)],
+                        "status", random.nextInt(20) == 0 ? "500" : "200")));
+            }
+        }
+        return entries;
+    }
+}
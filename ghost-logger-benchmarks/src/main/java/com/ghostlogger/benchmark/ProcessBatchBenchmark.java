@@ -0,0 +1,64 @@
+package com.ghostlogger.benchmark;
+
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.service.StructuredLogProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link StructuredLogProcessor#processBatch(List)} with stub ports
+ * <p>
+ * The built-in stages of a {@link StubProcessor}: real analytics with default
+ * policies and no rules, alert and storage stubs that either return immediately or
+ * park for {@code portLatencyMicros}. Alerts leave through the AlertDispatcher queue
+ * and entries through the sink queue of the SinkRegistry, so both ports stay off the
+ * measured path: the score should not depend on {@code portLatencyMicros}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"--enable-preview", "-Dlogback.configurationFile=logback-benchmark.xml"})
+public class ProcessBatchBenchmark {
+
+    @Param({"20", "200"})
+    public int batchSize;
+
+    @Param({"0", "200"})
+    public long portLatencyMicros;
+
+    private StubProcessor stubProcessor;
+    private StructuredLogProcessor processor;
+    private List<LogEntry> batch;
+
+    @Setup
+    public void setUp() {
+        stubProcessor = new StubProcessor(TimeUnit.MICROSECONDS.toNanos(portLatencyMicros));
+        processor = stubProcessor.processor;
+        batch = Payloads.domainBatch(batchSize, 42);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        stubProcessor.close();
+    }
+
+    @Benchmark
+    public int processBatch() throws Exception {
+        return processor.processBatch(batch);
+    }
+}
@@ -0,0 +1,113 @@
+package com.ghostlogger.benchmark;
+
+import com.ghostlogger.core.domain.model.AuditLog;
+import com.ghostlogger.core.domain.model.ErrorLog;
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.redaction.RedactionPolicy;
+import com.ghostlogger.core.domain.redaction.Redactor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Per-entry cost of the {@link Redactor} against one regular expression per PII type
+ * <p>
+ * Redacts the message, stack trace and metadata of the {@link Payloads} mix, one
+ * entry per operation; the score is nanoseconds per entry. With {@code piiPercent}
+ * 0 no entry holds PII, which is the common case and should cost one scan and no
+ * allocation; otherwise that share of the entries carries an e-mail, a card number,
+ * a secret and a JWT. The baseline runs the usual {@code replaceAll} per pattern and field.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--enable-preview", "-Dlogback.configurationFile=logback-benchmark.xml"})
+public class RedactionBenchmark {
+
+    private static final Pattern[] BASELINE = {
+        Pattern.compile("[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}"),
+        Pattern.compile("\\b(?:\\d[ -]?){13,19}\\b"),
+        Pattern.compile("\\beyJ[A-Za-z0-9_-]{7,}\\.[A-Za-z0-9_-]+\\.[A-Za-z0-9_-]*"),
+        Pattern.compile("\\b(?:AKIA|ASIA)[A-Z0-9]{16}\\b"),
+        Pattern.compile("(?i)\\bbearer [A-Za-z0-9._~+/=-]{8,}"),
+        Pattern.compile("(?i)\\b(?:password|passwd|secret|token|api_key|apikey|api-key|access_key|private_key)"
+            + "[\"']?\\s*[=:]\\s*[\"']?[^\\s,;&\"']+")
+    };
+
+    @Param({"0", "10", "100"})
+    public int piiPercent;
+
+    private final Redactor redactor = new Redactor(RedactionPolicy.defaults());
+    private List<LogEntry> entries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<LogEntry> batch = Payloads.domainBatch(1024, 42);
+        entries = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            LogEntry entry = batch.get(i);
+            entries.add(i % 100 < piiPercent ? withPii(entry, i) : entry);
+        }
+    }
+
+    @Benchmark
+    public LogEntry redactor() {
+        LogEntry entry = entries.get(next);
+        next = (next + 1) & 1023;
+        return redactor.redact(entry);
+    }
+
+    @Benchmark
+    public void regexBaseline(final Blackhole blackhole) {
+        LogEntry entry = entries.get(next);
+        next = (next + 1) & 1023;
+        blackhole.consume(regex(entry.message()));
+        if (entry instanceof ErrorLog errorLog) {
+            blackhole.consume(regex(errorLog.stackTrace()));
+        } else if (entry instanceof AuditLog auditLog) {
+            auditLog.metadata().values().forEach(value -> blackhole.consume(regex(value)));
+        }
+    }
+
+    private static String regex(final String text) {
+        String redacted = text;
+        for (Pattern pattern : BASELINE) {
+            redacted = pattern.matcher(redacted).replaceAll("[REDACTED]");
+        }
+        return redacted;
+    }
+
+    private static LogEntry withPii(final LogEntry entry, final int i) {
+        LogEntry redactable = entry.withMessage(entry.message() + " for customer" + i + "@example.com card 4111 1111 1111 1111");
+        return switch (redactable) {
+            case ErrorLog errorLog -> errorLog.withStackTrace(
+                "Caused by: login failed password=hunter" + i + " token eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiIxIn0.c2ln\n"
+                    + errorLog.stackTrace());
+            case AuditLog auditLog -> {
+                Map<String, String> metadata = new HashMap<>(auditLog.metadata());
+                metadata.put("api_key", "key-" + i);
+                yield auditLog.withMetadata(metadata);
+            }
+            default -> redactable;
+        };
+    }
+}
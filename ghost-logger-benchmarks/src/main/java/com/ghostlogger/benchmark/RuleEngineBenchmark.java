@@ -0,0 +1,86 @@
+package com.ghostlogger.benchmark;
+
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.port.StorageService;
+import com.ghostlogger.core.domain.rule.RuleEngine;
+import com.ghostlogger.core.domain.rule.RuleSet;
+import com.ghostlogger.core.domain.stage.StageContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-entry cost of a compiled {@link RuleSet}
+ * <p>
+ * Applies {@code rules} generated rules to the {@link Payloads} mix, one entry per
+ * operation; the score is nanoseconds per entry. The rules resemble a real rule
+ * file: most target one source or metric and so are indexed, every tenth is an
+ * unindexed {@code or} over message prefix and exception type, and a few always
+ * match the payload (set a tag, route, re-level), so the entry copies are included.
+ * The cost should grow with the unindexed rules only, not with the rule count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--enable-preview", "-Dlogback.configurationFile=logback-benchmark.xml"})
+public class RuleEngineBenchmark {
+
+    @Param({"10", "100", "500"})
+    public int rules;
+
+    private RuleSet ruleSet;
+    private List<LogEntry> entries;
+    private final StageContext context = new StageContext();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        RuleEngine ruleEngine = new RuleEngine(Set.of(StorageService.PRIMARY_SINK));
+        ruleSet = ruleEngine.load("benchmark", ruleText(rules));
+        entries = Payloads.domainBatch(1024, 42);
+    }
+
+    @Benchmark
+    public LogEntry applyRules() {
+        LogEntry entry = entries.get(next);
+        next = (next + 1) & 1023;
+        context.reset();
+        return ruleSet.apply(entry, context);
+    }
+
+    static String ruleText(final int count) {
+        StringBuilder text = new StringBuilder("""
+            rule "error-status-tag" when type == METRIC and tags.status == "500" then set tags.alerting = "true"
+            rule "fatal-payments" when source == "payment-service" and severity == FATAL then route "primary"
+            rule "inventory-noise" when source == "inventory-service" and severity == ERROR
+                and message contains "declined" then level WARN
+            """);
+        for (int i = 0; i < count - 3; i++) {
+            text.append(switch (i % 10) {
+                case 6, 7 -> "rule \"tag-%d\" when type == METRIC and metricName == \"metric-%d\" then set tags.team = \"team-%d\"\n"
+                    .formatted(i, i, i);
+                case 8 -> "rule \"audit-%d\" when type == AUDIT and action in (\"EXPORT_%d\", \"DELETE_%d\") then route \"primary\"\n"
+                    .formatted(i, i, i);
+                case 9 -> "rule \"unindexed-%d\" when message startsWith \"prefix-%d\" or exceptionType == \"com.example.Error%d\" then level WARN\n"
+                    .formatted(i, i, i);
+                default -> "rule \"drop-%d\" when source == \"service-%d\" and message contains \"debug\" then drop\n"
+                    .formatted(i, i);
+            });
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,94 @@
+package com.ghostlogger.benchmark;
+
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.model.TraceContext;
+import com.ghostlogger.core.domain.pipeline.ShardedLogPipeline;
+import com.ghostlogger.core.domain.pipeline.ShardingPolicy;
+import com.ghostlogger.core.domain.port.PipelineMetrics;
+import com.ghostlogger.core.domain.sampling.PipelinePressure;
+import com.ghostlogger.core.domain.sampling.SamplingPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link ShardedLogPipeline} throughput by shard count
+ * <p>
+ * Each invocation queues {@value #BATCHES} batches of {@value #BATCH_SIZE} entries,
+ * one trace each, partitioned by trace, and waits until the shard writers have
+ * processed all of them; the score is entries per second end to end. The ports
+ * are behind the alert and sink queues, so the score should grow close to linearly
+ * with {@code shards} up to the number of cores, with or without port latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(ShardedPipelineBenchmark.BATCHES * ShardedPipelineBenchmark.BATCH_SIZE)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"--enable-preview", "-Dlogback.configurationFile=logback-benchmark.xml"})
+public class ShardedPipelineBenchmark {
+
+    static final int BATCHES = 64;
+    static final int BATCH_SIZE = 20;
+
+    @Param({"1", "2", "4", "8"})
+    public int shards;
+
+    @Param({"0", "200"})
+    public long portLatencyMicros;
+
+    private StubProcessor stubProcessor;
+    private ShardedLogPipeline pipeline;
+    private List<List<LogEntry>> batches;
+    private long submitted;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        stubProcessor = new StubProcessor(TimeUnit.MICROSECONDS.toNanos(portLatencyMicros));
+        ShardingPolicy policy = new ShardingPolicy(
+            shards, ShardingPolicy.PartitionKey.TRACE, 4096, 256, Duration.ofSeconds(10));
+        pipeline = new ShardedLogPipeline(
+            policy, stubProcessor.processor, new PipelinePressure(SamplingPolicy.defaults()), PipelineMetrics.NOOP);
+        batches = new ArrayList<>(BATCHES);
+        for (int i = 0; i < BATCHES; i++) {
+            batches.add(Payloads.domainBatch(BATCH_SIZE, i));
+        }
+        submitted = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        pipeline.close();
+        stubProcessor.close();
+    }
+
+    @Benchmark
+    public long submitAndDrain() throws Exception {
+        for (List<LogEntry> batch : batches) {
+            TraceContext.callWithContext(batch.get(0).traceContext(), () -> pipeline.submit(batch));
+        }
+        submitted += BATCHES * BATCH_SIZE;
+        while (pipeline.processedEntries() + pipeline.failedEntries() + pipeline.rejectedEntries() < submitted) {
+            LockSupport.parkNanos(10_000);
+        }
+        return pipeline.processedEntries();
+    }
+}
@@ -0,0 +1,96 @@
+package com.ghostlogger.benchmark;
+
+import com.ghostlogger.core.domain.alert.AlertDispatchPolicy;
+import com.ghostlogger.core.domain.alert.AlertDispatcher;
+import com.ghostlogger.core.domain.analytics.CardinalityPolicy;
+import com.ghostlogger.core.domain.analytics.CardinalityTracker;
+import com.ghostlogger.core.domain.analytics.ErrorHeavyHitterTracker;
+import com.ghostlogger.core.domain.analytics.HeavyHitterPolicy;
+import com.ghostlogger.core.domain.analytics.MetricAggregator;
+import com.ghostlogger.core.domain.analytics.RollupPolicy;
+import com.ghostlogger.core.domain.model.ErrorLog;
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.port.AlertService;
+import com.ghostlogger.core.domain.port.PipelineMetrics;
+import com.ghostlogger.core.domain.port.PortGuard;
+import com.ghostlogger.core.domain.port.StorageService;
+import com.ghostlogger.core.domain.redaction.RedactionPolicy;
+import com.ghostlogger.core.domain.redaction.Redactor;
+import com.ghostlogger.core.domain.rule.RuleEngine;
+import com.ghostlogger.core.domain.service.StructuredLogProcessor;
+import com.ghostlogger.core.domain.sink.SinkRegistry;
+import com.ghostlogger.core.domain.stage.AlertStage;
+import com.ghostlogger.core.domain.stage.AnalyticsStage;
+import com.ghostlogger.core.domain.stage.RedactionStage;
+import com.ghostlogger.core.domain.stage.RuleStage;
+import com.ghostlogger.core.domain.stage.StorageStage;
+import com.ghostlogger.core.domain.tail.LogTailBroadcaster;
+import com.ghostlogger.core.domain.template.TemplateMiner;
+import com.ghostlogger.core.domain.template.TemplateMinerPolicy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A {@link StructuredLogProcessor} with the built-in stages, as the server wires it
+ * <p>
+ * Redaction and the analytics (aggregator, trackers, template miner, tail broadcaster)
+ * are the real ones with default policies and no rules are loaded; alert and storage are
+ * stubs that either return immediately or park for the given latency, behind the
+ * AlertDispatcher and the SinkRegistry queues as in the server.
+ */
+final class StubProcessor implements AutoCloseable {
+
+    final RuleEngine ruleEngine;
+    final AlertDispatcher alertDispatcher;
+    final SinkRegistry sinkRegistry;
+    final StructuredLogProcessor processor;
+
+    StubProcessor(final long portLatencyNanos) {
+        CardinalityTracker cardinalityTracker = new CardinalityTracker(CardinalityPolicy.defaults());
+        sinkRegistry = new SinkRegistry(List.of(new StubStorageService(portLatencyNanos)), Map.of(),
+            PortGuard.DIRECT, PipelineMetrics.NOOP);
+        ruleEngine = new RuleEngine(sinkRegistry.names());
+        alertDispatcher = new AlertDispatcher(new StubAlertService(portLatencyNanos),
+            PortGuard.DIRECT, PipelineMetrics.NOOP, AlertDispatchPolicy.defaults());
+        processor = new StructuredLogProcessor(List.of(
+            new RuleStage(ruleEngine),
+            new RedactionStage(new Redactor(RedactionPolicy.defaults())),
+            new AnalyticsStage(
+                new MetricAggregator(RollupPolicy.defaults(), cardinalityTracker),
+                new ErrorHeavyHitterTracker(HeavyHitterPolicy.defaults()),
+                cardinalityTracker,
+                new LogTailBroadcaster(),
+                new TemplateMiner(TemplateMinerPolicy.defaults())),
+            new AlertStage(alertDispatcher),
+            new StorageStage(sinkRegistry)
+        ), PipelineMetrics.NOOP);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        alertDispatcher.close();
+        sinkRegistry.close();
+    }
+
+    private static void simulateLatency(final long latencyNanos) {
+        if (latencyNanos > 0) {
+            LockSupport.parkNanos(latencyNanos);
+        }
+    }
+
+    private record StubAlertService(long latencyNanos) implements AlertService {
+        @Override
+        public void sendAlert(final ErrorLog errorLog) {
+            simulateLatency(latencyNanos);
+        }
+    }
+
+    private record StubStorageService(long latencyNanos) implements StorageService {
+        @Override
+        public void store(final LogEntry logEntry) {
+            simulateLatency(latencyNanos);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.ghostlogger.benchmark;
+
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.template.TemplateMiner;
+import com.ghostlogger.core.domain.template.TemplateMinerPolicy;
+import com.ghostlogger.core.domain.template.TemplatedMessage;
+import com.ghostlogger.infrastructure.adapter.InMemoryLogRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap held by {@link InMemoryLogRepository} rows, with and without template storage
+ * <p>
+ * Saves {@code rows} entries of the benchmark payload mix, in batches that are
+ * dropped once stored, so only what the repository and the miner keep is retained:
+ * <ul>
+ *   <li>{@code raw} - the miner has learned nothing, so every message is kept as is</li>
+ *   <li>{@code encoded} - messages are mined first and the repository encodes them again</li>
+ *   <li>{@code mined} - the repository reuses the mined template, as the storage sink does</li>
+ * </ul>
+ * The score is the time to fill the repository, so {@code encoded} against {@code mined}
+ * is the cost of the second tokenization; the footprint is reported through auxiliary
+ * counters:
+ * <ul>
+ *   <li>{@code retainedHeapBytes} - heap growth measured after a full GC, miner included</li>
+ *   <li>{@code bytesPerRow} - the same, per stored row</li>
+ *   <li>{@code templates} - templates learned by the miner</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx4g", "-Dlogback.configurationFile=logback-benchmark.xml"})
+public class TemplateStorageFootprintBenchmark {
+
+    private static final int BATCH = 10_000;
+
+    @Param({"raw", "encoded", "mined"})
+    public String storage;
+
+    @Param({"1000000"})
+    public int rows;
+
+    private TemplateMiner templateMiner;
+    private InMemoryLogRepository repository;
+    private long heapBefore;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long retainedHeapBytes;
+        public long bytesPerRow;
+        public long templates;
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        templateMiner = null;
+        repository = null;
+        heapBefore = usedHeapAfterGc();
+        templateMiner = new TemplateMiner(TemplateMinerPolicy.defaults());
+        repository = new InMemoryLogRepository(templateMiner);
+    }
+
+    @Benchmark
+    public InMemoryLogRepository fill(final Footprint footprint) {
+        for (int saved = 0; saved < rows; saved += BATCH) {
+            List<LogEntry> batch = Payloads.domainBatch(Math.min(BATCH, rows - saved), saved);
+            for (LogEntry entry : batch) {
+                switch (storage) {
+                    case "raw" -> repository.save(entry);
+                    case "encoded" -> {
+                        templateMiner.mine(entry.message(), 1);
+                        repository.save(entry);
+                    }
+                    default -> {
+                        TemplatedMessage mined = templateMiner.mine(entry.message(), 1);
+                        repository.save(entry, mined);
+                    }
+                }
+            }
+        }
+
+        footprint.retainedHeapBytes = usedHeapAfterGc() - heapBefore;
+        footprint.bytesPerRow = footprint.retainedHeapBytes / rows;
+        footprint.templates = templateMiner.templateCount();
+        return repository;
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,57 @@
+package com.ghostlogger.benchmark;
+
+import com.ghostlogger.core.domain.model.TraceContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TraceContext} creation and lookup
+ * <p>
+ * {@link TraceContext#create()} draws three random UUIDs from the shared
+ * SecureRandom; {@link #createContended()} shows what that costs with every
+ * core minting contexts at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--enable-preview", "-Dlogback.configurationFile=logback-benchmark.xml"})
+public class TraceContextBenchmark {
+
+    private final TraceContext bound = new TraceContext("trace-1", "span-1", null, "user-1");
+
+    @Benchmark
+    public TraceContext create() {
+        return TraceContext.create();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public TraceContext createContended() {
+        return TraceContext.create();
+    }
+
+    /**
+     * Context supplied by the client: no UUIDs generated
+     */
+    @Benchmark
+    public TraceContext fromRequest() {
+        return new TraceContext("4bf92f3577b34da6a3ce929d0e0e4736", "00f067aa0ba902b7", null, "user-42");
+    }
+
+    @Benchmark
+    public TraceContext currentBound() throws Exception {
+        return TraceContext.callWithContext(bound, TraceContext::current);
+    }
+}
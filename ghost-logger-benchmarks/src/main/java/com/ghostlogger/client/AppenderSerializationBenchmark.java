@@ -0,0 +1,129 @@
+package com.ghostlogger.client;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * Appender batch serialization, per event
+ * <p>
+ * Compares the former per-event {@code HashMap} + {@code ObjectMapper} path with
+ * {@link EventJsonWriter} over pooled buffers, with and without gzip. Run with the
+ * GC profiler; {@code gc.alloc.rate.norm} is bytes allocated per event.
+ * Lives in the client's package to reach its package-private writer and buffers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--enable-preview", "-Dlogback.configurationFile=logback-benchmark.xml"})
+@OperationsPerInvocation(AppenderSerializationBenchmark.BATCH_SIZE)
+public class AppenderSerializationBenchmark {
+
+    static final int BATCH_SIZE = 20;
+
+    private List<ILoggingEvent> batch;
+    private ObjectMapper objectMapper;
+    private EventJsonWriter writer;
+    private PooledBuffer body;
+    private PooledBuffer compressed;
+    private GzipEncoder gzip;
+
+    @Setup
+    public void setUp() {
+        batch = sampleBatch();
+        objectMapper = new ObjectMapper();
+        writer = new EventJsonWriter();
+        body = new PooledBuffer(16 << 10);
+        compressed = new PooledBuffer(16 << 10);
+        gzip = new GzipEncoder(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    @TearDown
+    public void tearDown() {
+        gzip.close();
+    }
+
+    @Benchmark
+    public byte[] legacy() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes("{\"logs\":[".getBytes());
+        for (int i = 0; i < batch.size(); i++) {
+            ILoggingEvent e = batch.get(i);
+            Map<String, Object> log = new HashMap<>();
+            log.put("type", "ERROR");
+            log.put("message", e.getFormattedMessage());
+            log.put("source", e.getLoggerName());
+            log.put("severity", e.getLevel().toString());
+            log.put("exceptionType", e.getThrowableProxy() != null ? e.getThrowableProxy().getClassName() : null);
+            log.put("stackTrace", e.getThrowableProxy() != null ? Arrays.toString(e.getThrowableProxy().getStackTraceElementProxyArray()) : null);
+            if (i > 0) out.write(',');
+            out.writeBytes(objectMapper.writeValueAsBytes(log));
+        }
+        out.writeBytes("]}".getBytes());
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public int streaming() throws IOException {
+        body.reset();
+        writer.writeBatch(batch, body);
+        return body.size();
+    }
+
+    @Benchmark
+    public int streamingGzip() throws IOException {
+        streaming();
+        gzip.encode(body, compressed);
+        return compressed.size();
+    }
+
+    /**
+     * A realistic mix: mostly INFO with trace ids, some WARN, one ERROR with a cause chain
+     */
+    private static List<ILoggingEvent> sampleBatch() {
+        LoggerContext context = new LoggerContext();
+        List<ILoggingEvent> events = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Level level = i == 0 ? Level.ERROR : i % 5 == 0 ? Level.WARN : Level.INFO;
+            Throwable throwable = level == Level.ERROR
+                ? new IllegalStateException("Payment declined", new java.io.IOException("Connection reset"))
+                : null;
+            LoggingEvent event = new LoggingEvent(AppenderSerializationBenchmark.class.getName(),
+                context.getLogger("com.example.checkout.PaymentService"), level,
+                "Processed payment {} for order {} in {} ms", throwable, new Object[] {"pay-" + i, 1000 + i, 12 + i});
+            event.setMDCPropertyMap(Map.of(
+                "traceId", "4bf92f3577b34da6a3ce929d0e0e4736",
+                "spanId", "00f067aa0ba902b" + (i % 10),
+                "userId", "user-42"));
+            event.prepareForDeferredProcessing();
+            events.add(event);
+        }
+        return events;
+    }
+}
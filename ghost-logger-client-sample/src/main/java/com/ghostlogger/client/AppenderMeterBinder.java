@@ -0,0 +1,115 @@
+package com.ghostlogger.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Micrometer view of {@link AppenderMetricsMBean}, for applications that publish
+ * metrics through a {@link MeterRegistry} rather than JMX.
+ * <p>
+ * Micrometer is an optional dependency: only applications that bind this class need
+ * it on the classpath. Meters read the appender's counters at scrape time and are
+ * tagged with the appender name; they read NaN until the appender has started.
+ * <ul>
+ *   <li>{@code ghostlogger.appender.events{result}} - enqueued, sent, spilled and replayed events</li>
+ *   <li>{@code ghostlogger.appender.dropped{reason}} - newest, oldest, level, spill_full and rejected drops</li>
+ *   <li>{@code ghostlogger.appender.queue.size} / {@code .capacity} - ring buffer depth</li>
+ *   <li>{@code ghostlogger.appender.spill.size} - bytes waiting in the spill file</li>
+ *   <li>{@code ghostlogger.appender.lag} - creation-to-send time of the last sent event</li>
+ *   <li>{@code ghostlogger.appender.batches.in.flight} / {@code ghostlogger.appender.batch.size}</li>
+ * </ul>
+ * <pre>{@code
+ * LogbackHttpAppender appender = (LogbackHttpAppender) rootLogger.getAppender("GHOST");
+ * new AppenderMeterBinder(appender).bindTo(registry);
+ * }</pre>
+ */
+public final class AppenderMeterBinder implements MeterBinder {
+
+    private final LogbackHttpAppender appender;
+    private final String name;
+
+    public AppenderMeterBinder(final LogbackHttpAppender appender) {
+        this.appender = appender;
+        this.name = appender.getName() != null ? appender.getName() : "default";
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        events(registry, "enqueued", AppenderMetricsMBean::getEnqueued);
+        events(registry, "sent", AppenderMetricsMBean::getSent);
+        events(registry, "spilled", AppenderMetricsMBean::getSpilled);
+        events(registry, "replayed", AppenderMetricsMBean::getReplayed);
+        dropped(registry, "newest", AppenderMetricsMBean::getDroppedNewest);
+        dropped(registry, "oldest", AppenderMetricsMBean::getDroppedOldest);
+        dropped(registry, "level", AppenderMetricsMBean::getDroppedByLevel);
+        dropped(registry, "spill_full", AppenderMetricsMBean::getDroppedSpillFull);
+        dropped(registry, "rejected", AppenderMetricsMBean::getDroppedRejected);
+
+        Gauge.builder("ghostlogger.appender.queue.size", appender, read(AppenderMetricsMBean::getQueueSize))
+            .description("Events waiting in the appender ring buffer")
+            .baseUnit("events")
+            .tag("appender", name)
+            .register(registry);
+        Gauge.builder("ghostlogger.appender.queue.capacity", appender, read(AppenderMetricsMBean::getQueueCapacity))
+            .description("Capacity of the appender ring buffer")
+            .baseUnit("events")
+            .tag("appender", name)
+            .register(registry);
+        Gauge.builder("ghostlogger.appender.spill.size", appender, read(AppenderMetricsMBean::getSpillBytes))
+            .description("Bytes in the spill file waiting to be replayed")
+            .baseUnit("bytes")
+            .tag("appender", name)
+            .register(registry);
+        TimeGauge.builder("ghostlogger.appender.lag", appender, TimeUnit.MILLISECONDS,
+                read(AppenderMetricsMBean::getLagMillis))
+            .description("Time between creation and send of the most recently sent event")
+            .tag("appender", name)
+            .register(registry);
+        Gauge.builder("ghostlogger.appender.batches.in.flight", appender,
+                read(AppenderMetricsMBean::getInFlightBatches))
+            .description("Batches sent and not yet answered, including those waiting to be retried")
+            .baseUnit("batches")
+            .tag("appender", name)
+            .register(registry);
+        Gauge.builder("ghostlogger.appender.batch.size", appender, read(AppenderMetricsMBean::getBatchSize))
+            .description("Current adaptive target for events per batch")
+            .baseUnit("events")
+            .tag("appender", name)
+            .register(registry);
+    }
+
+    private void events(final MeterRegistry registry, final String result,
+                        final ToDoubleFunction<AppenderMetricsMBean> count) {
+        FunctionCounter.builder("ghostlogger.appender.events", appender, read(count))
+            .description("Events handled by the appender, by result")
+            .baseUnit("events")
+            .tag("appender", name)
+            .tag("result", result)
+            .register(registry);
+    }
+
+    private void dropped(final MeterRegistry registry, final String reason,
+                         final ToDoubleFunction<AppenderMetricsMBean> count) {
+        FunctionCounter.builder("ghostlogger.appender.dropped", appender, read(count))
+            .description("Events the appender lost, by reason")
+            .baseUnit("events")
+            .tag("appender", name)
+            .tag("reason", reason)
+            .register(registry);
+    }
+
+    /**
+     * Read through the appender, whose metrics are replaced when it is restarted
+     */
+    private static ToDoubleFunction<LogbackHttpAppender> read(final ToDoubleFunction<AppenderMetricsMBean> value) {
+        return appender -> {
+            AppenderMetricsMBean metrics = appender.getMetrics();
+            return metrics == null ? Double.NaN : value.applyAsDouble(metrics);
+        };
+    }
+}
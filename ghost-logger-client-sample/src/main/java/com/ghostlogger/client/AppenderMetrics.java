@@ -0,0 +1,119 @@
+package com.ghostlogger.client;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Counters behind {@link AppenderMetricsMBean}; striped so producers never contend
+ */
+final class AppenderMetrics implements AppenderMetricsMBean {
+
+    final LongAdder enqueued = new LongAdder();
+    final LongAdder sent = new LongAdder();
+    final LongAdder droppedNewest = new LongAdder();
+    final LongAdder droppedOldest = new LongAdder();
+    final LongAdder droppedByLevel = new LongAdder();
+    final LongAdder droppedSpillFull = new LongAdder();
+    final LongAdder droppedRejected = new LongAdder();
+    final LongAdder spilled = new LongAdder();
+    final LongAdder replayed = new LongAdder();
+    private final IntSupplier queueSize;
+    private final int queueCapacity;
+    private final LongSupplier spillBytes;
+    private volatile long lagMillis;
+    volatile int inFlightBatches;
+    volatile int batchSize;
+
+    AppenderMetrics(final IntSupplier queueSize, final int queueCapacity, final LongSupplier spillBytes) {
+        this.queueSize = queueSize;
+        this.queueCapacity = queueCapacity;
+        this.spillBytes = spillBytes;
+    }
+
+    void recordSent(final int events, final long oldestTimestamp) {
+        sent.add(events);
+        lagMillis = System.currentTimeMillis() - oldestTimestamp;
+    }
+
+    @Override
+    public long getEnqueued() {
+        return enqueued.sum();
+    }
+
+    @Override
+    public long getSent() {
+        return sent.sum();
+    }
+
+    @Override
+    public long getDroppedNewest() {
+        return droppedNewest.sum();
+    }
+
+    @Override
+    public long getDroppedOldest() {
+        return droppedOldest.sum();
+    }
+
+    @Override
+    public long getDroppedByLevel() {
+        return droppedByLevel.sum();
+    }
+
+    @Override
+    public long getDroppedSpillFull() {
+        return droppedSpillFull.sum();
+    }
+
+    @Override
+    public long getDroppedRejected() {
+        return droppedRejected.sum();
+    }
+
+    @Override
+    public long getDroppedTotal() {
+        return droppedNewest.sum() + droppedOldest.sum() + droppedByLevel.sum() + droppedSpillFull.sum()
+            + droppedRejected.sum();
+    }
+
+    @Override
+    public long getSpilled() {
+        return spilled.sum();
+    }
+
+    @Override
+    public long getReplayed() {
+        return replayed.sum();
+    }
+
+    @Override
+    public long getSpillBytes() {
+        return spillBytes.getAsLong();
+    }
+
+    @Override
+    public int getQueueSize() {
+        return queueSize.getAsInt();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    @Override
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    @Override
+    public int getInFlightBatches() {
+        return inFlightBatches;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return batchSize;
+    }
+}
@@ -0,0 +1,61 @@
+package com.ghostlogger.client;
+
+/**
+ * JMX view of {@link LogbackHttpAppender} queue health.
+ * <p>
+ * Registered as {@code com.ghostlogger.client:type=LogbackHttpAppender,name=<appender>};
+ * a Prometheus JMX exporter can scrape it as-is, and {@link AppenderMeterBinder}
+ * publishes it to a Micrometer registry.
+ */
+public interface AppenderMetricsMBean {
+
+    long getEnqueued();
+
+    long getSent();
+
+    long getDroppedNewest();
+
+    long getDroppedOldest();
+
+    long getDroppedByLevel();
+
+    /**
+     * Events lost because a failed batch could not be spilled (spill full or disabled)
+     */
+    long getDroppedSpillFull();
+
+    /**
+     * Events the server refused as invalid (4xx), or that could not be serialized
+     */
+    long getDroppedRejected();
+
+    long getDroppedTotal();
+
+    long getSpilled();
+
+    long getReplayed();
+
+    /**
+     * Bytes in the spill file waiting to be replayed
+     */
+    long getSpillBytes();
+
+    int getQueueSize();
+
+    int getQueueCapacity();
+
+    /**
+     * Milliseconds between creation and send of the most recently sent event
+     */
+    long getLagMillis();
+
+    /**
+     * Batches sent and not yet answered, including those waiting to be retried
+     */
+    int getInFlightBatches();
+
+    /**
+     * Current adaptive target for events per batch
+     */
+    int getBatchSize();
+}
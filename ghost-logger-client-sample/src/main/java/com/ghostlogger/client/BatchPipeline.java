@@ -0,0 +1,293 @@
+package com.ghostlogger.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Keeps up to {@code maxInFlight} batches on the wire with {@link HttpClient#sendAsync}.
+ * <p>
+ * Responses are not handled on the HTTP client's threads: they only queue the finished
+ * batch and wake the worker, which calls {@link #processCompletions(Listener)} and so
+ * owns all state here. A batch that failed in a retryable way (I/O error, 5xx, 408,
+ * 429) stays in the window and is resent once the server pause is over, up to
+ * {@code maxAttempts}. The pause is the server's {@code Retry-After} when it sends one,
+ * otherwise an exponential backoff with jitter, so clients that failed together do not
+ * come back together.
+ * <p>
+ * A 503 that lists {@code rejectedEntries} means the server took the rest of the batch:
+ * only the rejected part is handed back to be resent, so nothing is delivered twice.
+ */
+final class BatchPipeline {
+
+    private static final long MIN_BACKOFF_MILLIS = 1_000;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+    private static final long MAX_RETRY_AFTER_MILLIS = 300_000;
+    private static final JsonFactory JSON = new JsonFactory();
+    // Only a 503 body is read, for the entries the server rejected
+    private static final HttpResponse.BodyHandler<int[]> REJECTED_ENTRIES = response -> response.statusCode() == 503
+        ? HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(), BatchPipeline::rejectedEntries)
+        : HttpResponse.BodySubscribers.replacing(null);
+
+    /**
+     * Outcomes of dispatched batches, called on the worker thread
+     */
+    interface Listener {
+
+        void onDelivered(OutgoingBatch batch, long latencyNanos);
+
+        /**
+         * Retries exhausted; the batch may be spilled
+         */
+        void onFailed(OutgoingBatch batch);
+
+        /**
+         * The server refused the payload itself; resending it cannot succeed
+         */
+        void onRejected(OutgoingBatch batch);
+
+        /**
+         * The server took all but the rejected entries, indexes into the batch; a batch of
+         * those may be resent through {@link #retry}
+         */
+        void onPartiallyDelivered(OutgoingBatch batch, int[] rejected);
+    }
+
+    private final HttpClient httpClient;
+    private final URI uri;
+    private final boolean gzip;
+    private final int maxInFlight;
+    private final int maxAttempts;
+    private final Thread worker;
+    private final ConcurrentLinkedQueue<OutgoingBatch> completed = new ConcurrentLinkedQueue<>();
+    private final ArrayDeque<OutgoingBatch> retries = new ArrayDeque<>();
+    private int inFlight;
+    private long pausedUntil;
+    private long backoffMillis;
+
+    BatchPipeline(final HttpClient httpClient, final URI uri, final boolean gzip,
+                  final int maxInFlight, final int maxAttempts, final Thread worker) {
+        this.httpClient = httpClient;
+        this.uri = uri;
+        this.gzip = gzip;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.worker = worker;
+    }
+
+    /**
+     * @return true if a new batch may be dispatched now
+     */
+    boolean canDispatch(final long now) {
+        return inFlight < maxInFlight && now >= pausedUntil;
+    }
+
+    boolean isIdle() {
+        return inFlight == 0;
+    }
+
+    int inFlight() {
+        return inFlight;
+    }
+
+    boolean isPaused(final long now) {
+        return now < pausedUntil;
+    }
+
+    void dispatch(final OutgoingBatch batch) {
+        inFlight++;
+        send(batch);
+    }
+
+    /**
+     * Resend a batch built from the rejected part of another once the pause is over; it
+     * carries on that batch's attempts, and is failed if they are used up
+     */
+    void retry(final OutgoingBatch batch, final Listener listener) {
+        if (batch.attempts >= maxAttempts) {
+            listener.onFailed(batch);
+            return;
+        }
+        inFlight++;
+        retries.addLast(batch);
+    }
+
+    /**
+     * Handle finished requests and resend retries whose pause is over
+     *
+     * @return true if anything happened
+     */
+    boolean processCompletions(final Listener listener) {
+        boolean progressed = false;
+        OutgoingBatch batch;
+        while ((batch = completed.poll()) != null) {
+            progressed = true;
+            complete(batch, listener);
+        }
+        if (!retries.isEmpty() && System.currentTimeMillis() >= pausedUntil) {
+            progressed = true;
+            while ((batch = retries.pollFirst()) != null) {
+                send(batch);
+            }
+        }
+        return progressed;
+    }
+
+    /**
+     * Take back the batches waiting to be resent; called once the worker stops
+     * dispatching, so they can be spilled instead of lost
+     */
+    List<OutgoingBatch> takeRetries() {
+        List<OutgoingBatch> batches = new ArrayList<>(retries);
+        inFlight -= retries.size();
+        retries.clear();
+        return batches;
+    }
+
+    private void complete(final OutgoingBatch batch, final Listener listener) {
+        int status = batch.status;
+        if (status >= 200 && status < 300) {
+            inFlight--;
+            backoffMillis = 0;
+            listener.onDelivered(batch, System.nanoTime() - batch.sentAtNanos);
+            return;
+        }
+        if (batch.error != null) {
+            System.out.println("[LogbackHttpAppender] HTTP send failed: " + batch.error.getMessage());
+        } else {
+            System.out.println("[LogbackHttpAppender] Server response: " + status + " for batch of " + batch.eventCount + " logs");
+        }
+        if (batch.rejectedEntries != null) {
+            inFlight--;
+            pause(batch.retryAfterMillis);
+            listener.onPartiallyDelivered(batch, batch.rejectedEntries);
+            return;
+        }
+        if (status >= 400 && status < 500 && status != 408 && status != 429) {
+            inFlight--;
+            listener.onRejected(batch);
+            return;
+        }
+        pause(batch.retryAfterMillis);
+        if (batch.attempts < maxAttempts) {
+            retries.addLast(batch);
+        } else {
+            inFlight--;
+            listener.onFailed(batch);
+        }
+    }
+
+    /**
+     * Stop dispatching until the server's Retry-After, or a jittered exponential backoff
+     */
+    private void pause(final long retryAfterMillis) {
+        long delay;
+        if (retryAfterMillis > 0) {
+            delay = retryAfterMillis + ThreadLocalRandom.current().nextLong(retryAfterMillis / 10 + 1);
+        } else {
+            backoffMillis = Math.min(Math.max(backoffMillis * 2, MIN_BACKOFF_MILLIS), MAX_BACKOFF_MILLIS);
+            // Equal jitter: at least half the backoff, spread over the other half
+            delay = backoffMillis / 2 + ThreadLocalRandom.current().nextLong(backoffMillis / 2 + 1);
+        }
+        pausedUntil = Math.max(pausedUntil, System.currentTimeMillis() + delay);
+    }
+
+    private void send(final OutgoingBatch batch) {
+        batch.attempts++;
+        batch.status = 0;
+        batch.retryAfterMillis = 0;
+        batch.rejectedEntries = null;
+        batch.error = null;
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+            .uri(uri)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(batch.body.array(), 0, batch.body.size()))
+            .timeout(Duration.ofSeconds(5));
+        if (gzip) {
+            builder.header("Content-Encoding", "gzip");
+        }
+        batch.sentAtNanos = System.nanoTime();
+        httpClient.sendAsync(builder.build(), REJECTED_ENTRIES)
+            .whenComplete((response, error) -> {
+                if (response != null) {
+                    batch.status = response.statusCode();
+                    batch.retryAfterMillis = retryAfterMillis(response.headers().firstValue("Retry-After"));
+                    batch.rejectedEntries = response.body();
+                } else {
+                    batch.error = error;
+                }
+                completed.add(batch);
+                LockSupport.unpark(worker);
+            });
+    }
+
+    /**
+     * The {@code rejectedEntries} of a 503 problem body; null when absent, empty or unparseable
+     */
+    static int[] rejectedEntries(final byte[] body) {
+        try (JsonParser parser = JSON.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!field.equals("rejectedEntries") || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                int[] indexes = new int[8];
+                int count = 0;
+                while (parser.nextToken() == JsonToken.VALUE_NUMBER_INT) {
+                    if (count == indexes.length) {
+                        indexes = Arrays.copyOf(indexes, count * 2);
+                    }
+                    indexes[count++] = parser.getIntValue();
+                }
+                return count == 0 ? null : Arrays.copyOf(indexes, count);
+            }
+            return null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Retry-After as delta-seconds or an HTTP-date; 0 when absent or unparseable
+     */
+    static long retryAfterMillis(final Optional<String> header) {
+        if (header.isEmpty()) {
+            return 0;
+        }
+        String value = header.get().trim();
+        long millis;
+        try {
+            millis = Long.parseLong(value) * 1000;
+        } catch (NumberFormatException e) {
+            try {
+                millis = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli()
+                    - System.currentTimeMillis();
+            } catch (DateTimeParseException ignored) {
+                return 0;
+            }
+        }
+        return Math.min(Math.max(millis, 0), MAX_RETRY_AFTER_MILLIS);
+    }
+}
@@ -0,0 +1,48 @@
+package com.ghostlogger.client;
+
+/**
+ * Picks how many events go into the next batch from observed request latency.
+ * <p>
+ * Larger batches amortize the round trip, but past a point they only make each
+ * request slower. Additive-increase / multiplicative-decrease keeps the size where
+ * requests complete within {@code targetLatency}: full batches that came back quickly
+ * grow it by a fixed step of 1/16 of the size range, slow or failed requests halve it.
+ * Worker thread only.
+ */
+final class BatchSizer {
+
+    private final int minSize;
+    private final int maxSize;
+    private final long targetLatencyNanos;
+    private final int step;
+    private int size;
+
+    BatchSizer(final int initialSize, final int minSize, final int maxSize, final long targetLatencyNanos) {
+        this.minSize = Math.max(1, minSize);
+        this.maxSize = Math.max(this.minSize, maxSize);
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.step = Math.max(1, (this.maxSize - this.minSize) / 16);
+        this.size = Math.min(this.maxSize, Math.max(this.minSize, initialSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    void onDelivered(final int events, final long latencyNanos) {
+        if (latencyNanos > targetLatencyNanos) {
+            shrink();
+        } else if (events >= size && latencyNanos < targetLatencyNanos / 2) {
+            // Only full batches say anything about whether a bigger one would fit
+            size = Math.min(maxSize, size + step);
+        }
+    }
+
+    void onFailed() {
+        shrink();
+    }
+
+    private void shrink() {
+        size = Math.max(minSize, size >> 1);
+    }
+}
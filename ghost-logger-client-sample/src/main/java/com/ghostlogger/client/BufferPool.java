@@ -0,0 +1,35 @@
+package com.ghostlogger.client;
+
+import java.util.ArrayDeque;
+
+/**
+ * Small pool of {@link PooledBuffer}s for request bodies.
+ * <p>
+ * Buffers that grew past {@code maxRetainedBytes} for an unusually large batch are
+ * not returned, so one burst does not pin memory for the lifetime of the appender.
+ */
+final class BufferPool {
+
+    private final ArrayDeque<PooledBuffer> free = new ArrayDeque<>();
+    private final int initialCapacity;
+    private final int maxPooled;
+    private final int maxRetainedBytes;
+
+    BufferPool(final int initialCapacity, final int maxPooled, final int maxRetainedBytes) {
+        this.initialCapacity = initialCapacity;
+        this.maxPooled = maxPooled;
+        this.maxRetainedBytes = maxRetainedBytes;
+    }
+
+    synchronized PooledBuffer acquire() {
+        PooledBuffer buffer = free.pollFirst();
+        return buffer != null ? buffer : new PooledBuffer(initialCapacity);
+    }
+
+    synchronized void release(final PooledBuffer buffer) {
+        if (free.size() < maxPooled && buffer.capacity() <= maxRetainedBytes) {
+            buffer.reset();
+            free.addFirst(buffer);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.ghostlogger.client;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.StackTraceElementProxy;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Marker;
+
+/**
+ * Streams logging events as ingestion JSON with a single reused {@link JsonGenerator}.
+ * <p>
+ * The generator is created once over a redirecting stream and pointed at whichever
+ * {@link PooledBuffer} the caller passes in, so serializing an event allocates no
+ * maps, no intermediate strings and no per-batch generator: timestamps are formatted
+ * into a scratch char array, and stack traces are assembled in a reused builder from
+ * the frame strings Logback already holds.
+ * <p>
+ * Mapping to the ingestion API:
+ * - Events are sent as {@code type=ERROR} (the server's leveled log entry) with the
+ *   Logback level as {@code severity}
+ * - Events with an {@code AUDIT} marker whose MDC carries {@code userId} and
+ *   {@code action} are sent as {@code type=AUDIT}
+ * - MDC {@code traceId}/{@code spanId}/{@code correlationId}/{@code userId} (or the
+ *   OpenTelemetry {@code trace_id}/{@code span_id}) become {@code traceContext}
+ * <p>
+ * Not thread-safe.
+ */
+final class EventJsonWriter {
+
+    static final String AUDIT_MARKER = "AUDIT";
+
+    private static final SerializedString LOGS = new SerializedString("logs");
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+    private static final SerializedString SOURCE = new SerializedString("source");
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializedString SEVERITY = new SerializedString("severity");
+    private static final SerializedString EXCEPTION_TYPE = new SerializedString("exceptionType");
+    private static final SerializedString STACK_TRACE = new SerializedString("stackTrace");
+    private static final SerializedString TRACE_CONTEXT = new SerializedString("traceContext");
+    private static final SerializedString TRACE_ID = new SerializedString("traceId");
+    private static final SerializedString SPAN_ID = new SerializedString("spanId");
+    private static final SerializedString CORRELATION_ID = new SerializedString("correlationId");
+    private static final SerializedString USER_ID = new SerializedString("userId");
+    private static final SerializedString ACTION = new SerializedString("action");
+    private static final SerializedString RESOURCE_TYPE = new SerializedString("resourceType");
+    private static final SerializedString RESOURCE_ID = new SerializedString("resourceId");
+    private static final String EMPTY_MESSAGE = "(no message)";
+
+    private final RedirectingOutputStream output = new RedirectingOutputStream();
+    private final JsonGenerator generator;
+    private final char[] timestamp = new char[IsoTimestamp.LENGTH];
+    private final StringBuilder stackTrace = new StringBuilder(4096);
+    private char[] stackTraceChars = new char[4096];
+
+    EventJsonWriter() {
+        try {
+            this.generator = new JsonFactory().createGenerator(output, JsonEncoding.UTF8);
+            this.generator.setRootValueSeparator(null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Write {@code {"logs":[...]}} for the events into {@code target}
+     */
+    void writeBatch(final List<ILoggingEvent> events, final PooledBuffer target) throws IOException {
+        startBatch(target);
+        for (int i = 0; i < events.size(); i++) {
+            appendToBatch(events.get(i));
+        }
+        endBatch();
+    }
+
+    /**
+     * Open a {@code {"logs":[} body in {@code target}; add events with
+     * {@link #appendToBatch(ILoggingEvent)} and close it with {@link #endBatch()}
+     */
+    void startBatch(final PooledBuffer target) throws IOException {
+        output.target = target;
+        generator.writeStartObject();
+        generator.writeFieldName(LOGS);
+        generator.writeStartArray();
+    }
+
+    void appendToBatch(final ILoggingEvent event) throws IOException {
+        writeEvent(event);
+    }
+
+    void endBatch() throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    /**
+     * Size of the body being written, including bytes still buffered in the generator
+     */
+    int batchBytes() {
+        return output.target.size() + generator.getOutputBuffered();
+    }
+
+    /**
+     * Write one event object into {@code target}, e.g. as a spill record
+     */
+    void writeEvent(final ILoggingEvent event, final PooledBuffer target) throws IOException {
+        output.target = target;
+        writeEvent(event);
+        generator.flush();
+    }
+
+    /**
+     * Write {@code {"logs":[...]}} around already serialized event objects
+     */
+    static void writeRecords(final List<byte[]> records, final PooledBuffer target) {
+        target.write('{');
+        target.write('"');
+        target.write(LOGS.asUnquotedUTF8(), 0, LOGS.asUnquotedUTF8().length);
+        target.write('"');
+        target.write(':');
+        target.write('[');
+        for (int i = 0; i < records.size(); i++) {
+            if (i > 0) target.write(',');
+            byte[] record = records.get(i);
+            target.write(record, 0, record.length);
+        }
+        target.write(']');
+        target.write('}');
+    }
+
+    private void writeEvent(final ILoggingEvent event) throws IOException {
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        String message = event.getFormattedMessage();
+        boolean audit = isAudit(event, mdc);
+
+        generator.writeStartObject();
+        generator.writeFieldName(TYPE);
+        generator.writeString(audit ? "AUDIT" : "ERROR");
+        generator.writeFieldName(MESSAGE);
+        generator.writeString(message == null || message.isBlank() ? EMPTY_MESSAGE : message);
+        generator.writeFieldName(SOURCE);
+        generator.writeString(event.getLoggerName());
+        generator.writeFieldName(TIMESTAMP);
+        generator.writeString(timestamp, 0, IsoTimestamp.format(event.getTimeStamp(), timestamp));
+        if (audit) {
+            writeField(USER_ID, mdc.get("userId"));
+            writeField(ACTION, mdc.get("action"));
+            writeField(RESOURCE_TYPE, mdc.get("resourceType"));
+            writeField(RESOURCE_ID, mdc.get("resourceId"));
+        } else {
+            generator.writeFieldName(SEVERITY);
+            generator.writeString(severity(event.getLevel()));
+            IThrowableProxy throwable = event.getThrowableProxy();
+            if (throwable != null) {
+                generator.writeFieldName(EXCEPTION_TYPE);
+                generator.writeString(throwable.getClassName());
+                writeStackTrace(throwable);
+            }
+        }
+        writeTraceContext(mdc);
+        generator.writeEndObject();
+    }
+
+    private void writeTraceContext(final Map<String, String> mdc) throws IOException {
+        if (mdc == null || mdc.isEmpty()) {
+            return;
+        }
+        String traceId = firstNonNull(mdc.get("traceId"), mdc.get("trace_id"));
+        if (traceId == null) {
+            return;
+        }
+        generator.writeFieldName(TRACE_CONTEXT);
+        generator.writeStartObject();
+        writeField(TRACE_ID, traceId);
+        writeField(SPAN_ID, firstNonNull(mdc.get("spanId"), mdc.get("span_id")));
+        writeField(CORRELATION_ID, mdc.get("correlationId"));
+        writeField(USER_ID, mdc.get("userId"));
+        generator.writeEndObject();
+    }
+
+    private void writeStackTrace(final IThrowableProxy throwable) throws IOException {
+        stackTrace.setLength(0);
+        IThrowableProxy current = throwable;
+        while (current != null) {
+            if (current != throwable) {
+                stackTrace.append("Caused by: ");
+            }
+            stackTrace.append(current.getClassName());
+            if (current.getMessage() != null) {
+                stackTrace.append(": ").append(current.getMessage());
+            }
+            StackTraceElementProxy[] frames = current.getStackTraceElementProxyArray();
+            int ownFrames = frames.length - current.getCommonFrames();
+            for (int i = 0; i < ownFrames; i++) {
+                stackTrace.append("\n\t").append(frames[i].getSTEAsString());
+            }
+            if (current.getCommonFrames() > 0) {
+                stackTrace.append("\n\t... ").append(current.getCommonFrames()).append(" common frames omitted");
+            }
+            current = current.getCause();
+            if (current != null) {
+                stackTrace.append('\n');
+            }
+        }
+        int length = stackTrace.length();
+        if (stackTraceChars.length < length) {
+            stackTraceChars = new char[Math.max(length, stackTraceChars.length << 1)];
+        }
+        stackTrace.getChars(0, length, stackTraceChars, 0);
+        generator.writeFieldName(STACK_TRACE);
+        generator.writeString(stackTraceChars, 0, length);
+    }
+
+    private void writeField(final SerializedString name, final String value) throws IOException {
+        if (value != null) {
+            generator.writeFieldName(name);
+            generator.writeString(value);
+        }
+    }
+
+    private static boolean isAudit(final ILoggingEvent event, final Map<String, String> mdc) {
+        List<Marker> markers = event.getMarkerList();
+        if (markers == null || mdc == null || mdc.get("userId") == null || mdc.get("action") == null) {
+            return false;
+        }
+        for (int i = 0; i < markers.size(); i++) {
+            if (AUDIT_MARKER.equals(markers.get(i).getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Logback levels map one-to-one onto the server's TRACE..ERROR; there is no FATAL
+     */
+    private static String severity(final Level level) {
+        return switch (level.toInt()) {
+            case Level.ERROR_INT -> "ERROR";
+            case Level.WARN_INT -> "WARN";
+            case Level.INFO_INT -> "INFO";
+            case Level.DEBUG_INT -> "DEBUG";
+            default -> "TRACE";
+        };
+    }
+
+    private static String firstNonNull(final String first, final String second) {
+        return first != null ? first : second;
+    }
+
+    /**
+     * Lets the one generator write into a different pooled buffer per call
+     */
+    private static final class RedirectingOutputStream extends OutputStream {
+        PooledBuffer target;
+
+        @Override
+        public void write(final int b) {
+            target.write(b);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) {
+            target.write(bytes, offset, length);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.ghostlogger.client;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+/**
+ * Client-side metrics facade that pre-aggregates before shipping.
+ * <p>
+ * Counters, gauges and histograms are recorded in memory and flushed once per
+ * {@code flushInterval} as one {@code METRIC} entry per series, so what reaches the
+ * server grows with the number of series rather than with the measurement rate.
+ * Histograms ship a summary with a mergeable quantile sketch, which the server folds
+ * into its windows as if it had seen every sample.
+ * <p>
+ * Flushes are aligned to multiples of the interval and stamped just before the
+ * interval's end, so with the default 10s interval each flush lands in the server's
+ * matching 10s window. A flush the server does not take is dropped and counted in
+ * {@link #failedFlushes()}; metrics are not spilled like log events.
+ * <pre>
+ * GhostMetrics metrics = new GhostMetrics("http://localhost:8080/api/v1/logs/ingest", "checkout-service");
+ * metrics.start();
+ * MetricHistogram latency = metrics.histogram("http.server.duration", "ms", Map.of("route", "/orders"));
+ * latency.record(12.5);
+ * </pre>
+ */
+public final class GhostMetrics implements AutoCloseable {
+
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(10);
+
+    private final URI serverUrl;
+    private final long flushIntervalMillis;
+    private final ConcurrentHashMap<String, Meter> meters = new ConcurrentHashMap<>();
+    private final HttpClient httpClient;
+    private final PooledBuffer body = new PooledBuffer(16 << 10);
+    private final MetricJsonWriter writer;
+    private final LongAdder failedFlushes = new LongAdder();
+    private volatile boolean running;
+    private Thread flusher;
+
+    public GhostMetrics(String serverUrl, String source) {
+        this(serverUrl, source, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    public GhostMetrics(String serverUrl, String source, Duration flushInterval) {
+        if (flushInterval.toMillis() <= 0) {
+            throw new IllegalArgumentException("Flush interval must be positive: " + flushInterval);
+        }
+        this.serverUrl = URI.create(Objects.requireNonNull(serverUrl, "serverUrl must be set"));
+        this.flushIntervalMillis = flushInterval.toMillis();
+        this.writer = new MetricJsonWriter(Objects.requireNonNull(source, "source must be set"), body);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(3))
+                .build();
+    }
+
+    public MetricCounter counter(String name, String unit) {
+        return counter(name, unit, Map.of());
+    }
+
+    public MetricCounter counter(String name, String unit, Map<String, String> tags) {
+        return register(MetricCounter.class, name, unit, tags, sorted -> new MetricCounter(name, unit, sorted));
+    }
+
+    public MetricGauge gauge(String name, String unit) {
+        return gauge(name, unit, Map.of());
+    }
+
+    public MetricGauge gauge(String name, String unit, Map<String, String> tags) {
+        return register(MetricGauge.class, name, unit, tags, sorted -> new MetricGauge(name, unit, sorted, null));
+    }
+
+    /**
+     * Gauge sampled from {@code supplier} on every flush
+     */
+    public MetricGauge gauge(String name, String unit, Map<String, String> tags, DoubleSupplier supplier) {
+        return register(MetricGauge.class, name, unit, tags, sorted -> new MetricGauge(name, unit, sorted, supplier));
+    }
+
+    public MetricHistogram histogram(String name, String unit) {
+        return histogram(name, unit, Map.of());
+    }
+
+    public MetricHistogram histogram(String name, String unit, Map<String, String> tags) {
+        return register(MetricHistogram.class, name, unit, tags, sorted -> new MetricHistogram(name, unit, sorted));
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        flusher = Thread.ofVirtual().name("ghost-metrics-flusher").start(this::flushPeriodically);
+    }
+
+    /**
+     * Ship everything recorded so far, stamped now
+     *
+     * @return number of series sent
+     */
+    public int flush() {
+        return flush(System.currentTimeMillis());
+    }
+
+    public long failedFlushes() {
+        return failedFlushes.sum();
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            running = false;
+            if (flusher != null) flusher.interrupt();
+        }
+        if (flusher != null) {
+            try { flusher.join(1000); } catch (InterruptedException ignored) { Thread.currentThread().interrupt(); }
+        }
+        flush();
+    }
+
+    private <M extends Meter> M register(Class<M> type, String name, String unit, Map<String, String> tags,
+                                         Function<Map<String, String>, M> factory) {
+        Map<String, String> sorted = tags.isEmpty() ? Map.of() : new TreeMap<>(tags);
+        Meter meter = meters.computeIfAbsent(name + sorted, key -> factory.apply(sorted));
+        if (!type.isInstance(meter)) {
+            throw new IllegalArgumentException("Metric " + name + sorted + " is already registered as a "
+                + meter.getClass().getSimpleName());
+        }
+        return type.cast(meter);
+    }
+
+    private void flushPeriodically() {
+        while (running) {
+            long now = System.currentTimeMillis();
+            long intervalEnd = now - Math.floorMod(now, flushIntervalMillis) + flushIntervalMillis;
+            try {
+                Thread.sleep(intervalEnd - now);
+            } catch (InterruptedException e) {
+                return;
+            }
+            flush(intervalEnd - 1);
+        }
+    }
+
+    private synchronized int flush(long timestampMillis) {
+        int series = 0;
+        try {
+            writer.start(timestampMillis);
+            for (Meter meter : meters.values()) {
+                if (meter.writeInterval(writer)) {
+                    series++;
+                }
+            }
+            writer.end();
+        } catch (IOException e) {
+            System.out.println("[GhostMetrics] Failed to serialize metrics: " + e.getMessage());
+            failedFlushes.increment();
+            return 0;
+        }
+        if (series == 0) {
+            return 0;
+        }
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(serverUrl)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.array(), 0, body.size()))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 200 && response.statusCode() < 300) {
+                return series;
+            }
+            System.out.println("[GhostMetrics] Server response: " + response.statusCode() + " for " + series + " series");
+        } catch (IOException e) {
+            System.out.println("[GhostMetrics] HTTP send failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failedFlushes.increment();
+        return 0;
+    }
+}
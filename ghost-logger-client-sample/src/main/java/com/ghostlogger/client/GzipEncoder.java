@@ -0,0 +1,56 @@
+package com.ghostlogger.client;
+
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Reusable gzip encoder.
+ * <p>
+ * {@link java.util.zip.GZIPOutputStream} allocates a native {@link Deflater} per stream;
+ * this keeps one raw deflater and resets it per body, writing the gzip header and
+ * trailer itself. Not thread-safe.
+ */
+final class GzipEncoder {
+
+    private static final byte[] HEADER = {
+        0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff
+    };
+
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+
+    GzipEncoder(final int level) {
+        this.deflater = new Deflater(level, true);
+    }
+
+    /**
+     * Compress {@code source} into {@code target}, replacing its contents
+     */
+    void encode(final PooledBuffer source, final PooledBuffer target) {
+        target.reset();
+        target.write(HEADER, 0, HEADER.length);
+        deflater.reset();
+        deflater.setInput(source.array(), 0, source.size());
+        deflater.finish();
+        while (!deflater.finished()) {
+            byte[] out = target.reserve(Math.max(512, source.size() >> 2));
+            int offset = target.size();
+            target.advance(deflater.deflate(out, offset, out.length - offset));
+        }
+        crc.reset();
+        crc.update(source.array(), 0, source.size());
+        writeIntLE(target, (int) crc.getValue());
+        writeIntLE(target, source.size());
+    }
+
+    void close() {
+        deflater.end();
+    }
+
+    private static void writeIntLE(final PooledBuffer target, final int value) {
+        target.write(value);
+        target.write(value >>> 8);
+        target.write(value >>> 16);
+        target.write(value >>> 24);
+    }
+}
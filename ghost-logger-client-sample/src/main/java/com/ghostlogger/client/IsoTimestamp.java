@@ -0,0 +1,55 @@
+package com.ghostlogger.client;
+
+/**
+ * Formats epoch milliseconds as ISO-8601 UTC ({@code 2025-12-26T10:00:00.123Z})
+ * into a caller-owned char array, without allocating.
+ */
+final class IsoTimestamp {
+
+    static final int LENGTH = 24;
+
+    private IsoTimestamp() {
+    }
+
+    /**
+     * @return number of chars written ({@link #LENGTH} for years 0000-9999)
+     */
+    static int format(final long epochMillis, final char[] out) {
+        long days = Math.floorDiv(epochMillis, 86_400_000L);
+        int millisOfDay = (int) Math.floorMod(epochMillis, 86_400_000L);
+
+        // Civil date from days since 1970-01-01 (Howard Hinnant's algorithm)
+        long z = days + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+        digits(out, 0, year, 4);
+        out[4] = '-';
+        digits(out, 5, month, 2);
+        out[7] = '-';
+        digits(out, 8, day, 2);
+        out[10] = 'T';
+        digits(out, 11, millisOfDay / 3_600_000, 2);
+        out[13] = ':';
+        digits(out, 14, millisOfDay / 60_000 % 60, 2);
+        out[16] = ':';
+        digits(out, 17, millisOfDay / 1000 % 60, 2);
+        out[19] = '.';
+        digits(out, 20, millisOfDay % 1000, 3);
+        out[23] = 'Z';
+        return LENGTH;
+    }
+
+    private static void digits(final char[] out, final int offset, int value, final int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            out[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
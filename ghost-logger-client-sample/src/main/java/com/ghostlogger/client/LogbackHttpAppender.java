@@ -1,117 +1,653 @@
 package com.ghostlogger.client;
 
 import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.net.URI;
 import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.Deflater;
+import javax.management.ObjectName;
 
+/**
+ * Logback appender that ships events to the Ghost Logger ingestion endpoint.
+ * <p>
+ * {@link #append(ILoggingEvent)} only claims a slot in a preallocated lock-free ring
+ * buffer; a single virtual thread drains it into batches and keeps up to
+ * {@code maxInFlightBatches} of them on the wire through a {@link BatchPipeline}.
+ * A batch is sent when it reaches the adaptive size ({@link BatchSizer}), the
+ * {@code maxBatchBytes} budget, or has waited {@code lingerMillis}. When the ring is full the
+ * configured {@link OverflowPolicy} decides what is lost, and every loss is counted
+ * in {@link AppenderMetricsMBean}, registered with the platform MBean server.
+ * <p>
+ * With a {@code spillDirectory} configured, events the ring cannot hold and batches
+ * the server cannot take go to a {@link SpillQueue} on local disk instead of being
+ * dropped, and are replayed at {@code replayRatePerSecond} once the server answers.
+ * Replay takes a window slot at that pace even while live batches keep the window busy,
+ * so a backlog drains under steady traffic. On {@link #stop()} the events still in the
+ * ring, the open batch and batches waiting for a retry are spilled as well.
+ * <p>
+ * Events are streamed by an {@link EventJsonWriter} into pooled buffers and posted
+ * from the backing array, optionally gzip-compressed ({@code compression=gzip}), so
+ * steady-state shipping allocates little beyond what the HTTP client itself needs.
+ */
 public class LogbackHttpAppender extends AppenderBase<ILoggingEvent> {
-    private final BlockingQueue<ILoggingEvent> queue = new LinkedBlockingQueue<>(1000);
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int INITIAL_BODY_BYTES = 16 << 10;
+
     private final AtomicBoolean running = new AtomicBoolean(false);
     private String serverUrl;
+    private int queueCapacity = 1024;
+    private int batchSize = 20;
+    private int maxBatchSize = 1000;
+    private int maxBatchBytes = 1 << 20;
+    private long lingerMillis = 20;
+    private int maxInFlightBatches = 4;
+    private long targetLatencyMillis = 250;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+    private long blockTimeoutMillis = 100;
+    private double levelDropThreshold = 0.8;
+    private String spillDirectory;
+    private int spillSegmentSize = 8 << 20;
+    private int spillMaxSegments = 32;
+    private int replayRatePerSecond = 500;
+    private String compression = "none";
+    private SpillQueue spillQueue;
+    private long nextReplayAt;
+    // Worker thread only: at most one replayed batch is in flight, the one peeked last
+    private boolean replayInFlight;
+    private EventRingBuffer<ILoggingEvent> queue;
+    private AppenderMetrics metrics;
+    private ObjectName metricsName;
     private HttpClient httpClient;
     private Thread worker;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private BufferPool bufferPool;
+    private GzipEncoder gzipEncoder;
+    // Worker thread only
+    private BatchPipeline pipeline;
+    private BatchSizer sizer;
+    private EventJsonWriter writer;
+    private EventJsonWriter recordWriter;
+    private PooledBuffer recordBuffer;
+    private List<ILoggingEvent> openEvents;
+    private PooledBuffer openBody;
+    private long openSinceNanos;
+    // Producer threads spilling on ring overflow; guarded by itself
+    private EventJsonWriter overflowWriter;
+    private PooledBuffer overflowBuffer;
 
     public void setServerUrl(String serverUrl) {
         this.serverUrl = serverUrl;
     }
 
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Initial events per batch; adapted between 1 and maxBatchSize from request latency
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Uncompressed body size at which a batch is sent regardless of its event count
+     */
+    public void setMaxBatchBytes(int maxBatchBytes) {
+        this.maxBatchBytes = maxBatchBytes;
+    }
+
+    /**
+     * How long a partly filled batch waits for more events before it is sent
+     */
+    public void setLingerMillis(long lingerMillis) {
+        this.lingerMillis = lingerMillis;
+    }
+
+    public void setMaxInFlightBatches(int maxInFlightBatches) {
+        this.maxInFlightBatches = maxInFlightBatches;
+    }
+
+    /**
+     * Request latency the adaptive batch size aims for
+     */
+    public void setTargetLatencyMillis(long targetLatencyMillis) {
+        this.targetLatencyMillis = targetLatencyMillis;
+    }
+
+    public void setOverflowPolicy(String overflowPolicy) {
+        this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public void setBlockTimeoutMillis(long blockTimeoutMillis) {
+        this.blockTimeoutMillis = blockTimeoutMillis;
+    }
+
+    /**
+     * Fill ratio above which KEEP_ERRORS discards events below ERROR
+     */
+    public void setLevelDropThreshold(double levelDropThreshold) {
+        this.levelDropThreshold = levelDropThreshold;
+    }
+
+    /**
+     * Directory for the disk spill file; spilling is disabled when unset
+     */
+    public void setSpillDirectory(String spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+
+    public void setSpillSegmentSize(int spillSegmentSize) {
+        this.spillSegmentSize = spillSegmentSize;
+    }
+
+    public void setSpillMaxSegments(int spillMaxSegments) {
+        this.spillMaxSegments = spillMaxSegments;
+    }
+
+    public void setReplayRatePerSecond(int replayRatePerSecond) {
+        this.replayRatePerSecond = Math.max(1, replayRatePerSecond);
+    }
+
+    /**
+     * Request body compression: {@code none} or {@code gzip}
+     */
+    public void setCompression(String compression) {
+        this.compression = compression.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public AppenderMetricsMBean getMetrics() {
+        return metrics;
+    }
+
     @Override
     public void start() {
         System.out.println("[LogbackHttpAppender] Initializing appender. serverUrl=" + serverUrl);
         if (serverUrl == null) throw new IllegalStateException("serverUrl must be set");
+        if (!compression.equals("none") && !compression.equals("gzip")) {
+            throw new IllegalStateException("Unsupported compression: " + compression);
+        }
+        queue = new EventRingBuffer<>(queueCapacity);
+        // Each in-flight batch holds a body; one more is being filled, one more compressed into
+        bufferPool = new BufferPool(INITIAL_BODY_BYTES, maxInFlightBatches + 2, maxBatchBytes * 2);
+        gzipEncoder = compression.equals("gzip") ? new GzipEncoder(Deflater.DEFAULT_COMPRESSION) : null;
+        sizer = new BatchSizer(batchSize, 1, maxBatchSize, TimeUnit.MILLISECONDS.toNanos(targetLatencyMillis));
+        writer = new EventJsonWriter();
+        recordWriter = new EventJsonWriter();
+        recordBuffer = new PooledBuffer(1024);
+        overflowWriter = new EventJsonWriter();
+        overflowBuffer = new PooledBuffer(1024);
+        if (spillDirectory != null && !spillDirectory.isBlank()) {
+            try {
+                spillQueue = new SpillQueue(Path.of(spillDirectory), spillSegmentSize, spillMaxSegments);
+                System.out.println("[LogbackHttpAppender] Spill file at " + spillDirectory
+                    + " holds " + spillQueue.spilledBytes() + " bytes to replay");
+            } catch (IOException e) {
+                System.out.println("[LogbackHttpAppender] Spill file disabled: " + e.getMessage());
+            }
+        }
+        SpillQueue spill = spillQueue;
+        metrics = new AppenderMetrics(queue::size, queue.capacity(), () -> spill == null ? 0 : spill.spilledBytes());
+        registerMetrics();
         httpClient = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(3))
                 .build();
         running.set(true);
-        worker = Thread.ofVirtual().start(this::processQueue);
+        worker = Thread.ofVirtual().unstarted(this::processQueue);
+        pipeline = new BatchPipeline(httpClient, URI.create(serverUrl), gzipEncoder != null,
+                maxInFlightBatches, MAX_ATTEMPTS, worker);
+        worker.start();
         super.start();
     }
 
     @Override
     public void stop() {
-        running.set(false);
-        if (worker != null) worker.interrupt();
+        // Stop taking events first, so none arrive after the worker has spilled the ring
         super.stop();
+        running.set(false);
+        if (worker != null) {
+            worker.interrupt();
+            try { worker.join(1000); } catch (InterruptedException ignored) { Thread.currentThread().interrupt(); }
+            if (worker.isAlive()) {
+                System.out.println("[LogbackHttpAppender] Worker did not stop in time; unsent events may be lost");
+            }
+        }
+        if (spillQueue != null) spillQueue.close();
+        if (gzipEncoder != null) gzipEncoder.close();
+        unregisterMetrics();
     }
 
     @Override
     protected void append(ILoggingEvent event) {
-        if (!queue.offer(event)) {
-            // Optionally drop or handle overflow
+        // Capture formatted message and MDC on the calling thread
+        event.prepareForDeferredProcessing();
+        if (shouldDropByLevel(event)) {
+            metrics.droppedByLevel.increment();
+            return;
+        }
+        if (queue.offer(event)) {
+            metrics.enqueued.increment();
+            return;
+        }
+        if (spillQueue != null && spillOverflow(event)) {
+            return;
+        }
+        switch (overflowPolicy) {
+            case DROP_NEWEST -> metrics.droppedNewest.increment();
+            case DROP_OLDEST -> offerEvictingOldest(event);
+            case BLOCK -> offerBlocking(event);
+            case KEEP_ERRORS -> {
+                if (event.getLevel().isGreaterOrEqual(Level.ERROR)) {
+                    offerEvictingOldest(event);
+                } else {
+                    metrics.droppedByLevel.increment();
+                }
+            }
         }
     }
 
+    /**
+     * Admission check ahead of the ring for KEEP_ERRORS: below-ERROR events are
+     * turned away early so the remaining headroom stays free for errors.
+     */
+    private boolean shouldDropByLevel(ILoggingEvent event) {
+        return overflowPolicy == OverflowPolicy.KEEP_ERRORS
+            && !event.getLevel().isGreaterOrEqual(Level.ERROR)
+            && queue.size() >= levelDropThreshold * queue.capacity();
+    }
+
+    private void offerEvictingOldest(ILoggingEvent event) {
+        while (!queue.offer(event)) {
+            if (queue.poll() != null) {
+                metrics.droppedOldest.increment();
+            }
+        }
+        metrics.enqueued.increment();
+    }
+
+    private void offerBlocking(ILoggingEvent event) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+        long parkNanos = 1_000;
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(parkNanos);
+            if (queue.offer(event)) {
+                metrics.enqueued.increment();
+                return;
+            }
+            parkNanos = Math.min(parkNanos * 2, MAX_IDLE_PARK_NANOS);
+        }
+        metrics.droppedNewest.increment();
+    }
+
+    private void registerMetrics() {
+        try {
+            metricsName = new ObjectName("com.ghostlogger.client:type=LogbackHttpAppender,name="
+                + ObjectName.quote(getName() != null ? getName() : "default"));
+            var server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(metricsName)) {
+                server.unregisterMBean(metricsName);
+            }
+            server.registerMBean(metrics, metricsName);
+        } catch (Exception e) {
+            System.out.println("[LogbackHttpAppender] Failed to register JMX metrics: " + e.getMessage());
+            metricsName = null;
+        }
+    }
+
+    private void unregisterMetrics() {
+        if (metricsName == null) return;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(metricsName);
+        } catch (Exception ignored) {
+            // Already gone
+        }
+        metricsName = null;
+    }
+
     private void processQueue() {
-        List<ILoggingEvent> batch = new ArrayList<>(20);
+        Completions completions = new Completions();
+        long idleParkNanos = 1_000;
         while (running.get()) {
+            boolean progressed = pipeline.processCompletions(completions);
+            long now = System.currentTimeMillis();
+            if (pipeline.canDispatch(now)) {
+                // Replay goes first when its turn has come, so live traffic cannot starve it
+                progressed |= replaySpill(now);
+            }
+            if (pipeline.canDispatch(now)) {
+                progressed |= fillBatch();
+                if (openEvents != null && shouldFlush()) {
+                    dispatchOpenBatch();
+                    progressed = true;
+                }
+            }
+            metrics.inFlightBatches = pipeline.inFlight();
+            metrics.batchSize = sizer.size();
+            if (progressed) {
+                idleParkNanos = 1_000;
+                continue;
+            }
+            // Idle, lingering, or waiting on a full window; completions unpark the worker
+            long parkNanos = idleParkNanos;
+            if (openEvents != null) {
+                parkNanos = Math.max(1_000, Math.min(parkNanos, openSinceNanos + lingerNanos() - System.nanoTime()));
+            }
+            LockSupport.parkNanos(parkNanos);
+            idleParkNanos = Math.min(idleParkNanos * 2, MAX_IDLE_PARK_NANOS);
+        }
+        spillUnsent(completions);
+    }
+
+    /**
+     * On stop, spill what has not reached the server: the open batch, the ring and
+     * batches waiting for a retry. Batches still on the wire are left to their response.
+     */
+    private void spillUnsent(Completions completions) {
+        if (spillQueue == null) {
+            return;
+        }
+        // Clear the interrupt from stop(): it would close the channel a new segment is mapped through
+        Thread.interrupted();
+        pipeline.processCompletions(completions);
+        abandonOpenBatch();
+        ILoggingEvent event;
+        while ((event = queue.poll()) != null) {
+            spill(event);
+        }
+        for (OutgoingBatch batch : pipeline.takeRetries()) {
+            bufferPool.release(batch.body);
+            if (!batch.replay) {
+                batch.events.forEach(this::spill);
+            }
+        }
+    }
+
+    /**
+     * Move events from the ring into the open batch, serializing them as they come,
+     * until it reaches the current batch size or the byte budget
+     *
+     * @return true if any event was added
+     */
+    private boolean fillBatch() {
+        boolean added = false;
+        ILoggingEvent event;
+        while ((openEvents == null || (openEvents.size() < sizer.size() && writer.batchBytes() < maxBatchBytes))
+                && (event = queue.poll()) != null) {
             try {
-                ILoggingEvent first = queue.poll(1, TimeUnit.SECONDS);
-                if (first != null) {
-                    batch.add(first);
-                    queue.drainTo(batch, 19);
-                    sendBatch(new ArrayList<>(batch));
-                    batch.clear();
+                if (openEvents == null) {
+                    openBody = bufferPool.acquire();
+                    writer.startBatch(openBody);
+                    openEvents = new ArrayList<>(sizer.size());
+                    openSinceNanos = System.nanoTime();
                 }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
+                writer.appendToBatch(event);
+            } catch (IOException e) {
+                System.out.println("[LogbackHttpAppender] Failed to serialize log: " + e.getMessage());
+                metrics.droppedRejected.increment();
+                abandonOpenBatch();
+                return true;
             }
+            openEvents.add(event);
+            added = true;
         }
+        return added;
     }
 
-    private void sendBatch(List<ILoggingEvent> events) {
-        if (events.isEmpty()) return;
-        List<Map<String, Object>> logs = new ArrayList<>();
-        for (ILoggingEvent e : events) {
-            Map<String, Object> log = new HashMap<>();
-            log.put("type", "ERROR"); // or map from e.getLevel()
-            log.put("message", e.getFormattedMessage());
-            log.put("source", e.getLoggerName());
-            log.put("severity", e.getLevel().toString());
-            log.put("exceptionType", e.getThrowableProxy() != null ? e.getThrowableProxy().getClassName() : null);
-            log.put("stackTrace", e.getThrowableProxy() != null ? Arrays.toString(e.getThrowableProxy().getStackTraceElementProxyArray()) : null);
-            logs.add(log);
+    private boolean shouldFlush() {
+        return openEvents.size() >= sizer.size()
+            || writer.batchBytes() >= maxBatchBytes
+            || System.nanoTime() - openSinceNanos >= lingerNanos();
+    }
+
+    private long lingerNanos() {
+        return TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+    }
+
+    private void dispatchOpenBatch() {
+        List<ILoggingEvent> events = openEvents;
+        PooledBuffer body = openBody;
+        openEvents = null;
+        openBody = null;
+        try {
+            writer.endBatch();
+        } catch (IOException e) {
+            System.out.println("[LogbackHttpAppender] Failed to serialize batch: " + e.getMessage());
+            writer = new EventJsonWriter();
+            bufferPool.release(body);
+            events.forEach(this::spill);
+            return;
+        }
+        pipeline.dispatch(new OutgoingBatch(events, null, events.size(), events.get(0).getTimeStamp(), compress(body), false));
+    }
+
+    /**
+     * A generator that failed mid-batch cannot be trusted: start over and spill what was written so far
+     */
+    private void abandonOpenBatch() {
+        writer = new EventJsonWriter();
+        if (openBody != null) {
+            bufferPool.release(openBody);
+        }
+        List<ILoggingEvent> events = openEvents;
+        openEvents = null;
+        openBody = null;
+        if (events != null) {
+            events.forEach(this::spill);
         }
-        Map<String, Object> payload = Map.of("logs", logs);
-        String json;
+    }
+
+    private PooledBuffer compress(PooledBuffer json) {
+        if (gzipEncoder == null) {
+            return json;
+        }
+        PooledBuffer compressed = bufferPool.acquire();
+        gzipEncoder.encode(json, compressed);
+        bufferPool.release(json);
+        return compressed;
+    }
+
+    /**
+     * Send one batch from the spill file if its turn has come. Only one replayed batch is
+     * in flight at a time, so the batch read is the one committed when it is delivered.
+     *
+     * @return true if a batch was dispatched
+     */
+    private boolean replaySpill(long now) {
+        if (spillQueue == null || replayInFlight || now < nextReplayAt || spillQueue.isEmpty()) {
+            return false;
+        }
+        try {
+            List<byte[]> records = spillQueue.peek(sizer.size(), maxBatchBytes);
+            if (records.isEmpty()) {
+                return false;
+            }
+            PooledBuffer body = bufferPool.acquire();
+            EventJsonWriter.writeRecords(records, body);
+            pipeline.dispatch(new OutgoingBatch(null, records, records.size(), 0, compress(body), true));
+            replayInFlight = true;
+            // Pace replay so a recovering server is not hit with the whole backlog at once
+            nextReplayAt = now + records.size() * 1000L / replayRatePerSecond;
+            return true;
+        } catch (IOException e) {
+            System.out.println("[LogbackHttpAppender] Failed to read spill file: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Spill an event the server did not take (worker thread only)
+     */
+    private void spill(ILoggingEvent event) {
+        recordBuffer.reset();
         try {
-            json = objectMapper.writeValueAsString(payload);
-        } catch (Exception ex) {
-            System.out.println("[LogbackHttpAppender] Failed to serialize logs: " + ex.getMessage());
+            recordWriter.writeEvent(event, recordBuffer);
+        } catch (IOException e) {
+            System.out.println("[LogbackHttpAppender] Failed to serialize log: " + e.getMessage());
+            recordWriter = new EventJsonWriter();
+            metrics.droppedRejected.increment();
             return;
         }
+        if (!trySpill(recordBuffer)) {
+            metrics.droppedSpillFull.increment();
+        }
+    }
 
-        System.out.println("[LogbackHttpAppender] Sending batch of " + logs.size() + " logs to " + serverUrl);
+    /**
+     * Ring full: serialize on the calling thread and spill rather than drop
+     */
+    private boolean spillOverflow(ILoggingEvent event) {
+        synchronized (overflowBuffer) {
+            overflowBuffer.reset();
+            try {
+                overflowWriter.writeEvent(event, overflowBuffer);
+            } catch (IOException e) {
+                System.out.println("[LogbackHttpAppender] Failed to serialize log: " + e.getMessage());
+                overflowWriter = new EventJsonWriter();
+                return false;
+            }
+            return trySpill(overflowBuffer);
+        }
+    }
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(serverUrl))
-                .header("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(json))
-                .timeout(Duration.ofSeconds(5))
-                .build();
+    private boolean trySpill(PooledBuffer record) {
+        return trySpill(record.array(), record.size());
+    }
 
-        int attempts = 0;
-        while (attempts < 3) {
+    private boolean trySpill(byte[] record, int length) {
+        try {
+            if (spillQueue != null && spillQueue.append(record, 0, length)) {
+                metrics.spilled.increment();
+                return true;
+            }
+        } catch (IOException e) {
+            System.out.println("[LogbackHttpAppender] Failed to write spill file: " + e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Serialize the rejected part of a live batch into a batch of its own (worker thread only)
+     *
+     * @return null if none of the events could be serialized
+     */
+    private OutgoingBatch rejectedBatch(OutgoingBatch batch, List<ILoggingEvent> events) {
+        List<byte[]> records = new ArrayList<>(events.size());
+        List<ILoggingEvent> written = new ArrayList<>(events.size());
+        for (ILoggingEvent event : events) {
+            recordBuffer.reset();
             try {
-                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-                System.out.println("[LogbackHttpAppender] Server response: " + response.statusCode() + " - " + response.body());
-                if (response.statusCode() >= 200 && response.statusCode() < 300) {
-                    break;
+                recordWriter.writeEvent(event, recordBuffer);
+            } catch (IOException e) {
+                System.out.println("[LogbackHttpAppender] Failed to serialize log: " + e.getMessage());
+                recordWriter = new EventJsonWriter();
+                metrics.droppedRejected.increment();
+                continue;
+            }
+            records.add(Arrays.copyOf(recordBuffer.array(), recordBuffer.size()));
+            written.add(event);
+        }
+        if (written.isEmpty()) {
+            return null;
+        }
+        PooledBuffer body = bufferPool.acquire();
+        EventJsonWriter.writeRecords(records, body);
+        OutgoingBatch resend = new OutgoingBatch(written, null, written.size(), written.get(0).getTimeStamp(),
+            compress(body), false);
+        resend.attempts = batch.attempts;
+        return resend;
+    }
+
+    private void commitReplay() {
+        try {
+            spillQueue.commit();
+        } catch (IOException e) {
+            System.out.println("[LogbackHttpAppender] Failed to update spill file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Outcomes of dispatched batches; runs on the worker thread
+     */
+    private final class Completions implements BatchPipeline.Listener {
+
+        @Override
+        public void onDelivered(OutgoingBatch batch, long latencyNanos) {
+            sizer.onDelivered(batch.eventCount, latencyNanos);
+            if (batch.replay) {
+                replayInFlight = false;
+                commitReplay();
+                metrics.replayed.add(batch.eventCount);
+            } else {
+                metrics.recordSent(batch.eventCount, batch.oldestTimestamp);
+            }
+            bufferPool.release(batch.body);
+        }
+
+        @Override
+        public void onFailed(OutgoingBatch batch) {
+            sizer.onFailed();
+            bufferPool.release(batch.body);
+            // Replayed records are still in the spill file and are read again later
+            if (batch.replay) {
+                replayInFlight = false;
+            } else {
+                batch.events.forEach(LogbackHttpAppender.this::spill);
+            }
+        }
+
+        @Override
+        public void onRejected(OutgoingBatch batch) {
+            bufferPool.release(batch.body);
+            if (batch.replay) {
+                // Replaying a payload the server refuses would block the spill file forever
+                replayInFlight = false;
+                commitReplay();
+            }
+            metrics.droppedRejected.add(batch.eventCount);
+        }
+
+        @Override
+        public void onPartiallyDelivered(OutgoingBatch batch, int[] rejected) {
+            sizer.onFailed();
+            bufferPool.release(batch.body);
+            int[] indexes = Arrays.stream(rejected).filter(i -> i >= 0 && i < batch.eventCount).distinct().toArray();
+            if (batch.replay) {
+                // The rest was taken: move the rejected records to the tail of the spill file and commit
+                for (int i : indexes) {
+                    byte[] record = batch.records.get(i);
+                    if (!trySpill(record, record.length)) {
+                        metrics.droppedSpillFull.increment();
+                    }
+                }
+                replayInFlight = false;
+                commitReplay();
+                metrics.replayed.add(batch.eventCount - indexes.length);
+                return;
+            }
+            List<ILoggingEvent> events = new ArrayList<>(indexes.length);
+            for (int i : indexes) {
+                events.add(batch.events.get(i));
+            }
+            metrics.recordSent(batch.eventCount - events.size(), batch.oldestTimestamp);
+            if (!events.isEmpty()) {
+                OutgoingBatch resend = rejectedBatch(batch, events);
+                if (resend != null) {
+                    pipeline.retry(resend, this);
                 }
-            } catch (Exception e) {
-                System.out.println("[LogbackHttpAppender] HTTP send failed: " + e.getMessage());
-                try { Thread.sleep(500L * (attempts + 1)); } catch (InterruptedException ignored) {}
             }
-            attempts++;
         }
     }
 }
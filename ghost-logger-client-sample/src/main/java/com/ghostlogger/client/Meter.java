@@ -0,0 +1,42 @@
+package com.ghostlogger.client;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * One metric series registered with {@link GhostMetrics}.
+ * <p>
+ * Recording is lock-free and may happen on any thread; {@link #writeInterval(MetricJsonWriter)}
+ * is only called by the flusher.
+ */
+public abstract sealed class Meter permits MetricCounter, MetricGauge, MetricHistogram {
+
+    private final String name;
+    private final String unit;
+    private final Map<String, String> tags;
+
+    Meter(final String name, final String unit, final Map<String, String> tags) {
+        this.name = name;
+        this.unit = unit;
+        this.tags = tags;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String unit() {
+        return unit;
+    }
+
+    public Map<String, String> tags() {
+        return tags;
+    }
+
+    /**
+     * Write the entry for the interval that just ended
+     *
+     * @return false if there was nothing to report
+     */
+    abstract boolean writeInterval(MetricJsonWriter writer) throws IOException;
+}
@@ -0,0 +1,44 @@
+package com.ghostlogger.client;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Monotonic counter; each interval ships the amount counted during it.
+ * <p>
+ * The adder is never reset: the flusher reports the difference to the total it saw
+ * last time, so increments racing with a flush land in one interval or the next and
+ * are never lost.
+ */
+public final class MetricCounter extends Meter {
+
+    private final DoubleAdder total = new DoubleAdder();
+    private double reported;
+
+    MetricCounter(final String name, final String unit, final Map<String, String> tags) {
+        super(name, unit, tags);
+    }
+
+    public void increment() {
+        total.add(1);
+    }
+
+    public void increment(final double amount) {
+        if (amount > 0 && Double.isFinite(amount)) {
+            total.add(amount);
+        }
+    }
+
+    @Override
+    boolean writeInterval(final MetricJsonWriter writer) throws IOException {
+        double current = total.sum();
+        double delta = current - reported;
+        if (delta <= 0) {
+            return false;
+        }
+        reported = current;
+        writer.writeSample(this, delta);
+        return true;
+    }
+}
@@ -0,0 +1,33 @@
+package com.ghostlogger.client;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Last-value gauge, either set explicitly or sampled from a supplier at flush time
+ */
+public final class MetricGauge extends Meter {
+
+    private final DoubleSupplier supplier;
+    private volatile double value = Double.NaN;
+
+    MetricGauge(final String name, final String unit, final Map<String, String> tags, final DoubleSupplier supplier) {
+        super(name, unit, tags);
+        this.supplier = supplier;
+    }
+
+    public void set(final double value) {
+        this.value = value;
+    }
+
+    @Override
+    boolean writeInterval(final MetricJsonWriter writer) throws IOException {
+        double current = supplier != null ? supplier.getAsDouble() : value;
+        if (!Double.isFinite(current)) {
+            return false;
+        }
+        writer.writeSample(this, current);
+        return true;
+    }
+}
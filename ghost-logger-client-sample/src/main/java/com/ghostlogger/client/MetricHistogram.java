@@ -0,0 +1,99 @@
+package com.ghostlogger.client;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentDoubleHistogram;
+import org.HdrHistogram.WriterReaderPhaser;
+
+/**
+ * Distribution of recorded values, shipped as one summary per interval:
+ * count, sum, min, max and a quantile sketch the server merges into its windows.
+ * <p>
+ * Writers record into the active interval through striped accumulators and a
+ * {@link ConcurrentDoubleHistogram}, inside a {@link WriterReaderPhaser} critical
+ * section that never blocks. The flusher swaps in the spare interval and flips the
+ * phase, which waits only for writers still inside the old one, then reads it at
+ * leisure. The two intervals are reused, so steady-state recording allocates nothing.
+ */
+public final class MetricHistogram extends Meter {
+
+    /**
+     * About 1% relative error, matching the server's sketches
+     */
+    static final int SIGNIFICANT_DIGITS = 2;
+
+    private final WriterReaderPhaser phaser = new WriterReaderPhaser();
+    private volatile Interval active = new Interval();
+    private Interval spare = new Interval();
+
+    MetricHistogram(final String name, final String unit, final Map<String, String> tags) {
+        super(name, unit, tags);
+    }
+
+    public void record(final double value) {
+        if (!Double.isFinite(value)) {
+            return;
+        }
+        long ticket = phaser.writerCriticalSectionEnter();
+        try {
+            active.record(value);
+        } finally {
+            phaser.writerCriticalSectionExit(ticket);
+        }
+    }
+
+    @Override
+    boolean writeInterval(final MetricJsonWriter writer) throws IOException {
+        Interval done = swap();
+        long count = done.count.sum();
+        if (count == 0) {
+            return false;
+        }
+        writer.writeSummary(this, count, done.sum.sum(), done.min.get(), done.max.get(), done.sketch);
+        return true;
+    }
+
+    private Interval swap() {
+        phaser.readerLock();
+        try {
+            Interval done = active;
+            spare.reset();
+            active = spare;
+            spare = done;
+            phaser.flipPhase();
+            return done;
+        } finally {
+            phaser.readerUnlock();
+        }
+    }
+
+    private static final class Interval {
+        final LongAdder count = new LongAdder();
+        final DoubleAdder sum = new DoubleAdder();
+        final DoubleAccumulator min = new DoubleAccumulator(Math::min, Double.POSITIVE_INFINITY);
+        final DoubleAccumulator max = new DoubleAccumulator(Math::max, Double.NEGATIVE_INFINITY);
+        // Non-negative values only, as on the server
+        final ConcurrentDoubleHistogram sketch = new ConcurrentDoubleHistogram(SIGNIFICANT_DIGITS);
+
+        void record(final double value) {
+            count.increment();
+            sum.add(value);
+            min.accumulate(value);
+            max.accumulate(value);
+            if (value >= 0) {
+                sketch.recordValue(value);
+            }
+        }
+
+        void reset() {
+            count.reset();
+            sum.reset();
+            min.reset();
+            max.reset();
+            sketch.reset();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.ghostlogger.client;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.zip.Deflater;
+import org.HdrHistogram.DoubleHistogram;
+
+/**
+ * Writes one flush of {@link GhostMetrics} as a {@code {"logs":[...]}} batch of
+ * {@code METRIC} entries into a reused buffer. Not thread-safe.
+ */
+final class MetricJsonWriter {
+
+    private static final SerializedString LOGS = new SerializedString("logs");
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString METRIC = new SerializedString("METRIC");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+    private static final SerializedString SOURCE = new SerializedString("source");
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializedString METRIC_NAME = new SerializedString("metricName");
+    private static final SerializedString VALUE = new SerializedString("value");
+    private static final SerializedString UNIT = new SerializedString("unit");
+    private static final SerializedString TAGS = new SerializedString("tags");
+    private static final SerializedString SUMMARY = new SerializedString("summary");
+    private static final SerializedString COUNT = new SerializedString("count");
+    private static final SerializedString SUM = new SerializedString("sum");
+    private static final SerializedString MIN = new SerializedString("min");
+    private static final SerializedString MAX = new SerializedString("max");
+    private static final SerializedString SKETCH = new SerializedString("sketch");
+
+    private final String source;
+    private final PooledBuffer buffer;
+    private final JsonGenerator generator;
+    private final char[] timestamp = new char[IsoTimestamp.LENGTH];
+    private ByteBuffer sketchBuffer = ByteBuffer.allocate(1024);
+    private int timestampLength;
+
+    MetricJsonWriter(final String source, final PooledBuffer buffer) {
+        this.source = source;
+        this.buffer = buffer;
+        try {
+            this.generator = new JsonFactory().createGenerator(buffer, JsonEncoding.UTF8);
+            this.generator.setRootValueSeparator(null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reset the buffer and open a batch whose entries are stamped with {@code timestampMillis}
+     */
+    void start(final long timestampMillis) throws IOException {
+        buffer.reset();
+        timestampLength = IsoTimestamp.format(timestampMillis, timestamp);
+        generator.writeStartObject();
+        generator.writeFieldName(LOGS);
+        generator.writeStartArray();
+    }
+
+    void end() throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    void writeSample(final Meter meter, final double value) throws IOException {
+        writeHeader(meter, value);
+        generator.writeEndObject();
+    }
+
+    void writeSummary(final Meter meter, final long count, final double sum, final double min, final double max,
+                      final DoubleHistogram sketch) throws IOException {
+        writeHeader(meter, sum / count);
+        generator.writeFieldName(SUMMARY);
+        generator.writeStartObject();
+        generator.writeFieldName(COUNT);
+        generator.writeNumber(count);
+        generator.writeFieldName(SUM);
+        generator.writeNumber(sum);
+        generator.writeFieldName(MIN);
+        generator.writeNumber(min);
+        generator.writeFieldName(MAX);
+        generator.writeNumber(max);
+        if (sketch.getTotalCount() > 0) {
+            int needed = sketch.getNeededByteBufferCapacity();
+            if (sketchBuffer.capacity() < needed) {
+                sketchBuffer = ByteBuffer.allocate(Math.max(needed, sketchBuffer.capacity() << 1));
+            }
+            sketchBuffer.clear();
+            int length = sketch.encodeIntoCompressedByteBuffer(sketchBuffer, Deflater.BEST_SPEED);
+            generator.writeFieldName(SKETCH);
+            generator.writeBinary(sketchBuffer.array(), 0, length);
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private void writeHeader(final Meter meter, final double value) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(TYPE);
+        generator.writeString(METRIC);
+        generator.writeFieldName(MESSAGE);
+        generator.writeString(meter.name());
+        generator.writeFieldName(SOURCE);
+        generator.writeString(source);
+        generator.writeFieldName(TIMESTAMP);
+        generator.writeString(timestamp, 0, timestampLength);
+        generator.writeFieldName(METRIC_NAME);
+        generator.writeString(meter.name());
+        generator.writeFieldName(VALUE);
+        generator.writeNumber(value);
+        generator.writeFieldName(UNIT);
+        generator.writeString(meter.unit());
+        if (!meter.tags().isEmpty()) {
+            generator.writeFieldName(TAGS);
+            generator.writeStartObject();
+            for (Map.Entry<String, String> tag : meter.tags().entrySet()) {
+                generator.writeStringField(tag.getKey(), tag.getValue());
+            }
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.ghostlogger.client;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import java.util.List;
+
+/**
+ * One serialized request body and what it carries, from dispatch until it is
+ * delivered, spilled or given up on.
+ * <p>
+ * Live events are kept so a batch the server never takes can still be spilled one
+ * record at a time; batches replayed from the spill file carry their records instead,
+ * so the ones the server rejects can be spilled again.
+ */
+final class OutgoingBatch {
+
+    final List<ILoggingEvent> events;
+    final List<byte[]> records;
+    final int eventCount;
+    final long oldestTimestamp;
+    final PooledBuffer body;
+    final boolean replay;
+    int attempts;
+    long sentAtNanos;
+    // Written by the HTTP client thread before the batch is handed back through a concurrent queue
+    int status;
+    long retryAfterMillis;
+    // Indexes of the entries a 503 names as rejected, or null
+    int[] rejectedEntries;
+    Throwable error;
+
+    OutgoingBatch(final List<ILoggingEvent> events, final List<byte[]> records, final int eventCount,
+                  final long oldestTimestamp, final PooledBuffer body, final boolean replay) {
+        this.events = events;
+        this.records = records;
+        this.eventCount = eventCount;
+        this.oldestTimestamp = oldestTimestamp;
+        this.body = body;
+        this.replay = replay;
+    }
+}
@@ -0,0 +1,28 @@
+package com.ghostlogger.client;
+
+/**
+ * What {@link LogbackHttpAppender} does with an event when its ring buffer is full
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Discard the incoming event
+     */
+    DROP_NEWEST,
+
+    /**
+     * Evict the oldest queued event to make room for the incoming one
+     */
+    DROP_OLDEST,
+
+    /**
+     * Wait up to the configured block timeout for room, then discard the incoming event
+     */
+    BLOCK,
+
+    /**
+     * Keep headroom for ERROR events: events below ERROR are discarded once the ring
+     * passes the level-drop threshold, ERRORs evict the oldest event when it is full
+     */
+    KEEP_ERRORS
+}
@@ -0,0 +1,72 @@
+package com.ghostlogger.client;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer that is reset and reused instead of reallocated.
+ * <p>
+ * Unlike {@link java.io.ByteArrayOutputStream} it exposes its backing array, so a
+ * request body can be published straight from it without a copy, and nothing is
+ * synchronized.
+ */
+final class PooledBuffer extends OutputStream {
+
+    private byte[] bytes;
+    private int size;
+
+    PooledBuffer(final int initialCapacity) {
+        this.bytes = new byte[initialCapacity];
+    }
+
+    @Override
+    public void write(final int b) {
+        ensureCapacity(size + 1);
+        bytes[size++] = (byte) b;
+    }
+
+    @Override
+    public void write(final byte[] source, final int offset, final int length) {
+        ensureCapacity(size + length);
+        System.arraycopy(source, offset, bytes, size, length);
+        size += length;
+    }
+
+    /**
+     * Make room for {@code extra} more bytes and return the backing array
+     */
+    byte[] reserve(final int extra) {
+        ensureCapacity(size + extra);
+        return bytes;
+    }
+
+    void advance(final int written) {
+        size += written;
+    }
+
+    byte[] array() {
+        return bytes;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return bytes.length;
+    }
+
+    void reset() {
+        size = 0;
+    }
+
+    byte[] copy(final int from, final int to) {
+        return Arrays.copyOfRange(bytes, from, to);
+    }
+
+    private void ensureCapacity(final int required) {
+        if (required > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(required, bytes.length << 1));
+        }
+    }
+}
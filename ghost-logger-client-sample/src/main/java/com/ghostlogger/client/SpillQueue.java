@@ -0,0 +1,277 @@
+package com.ghostlogger.client;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Bounded, memory-mapped, segmented spill file for events the server could not take.
+ * <p>
+ * Layout: fixed-size segment files {@code spill-<sequence>.seg}, each starting with a
+ * header of {@code [magic][readOffset]}, followed by records of
+ * {@code [length][crc32c][payload]}. Segments are zero-filled on creation and a record
+ * writes its length last, so a torn write reads as end-of-data; a CRC mismatch also
+ * ends the segment. The read offset is stored in the segment header after every
+ * committed batch, so replay resumes where it left off after a restart. Existing
+ * segments are reopened at their own size, so changing {@code segmentSize} between
+ * runs does not lose what was spilled before; it only applies to new segments.
+ * <p>
+ * Writes land in the page cache, which survives a process crash; segments are
+ * forced to disk when they are rolled and on close. Total size is bounded by
+ * {@code maxSegments * segmentSize}: once full, {@link #append(byte[])} returns false.
+ * All methods are synchronized; appends are a memcpy into the mapping.
+ */
+final class SpillQueue implements AutoCloseable {
+
+    private static final int MAGIC = 0x474C5350; // "GLSP"
+    private static final int HEADER_BYTES = 8;
+    private static final int RECORD_HEADER_BYTES = 8;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final CRC32C crc = new CRC32C();
+    private int pendingOffset = -1;
+    private long spilledBytes;
+
+    SpillQueue(final Path directory, final int segmentSize, final int maxSegments) throws IOException {
+        if (segmentSize < HEADER_BYTES + RECORD_HEADER_BYTES + 1) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    /**
+     * @return false if the payload does not fit in a segment or the spill file is full
+     */
+    boolean append(final byte[] payload) throws IOException {
+        return append(payload, 0, payload.length);
+    }
+
+    /**
+     * Append {@code length} bytes of {@code payload} starting at {@code offset}
+     *
+     * @return false if the payload does not fit in a segment or the spill file is full
+     */
+    synchronized boolean append(final byte[] payload, final int payloadOffset, final int length) throws IOException {
+        if (length == 0) {
+            return true;
+        }
+        int recordBytes = RECORD_HEADER_BYTES + length;
+        if (recordBytes > segmentSize - HEADER_BYTES) {
+            return false;
+        }
+        Segment tail = segments.peekLast();
+        if (tail == null || tail.writeOffset + recordBytes > tail.size) {
+            if (segments.size() >= maxSegments) {
+                return false;
+            }
+            if (tail != null) {
+                tail.buffer.force();
+            }
+            tail = createSegment(tail == null ? 0 : tail.sequence + 1);
+            segments.addLast(tail);
+        }
+        MappedByteBuffer buffer = tail.buffer;
+        int offset = tail.writeOffset;
+        crc.reset();
+        crc.update(payload, payloadOffset, length);
+        buffer.put(offset + RECORD_HEADER_BYTES, payload, payloadOffset, length);
+        buffer.putInt(offset + 4, (int) crc.getValue());
+        // Length goes last: until it is written, the record reads as end-of-data
+        buffer.putInt(offset, length);
+        tail.writeOffset = offset + recordBytes;
+        spilledBytes += recordBytes;
+        return true;
+    }
+
+    /**
+     * Read up to {@code maxRecords} records from the head without consuming them.
+     * Call {@link #commit()} once they have been delivered.
+     */
+    synchronized List<byte[]> peek(final int maxRecords, final int maxBytes) throws IOException {
+        List<byte[]> records = new ArrayList<>();
+        Segment head = headWithData();
+        if (head == null) {
+            pendingOffset = -1;
+            return records;
+        }
+        int offset = head.readOffset;
+        int bytes = 0;
+        while (records.size() < maxRecords && offset < head.writeOffset) {
+            int length = head.buffer.getInt(offset);
+            if (records.size() > 0 && bytes + length > maxBytes) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            head.buffer.get(offset + RECORD_HEADER_BYTES, payload);
+            records.add(payload);
+            bytes += length;
+            offset += RECORD_HEADER_BYTES + length;
+        }
+        pendingOffset = offset;
+        return records;
+    }
+
+    /**
+     * Consume the records returned by the last {@link #peek(int, int)}
+     */
+    synchronized void commit() throws IOException {
+        Segment head = segments.peekFirst();
+        if (head == null || pendingOffset < 0) {
+            return;
+        }
+        spilledBytes -= pendingOffset - head.readOffset;
+        head.readOffset = pendingOffset;
+        head.buffer.putInt(4, pendingOffset);
+        pendingOffset = -1;
+        headWithData();
+    }
+
+    synchronized boolean isEmpty() {
+        return spilledBytes == 0;
+    }
+
+    /**
+     * Bytes of records not yet replayed
+     */
+    synchronized long spilledBytes() {
+        return spilledBytes;
+    }
+
+    synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Segment segment : segments) {
+            segment.buffer.force();
+        }
+        segments.clear();
+    }
+
+    /**
+     * Drop fully replayed segments, except the one being written
+     */
+    private Segment headWithData() throws IOException {
+        while (!segments.isEmpty()) {
+            Segment head = segments.peekFirst();
+            if (head.readOffset < head.writeOffset) {
+                return head;
+            }
+            if (segments.size() == 1) {
+                return null;
+            }
+            segments.removeFirst();
+            Files.deleteIfExists(head.path);
+        }
+        return null;
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing
+                .filter(path -> path.getFileName().toString().matches("spill-\\d{20}\\.seg"))
+                .sorted()
+                .toList();
+        }
+        for (Path file : files) {
+            Segment segment = openSegment(file);
+            if (segment == null) {
+                Files.deleteIfExists(file);
+                continue;
+            }
+            segments.addLast(segment);
+            spilledBytes += segment.writeOffset - segment.readOffset;
+        }
+        headWithData();
+    }
+
+    private Segment createSegment(final long sequence) throws IOException {
+        Path path = directory.resolve("spill-%020d.seg".formatted(sequence));
+        MappedByteBuffer buffer = map(path, segmentSize);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, HEADER_BYTES);
+        return new Segment(path, sequence, buffer, segmentSize, HEADER_BYTES, HEADER_BYTES);
+    }
+
+    /**
+     * Map an existing segment at its own size and find the end of its valid records
+     *
+     * @return null if the file is not a spill segment
+     */
+    private Segment openSegment(final Path path) throws IOException {
+        long fileSize = Files.size(path);
+        if (fileSize < HEADER_BYTES || fileSize > Integer.MAX_VALUE) {
+            return null;
+        }
+        int size = (int) fileSize;
+        MappedByteBuffer buffer = map(path, size);
+        if (buffer.getInt(0) != MAGIC) {
+            return null;
+        }
+        int offset = HEADER_BYTES;
+        while (offset + RECORD_HEADER_BYTES <= size) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + RECORD_HEADER_BYTES + length > size) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(offset + RECORD_HEADER_BYTES, payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+                break;
+            }
+            offset += RECORD_HEADER_BYTES + length;
+        }
+        int readOffset = Math.max(HEADER_BYTES, Math.min(buffer.getInt(4), offset));
+        long sequence = Long.parseLong(path.getFileName().toString().substring(6, 26));
+        return new Segment(path, sequence, buffer, size, readOffset, offset);
+    }
+
+    private static MappedByteBuffer map(final Path path, final int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        }
+    }
+
+    private static final class Segment {
+        final Path path;
+        final long sequence;
+        final MappedByteBuffer buffer;
+        final int size;
+        int readOffset;
+        int writeOffset;
+
+        Segment(final Path path, final long sequence, final MappedByteBuffer buffer, final int size,
+                final int readOffset, final int writeOffset) {
+            this.path = path;
+            this.sequence = sequence;
+            this.buffer = buffer;
+            this.size = size;
+            this.readOffset = readOffset;
+            this.writeOffset = writeOffset;
+        }
+    }
+}
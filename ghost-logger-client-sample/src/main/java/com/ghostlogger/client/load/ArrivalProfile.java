@@ -0,0 +1,63 @@
+package com.ghostlogger.client.load;
+
+import java.time.Duration;
+
+/**
+ * Open-model arrival schedule: when the i-th request is due, independent of how
+ * long earlier requests take.
+ * <p>
+ * The rate moves linearly from {@code startRate} to {@code endRate} (requests per
+ * second) over {@code duration}; equal rates give a constant schedule. Arrival
+ * {@code i} is due when the integral of the rate reaches {@code i}.
+ */
+public record ArrivalProfile(double startRate, double endRate, Duration duration) {
+
+    public ArrivalProfile {
+        if (!(startRate > 0) || !(endRate > 0)) {
+            throw new IllegalArgumentException("Rates must be positive: " + startRate + ", " + endRate);
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duration must be positive: " + duration);
+        }
+    }
+
+    public static ArrivalProfile constant(final double rate, final Duration duration) {
+        return new ArrivalProfile(rate, rate, duration);
+    }
+
+    public static ArrivalProfile ramp(final double startRate, final double endRate, final Duration duration) {
+        return new ArrivalProfile(startRate, endRate, duration);
+    }
+
+    /**
+     * Offset from the start of the profile at which arrival {@code i} is due, or
+     * {@code Long.MAX_VALUE} once the schedule is over
+     */
+    public long arrivalOffsetNanos(final long i) {
+        double seconds = duration.toNanos() / 1e9;
+        double slope = (endRate - startRate) / seconds;
+        double t;
+        if (slope == 0) {
+            t = i / startRate;
+        } else {
+            // Solve startRate * t + slope * t^2 / 2 = i for t
+            double discriminant = startRate * startRate + 2 * slope * i;
+            if (discriminant < 0) {
+                return Long.MAX_VALUE;
+            }
+            t = (Math.sqrt(discriminant) - startRate) / slope;
+        }
+        return t < seconds ? (long) (t * 1e9) : Long.MAX_VALUE;
+    }
+
+    public long expectedArrivals() {
+        return (long) ((startRate + endRate) / 2 * duration.toNanos() / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        return startRate == endRate
+            ? "constant %.0f req/s for %ds".formatted(startRate, duration.toSeconds())
+            : "ramp %.0f -> %.0f req/s over %ds".formatted(startRate, endRate, duration.toSeconds());
+    }
+}
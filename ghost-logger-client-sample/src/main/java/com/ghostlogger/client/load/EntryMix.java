@@ -0,0 +1,49 @@
+package com.ghostlogger.client.load;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Relative weights of ERROR, AUDIT and METRIC entries, e.g. {@code error=60,audit=10,metric=30}
+ */
+public record EntryMix(int error, int audit, int metric) {
+
+    public enum Type { ERROR, AUDIT, METRIC }
+
+    public EntryMix {
+        if (error < 0 || audit < 0 || metric < 0 || error + audit + metric == 0) {
+            throw new IllegalArgumentException("Mix weights must be non-negative and not all zero");
+        }
+    }
+
+    public static EntryMix parse(final String spec) {
+        int error = 0;
+        int audit = 0;
+        int metric = 0;
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected type=weight, got: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            switch (pair[0].trim().toLowerCase(Locale.ROOT)) {
+                case "error" -> error = weight;
+                case "audit" -> audit = weight;
+                case "metric" -> metric = weight;
+                default -> throw new IllegalArgumentException("Unknown entry type: " + pair[0]);
+            }
+        }
+        return new EntryMix(error, audit, metric);
+    }
+
+    Type next(final SplittableRandom random) {
+        int pick = random.nextInt(error + audit + metric);
+        if (pick < error) return Type.ERROR;
+        return pick < error + audit ? Type.AUDIT : Type.METRIC;
+    }
+
+    @Override
+    public String toString() {
+        return "error=" + error + ",audit=" + audit + ",metric=" + metric;
+    }
+}
@@ -0,0 +1,120 @@
+package com.ghostlogger.client.load;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latency and outcome counters of one load run.
+ * <p>
+ * Two histograms are kept. {@code response} time runs from when a request was
+ * <em>due</em> by the arrival schedule to its response, so time spent queued behind a
+ * slow server is counted; this corrects for coordinated omission. {@code service}
+ * time runs from when it was actually sent, which is what a closed-model tool would
+ * report. A large gap between the two means the client or server fell behind.
+ */
+final class LatencyStats {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Recorder response = new Recorder(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+    private final Recorder service = new Recorder(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+    private final Histogram totalResponse = new Histogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+    private final Histogram totalService = new Histogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+    private Histogram intervalResponse;
+    private Histogram intervalService;
+
+    final LongAdder accepted = new LongAdder();
+    final LongAdder throttled = new LongAdder();
+    final LongAdder rejected = new LongAdder();
+    final LongAdder serverErrors = new LongAdder();
+    final LongAdder ioErrors = new LongAdder();
+    final LongAdder skipped = new LongAdder();
+
+    void record(final long dueNanos, final long sentNanos, final long completedNanos) {
+        response.recordValue(Math.min(completedNanos - dueNanos, HIGHEST_TRACKABLE_NANOS));
+        service.recordValue(Math.min(completedNanos - sentNanos, HIGHEST_TRACKABLE_NANOS));
+    }
+
+    void recordStatus(final int status) {
+        if (status >= 200 && status < 300) {
+            accepted.increment();
+        } else if (status == 429) {
+            throttled.increment();
+        } else if (status >= 500) {
+            serverErrors.increment();
+        } else {
+            rejected.increment();
+        }
+    }
+
+    /**
+     * Move what was recorded since the last call into the run totals and print it
+     */
+    synchronized void reportInterval(final PrintStream out, final long elapsedMillis, final double intervalSeconds) {
+        intervalResponse = response.getIntervalHistogram(intervalResponse);
+        intervalService = service.getIntervalHistogram(intervalService);
+        totalResponse.add(intervalResponse);
+        totalService.add(intervalService);
+        out.printf("%7.1fs %10.0f req/s   response p50 %8.2f  p99 %8.2f  max %8.2f ms   service p99 %8.2f ms%n",
+            elapsedMillis / 1000.0,
+            intervalResponse.getTotalCount() / intervalSeconds,
+            millis(intervalResponse.getValueAtPercentile(50)),
+            millis(intervalResponse.getValueAtPercentile(99)),
+            millis(intervalResponse.getMaxValue()),
+            millis(intervalService.getValueAtPercentile(99)));
+    }
+
+    /**
+     * Discard everything recorded so far, e.g. at the end of the warmup
+     */
+    synchronized void reset() {
+        intervalResponse = response.getIntervalHistogram(intervalResponse);
+        intervalService = service.getIntervalHistogram(intervalService);
+        totalResponse.reset();
+        totalService.reset();
+        accepted.reset();
+        throttled.reset();
+        rejected.reset();
+        serverErrors.reset();
+        ioErrors.reset();
+        skipped.reset();
+    }
+
+    synchronized void printSummary(final PrintStream out, final double seconds, final int batchSize) {
+        long completed = totalResponse.getTotalCount();
+        out.println();
+        out.printf("requests      %d completed in %.1fs (%.0f req/s, %.0f accepted events/s)%n",
+            completed, seconds, completed / seconds, accepted.sum() * batchSize / seconds);
+        out.printf("outcomes      2xx %d, 429 %d, 4xx %d, 5xx %d, I/O errors %d, skipped (client saturated) %d%n",
+            accepted.sum(), throttled.sum(), rejected.sum(), serverErrors.sum(), ioErrors.sum(), skipped.sum());
+        out.printf("%-13s %9s %9s %9s %9s %9s %9s%n", "latency (ms)", "p50", "p90", "p99", "p99.9", "p99.99", "max");
+        printPercentiles(out, "response", totalResponse);
+        printPercentiles(out, "service", totalService);
+    }
+
+    /**
+     * Full percentile distribution of response times in milliseconds, in the .hgrm
+     * format HdrHistogram's plotter reads
+     */
+    synchronized void writeDistribution(final PrintStream out) {
+        totalResponse.outputPercentileDistribution(out, 1_000_000.0);
+    }
+
+    private static void printPercentiles(final PrintStream out, final String name, final Histogram histogram) {
+        out.printf("%-13s %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+            millis(histogram.getValueAtPercentile(50)),
+            millis(histogram.getValueAtPercentile(90)),
+            millis(histogram.getValueAtPercentile(99)),
+            millis(histogram.getValueAtPercentile(99.9)),
+            millis(histogram.getValueAtPercentile(99.99)),
+            millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
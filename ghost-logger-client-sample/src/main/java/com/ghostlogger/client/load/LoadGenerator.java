@@ -0,0 +1,213 @@
+package com.ghostlogger.client.load;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator for the ingestion endpoint.
+ * <p>
+ * Requests are started on their own virtual thread when the {@link ArrivalProfile}
+ * says they are due, whether or not earlier ones have returned, the way independent
+ * clients behave. A slow server therefore builds a queue instead of quietly slowing
+ * the generator down, and latency is measured from the due time (see {@link LatencyStats}).
+ * <pre>
+ * java -cp ghost-logger-client-sample.jar:... com.ghostlogger.client.load.LoadGenerator \
+ *     --rate 500 --ramp-to 5000 --duration 120s --warmup 15s --batch-size 20 \
+ *     --mix error=60,audit=10,metric=30 --hgrm target/ingest.hgrm
+ * </pre>
+ * Options (defaults in brackets):
+ * - {@code --url} ingestion endpoint [http://localhost:8080/api/v1/logs/ingest]
+ * - {@code --rate} requests per second at the start [200]
+ * - {@code --ramp-to} requests per second at the end; omit for a constant rate
+ * - {@code --duration} / {@code --warmup} measured run and unmeasured warmup at {@code --rate} [60s / 10s]
+ * - {@code --batch-size} entries per request [20]
+ * - {@code --mix} relative weights of entry types [error=60,audit=10,metric=30]
+ * - {@code --sources} / {@code --users} distinct services and audit users [50 / 10000]
+ * - {@code --max-in-flight} outstanding requests before arrivals are skipped and counted [10000]
+ * - {@code --report-every} progress interval [5s]
+ * - {@code --seed} random seed [42]
+ * - {@code --hgrm} file for the response time percentile distribution
+ */
+public final class LoadGenerator {
+
+    private final URI url;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final PayloadFactory payloads;
+    private final SplittableRandom random;
+    private final HttpClient httpClient;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LatencyStats stats = new LatencyStats();
+    private volatile long lastReportNanos;
+
+    LoadGenerator(URI url, int batchSize, int maxInFlight, PayloadFactory payloads, long seed) {
+        this.url = url;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+        this.payloads = payloads;
+        this.random = new SplittableRandom(seed);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(3))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        double rampTo = Double.parseDouble(options.getOrDefault("ramp-to", Double.toString(rate)));
+        Duration duration = parseDuration(options.getOrDefault("duration", "60s"));
+        Duration warmup = parseDuration(options.getOrDefault("warmup", "10s"));
+        Duration reportEvery = parseDuration(options.getOrDefault("report-every", "5s"));
+        EntryMix mix = EntryMix.parse(options.getOrDefault("mix", "error=60,audit=10,metric=30"));
+        ArrivalProfile profile = ArrivalProfile.ramp(rate, rampTo, duration);
+
+        LoadGenerator generator = new LoadGenerator(
+            URI.create(options.getOrDefault("url", "http://localhost:8080/api/v1/logs/ingest")),
+            Integer.parseInt(options.getOrDefault("batch-size", "20")),
+            Integer.parseInt(options.getOrDefault("max-in-flight", "10000")),
+            new PayloadFactory(mix,
+                Integer.parseInt(options.getOrDefault("sources", "50")),
+                Integer.parseInt(options.getOrDefault("users", "10000"))),
+            Long.parseLong(options.getOrDefault("seed", "42")));
+
+        System.out.println("[LoadGenerator] " + profile + ", batch " + generator.batchSize + ", mix " + mix
+            + ", warmup " + warmup.toSeconds() + "s, target " + generator.url);
+        generator.run(profile, warmup, reportEvery);
+
+        String hgrm = options.get("hgrm");
+        if (hgrm != null) {
+            try (PrintStream out = new PrintStream(new FileOutputStream(hgrm))) {
+                generator.stats.writeDistribution(out);
+            }
+            System.out.println("[LoadGenerator] Response time distribution written to " + hgrm);
+        }
+        System.exit(0);
+    }
+
+    void run(ArrivalProfile profile, Duration warmup, Duration reportEvery) throws InterruptedException {
+        if (!warmup.isZero()) {
+            dispatch(ArrivalProfile.constant(profile.startRate(), warmup));
+            awaitInFlight(Duration.ofSeconds(10));
+            stats.reset();
+        }
+        long start = System.nanoTime();
+        lastReportNanos = start;
+        Thread reporter = Thread.ofVirtual().start(() -> report(start, reportEvery));
+        dispatch(profile);
+        awaitInFlight(Duration.ofSeconds(30));
+        reporter.interrupt();
+        reporter.join();
+        reportInterval(start);
+        stats.printSummary(System.out, (System.nanoTime() - start) / 1e9, batchSize);
+    }
+
+    /**
+     * Start every arrival of the profile at its due time. Never waits for responses:
+     * when {@code maxInFlight} requests are outstanding, further arrivals are skipped
+     * and counted rather than delayed.
+     */
+    private void dispatch(ArrivalProfile profile) {
+        long start = System.nanoTime();
+        for (long i = 0; ; i++) {
+            long offset = profile.arrivalOffsetNanos(i);
+            if (offset == Long.MAX_VALUE) {
+                return;
+            }
+            long due = start + offset;
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= maxInFlight) {
+                stats.skipped.increment();
+                continue;
+            }
+            inFlight.incrementAndGet();
+            SplittableRandom requestRandom = random.split();
+            senders.execute(() -> send(due, requestRandom));
+        }
+    }
+
+    private void send(long due, SplittableRandom requestRandom) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(url)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(payloads.batch(batchSize, requestRandom)))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            long sent = System.nanoTime();
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            stats.record(due, sent, System.nanoTime());
+            stats.recordStatus(response.statusCode());
+        } catch (IOException e) {
+            stats.ioErrors.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void report(long start, Duration every) {
+        try {
+            while (true) {
+                Thread.sleep(every);
+                reportInterval(start);
+            }
+        } catch (InterruptedException ignored) {
+            // Run finished
+        }
+    }
+
+    private void reportInterval(long start) {
+        long now = System.nanoTime();
+        stats.reportInterval(System.out, TimeUnit.NANOSECONDS.toMillis(now - start), (now - lastReportNanos) / 1e9);
+        lastReportNanos = now;
+    }
+
+    private void awaitInFlight(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value, got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    /**
+     * {@code 500ms}, {@code 90s} or {@code 5m}
+     */
+    static Duration parseDuration(String value) {
+        String trimmed = value.trim().toLowerCase(Locale.ROOT);
+        if (trimmed.endsWith("ms")) return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+        if (trimmed.endsWith("s")) return Duration.ofSeconds(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+        if (trimmed.endsWith("m")) return Duration.ofMinutes(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+        throw new IllegalArgumentException("Expected a duration like 500ms, 90s or 5m, got: " + value);
+    }
+}
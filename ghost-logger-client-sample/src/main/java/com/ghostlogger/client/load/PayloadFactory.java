@@ -0,0 +1,171 @@
+package com.ghostlogger.client.load;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.SplittableRandom;
+
+/**
+ * Builds ingestion batches whose field cardinalities resemble production traffic.
+ * <p>
+ * - Sources are picked with a skew, so a few services are much noisier than the rest
+ * - Messages come from a small set of templates with high-cardinality parameters
+ *   (order ids, durations), which is what template mining and fingerprinting see
+ * - Metric series are bounded: name x region x host x status
+ * - Each batch carries entries of one to three traces, as an instrumented request would
+ */
+final class PayloadFactory {
+
+    private static final String[] REGIONS = {"eu-west-1", "eu-central-1", "us-east-1", "us-west-2", "ap-south-1"};
+    private static final String[] STATUSES = {"200", "201", "400", "404", "500"};
+    private static final String[] ACTIONS = {
+        "LOGIN", "LOGOUT", "CREATE_ORDER", "CANCEL_ORDER", "UPDATE_PROFILE", "CHANGE_PASSWORD",
+        "EXPORT_REPORT", "GRANT_ROLE", "REVOKE_ROLE", "DELETE_ACCOUNT", "VIEW_INVOICE", "REFUND_PAYMENT"
+    };
+    private static final String[] RESOURCE_TYPES = {"ORDER", "USER", "INVOICE", "PAYMENT", "REPORT", "ROLE"};
+    private static final String[] METRIC_NAMES = {
+        "http.server.duration", "http.client.duration", "db.query.duration", "cache.hit.ratio",
+        "queue.depth", "jvm.gc.pause", "jvm.heap.used", "orders.created", "payments.amount", "kafka.consumer.lag"
+    };
+    private static final String[] METRIC_UNITS = {"ms", "ms", "ms", "ratio", "count", "ms", "bytes", "count", "EUR", "count"};
+    private static final String[] TEMPLATES = {
+        "Processed payment %s for order %d in %d ms",
+        "Order %d shipped to warehouse %s",
+        "Cache miss for key user:%d",
+        "Retrying request to %s after %d ms",
+        "Inventory reserved for order %d (%d items)",
+        "Slow query on table orders took %d ms",
+        "User %d session refreshed",
+        "Connection pool exhausted, waited %d ms",
+    };
+    private static final String[] EXCEPTIONS = {
+        "java.lang.IllegalStateException", "java.lang.NullPointerException", "java.net.SocketTimeoutException",
+        "java.sql.SQLTransientConnectionException", "org.springframework.dao.DataIntegrityViolationException",
+        "java.util.concurrent.TimeoutException"
+    };
+    private static final String[] SEVERITIES = {"DEBUG", "INFO", "INFO", "INFO", "WARN", "WARN", "ERROR", "ERROR", "FATAL"};
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final EntryMix mix;
+    private final int sources;
+    private final int users;
+
+    PayloadFactory(final EntryMix mix, final int sources, final int users) {
+        this.mix = mix;
+        this.sources = sources;
+        this.users = users;
+    }
+
+    byte[] batch(final int size, final SplittableRandom random) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size * 320);
+        try (JsonGenerator json = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            String timestamp = Instant.now().toString();
+            String[] traces = new String[1 + random.nextInt(3)];
+            for (int i = 0; i < traces.length; i++) {
+                traces[i] = hex(random, 32);
+            }
+            json.writeStartObject();
+            json.writeArrayFieldStart("logs");
+            for (int i = 0; i < size; i++) {
+                writeEntry(json, random, timestamp, traces[random.nextInt(traces.length)]);
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private void writeEntry(final JsonGenerator json, final SplittableRandom random, final String timestamp,
+                            final String traceId) throws IOException {
+        int sourceIndex = skewed(random, sources);
+        String source = "service-%03d".formatted(sourceIndex);
+        EntryMix.Type type = mix.next(random);
+        json.writeStartObject();
+        json.writeStringField("type", type.name());
+        json.writeStringField("source", source);
+        json.writeStringField("timestamp", timestamp);
+        switch (type) {
+            case ERROR -> {
+                String severity = SEVERITIES[random.nextInt(SEVERITIES.length)];
+                json.writeStringField("message", message(random));
+                json.writeStringField("severity", severity);
+                if (severity.equals("ERROR") || severity.equals("FATAL")) {
+                    String exception = EXCEPTIONS[skewed(random, EXCEPTIONS.length)];
+                    json.writeStringField("exceptionType", exception);
+                    json.writeStringField("stackTrace", stackTrace(exception, sourceIndex));
+                }
+            }
+            case AUDIT -> {
+                String action = ACTIONS[random.nextInt(ACTIONS.length)];
+                json.writeStringField("message", "User performed " + action);
+                json.writeStringField("userId", "user-" + random.nextInt(users));
+                json.writeStringField("action", action);
+                json.writeStringField("resourceType", RESOURCE_TYPES[random.nextInt(RESOURCE_TYPES.length)]);
+                json.writeStringField("resourceId", Integer.toString(random.nextInt(100_000)));
+            }
+            case METRIC -> {
+                int metric = random.nextInt(METRIC_NAMES.length);
+                json.writeStringField("message", METRIC_NAMES[metric]);
+                json.writeStringField("metricName", METRIC_NAMES[metric]);
+                // Log-normal around ~20, the usual shape of latencies and sizes
+                json.writeNumberField("value", Math.exp(3 + 0.8 * random.nextGaussian()));
+                json.writeStringField("unit", METRIC_UNITS[metric]);
+                json.writeObjectFieldStart("tags");
+                json.writeStringField("region", REGIONS[sourceIndex % REGIONS.length]);
+                json.writeStringField("host", source + "-" + random.nextInt(4));
+                json.writeStringField("status", STATUSES[skewed(random, STATUSES.length)]);
+                json.writeEndObject();
+            }
+        }
+        json.writeObjectFieldStart("traceContext");
+        json.writeStringField("traceId", traceId);
+        json.writeStringField("spanId", hex(random, 16));
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    private static String message(final SplittableRandom random) {
+        return switch (random.nextInt(TEMPLATES.length)) {
+            case 0 -> TEMPLATES[0].formatted("pay-" + random.nextInt(1_000_000), random.nextInt(1_000_000), random.nextInt(2_000));
+            case 1 -> TEMPLATES[1].formatted(random.nextInt(1_000_000), "wh-" + random.nextInt(12));
+            case 2 -> TEMPLATES[2].formatted(random.nextInt(100_000));
+            case 3 -> TEMPLATES[3].formatted("https://api.partner-" + random.nextInt(8) + ".example/v1", 100 << random.nextInt(5));
+            case 4 -> TEMPLATES[4].formatted(random.nextInt(1_000_000), 1 + random.nextInt(20));
+            case 5 -> TEMPLATES[5].formatted(200 + random.nextInt(5_000));
+            case 6 -> TEMPLATES[6].formatted(random.nextInt(100_000));
+            default -> TEMPLATES[7].formatted(random.nextInt(30_000));
+        };
+    }
+
+    private static String stackTrace(final String exception, final int sourceIndex) {
+        String service = "com.example.service%03d".formatted(sourceIndex);
+        return exception + ": request failed\n"
+            + "\tat " + service + ".OrderRepository.save(OrderRepository.java:88)\n"
+            + "\tat " + service + ".OrderService.place(OrderService.java:142)\n"
+            + "\tat " + service + ".OrderController.create(OrderController.java:57)\n"
+            + "\tat org.springframework.web.servlet.FrameworkServlet.service(FrameworkServlet.java:883)\n"
+            + "\tat java.base/java.lang.VirtualThread.run(VirtualThread.java:309)";
+    }
+
+    /**
+     * Index in [0, bound) skewed towards 0: the first few values take most of the traffic
+     */
+    private static int skewed(final SplittableRandom random, final int bound) {
+        double u = random.nextDouble();
+        return (int) (bound * u * u * u);
+    }
+
+    private static String hex(final SplittableRandom random, final int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = Character.forDigit(random.nextInt(16), 16);
+        }
+        return new String(chars);
+    }
+}
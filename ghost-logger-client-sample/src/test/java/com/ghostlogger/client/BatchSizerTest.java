@@ -0,0 +1,58 @@
+package com.ghostlogger.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Batch Sizer - Additive Increase, Multiplicative Decrease
+ * <p>
+ * Latencies are in nanoseconds against a 100 ns target, so "fast" is anything
+ * under 50 and "slow" anything over 100. A size range of 1600 makes the step 100.
+ */
+class BatchSizerTest {
+
+    private static final long TARGET = 100;
+    private static final long FAST = 10;
+    private static final long SLOW = 200;
+
+    @Test
+    void fastFullBatchesGrowByAFixedStep() {
+        BatchSizer sizer = new BatchSizer(100, 1, 1601, TARGET);
+
+        sizer.onDelivered(100, FAST);
+        assertEquals(200, sizer.size());
+        sizer.onDelivered(200, FAST);
+        assertEquals(300, sizer.size());
+    }
+
+    @Test
+    void partialOrMiddlingBatchesKeepTheSize() {
+        BatchSizer sizer = new BatchSizer(100, 1, 1601, TARGET);
+
+        sizer.onDelivered(50, FAST);
+        sizer.onDelivered(100, TARGET);
+        assertEquals(100, sizer.size());
+    }
+
+    @Test
+    void slowOrFailedRequestsHalveTheSizeDownToTheMinimum() {
+        BatchSizer sizer = new BatchSizer(1000, 100, 1600, TARGET);
+
+        sizer.onDelivered(1000, SLOW);
+        assertEquals(500, sizer.size());
+        sizer.onFailed();
+        assertEquals(250, sizer.size());
+        sizer.onFailed();
+        sizer.onFailed();
+        assertEquals(100, sizer.size());
+    }
+
+    @Test
+    void growthStopsAtTheMaximum() {
+        BatchSizer sizer = new BatchSizer(1550, 1, 1601, TARGET);
+
+        sizer.onDelivered(1550, FAST);
+        assertEquals(1601, sizer.size());
+    }
+}
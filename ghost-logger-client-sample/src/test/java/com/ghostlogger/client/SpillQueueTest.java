@@ -0,0 +1,169 @@
+package com.ghostlogger.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Spill Queue - Crash Recovery, Replay Offsets and Segment Lifecycle
+ * <p>
+ * Crashes are simulated by editing a closed segment file the way an interrupted
+ * write would have left it, then reopening the directory. Records are
+ * {@code [length][crc32c][payload]} after an 8-byte segment header.
+ */
+class SpillQueueTest {
+
+    private static final int HEADER_BYTES = 8;
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void tornRecordReadsAsEndOfData() throws IOException {
+        try (SpillQueue queue = new SpillQueue(directory, SEGMENT_SIZE, 4)) {
+            queue.append(bytes("first"));
+            queue.append(bytes("second"));
+        }
+        // The payload and CRC of "second" reached the file, its length did not
+        int second = HEADER_BYTES + RECORD_HEADER_BYTES + "first".length();
+        patchInt(onlySegment(), second, 0);
+
+        try (SpillQueue queue = new SpillQueue(directory, SEGMENT_SIZE, 4)) {
+            assertEquals(List.of("first"), peek(queue));
+            assertEquals(RECORD_HEADER_BYTES + "first".length(), queue.spilledBytes());
+
+            // The next append takes the place of the torn record
+            assertTrue(queue.append(bytes("third")));
+            assertEquals(List.of("first", "third"), peek(queue));
+        }
+    }
+
+    @Test
+    void recordWithAWrongCrcEndsTheSegment() throws IOException {
+        try (SpillQueue queue = new SpillQueue(directory, SEGMENT_SIZE, 4)) {
+            queue.append(bytes("first"));
+            queue.append(bytes("second"));
+            queue.append(bytes("third"));
+        }
+        // Corrupt the CRC of "second": it and everything after it are discarded
+        int second = HEADER_BYTES + RECORD_HEADER_BYTES + "first".length();
+        patchInt(onlySegment(), second + 4, 0xDEADBEEF);
+
+        try (SpillQueue queue = new SpillQueue(directory, SEGMENT_SIZE, 4)) {
+            assertEquals(List.of("first"), peek(queue));
+        }
+    }
+
+    @Test
+    void committedReadOffsetSurvivesARestart() throws IOException {
+        try (SpillQueue queue = new SpillQueue(directory, SEGMENT_SIZE, 4)) {
+            for (String record : List.of("a", "b", "c", "d")) {
+                queue.append(bytes(record));
+            }
+            assertEquals(List.of("a", "b"), strings(queue.peek(2, SEGMENT_SIZE)));
+            queue.commit();
+            // Peeked but never committed: replayed again after the restart
+            assertEquals(List.of("c"), strings(queue.peek(1, SEGMENT_SIZE)));
+        }
+
+        try (SpillQueue queue = new SpillQueue(directory, SEGMENT_SIZE, 4)) {
+            assertEquals(2L * (RECORD_HEADER_BYTES + 1), queue.spilledBytes());
+            assertEquals(List.of("c", "d"), peek(queue));
+        }
+    }
+
+    @Test
+    void segmentsRollWhenFullAndAreDeletedOnceReplayed() throws IOException {
+        // Room for exactly two 10-byte records per segment
+        int segmentSize = HEADER_BYTES + 2 * (RECORD_HEADER_BYTES + 10);
+        try (SpillQueue queue = new SpillQueue(directory, segmentSize, 2)) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(queue.append(bytes("record-00" + i)), "Record " + i + " was refused");
+            }
+            assertEquals(2, queue.segmentCount());
+            assertFalse(queue.append(bytes("record-004")), "Spill file is full");
+            assertFalse(queue.append(new byte[segmentSize]), "Record larger than a segment");
+
+            // A peek stops at the end of the head segment
+            assertEquals(List.of("record-000", "record-001"), strings(queue.peek(10, segmentSize)));
+            queue.commit();
+            assertEquals(1, queue.segmentCount());
+            assertEquals(1, segmentFiles().size());
+
+            // The tail segment is kept once replayed, as it is still being written
+            assertEquals(List.of("record-002", "record-003"), strings(queue.peek(10, segmentSize)));
+            queue.commit();
+            assertTrue(queue.isEmpty());
+            assertEquals(1, segmentFiles().size());
+
+            // The freed segment makes room again
+            assertTrue(queue.append(bytes("record-005")));
+        }
+    }
+
+    @Test
+    void commitAfterAFailedReplayConsumesOnlyTheReplayedRecords() throws IOException {
+        try (SpillQueue queue = new SpillQueue(directory, SEGMENT_SIZE, 4)) {
+            for (String record : List.of("a", "b", "c")) {
+                queue.append(bytes(record));
+            }
+            // The first replay failed and was not committed; the next one reads the same records
+            assertEquals(List.of("a", "b"), strings(queue.peek(2, SEGMENT_SIZE)));
+            queue.append(bytes("d"));
+            assertEquals(List.of("a", "b"), strings(queue.peek(2, SEGMENT_SIZE)));
+            queue.commit();
+            // A second commit without a new peek consumes nothing
+            queue.commit();
+
+            assertEquals(List.of("c", "d"), peek(queue));
+            assertEquals(2L * (RECORD_HEADER_BYTES + 1), queue.spilledBytes());
+        }
+    }
+
+    private static List<String> peek(final SpillQueue queue) throws IOException {
+        return strings(queue.peek(Integer.MAX_VALUE, Integer.MAX_VALUE));
+    }
+
+    private static List<String> strings(final List<byte[]> records) {
+        return records.stream().map(record -> new String(record, StandardCharsets.UTF_8)).toList();
+    }
+
+    private static byte[] bytes(final String record) {
+        return record.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Path onlySegment() throws IOException {
+        List<Path> segments = segmentFiles();
+        assertEquals(1, segments.size());
+        return segments.get(0);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".seg")).sorted().toList();
+        }
+    }
+
+    private static void patchInt(final Path segment, final int offset, final int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, value);
+            channel.write(buffer, offset);
+        }
+    }
+}
@@ -13,11 +13,13 @@ import jakarta.validation.constraints.NotBlank;
  * Contract-First API Design: This DTO defines the API contract.
  * Jackson polymorphic deserialization is configured to map JSON to the correct subtype.
  * <p>
- * Using @JsonTypeInfo for runtime type discrimination during deserialization.
+ * Using @JsonTypeInfo for runtime type discrimination during deserialization. The
+ * discriminator is the existing {@code type} property, so a serialized request (as
+ * forwarded between cluster nodes) carries it once.
  */
 @JsonTypeInfo(
     use = JsonTypeInfo.Id.NAME,
-    include = JsonTypeInfo.As.PROPERTY,
+    include = JsonTypeInfo.As.EXISTING_PROPERTY,
     property = "type"
 )
 @JsonSubTypes({
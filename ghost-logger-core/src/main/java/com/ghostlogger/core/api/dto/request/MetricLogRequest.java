@@ -1,5 +1,6 @@
 package com.ghostlogger.core.api.dto.request;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -8,6 +9,9 @@ import java.util.Map;
 
 /**
  * Metric Log Request DTO
+ * <p>
+ * With a {@code summary} the entry is a client-side pre-aggregate and {@code value}
+ * is its mean.
  */
 public record MetricLogRequest(
     String type,
@@ -31,7 +35,10 @@ public record MetricLogRequest(
     @NotBlank(message = "Unit cannot be blank")
     String unit,
     
-    Map<String, String> tags
+    Map<String, String> tags,
+
+    @Valid
+    MetricSummaryRequest summary
 ) implements LogEntryRequest {
     
     public MetricLogRequest {
@@ -0,0 +1,27 @@
+package com.ghostlogger.core.api.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Metric Summary Request DTO
+ * <p>
+ * Client-side pre-aggregate of one series over one flush interval; {@code sketch}
+ * is a base64 compressed HdrHistogram {@code DoubleHistogram}.
+ */
+public record MetricSummaryRequest(
+    @Positive(message = "Count must be positive")
+    long count,
+
+    @NotNull(message = "Sum cannot be null")
+    Double sum,
+
+    @NotNull(message = "Min cannot be null")
+    Double min,
+
+    @NotNull(message = "Max cannot be null")
+    Double max,
+
+    byte[] sketch
+) {
+}
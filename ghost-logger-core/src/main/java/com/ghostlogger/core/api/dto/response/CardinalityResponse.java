@@ -0,0 +1,28 @@
+package com.ghostlogger.core.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+/**
+ * Cardinality Response DTO
+ * <p>
+ * HyperLogLog estimate of distinct values for one subject over a lookback.
+ */
+@Schema(description = "Distinct-count estimate")
+public record CardinalityResponse(
+    @Schema(description = "What is being counted", example = "audit.userId")
+    String dimension,
+
+    @Schema(description = "Subject the count is scoped to")
+    Map<String, String> subject,
+
+    @Schema(description = "Lookback the estimate covers", example = "PT1H")
+    String lookback,
+
+    @Schema(description = "Estimated number of distinct values", example = "4213")
+    long estimate,
+
+    @Schema(description = "Relative standard error of the estimate", example = "0.01625")
+    double standardError
+) {}
@@ -0,0 +1,59 @@
+package com.ghostlogger.core.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Cluster Response DTO
+ * <p>
+ * This node's view of the cluster membership and of its forwarding to each peer.
+ */
+@Schema(description = "Cluster membership as seen by this node")
+public record ClusterResponse(
+    @Schema(description = "Id of the node that answered", example = "node-1")
+    String nodeId,
+
+    @Schema(description = "Membership version, incremented on every load", example = "2")
+    long version,
+
+    @Schema(description = "Where the membership was loaded from", example = "cluster/members.conf")
+    String origin,
+
+    @Schema(description = "When the membership became active")
+    Instant loadedAt,
+
+    @Schema(description = "Entry attribute hashed to pick the owning node", example = "SOURCE")
+    String partitionKey,
+
+    @Schema(description = "Nodes on the hash ring, ordered by id")
+    List<Node> nodes
+) {
+
+    /**
+     * One node of the cluster
+     */
+    public record Node(
+        @Schema(description = "Node id", example = "node-2")
+        String id,
+
+        @Schema(description = "Base address of the node's API", example = "http://localhost:8082")
+        String address,
+
+        @Schema(description = "Fraction of the hash space the node owns", example = "0.334")
+        double ringShare,
+
+        @Schema(description = "Entries queued for forwarding to the node", example = "12")
+        int backlog,
+
+        @Schema(description = "Entries this node forwarded to the node", example = "48211")
+        long forwarded,
+
+        @Schema(description = "Entries of batches the node still refused after the last attempt", example = "0")
+        long failed,
+
+        @Schema(description = "Entries dropped because the node's forwarding queue was full", example = "0")
+        long shed
+    ) {}
+}
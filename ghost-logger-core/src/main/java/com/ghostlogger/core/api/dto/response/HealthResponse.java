@@ -15,12 +15,42 @@ import java.time.Instant;
  */
 @Schema(description = "Health status response")
 public record HealthResponse(
-    @Schema(description = "Service status", example = "UP")
+    @Schema(description = "Service status: UP, DEGRADED (sampling engaged) or OVERLOADED", example = "UP")
     String status,
     
     @Schema(description = "Status message", example = "Ghost Logger is running")
     String message,
     
     @Schema(description = "Timestamp of the health check")
-    Instant timestamp
-) {}
+    Instant timestamp,
+
+    @Schema(description = "Saturation of the ingestion pipeline")
+    Pipeline pipeline
+) {
+
+    /**
+     * Ingestion pipeline saturation
+     */
+    public record Pipeline(
+        @Schema(description = "Entries in flight relative to capacity; sampling starts at the low watermark", example = "0.12")
+        double saturation,
+
+        @Schema(description = "Entries currently being processed", example = "1200")
+        long inFlightEntries,
+
+        @Schema(description = "In-flight entries at saturation 1.0", example = "10000")
+        int capacity,
+
+        @Schema(description = "Keep probability currently applied to low-value entries", example = "1.0")
+        double keepRate,
+
+        @Schema(description = "Traces awaiting a tail-sampling decision", example = "340")
+        int trackedTraces,
+
+        @Schema(description = "Entries buffered for tail sampling", example = "5120")
+        long bufferedTraceEntries,
+
+        @Schema(description = "Buffered entries relative to the tail-sampling buffer limit", example = "0.05")
+        double traceBufferUtilization
+    ) {}
+}
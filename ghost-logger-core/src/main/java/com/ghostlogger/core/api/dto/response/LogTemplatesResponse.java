@@ -0,0 +1,41 @@
+package com.ghostlogger.core.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Log Templates Response DTO
+ * <p>
+ * Mined message templates with per-template message counts.
+ */
+@Schema(description = "Mined log message templates, most frequent first")
+public record LogTemplatesResponse(
+    @Schema(description = "Timestamp of the snapshot")
+    Instant generatedAt,
+
+    @Schema(description = "Total number of templates mined so far", example = "412")
+    int totalTemplates,
+
+    @Schema(description = "Messages stored raw because they fit no template", example = "17")
+    long rawMessages,
+
+    @Schema(description = "Templates, most frequent first")
+    List<Entry> templates
+) {
+
+    /**
+     * One mined template
+     */
+    public record Entry(
+        @Schema(description = "Stable template id", example = "42")
+        long id,
+
+        @Schema(description = "Template text, <*> marks a parameter", example = "Log message number: <*>")
+        String template,
+
+        @Schema(description = "Messages matched by this template", example = "10234")
+        long count
+    ) {}
+}
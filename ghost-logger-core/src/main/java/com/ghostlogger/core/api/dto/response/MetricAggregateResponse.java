@@ -0,0 +1,54 @@
+package com.ghostlogger.core.api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Metric Aggregate Response DTO
+ * <p>
+ * Pre-aggregated tumbling windows of a single metric series.
+ */
+@Schema(description = "Window aggregates of a metric series")
+public record MetricAggregateResponse(
+    @Schema(description = "Metric name", example = "api.response.time")
+    String metricName,
+
+    @Schema(description = "Series tags")
+    Map<String, String> tags,
+
+    @Schema(description = "Requested window resolution", example = "5m")
+    String resolution,
+
+    @Schema(description = "Rollup tier the windows were read from", example = "1m")
+    String tier,
+
+    @Schema(description = "Sealed windows, oldest first")
+    List<Window> windows
+) {
+
+    /**
+     * One sealed tumbling window
+     * <p>
+     * {@code sketch} is the window's compressed quantile sketch, only sent to another
+     * cluster node so it can merge the quantiles of its peers' windows exactly.
+     */
+    public record Window(
+        Instant start,
+        Instant end,
+        long count,
+        double sum,
+        double min,
+        double max,
+        double mean,
+        double p50,
+        double p90,
+        double p99,
+        @Schema(hidden = true)
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        byte[] sketch
+    ) {}
+}
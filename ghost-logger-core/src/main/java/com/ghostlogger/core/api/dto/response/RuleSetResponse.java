@@ -0,0 +1,41 @@
+package com.ghostlogger.core.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Rule Set Response DTO
+ * <p>
+ * The active routing/filter rules with per-rule match counts.
+ */
+@Schema(description = "Active routing/filter rule set")
+public record RuleSetResponse(
+    @Schema(description = "Rule set version, incremented on every successful load", example = "3")
+    long version,
+
+    @Schema(description = "Where the rules were loaded from", example = "rules/ghost-logger.rules")
+    String origin,
+
+    @Schema(description = "When the rule set became active")
+    Instant loadedAt,
+
+    @Schema(description = "Rules in evaluation order")
+    List<Rule> rules
+) {
+
+    /**
+     * One compiled rule
+     */
+    public record Rule(
+        @Schema(description = "Rule name", example = "drop-health-checks")
+        String name,
+
+        @Schema(description = "Line of the rule in its rule set", example = "12")
+        int line,
+
+        @Schema(description = "Entries matched since the rule set was loaded", example = "48211")
+        long matches
+    ) {}
+}
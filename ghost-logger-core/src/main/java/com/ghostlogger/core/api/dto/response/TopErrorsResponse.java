@@ -0,0 +1,38 @@
+package com.ghostlogger.core.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Top Errors Response DTO
+ * <p>
+ * Heavy-hitter error fingerprints in the current sliding window.
+ */
+@Schema(description = "Most frequent error fingerprints in the sliding window")
+public record TopErrorsResponse(
+    @Schema(description = "Sliding window length", example = "PT5M")
+    String window,
+
+    @Schema(description = "Timestamp of the snapshot")
+    Instant generatedAt,
+
+    @Schema(description = "Fingerprints, most frequent first")
+    List<Entry> errors
+) {
+
+    /**
+     * One heavy-hitter fingerprint
+     */
+    public record Entry(
+        @Schema(description = "Exception type", example = "java.lang.NullPointerException")
+        String exceptionType,
+
+        @Schema(description = "Log source", example = "com.example.UserService")
+        String source,
+
+        @Schema(description = "Estimated count in the window (never undercounts)", example = "1342")
+        long estimatedCount
+    ) {}
+}
@@ -0,0 +1,100 @@
+package com.ghostlogger.core.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded Multi-Producer, Single-Consumer Ring Buffer
+ * <p>
+ * Preallocated, lock-free and non-blocking: producers claim a sequence with a
+ * single CAS and publish the element with a release store; {@link #offer(Object)}
+ * returns false instead of waiting when the ring is full, leaving the overflow
+ * policy (drop, count, spill) to the caller.
+ * <p>
+ * Only one thread may call {@link #poll()} / {@link #drain(Consumer, int)}.
+ *
+ * @param <E> element type
+ */
+public final class MpscRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final int capacity;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    /**
+     * @param capacity requested capacity, rounded up to a power of two
+     */
+    public MpscRingBuffer(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+    }
+
+    /**
+     * Try to enqueue without blocking
+     *
+     * @return false if the ring is full
+     */
+    public boolean offer(final E element) {
+        if (element == null) {
+            throw new NullPointerException("Element cannot be null");
+        }
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head >= capacity) {
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+        slots.setRelease((int) (sequence & mask), element);
+        return true;
+    }
+
+    /**
+     * Dequeue the oldest element, or null if none is published yet (consumer thread only)
+     */
+    public E poll() {
+        long sequence = head;
+        int index = (int) (sequence & mask);
+        E element = slots.getAcquire(index);
+        if (element == null) {
+            return null;
+        }
+        slots.setPlain(index, null);
+        head = sequence + 1;
+        return element;
+    }
+
+    /**
+     * Hand up to {@code limit} elements to the consumer (consumer thread only)
+     *
+     * @return number of drained elements
+     */
+    public int drain(final Consumer<? super E> consumer, final int limit) {
+        int drained = 0;
+        E element;
+        while (drained < limit && (element = poll()) != null) {
+            consumer.accept(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    public int size() {
+        return (int) Math.max(0, Math.min(capacity, tail.get() - head));
+    }
+
+    public boolean isEmpty() {
+        return tail.get() == head;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,97 @@
+package com.ghostlogger.core.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed Timer Wheel
+ * <p>
+ * Deadlines are hashed into {@code wheelSize} buckets of {@code tick} each, so
+ * scheduling is O(1) and expiry only touches the buckets the clock has moved past,
+ * instead of scanning every pending key or paying O(log n) per operation in a
+ * priority queue. Deadlines further out than one rotation simply stay in their
+ * bucket until a later pass.
+ * <p>
+ * {@link #schedule(Object, long)} may be called from any thread; only one thread
+ * may call {@link #advance(long, Consumer)}. Expiry is accurate to one tick; a
+ * timeout scheduled concurrently with an advance past its bucket may fire up to
+ * one rotation late.
+ *
+ * @param <K> key type
+ */
+public final class TimerWheel<K> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<Queue<Timeout<K>>> buckets;
+    private volatile long currentTick;
+
+    /**
+     * @param tick      bucket width
+     * @param wheelSize number of buckets, rounded up to a power of two
+     * @param nowMillis current time
+     */
+    public TimerWheel(final Duration tick, final int wheelSize, final long nowMillis) {
+        if (tick.toMillis() <= 0) {
+            throw new IllegalArgumentException("Tick must be at least 1ms: " + tick);
+        }
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("Wheel size must be positive: " + wheelSize);
+        }
+        int size = wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+        this.tickMillis = tick.toMillis();
+        this.mask = size - 1;
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ConcurrentLinkedQueue<>());
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Fire {@code key} once {@code deadlineMillis} has passed
+     */
+    public void schedule(final K key, final long deadlineMillis) {
+        long tick = Math.max(deadlineMillis / tickMillis, currentTick);
+        buckets.get((int) (tick & mask)).add(new Timeout<>(key, deadlineMillis));
+    }
+
+    /**
+     * Move the clock to {@code nowMillis}, handing every expired key to the consumer
+     *
+     * @return number of expired keys
+     */
+    public int advance(final long nowMillis, final Consumer<K> expired) {
+        long targetTick = nowMillis / tickMillis;
+        long tick = currentTick;
+        long last = Math.min(targetTick, tick + mask);
+        int fired = 0;
+        List<Timeout<K>> notYetDue = new ArrayList<>();
+        for (; tick <= last; tick++) {
+            Queue<Timeout<K>> bucket = buckets.get((int) (tick & mask));
+            Timeout<K> timeout;
+            while ((timeout = bucket.poll()) != null) {
+                if (timeout.deadlineMillis <= nowMillis) {
+                    expired.accept(timeout.key);
+                    fired++;
+                } else {
+                    notYetDue.add(timeout);
+                }
+            }
+            if (!notYetDue.isEmpty()) {
+                bucket.addAll(notYetDue);
+                notYetDue.clear();
+            }
+        }
+        // The current tick is only partly elapsed, so its bucket is scanned again next time
+        currentTick = targetTick;
+        return fired;
+    }
+
+    private record Timeout<K>(K key, long deadlineMillis) {
+    }
+}
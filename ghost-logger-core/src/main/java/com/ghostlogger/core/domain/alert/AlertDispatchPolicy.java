@@ -0,0 +1,36 @@
+package com.ghostlogger.core.domain.alert;
+
+import java.time.Duration;
+
+/**
+ * Alert Dispatch Policy
+ *
+ * @param queueCapacity       alerts waiting for dispatch; beyond it new alerts are shed
+ * @param maxConcurrentAlerts alerts sent at once
+ * @param maxAttempts         attempts per alert while the alert port is unavailable
+ *                            (circuit open, bulkhead full) before it is shed
+ * @param retryDelay          wait between those attempts
+ */
+public record AlertDispatchPolicy(
+    int queueCapacity,
+    int maxConcurrentAlerts,
+    int maxAttempts,
+    Duration retryDelay
+) {
+
+    public AlertDispatchPolicy {
+        if (queueCapacity < 1 || maxConcurrentAlerts < 1) {
+            throw new IllegalArgumentException("QueueCapacity and MaxConcurrentAlerts must be positive");
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("MaxAttempts must be positive");
+        }
+        if (retryDelay == null || retryDelay.isNegative()) {
+            throw new IllegalArgumentException("RetryDelay must not be negative");
+        }
+    }
+
+    public static AlertDispatchPolicy defaults() {
+        return new AlertDispatchPolicy(10_000, 16, 3, Duration.ofSeconds(5));
+    }
+}
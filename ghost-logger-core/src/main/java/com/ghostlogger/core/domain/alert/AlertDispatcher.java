@@ -0,0 +1,215 @@
+package com.ghostlogger.core.domain.alert;
+
+import com.ghostlogger.core.concurrent.MpscRingBuffer;
+import com.ghostlogger.core.domain.model.ErrorLog;
+import com.ghostlogger.core.domain.model.TraceContext;
+import com.ghostlogger.core.domain.port.AlertService;
+import com.ghostlogger.core.domain.port.PipelineMetrics;
+import com.ghostlogger.core.domain.port.PipelineMetrics.EntryType;
+import com.ghostlogger.core.domain.port.PipelineMetrics.Outcome;
+import com.ghostlogger.core.domain.port.PipelineMetrics.Stage;
+import com.ghostlogger.core.domain.port.PortGuard;
+import com.ghostlogger.core.domain.port.PortGuard.Port;
+import com.ghostlogger.core.jfr.PipelineEvents;
+import com.ghostlogger.core.jfr.PortCallEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Alert Dispatcher - Alerts Decoupled from Storage
+ * <p>
+ * Architectural Decisions:
+ * - {@link #dispatch(ErrorLog)} only queues the alert into a bounded
+ *   {@link MpscRingBuffer} and never blocks, so storing an ErrorLog never waits
+ *   for its alert
+ * - One dispatcher thread drains the queue and sends up to
+ *   {@code maxConcurrentAlerts} alerts at once, each on its own virtual thread,
+ *   through the ALERT bulkhead of the {@link PortGuard}
+ * - While the alert port is unavailable (circuit open, bulkhead full) an alert is
+ *   deferred and retried; when the queue is full, new alerts are shed and counted
+ */
+@Service
+public class AlertDispatcher implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertDispatcher.class);
+    private static final long SHUTDOWN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final AlertService alertService;
+    private final PortGuard portGuard;
+    private final PipelineMetrics pipelineMetrics;
+    private final AlertDispatchPolicy policy;
+    private final MpscRingBuffer<PendingAlert> queue;
+    private final Semaphore permits;
+    private final Thread dispatcher;
+    private final Thread.Builder senders = Thread.ofVirtual().name("alert-", 0);
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private volatile Thread waiter;
+    private volatile boolean closed;
+
+    /**
+     * @param batchId ingest request the ErrorLog came from, null for released traces
+     */
+    private record PendingAlert(ErrorLog errorLog, String batchId, long enqueuedNanos) {
+    }
+
+    public AlertDispatcher(
+        final AlertService alertService,
+        final PortGuard portGuard,
+        final PipelineMetrics pipelineMetrics,
+        final AlertDispatchPolicy policy
+    ) {
+        this.alertService = alertService;
+        this.portGuard = portGuard;
+        this.pipelineMetrics = pipelineMetrics;
+        this.policy = policy;
+        this.queue = new MpscRingBuffer<>(policy.queueCapacity());
+        this.permits = new Semaphore(policy.maxConcurrentAlerts());
+        this.dispatcher = Thread.ofVirtual().name("alert-dispatcher").start(this::drain);
+    }
+
+    /**
+     * Queue an alert; never blocks
+     *
+     * @return false if the alert was shed because the queue is full
+     */
+    public boolean dispatch(final ErrorLog errorLog) {
+        if (closed || !queue.offer(new PendingAlert(errorLog, PipelineEvents.batchId(), System.nanoTime()))) {
+            shed.increment();
+            pipelineMetrics.recordStage(Stage.ALERT, EntryType.ERROR, Outcome.SHED, 0);
+            log.debug("Alert queue full, shed alert [errorId={}, traceId={}]",
+                errorLog.id(), errorLog.traceContext().traceId());
+            return false;
+        }
+        Thread consumer = waiter;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+        return true;
+    }
+
+    private void drain() {
+        while (true) {
+            PendingAlert alert = queue.poll();
+            if (alert == null) {
+                if (closed) {
+                    return;
+                }
+                waiter = Thread.currentThread();
+                if (queue.isEmpty() && !closed) {
+                    LockSupport.park(this);
+                }
+                waiter = null;
+                continue;
+            }
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            senders.start(() -> {
+                try {
+                    send(alert);
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+    }
+
+    private void send(final PendingAlert alert) {
+        ErrorLog errorLog = alert.errorLog();
+        try {
+            TraceContext.callWithContext(errorLog.traceContext(),
+                () -> PipelineEvents.callWithBatch(alert.batchId(), () -> {
+                    sendWithRetry(errorLog);
+                    return null;
+                }));
+        } catch (Exception e) {
+            log.error("Alert dispatch failed [errorId={}]: {}", errorLog.id(), e.getMessage());
+        }
+    }
+
+    private void sendWithRetry(final ErrorLog errorLog) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            PortCallEvent event = new PortCallEvent();
+            event.begin();
+            long start = System.nanoTime();
+            Outcome outcome = Outcome.FAILURE;
+            try {
+                portGuard.call(Port.ALERT, () -> alertService.sendAlert(errorLog));
+                outcome = Outcome.SUCCESS;
+                sent.increment();
+                return;
+            } catch (PortGuard.PortUnavailableException e) {
+                outcome = attempt < policy.maxAttempts() ? Outcome.REJECTED : Outcome.SHED;
+                if (outcome == Outcome.SHED) {
+                    shed.increment();
+                    log.warn("Alert port unavailable after {} attempts, shed alert [errorId={}]: {}",
+                        attempt, errorLog.id(), e.getMessage());
+                    return;
+                }
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                failed.increment();
+                log.error("❌ Alert failed [errorId={}, traceId={}]: {}",
+                    errorLog.id(), errorLog.traceContext().traceId(), e.getMessage());
+                return;
+            } finally {
+                pipelineMetrics.recordStage(Stage.ALERT, EntryType.ERROR, outcome, System.nanoTime() - start);
+                event.complete("alert", EntryType.ERROR, errorLog.id(), outcome == Outcome.SUCCESS);
+            }
+            Thread.sleep(policy.retryDelay());
+        }
+    }
+
+    /**
+     * Alerts waiting for dispatch
+     */
+    public int backlog() {
+        return queue.size();
+    }
+
+    public long sentAlerts() {
+        return sent.sum();
+    }
+
+    public long failedAlerts() {
+        return failed.sum();
+    }
+
+    /**
+     * Alerts dropped because the queue was full or the alert port stayed unavailable
+     */
+    public long shedAlerts() {
+        return shed.sum();
+    }
+
+    /**
+     * Stop accepting alerts and send the queued ones
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        LockSupport.unpark(dispatcher);
+        long deadline = System.nanoTime() + SHUTDOWN_TIMEOUT_NANOS;
+        boolean finished = dispatcher.join(Duration.ofNanos(Math.max(1, deadline - System.nanoTime())))
+            && permits.tryAcquire(policy.maxConcurrentAlerts(), Math.max(0, deadline - System.nanoTime()),
+                TimeUnit.NANOSECONDS);
+        if (!finished) {
+            log.warn("Alert dispatcher did not finish within the shutdown timeout [backlog={}]", backlog());
+        }
+        log.info("AlertDispatcher stopped after sending {} alerts ({} failed, {} shed)",
+            sentAlerts(), failedAlerts(), shedAlerts());
+    }
+}
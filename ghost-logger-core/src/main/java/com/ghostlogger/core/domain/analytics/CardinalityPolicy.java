@@ -0,0 +1,53 @@
+package com.ghostlogger.core.domain.analytics;
+
+import java.time.Duration;
+
+/**
+ * Cardinality Tracking Policy
+ *
+ * @param precision      HyperLogLog precision (2^precision one-byte registers per slot)
+ * @param slotDuration   length of one time slot
+ * @param slots          number of slots; the sliding window is slots * slotDuration
+ * @param maxTrackedKeys upper bound on tracked (action, resourceType) and (metric, tag key) pairs
+ * @param maxTagValues   distinct values per metric tag key above which the tag is exploding
+ * @param guardMode      what to do with exploding tags
+ */
+public record CardinalityPolicy(
+    int precision,
+    Duration slotDuration,
+    int slots,
+    int maxTrackedKeys,
+    long maxTagValues,
+    GuardMode guardMode
+) {
+
+    /**
+     * Cardinality-explosion guard behaviour
+     */
+    public enum GuardMode {
+        /** Report exploding tags but keep creating series */
+        FLAG,
+        /** Collapse values of exploding tags into one overflow series */
+        CAP
+    }
+
+    public CardinalityPolicy {
+        if (slots <= 0 || maxTrackedKeys <= 0 || maxTagValues <= 0) {
+            throw new IllegalArgumentException("Cardinality sizes must be positive");
+        }
+        if (slotDuration == null || slotDuration.isZero() || slotDuration.isNegative()) {
+            throw new IllegalArgumentException("Slot duration must be positive");
+        }
+        if (guardMode == null) {
+            guardMode = GuardMode.FLAG;
+        }
+    }
+
+    public static CardinalityPolicy defaults() {
+        return new CardinalityPolicy(12, Duration.ofMinutes(5), 12, 10_000, 1_000, GuardMode.FLAG);
+    }
+
+    public Duration window() {
+        return slotDuration.multipliedBy(slots);
+    }
+}
@@ -0,0 +1,156 @@
+package com.ghostlogger.core.domain.analytics;
+
+import com.ghostlogger.core.domain.model.AuditLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cardinality Tracker - HyperLogLog Estimates at Ingest Time
+ * <p>
+ * Maintains fixed-size, sliding-window HyperLogLog sketches for:
+ * - distinct AuditLog userIds per (action, resourceType)
+ * - distinct MetricLog tag values per (metricName, tag key)
+ * <p>
+ * The tag sketches double as a cardinality-explosion guard: once a tag key
+ * exceeds {@link CardinalityPolicy#maxTagValues()}, it is flagged and, in
+ * {@link CardinalityPolicy.GuardMode#CAP} mode, new series for it are collapsed
+ * into a single overflow value before they reach series storage.
+ */
+@Service
+public class CardinalityTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(CardinalityTracker.class);
+
+    /**
+     * Tag value that replaces values of an exploding tag in CAP mode
+     */
+    public static final String OVERFLOW_TAG_VALUE = "__overflow__";
+
+    private final CardinalityPolicy policy;
+    private final Map<AuditKey, SlidingHyperLogLog> auditUsers = new ConcurrentHashMap<>();
+    private final Map<TagKey, SlidingHyperLogLog> tagValues = new ConcurrentHashMap<>();
+    private final Map<TagKey, Long> exploding = new ConcurrentHashMap<>();
+    private final LongAdder untrackedKeys = new LongAdder();
+
+    public CardinalityTracker(final CardinalityPolicy policy) {
+        this.policy = policy;
+    }
+
+    public void recordAudit(final AuditLog auditLog) {
+        SlidingHyperLogLog sketch = sketchFor(auditUsers, new AuditKey(auditLog.action(), auditLog.resourceType()));
+        if (sketch != null) {
+            sketch.offer(Hashing.hash64(auditLog.userId()), System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Offer each tag value of a metric sample to its sketch
+     *
+     * @return tag keys currently over the cardinality limit (empty in the common case)
+     */
+    public Set<String> recordMetricTags(final String metricName, final Map<String, String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return Set.of();
+        }
+        long now = System.currentTimeMillis();
+        Set<String> over = null;
+        for (Map.Entry<String, String> tag : tags.entrySet()) {
+            TagKey key = new TagKey(metricName, tag.getKey());
+            SlidingHyperLogLog sketch = sketchFor(tagValues, key);
+            if (sketch == null) {
+                continue;
+            }
+            sketch.offer(Hashing.hash64(String.valueOf(tag.getValue())), now);
+            if (exploding.containsKey(key)) {
+                if (over == null) {
+                    over = new HashSet<>();
+                }
+                over.add(tag.getKey());
+            }
+        }
+        return over == null ? Set.of() : over;
+    }
+
+    /**
+     * Re-evaluate which tag keys are over the limit.
+     * <p>
+     * Estimating merges every slot, so this runs off the hot path on a schedule
+     * rather than per sample.
+     */
+    public void evaluateGuard() {
+        Duration window = policy.window();
+        long now = System.currentTimeMillis();
+        tagValues.forEach((key, sketch) -> {
+            long estimate = sketch.merged(window, now).estimate();
+            if (estimate > policy.maxTagValues()) {
+                if (exploding.put(key, estimate) == null) {
+                    log.warn("Cardinality explosion: metric '{}' tag '{}' has ~{} distinct values (limit {}, mode {})",
+                        key.metricName(), key.tagKey(), estimate, policy.maxTagValues(), policy.guardMode());
+                }
+            } else if (exploding.remove(key) != null) {
+                log.info("Cardinality back under limit: metric '{}' tag '{}' has ~{} distinct values",
+                    key.metricName(), key.tagKey(), estimate);
+            }
+        });
+    }
+
+    /**
+     * Estimated distinct userIds for an audit action over the lookback
+     */
+    public long distinctUsers(final String action, final String resourceType, final Duration lookback) {
+        SlidingHyperLogLog sketch = auditUsers.get(new AuditKey(action, resourceType));
+        return sketch == null ? 0 : sketch.merged(lookback, System.currentTimeMillis()).estimate();
+    }
+
+    /**
+     * Estimated distinct values of a metric tag key over the lookback
+     */
+    public long distinctTagValues(final String metricName, final String tagKey, final Duration lookback) {
+        SlidingHyperLogLog sketch = tagValues.get(new TagKey(metricName, tagKey));
+        return sketch == null ? 0 : sketch.merged(lookback, System.currentTimeMillis()).estimate();
+    }
+
+    public List<ExplodingTag> explodingTags() {
+        List<ExplodingTag> result = new ArrayList<>();
+        exploding.forEach((key, estimate) -> result.add(new ExplodingTag(key.metricName(), key.tagKey(), estimate)));
+        return result;
+    }
+
+    public CardinalityPolicy policy() {
+        return policy;
+    }
+
+    /**
+     * Number of samples whose key could not be tracked because maxTrackedKeys was reached
+     */
+    public long untrackedKeys() {
+        return untrackedKeys.sum();
+    }
+
+    private <K> SlidingHyperLogLog sketchFor(final Map<K, SlidingHyperLogLog> sketches, final K key) {
+        SlidingHyperLogLog sketch = sketches.get(key);
+        if (sketch != null) {
+            return sketch;
+        }
+        if (sketches.size() >= policy.maxTrackedKeys()) {
+            untrackedKeys.increment();
+            return null;
+        }
+        return sketches.computeIfAbsent(key,
+            k -> new SlidingHyperLogLog(policy.precision(), policy.slots(), policy.slotDuration()));
+    }
+
+    private record AuditKey(String action, String resourceType) {}
+
+    private record TagKey(String metricName, String tagKey) {}
+}
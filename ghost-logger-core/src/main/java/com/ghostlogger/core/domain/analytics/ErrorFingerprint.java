@@ -0,0 +1,36 @@
+package com.ghostlogger.core.domain.analytics;
+
+import com.ghostlogger.core.domain.model.ErrorLog;
+
+/**
+ * Error Fingerprint
+ * <p>
+ * Groups error logs by exception type and source for heavy-hitter tracking.
+ */
+public record ErrorFingerprint(
+    String exceptionType,
+    String source
+) {
+
+    static final String UNKNOWN_EXCEPTION = "unknown";
+
+    public ErrorFingerprint {
+        if (exceptionType == null || exceptionType.isBlank()) {
+            exceptionType = UNKNOWN_EXCEPTION;
+        }
+        if (source == null) {
+            source = "";
+        }
+    }
+
+    public static ErrorFingerprint of(final ErrorLog errorLog) {
+        return new ErrorFingerprint(errorLog.exceptionType(), errorLog.source());
+    }
+
+    /**
+     * 64-bit hash used to derive the count-min sketch row indexes
+     */
+    long hash64() {
+        return Hashing.mix64(Hashing.hash64(exceptionType) * 0x9E3779B97F4A7C15L + Hashing.hash64(source));
+    }
+}
@@ -0,0 +1,161 @@
+package com.ghostlogger.core.domain.analytics;
+
+import com.ghostlogger.core.domain.model.ErrorLog;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Error Heavy-Hitter Tracker - Streaming Top-K over ErrorLog Fingerprints
+ * <p>
+ * Answers "which exceptionType/source pairs are exploding right now" without
+ * scanning the repository, using fixed memory regardless of how many distinct
+ * errors appear.
+ * <p>
+ * Architectural Decisions:
+ * - A sliding-window count-min sketch estimates every fingerprint's count lock-free
+ * - A bounded min-heap keeps the K largest estimates; the lock is only taken when a
+ *   fingerprint is already a candidate or beats the current K-th count
+ * - When a slot expires, candidates are re-estimated so counts slide with the window
+ */
+@Service
+public class ErrorHeavyHitterTracker {
+
+    private final HeavyHitterPolicy policy;
+    private final SlidingCountMinSketch sketch;
+    private final Map<ErrorFingerprint, Candidate> candidates = new ConcurrentHashMap<>();
+    private final PriorityQueue<Candidate> heap = new PriorityQueue<>(Comparator.comparingLong(c -> c.count));
+    private volatile long admissionThreshold;
+    private volatile long currentEpoch;
+
+    public ErrorHeavyHitterTracker(final HeavyHitterPolicy policy) {
+        this.policy = policy;
+        this.sketch = new SlidingCountMinSketch(policy.slots(), policy.sketchDepth(), policy.sketchWidth());
+    }
+
+    public void record(final ErrorLog errorLog) {
+        record(ErrorFingerprint.of(errorLog), SampleWeights.count(errorLog.sampleWeight()), System.currentTimeMillis());
+    }
+
+    void record(final ErrorFingerprint fingerprint, final long weight, final long nowMillis) {
+        int slot = advance(nowMillis);
+        long estimate = sketch.addAndEstimate(slot, fingerprint.hash64(), weight);
+        if (estimate <= admissionThreshold && !candidates.containsKey(fingerprint)) {
+            return;
+        }
+        synchronized (heap) {
+            offer(fingerprint, estimate);
+        }
+    }
+
+    /**
+     * Current heavy hitters in the sliding window, largest first
+     */
+    public List<HeavyHitter> top(final int limit) {
+        advance(System.currentTimeMillis());
+        List<HeavyHitter> result = new ArrayList<>(heap.size());
+        synchronized (heap) {
+            for (Candidate candidate : heap) {
+                result.add(new HeavyHitter(candidate.fingerprint, candidate.count));
+            }
+        }
+        result.sort(Comparator.comparingLong(HeavyHitter::estimatedCount).reversed());
+        return result.size() > limit ? List.copyOf(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * Estimated count of a single fingerprint in the sliding window
+     */
+    public long estimate(final ErrorFingerprint fingerprint) {
+        advance(System.currentTimeMillis());
+        return sketch.estimate(fingerprint.hash64());
+    }
+
+    public HeavyHitterPolicy policy() {
+        return policy;
+    }
+
+    private int advance(final long nowMillis) {
+        long epoch = nowMillis / policy.slotMillis();
+        if (epoch > currentEpoch) {
+            rotate(epoch);
+        }
+        return (int) Math.floorMod(epoch, (long) sketch.slots());
+    }
+
+    private void rotate(final long epoch) {
+        synchronized (heap) {
+            long previous = currentEpoch;
+            if (epoch <= previous) {
+                return;
+            }
+            long expired = Math.min(epoch - previous, sketch.slots());
+            for (long e = epoch - expired + 1; e <= epoch; e++) {
+                sketch.clearSlot((int) Math.floorMod(e, (long) sketch.slots()));
+            }
+            currentEpoch = epoch;
+            reestimate();
+        }
+    }
+
+    /**
+     * Called with the heap lock held
+     */
+    private void offer(final ErrorFingerprint fingerprint, final long estimate) {
+        Candidate existing = candidates.get(fingerprint);
+        if (existing != null) {
+            heap.remove(existing);
+            existing.count = Math.max(existing.count, estimate);
+            heap.add(existing);
+        } else if (heap.size() < policy.topK()) {
+            admit(fingerprint, estimate);
+        } else if (estimate > heap.peek().count) {
+            Candidate evicted = heap.poll();
+            candidates.remove(evicted.fingerprint);
+            admit(fingerprint, estimate);
+        }
+        updateThreshold();
+    }
+
+    /**
+     * Called with the heap lock held
+     */
+    private void reestimate() {
+        List<Candidate> current = new ArrayList<>(heap);
+        heap.clear();
+        for (Candidate candidate : current) {
+            candidate.count = sketch.estimate(candidate.fingerprint.hash64());
+            if (candidate.count > 0) {
+                heap.add(candidate);
+            } else {
+                candidates.remove(candidate.fingerprint);
+            }
+        }
+        updateThreshold();
+    }
+
+    private void admit(final ErrorFingerprint fingerprint, final long estimate) {
+        Candidate candidate = new Candidate(fingerprint, estimate);
+        candidates.put(fingerprint, candidate);
+        heap.add(candidate);
+    }
+
+    private void updateThreshold() {
+        admissionThreshold = heap.size() < policy.topK() ? 0 : heap.peek().count;
+    }
+
+    private static final class Candidate {
+        private final ErrorFingerprint fingerprint;
+        private long count;
+
+        private Candidate(final ErrorFingerprint fingerprint, final long count) {
+            this.fingerprint = fingerprint;
+            this.count = count;
+        }
+    }
+}
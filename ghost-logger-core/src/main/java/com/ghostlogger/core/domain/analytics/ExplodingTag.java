@@ -0,0 +1,11 @@
+package com.ghostlogger.core.domain.analytics;
+
+/**
+ * A metric tag key whose distinct values exceeded the cardinality limit
+ */
+public record ExplodingTag(
+    String metricName,
+    String tagKey,
+    long estimatedValues
+) {
+}
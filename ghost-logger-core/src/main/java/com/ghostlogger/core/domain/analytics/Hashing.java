@@ -0,0 +1,35 @@
+package com.ghostlogger.core.domain.analytics;
+
+/**
+ * 64-bit hashing for sketches and the cluster hash ring.
+ * <p>
+ * {@link String#hashCode()} only has 32 bits of entropy and poor avalanche,
+ * which biases HyperLogLog registers; this is FNV-1a over the chars followed
+ * by the MurmurHash3 finalizer.
+ */
+public final class Hashing {
+
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private Hashing() {
+    }
+
+    public static long hash64(final CharSequence value) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= FNV_PRIME;
+        }
+        return mix64(h);
+    }
+
+    public static long mix64(long h) {
+        h ^= (h >>> 33);
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= (h >>> 33);
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= (h >>> 33);
+        return h;
+    }
+}
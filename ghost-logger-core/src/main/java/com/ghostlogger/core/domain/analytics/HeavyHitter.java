@@ -0,0 +1,14 @@
+package com.ghostlogger.core.domain.analytics;
+
+/**
+ * Heavy Hitter
+ * <p>
+ * An error fingerprint with its estimated occurrence count in the sliding window.
+ * Count-min estimates never undercount; they may overcount by a small fraction
+ * of the total number of errors in the window.
+ */
+public record HeavyHitter(
+    ErrorFingerprint fingerprint,
+    long estimatedCount
+) {
+}
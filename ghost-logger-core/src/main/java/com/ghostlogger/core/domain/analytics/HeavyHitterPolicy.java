@@ -0,0 +1,38 @@
+package com.ghostlogger.core.domain.analytics;
+
+import java.time.Duration;
+
+/**
+ * Heavy-Hitter Tracking Policy
+ *
+ * @param topK        number of fingerprints kept in the top-K heap
+ * @param window      length of the sliding window
+ * @param slots       number of time slots the window is split into
+ * @param sketchDepth count-min rows (error probability e^-depth)
+ * @param sketchWidth count-min columns, a power of two (error e/width of total)
+ */
+public record HeavyHitterPolicy(
+    int topK,
+    Duration window,
+    int slots,
+    int sketchDepth,
+    int sketchWidth
+) {
+
+    public HeavyHitterPolicy {
+        if (topK <= 0 || slots <= 0 || sketchDepth <= 0 || sketchWidth <= 0) {
+            throw new IllegalArgumentException("Heavy-hitter sizes must be positive");
+        }
+        if (window == null || window.toMillis() < slots) {
+            throw new IllegalArgumentException("Window must be at least one millisecond per slot");
+        }
+    }
+
+    public static HeavyHitterPolicy defaults() {
+        return new HeavyHitterPolicy(20, Duration.ofMinutes(5), 10, 4, 2048);
+    }
+
+    long slotMillis() {
+        return window.toMillis() / slots;
+    }
+}
@@ -0,0 +1,236 @@
+package com.ghostlogger.core.domain.analytics;
+
+import com.ghostlogger.core.domain.model.MetricLog;
+import com.ghostlogger.core.domain.model.MetricSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metric Aggregator - Streaming Pre-Aggregation at Ingest Time
+ * <p>
+ * Maintains tumbling 10s / 1m / 1h windows per series (metricName + tags) with
+ * count, sum, min, max and a mergeable quantile sketch, so dashboards read a
+ * handful of window aggregates instead of rescanning raw samples for a p99.
+ * <p>
+ * Architectural Decisions:
+ * - Hot path is lock-free: striped per-core accumulators inside each open window
+ * - Windows are merged and sealed off the hot path by {@link #sealExpiredWindows(Instant)}
+ * - Each resolution is a rollup tier with its own retention ({@link RollupPolicy})
+ * - Queries pick the coarsest tier that satisfies the requested resolution and
+ *   read pre-computed aggregates in O(windows)
+ * - Tag values pass the {@link CardinalityTracker} guard before a series is created
+ */
+@Service
+public class MetricAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricAggregator.class);
+
+    /**
+     * How long after its end a window keeps accepting late samples. Anything that holds
+     * entries back on the ingest path must release them well within it.
+     */
+    public static final Duration SEAL_GRACE = Duration.ofSeconds(10);
+
+    private final RollupPolicy rollupPolicy;
+    private final CardinalityTracker cardinalityTracker;
+    private final ConcurrentHashMap<SeriesKey, MetricSeries> series = new ConcurrentHashMap<>();
+    private final LongAdder lateSamples = new LongAdder();
+
+    public MetricAggregator(final RollupPolicy rollupPolicy, final CardinalityTracker cardinalityTracker) {
+        this.rollupPolicy = rollupPolicy;
+        this.cardinalityTracker = cardinalityTracker;
+    }
+
+    /**
+     * Record a metric sample, or merge a client-side summary, into the open window of its series
+     * <p>
+     * A sampled entry stands for {@code sampleWeight} entries, so a summary's count and
+     * sum are scaled by its weight just like a raw sample's count; min, max and the
+     * quantile sketch describe the same distribution either way.
+     */
+    public void record(final MetricLog metricLog) {
+        if (!Double.isFinite(metricLog.value())) {
+            return;
+        }
+        Set<String> explodingTags = cardinalityTracker.recordMetricTags(metricLog.metricName(), metricLog.tags());
+        SeriesKey key = SeriesKey.of(metricLog.metricName(), metricLog.tags());
+        if (!explodingTags.isEmpty()
+            && cardinalityTracker.policy().guardMode() == CardinalityPolicy.GuardMode.CAP
+            && !series.containsKey(key)) {
+            key = SeriesKey.of(metricLog.metricName(), capTags(metricLog.tags(), explodingTags));
+        }
+        // A series retired by expireWindows between lookup and write refuses the sample
+        MetricSeries target;
+        boolean recorded;
+        do {
+            target = series.computeIfAbsent(key, k -> new MetricSeries(k, rollupPolicy));
+            recorded = recordInto(target, metricLog);
+        } while (!recorded && target.isRetired());
+        if (!recorded) {
+            lateSamples.increment();
+        }
+    }
+
+    private static boolean recordInto(final MetricSeries target, final MetricLog metricLog) {
+        long timestamp = metricLog.timestamp().toEpochMilli();
+        MetricSummary summary = metricLog.summary();
+        return summary != null
+            ? target.merge(timestamp,
+                SampleWeights.count(summary.count(), metricLog.sampleWeight()),
+                SampleWeights.sum(summary.sum(), metricLog.sampleWeight()),
+                summary.min(), summary.max(), decodeSketch(summary))
+            : target.record(timestamp, metricLog.value(), SampleWeights.count(metricLog.sampleWeight()));
+    }
+
+    /**
+     * A corrupt sketch costs the summary its quantiles, not its count/sum/min/max
+     */
+    private static QuantileSketch decodeSketch(final MetricSummary summary) {
+        try {
+            return QuantileSketch.fromBytes(summary.sketch());
+        } catch (RuntimeException e) {
+            log.debug("Ignoring corrupt quantile sketch in metric summary: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Seal all windows that ended more than {@link #SEAL_GRACE} before now
+     */
+    public void sealExpiredWindows(final Instant now) {
+        long cutoff = WindowResolution.TEN_SECONDS.windowStart(now.minus(SEAL_GRACE).toEpochMilli());
+        for (MetricSeries metricSeries : series.values()) {
+            metricSeries.sealBefore(cutoff);
+        }
+        log.trace("Sealed metric windows before {} for {} series", Instant.ofEpochMilli(cutoff), series.size());
+    }
+
+    /**
+     * Drop windows past their tier retention and forget series with nothing left
+     * <p>
+     * A series is retired and removed in one map operation, so a writer that still
+     * holds it sees it retired and finds the mapping already gone when it looks again.
+     *
+     * @return number of expired windows
+     */
+    public int expireWindows(final Instant now) {
+        int expired = 0;
+        for (MetricSeries metricSeries : series.values()) {
+            expired += metricSeries.expire(now, rollupPolicy);
+            series.computeIfPresent(metricSeries.key(),
+                (key, current) -> current == metricSeries && current.retireIfEmpty() ? null : current);
+        }
+        return expired;
+    }
+
+    /**
+     * Window aggregates of a series overlapping [from, to) at the requested resolution
+     * <p>
+     * Reads from the coarsest tier whose windows divide {@code step}; when the step is
+     * coarser than the tier, adjacent windows are merged (sketches included) into
+     * step-sized buckets.
+     *
+     * @return empty if the series is unknown
+     * @throws IllegalArgumentException if no tier can serve the step
+     */
+    public Optional<SeriesQueryResult> query(
+        final SeriesKey key,
+        final Duration step,
+        final Instant from,
+        final Instant to
+    ) {
+        WindowResolution tier = rollupPolicy.tierFor(step, from, Instant.now())
+            .orElseThrow(() -> new IllegalArgumentException(
+                "Resolution must be a multiple of " + WindowResolution.TEN_SECONDS.label() + ": " + step));
+        MetricSeries metricSeries = series.get(key);
+        if (metricSeries == null) {
+            return Optional.empty();
+        }
+        List<WindowAggregate> windows = metricSeries.windows(tier, from, to);
+        if (!step.equals(tier.duration())) {
+            windows = rebucket(windows, step);
+        }
+        return Optional.of(new SeriesQueryResult(tier, step, windows));
+    }
+
+    /**
+     * Collapse the values of exploding tags so they share one overflow series
+     */
+    private static Map<String, String> capTags(final Map<String, String> tags, final Set<String> explodingTags) {
+        Map<String, String> capped = new HashMap<>(tags);
+        for (String tagKey : explodingTags) {
+            capped.put(tagKey, CardinalityTracker.OVERFLOW_TAG_VALUE);
+        }
+        return capped;
+    }
+
+    private static List<WindowAggregate> rebucket(final List<WindowAggregate> windows, final Duration step) {
+        long stepMillis = step.toMillis();
+        List<WindowAggregate> buckets = new ArrayList<>();
+        WindowAccumulator current = null;
+        for (WindowAggregate window : windows) {
+            long bucketStart = Math.floorDiv(window.windowStart().toEpochMilli(), stepMillis) * stepMillis;
+            if (current != null && current.windowStart() != bucketStart) {
+                buckets.add(current.toAggregate());
+                current = null;
+            }
+            if (current == null) {
+                current = new WindowAccumulator(step, bucketStart);
+            }
+            current.merge(window);
+        }
+        if (current != null) {
+            buckets.add(current.toAggregate());
+        }
+        return buckets;
+    }
+
+    public Set<SeriesKey> seriesKeys() {
+        return Set.copyOf(series.keySet());
+    }
+
+    public RollupPolicy rollupPolicy() {
+        return rollupPolicy;
+    }
+
+    /**
+     * Number of sealed windows currently held in a tier, across all series
+     */
+    public long windowCount(final WindowResolution tier) {
+        long total = 0;
+        for (MetricSeries metricSeries : series.values()) {
+            total += metricSeries.windowCount(tier);
+        }
+        return total;
+    }
+
+    /**
+     * Approximate heap held by sealed windows, across all series
+     */
+    public long footprintBytes() {
+        long total = 0;
+        for (MetricSeries metricSeries : series.values()) {
+            total += metricSeries.footprintBytes();
+        }
+        return total;
+    }
+
+    /**
+     * Number of samples dropped because their window was already sealed
+     */
+    public long lateSamples() {
+        return lateSamples.sum();
+    }
+}
@@ -0,0 +1,48 @@
+package com.ghostlogger.core.domain.analytics;
+
+import com.ghostlogger.core.domain.model.MetricLog;
+import com.ghostlogger.core.domain.port.LogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+/**
+ * Metric Rollup Compactor - Background Downsampling and Retention
+ * <p>
+ * Runs off the ingest path:
+ * - {@link #sealWindows(Instant)} seals closed windows; each sealed 10s window is
+ *   merged straight into the pending 1m and 1h rollups, so tiers grow incrementally
+ * - {@link #enforceRetention(Instant)} drops rollup windows past their tier retention
+ *   and purges raw MetricLog samples past the raw retention from the {@link LogRepository},
+ *   where the repository storage sink keeps every ingested entry; external sinks apply
+ *   their own retention
+ */
+@Service
+public class MetricRollupCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricRollupCompactor.class);
+
+    private final MetricAggregator metricAggregator;
+    private final LogRepository logRepository;
+
+    public MetricRollupCompactor(final MetricAggregator metricAggregator, final LogRepository logRepository) {
+        this.metricAggregator = metricAggregator;
+        this.logRepository = logRepository;
+    }
+
+    public void sealWindows(final Instant now) {
+        metricAggregator.sealExpiredWindows(now);
+    }
+
+    public void enforceRetention(final Instant now) {
+        RollupPolicy policy = metricAggregator.rollupPolicy();
+        int expiredWindows = metricAggregator.expireWindows(now);
+        int purgedSamples = logRepository.deleteOlderThan(MetricLog.class, now.minus(policy.rawRetention()));
+        if (expiredWindows > 0 || purgedSamples > 0) {
+            log.debug("Rollup retention: expired {} windows, purged {} raw metric samples",
+                expiredWindows, purgedSamples);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.ghostlogger.core.domain.analytics;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Aggregation state of a single metric series.
+ * <p>
+ * Samples land in open 10s windows; when a 10s window seals it is appended to
+ * the 10s ring and merged into the pending 1m and 1h windows, which seal in
+ * turn once all of their 10s windows are closed. Rollups are thus produced
+ * incrementally; no tier is ever rebuilt from a finer one after the fact.
+ */
+final class MetricSeries {
+
+    private static final WindowResolution BASE = WindowResolution.TEN_SECONDS;
+
+    private final SeriesKey key;
+    private final ConcurrentSkipListMap<Long, OpenWindow> openWindows = new ConcurrentSkipListMap<>();
+    private final Map<WindowResolution, WindowRing> rings = new EnumMap<>(WindowResolution.class);
+    private final Map<WindowResolution, WindowAccumulator> pending = new EnumMap<>(WindowResolution.class);
+    private volatile long watermark = Long.MIN_VALUE;
+    private volatile boolean retired;
+
+    MetricSeries(final SeriesKey key, final RollupPolicy policy) {
+        this.key = key;
+        for (WindowResolution resolution : WindowResolution.values()) {
+            rings.put(resolution, new WindowRing(resolution.duration(), policy.capacity(resolution)));
+        }
+    }
+
+    SeriesKey key() {
+        return key;
+    }
+
+    /**
+     * @return false if the sample belongs to an already sealed window
+     */
+    boolean record(final long timestampMillis, final double value, final long weight) {
+        OpenWindow window = openWindow(BASE.windowStart(timestampMillis));
+        if (window == null) {
+            return false;
+        }
+        window.record(value, weight);
+        return true;
+    }
+
+    /**
+     * @return false if the summary belongs to an already sealed window
+     */
+    boolean merge(final long timestampMillis, final long count, final double sum,
+                  final double min, final double max, final QuantileSketch sketch) {
+        OpenWindow window = openWindow(BASE.windowStart(timestampMillis));
+        if (window == null) {
+            return false;
+        }
+        window.merge(count, sum, min, max, sketch);
+        return true;
+    }
+
+    /**
+     * The open window starting at {@code windowStart}, or null if it is already sealed
+     * or the series is retired.
+     * <p>
+     * An existing window is found without locking. A new one is only created under
+     * the lock {@link #sealBefore} holds, after checking the watermark again, so a
+     * sample racing with the seal cannot re-create a window that was just sealed and
+     * would never be drained into the ring. The same lock orders creation against
+     * {@link #retireIfEmpty}, so a retired series never gains a window.
+     */
+    private OpenWindow openWindow(final long windowStart) {
+        if (windowStart < watermark) {
+            return null;
+        }
+        OpenWindow window = openWindows.get(windowStart);
+        return window != null ? window : createWindow(windowStart);
+    }
+
+    private synchronized OpenWindow createWindow(final long windowStart) {
+        if (retired || windowStart < watermark) {
+            return null;
+        }
+        return openWindows.computeIfAbsent(windowStart, OpenWindow::new);
+    }
+
+    /**
+     * Seal every window that ended before the cutoff.
+     * Called from a single scheduler thread.
+     */
+    synchronized void sealBefore(final long cutoffMillis) {
+        watermark = Math.max(watermark, cutoffMillis);
+
+        Map.Entry<Long, OpenWindow> oldest;
+        while ((oldest = openWindows.firstEntry()) != null && oldest.getKey() < cutoffMillis) {
+            openWindows.remove(oldest.getKey());
+            WindowAccumulator sealed = oldest.getValue().drain(BASE);
+            rings.get(BASE).add(sealed.toAggregate());
+            for (WindowResolution coarse : WindowResolution.values()) {
+                if (coarse != BASE) {
+                    rollup(coarse, sealed);
+                }
+            }
+        }
+
+        // Close coarse windows of series that went quiet
+        pending.entrySet().removeIf(entry -> {
+            if (entry.getValue().isClosedAt(cutoffMillis)) {
+                rings.get(entry.getKey()).add(entry.getValue().toAggregate());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private void rollup(final WindowResolution coarse, final WindowAccumulator sealed) {
+        long coarseStart = coarse.windowStart(sealed.windowStart());
+        WindowAccumulator current = pending.get(coarse);
+        if (current != null && current.windowStart() != coarseStart) {
+            rings.get(coarse).add(current.toAggregate());
+            current = null;
+        }
+        if (current == null) {
+            current = new WindowAccumulator(coarse.duration(), coarseStart);
+            pending.put(coarse, current);
+        }
+        current.merge(sealed);
+    }
+
+    /**
+     * Drop sealed windows that fell out of their tier's retention
+     */
+    int expire(final Instant now, final RollupPolicy policy) {
+        int expired = 0;
+        for (WindowResolution resolution : WindowResolution.values()) {
+            long cutoff = now.minus(policy.retention(resolution)).toEpochMilli();
+            expired += rings.get(resolution).expireBefore(cutoff);
+        }
+        return expired;
+    }
+
+    /**
+     * Retire the series once every tier has expired and nothing is open or pending.
+     * A retired series accepts no more samples; writers that find one must look the
+     * series up again.
+     *
+     * @return true if the series is retired
+     */
+    synchronized boolean retireIfEmpty() {
+        if (!openWindows.isEmpty() || !pending.isEmpty()) {
+            return false;
+        }
+        for (WindowRing ring : rings.values()) {
+            if (ring.size() > 0) {
+                return false;
+            }
+        }
+        retired = true;
+        return true;
+    }
+
+    boolean isRetired() {
+        return retired;
+    }
+
+    List<WindowAggregate> windows(final WindowResolution resolution, final Instant from, final Instant to) {
+        return rings.get(resolution).between(from, to);
+    }
+
+    int windowCount(final WindowResolution resolution) {
+        return rings.get(resolution).size();
+    }
+
+    long footprintBytes() {
+        long bytes = 0;
+        for (WindowRing ring : rings.values()) {
+            bytes += ring.footprintBytes();
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,76 @@
+package com.ghostlogger.core.domain.analytics;
+
+import org.HdrHistogram.DoubleRecorder;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Open (still accepting samples) window of the finest resolution.
+ * <p>
+ * All fields are striped, lock-free accumulators: {@link LongAdder} and friends
+ * spread contended updates over per-core cells, and {@link DoubleRecorder} gives
+ * wait-free histogram writes. Cells are only summed once, when the window seals.
+ */
+final class OpenWindow {
+
+    private final long windowStart;
+    private final LongAdder count = new LongAdder();
+    private final DoubleAdder sum = new DoubleAdder();
+    private final DoubleAccumulator min = new DoubleAccumulator(Math::min, Double.POSITIVE_INFINITY);
+    private final DoubleAccumulator max = new DoubleAccumulator(Math::max, Double.NEGATIVE_INFINITY);
+    private final DoubleRecorder recorder = new DoubleRecorder(QuantileSketch.SIGNIFICANT_DIGITS);
+    private final ConcurrentLinkedQueue<QuantileSketch> summarySketches = new ConcurrentLinkedQueue<>();
+
+    OpenWindow(final long windowStart) {
+        this.windowStart = windowStart;
+    }
+
+    /**
+     * @param weight number of original samples this value stands for (see {@link SampleWeights})
+     */
+    void record(final double value, final long weight) {
+        count.add(weight);
+        sum.add(value * weight);
+        min.accumulate(value);
+        max.accumulate(value);
+        if (value >= 0) {
+            recorder.recordValueWithCount(value, weight);
+        }
+    }
+
+    /**
+     * Merge a client-side pre-aggregate; its sketch is folded in when the window seals
+     */
+    void merge(final long count, final double sum, final double min, final double max, final QuantileSketch sketch) {
+        this.count.add(count);
+        this.sum.add(sum);
+        this.min.accumulate(min);
+        this.max.accumulate(max);
+        if (sketch != null && sketch.count() > 0) {
+            summarySketches.add(sketch);
+        }
+    }
+
+    /**
+     * Merge the per-core cells into a single accumulator.
+     * <p>
+     * Samples racing with the seal may be missed, which is why windows are only
+     * sealed after a grace period past their end.
+     */
+    WindowAccumulator drain(final WindowResolution resolution) {
+        WindowAccumulator accumulator = new WindowAccumulator(
+            resolution.duration(),
+            windowStart,
+            QuantileSketch.wrap(recorder.getIntervalHistogram())
+        );
+        accumulator.add(count.sum(), sum.sum(), min.get(), max.get());
+        QuantileSketch sketch;
+        while ((sketch = summarySketches.poll()) != null) {
+            accumulator.mergeSketch(sketch);
+        }
+        return accumulator;
+    }
+}
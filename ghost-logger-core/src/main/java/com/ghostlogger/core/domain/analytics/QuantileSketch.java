@@ -0,0 +1,88 @@
+package com.ghostlogger.core.domain.analytics;
+
+import org.HdrHistogram.DoubleHistogram;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+
+/**
+ * Mergeable Quantile Sketch
+ * <p>
+ * Thin wrapper around an HdrHistogram {@link DoubleHistogram} with two significant
+ * digits (about 1% relative error). Sketches of adjacent windows can be merged
+ * without loss, which is what makes 10s windows roll up into 1m and 1h windows.
+ * <p>
+ * HdrHistogram only tracks non-negative values; negative samples still count
+ * towards count/sum/min/max of a window but are not part of its quantiles.
+ * <p>
+ * Not thread-safe: writers on the hot path record into a
+ * {@link org.HdrHistogram.DoubleRecorder} and hand over its interval histogram.
+ */
+public final class QuantileSketch {
+
+    static final int SIGNIFICANT_DIGITS = 2;
+    private static final long MIN_HIGHEST_TO_LOWEST_RATIO = 2;
+
+    private final DoubleHistogram histogram;
+
+    private QuantileSketch(final DoubleHistogram histogram) {
+        this.histogram = histogram;
+    }
+
+    public static QuantileSketch empty() {
+        return new QuantileSketch(new DoubleHistogram(SIGNIFICANT_DIGITS));
+    }
+
+    static QuantileSketch wrap(final DoubleHistogram histogram) {
+        return new QuantileSketch(histogram);
+    }
+
+    public void record(final double value) {
+        if (value >= 0 && Double.isFinite(value)) {
+            histogram.recordValue(value);
+        }
+    }
+
+    public void merge(final QuantileSketch other) {
+        if (other.histogram.getTotalCount() > 0) {
+            histogram.add(other.histogram);
+        }
+    }
+
+    public long count() {
+        return histogram.getTotalCount();
+    }
+
+    /**
+     * Value at the given percentile (0-100), or NaN for an empty sketch
+     */
+    public double quantile(final double percentile) {
+        return histogram.getTotalCount() == 0
+            ? Double.NaN
+            : histogram.getValueAtPercentile(percentile);
+    }
+
+    /**
+     * Compressed binary form, typically a few hundred bytes per window
+     */
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer, Deflater.BEST_SPEED);
+        return Arrays.copyOf(buffer.array(), length);
+    }
+
+    public static QuantileSketch fromBytes(final byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return empty();
+        }
+        try {
+            return new QuantileSketch(
+                DoubleHistogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(bytes), MIN_HIGHEST_TO_LOWEST_RATIO)
+            );
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt quantile sketch", e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.ghostlogger.core.domain.analytics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Rollup Retention Policy
+ * <p>
+ * Defines how long raw MetricLog samples and each rollup tier are kept,
+ * e.g. raw for 1 day, 1m rollups for 30 days and 1h rollups for a year.
+ * Storage therefore stays bounded per series instead of growing with time.
+ */
+public record RollupPolicy(
+    Duration rawRetention,
+    Map<WindowResolution, Duration> tierRetention
+) {
+
+    public RollupPolicy {
+        if (rawRetention == null || rawRetention.isNegative()) {
+            throw new IllegalArgumentException("Raw retention cannot be null or negative");
+        }
+        EnumMap<WindowResolution, Duration> copy = new EnumMap<>(WindowResolution.class);
+        for (WindowResolution resolution : WindowResolution.values()) {
+            Duration retention = tierRetention.get(resolution);
+            if (retention == null || retention.compareTo(resolution.duration()) < 0) {
+                throw new IllegalArgumentException(
+                    "Retention of tier " + resolution.label() + " must cover at least one window");
+            }
+            copy.put(resolution, retention);
+        }
+        tierRetention = Collections.unmodifiableMap(copy);
+    }
+
+    public static RollupPolicy defaults() {
+        return new RollupPolicy(
+            Duration.ofDays(1),
+            Map.of(
+                WindowResolution.TEN_SECONDS, Duration.ofHours(6),
+                WindowResolution.ONE_MINUTE, Duration.ofDays(30),
+                WindowResolution.ONE_HOUR, Duration.ofDays(365)
+            )
+        );
+    }
+
+    public Duration retention(final WindowResolution resolution) {
+        return tierRetention.get(resolution);
+    }
+
+    /**
+     * Maximum number of sealed windows a tier holds per series
+     */
+    public int capacity(final WindowResolution resolution) {
+        return Math.toIntExact(retention(resolution).toMillis() / resolution.duration().toMillis());
+    }
+
+    /**
+     * Pick the coarsest tier that can serve the requested resolution.
+     * <p>
+     * A tier qualifies when the requested step is a whole multiple of its window,
+     * so its windows merge exactly into step-sized buckets. Among qualifying tiers
+     * the coarsest one still holding data at {@code from} wins; if none reaches that
+     * far back, the one with the longest retention is used.
+     *
+     * @return empty if the step is finer than, or not a multiple of, every tier
+     */
+    public Optional<WindowResolution> tierFor(final Duration step, final Instant from, final Instant now) {
+        long stepMillis = step.toMillis();
+        WindowResolution covering = null;
+        WindowResolution longest = null;
+        for (WindowResolution resolution : WindowResolution.values()) {
+            long windowMillis = resolution.duration().toMillis();
+            if (stepMillis < windowMillis || stepMillis % windowMillis != 0) {
+                continue;
+            }
+            if (!now.minus(retention(resolution)).isAfter(from)) {
+                covering = resolution;
+            }
+            if (longest == null || retention(resolution).compareTo(retention(longest)) >= 0) {
+                longest = resolution;
+            }
+        }
+        return Optional.ofNullable(covering != null ? covering : longest);
+    }
+}
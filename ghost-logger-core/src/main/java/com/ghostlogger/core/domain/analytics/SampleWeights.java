@@ -0,0 +1,40 @@
+package com.ghostlogger.core.domain.analytics;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Converts the fractional sample weight of a stored entry into an integer count.
+ * <p>
+ * Sketches and counters work in whole samples, so a weight such as 3.4 is
+ * rounded up with probability 0.4 and down otherwise. The expected count equals
+ * the weight, which keeps re-estimated totals unbiased.
+ */
+final class SampleWeights {
+
+    private SampleWeights() {
+    }
+
+    static long count(final double sampleWeight) {
+        if (sampleWeight <= 1.0) {
+            return 1;
+        }
+        long whole = (long) sampleWeight;
+        double fraction = sampleWeight - whole;
+        return fraction > 0 && ThreadLocalRandom.current().nextDouble() < fraction ? whole + 1 : whole;
+    }
+
+    /**
+     * Count of a pre-aggregate of {@code count} samples that stands for
+     * {@code sampleWeight} such aggregates
+     */
+    static long count(final long count, final double sampleWeight) {
+        return count <= 0 || sampleWeight <= 1.0 ? count : count(count * sampleWeight);
+    }
+
+    /**
+     * Sum of a pre-aggregate that stands for {@code sampleWeight} such aggregates
+     */
+    static double sum(final double sum, final double sampleWeight) {
+        return sampleWeight <= 1.0 ? sum : sum * sampleWeight;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ghostlogger.core.domain.analytics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Metric Series Key
+ * <p>
+ * Identifies an aggregated series by metric name and tag set.
+ * Tags are copied into a sorted, immutable map so that the same tag set
+ * always yields the same key regardless of the order clients sent it in.
+ */
+public record SeriesKey(
+    String metricName,
+    Map<String, String> tags
+) {
+
+    public SeriesKey {
+        if (metricName == null || metricName.isBlank()) {
+            throw new IllegalArgumentException("MetricName cannot be null or blank");
+        }
+        tags = (tags == null || tags.isEmpty())
+            ? Map.of()
+            : Collections.unmodifiableSortedMap(new TreeMap<>(tags));
+    }
+
+    public static SeriesKey of(String metricName, Map<String, String> tags) {
+        return new SeriesKey(metricName, tags);
+    }
+}
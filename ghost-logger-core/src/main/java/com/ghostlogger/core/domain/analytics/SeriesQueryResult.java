@@ -0,0 +1,18 @@
+package com.ghostlogger.core.domain.analytics;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Result of a metric series query
+ *
+ * @param tier    rollup tier the windows were read from
+ * @param step    requested resolution; a whole multiple of the tier's window
+ * @param windows step-sized windows, oldest first
+ */
+public record SeriesQueryResult(
+    WindowResolution tier,
+    Duration step,
+    List<WindowAggregate> windows
+) {
+}
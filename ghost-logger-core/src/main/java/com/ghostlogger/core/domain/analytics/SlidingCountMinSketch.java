@@ -0,0 +1,82 @@
+package com.ghostlogger.core.domain.analytics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sliding-Window Count-Min Sketch
+ * <p>
+ * A ring of count-min sketches, one per time slot, laid out in a single
+ * {@link AtomicLongArray}. Count-min sketches are linear, so the estimate over
+ * the whole window is the row-wise minimum of the per-slot sums, and expiring a
+ * slot is just zeroing its cells. Memory is fixed at
+ * {@code slots * depth * width * 8} bytes no matter how many keys are seen.
+ * <p>
+ * Increments are lock-free; slot rotation is done by a single caller at a time.
+ */
+final class SlidingCountMinSketch {
+
+    private final int slots;
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray cells;
+
+    SlidingCountMinSketch(final int slots, final int depth, final int width) {
+        if (Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("Sketch width must be a power of two: " + width);
+        }
+        this.slots = slots;
+        this.depth = depth;
+        this.width = width;
+        this.cells = new AtomicLongArray(slots * depth * width);
+    }
+
+    /**
+     * Add {@code delta} to the key in the given slot and return its estimate over all slots
+     */
+    long addAndEstimate(final int slot, final long hash, final long delta) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int column = (h1 + row * h2) & (width - 1);
+            cells.addAndGet(index(slot, row, column), delta);
+            estimate = Math.min(estimate, sumOverSlots(row, column));
+        }
+        return estimate;
+    }
+
+    long estimate(final long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int column = (h1 + row * h2) & (width - 1);
+            estimate = Math.min(estimate, sumOverSlots(row, column));
+        }
+        return estimate;
+    }
+
+    void clearSlot(final int slot) {
+        int from = slot * depth * width;
+        int to = from + depth * width;
+        for (int i = from; i < to; i++) {
+            cells.set(i, 0);
+        }
+    }
+
+    int slots() {
+        return slots;
+    }
+
+    private long sumOverSlots(final int row, final int column) {
+        long sum = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            sum += cells.get(index(slot, row, column));
+        }
+        return sum;
+    }
+
+    private int index(final int slot, final int row, final int column) {
+        return (slot * depth + row) * width + column;
+    }
+}
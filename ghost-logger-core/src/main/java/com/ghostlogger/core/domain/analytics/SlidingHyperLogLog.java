@@ -0,0 +1,64 @@
+package com.ghostlogger.core.domain.analytics;
+
+import java.time.Duration;
+
+/**
+ * Ring of per-slot HyperLogLog sketches covering a sliding time window.
+ * <p>
+ * Values go into the sketch of the current slot; a lookback query merges the
+ * most recent slots, which is exact for HyperLogLog. Memory is fixed at
+ * {@code slots * 2^precision} bytes.
+ */
+final class SlidingHyperLogLog {
+
+    private final HyperLogLog[] slots;
+    private final long slotMillis;
+    private final int precision;
+    private volatile long currentEpoch;
+
+    SlidingHyperLogLog(final int precision, final int slots, final Duration slotDuration) {
+        this.precision = precision;
+        this.slotMillis = slotDuration.toMillis();
+        this.slots = new HyperLogLog[slots];
+        for (int i = 0; i < slots; i++) {
+            this.slots[i] = new HyperLogLog(precision);
+        }
+    }
+
+    void offer(final long hash, final long nowMillis) {
+        slots[advance(nowMillis)].offer(hash);
+    }
+
+    /**
+     * Merged sketch of the slots covering the lookback, capped at the full window
+     */
+    HyperLogLog merged(final Duration lookback, final long nowMillis) {
+        int current = advance(nowMillis);
+        int count = (int) Math.min(slots.length, Math.max(1, -Math.floorDiv(-lookback.toMillis(), slotMillis)));
+        HyperLogLog merged = new HyperLogLog(precision);
+        for (int i = 0; i < count; i++) {
+            merged.merge(slots[Math.floorMod(current - i, slots.length)]);
+        }
+        return merged;
+    }
+
+    private int advance(final long nowMillis) {
+        long epoch = nowMillis / slotMillis;
+        if (epoch > currentEpoch) {
+            rotate(epoch);
+        }
+        return (int) Math.floorMod(epoch, (long) slots.length);
+    }
+
+    private synchronized void rotate(final long epoch) {
+        long previous = currentEpoch;
+        if (epoch <= previous) {
+            return;
+        }
+        long expired = Math.min(epoch - previous, slots.length);
+        for (long e = epoch - expired + 1; e <= epoch; e++) {
+            slots[(int) Math.floorMod(e, (long) slots.length)].clear();
+        }
+        currentEpoch = epoch;
+    }
+}
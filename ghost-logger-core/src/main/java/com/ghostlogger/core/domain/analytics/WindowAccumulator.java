@@ -0,0 +1,74 @@
+package com.ghostlogger.core.domain.analytics;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Mutable accumulator for one window that is being built from merges.
+ * <p>
+ * Only touched by the sealing thread, so it needs no synchronization.
+ */
+final class WindowAccumulator {
+
+    private final Duration width;
+    private final long windowStart;
+    private final QuantileSketch sketch;
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    WindowAccumulator(final Duration width, final long windowStart, final QuantileSketch sketch) {
+        this.width = width;
+        this.windowStart = windowStart;
+        this.sketch = sketch;
+    }
+
+    WindowAccumulator(final Duration width, final long windowStart) {
+        this(width, windowStart, QuantileSketch.empty());
+    }
+
+    long windowStart() {
+        return windowStart;
+    }
+
+    boolean isClosedAt(final long cutoffMillis) {
+        return windowStart + width.toMillis() <= cutoffMillis;
+    }
+
+    void add(final long count, final double sum, final double min, final double max) {
+        this.count += count;
+        this.sum += sum;
+        this.min = Math.min(this.min, min);
+        this.max = Math.max(this.max, max);
+    }
+
+    void mergeSketch(final QuantileSketch other) {
+        sketch.merge(other);
+    }
+
+    void merge(final WindowAccumulator other) {
+        add(other.count, other.sum, other.min, other.max);
+        sketch.merge(other.sketch);
+    }
+
+    void merge(final WindowAggregate aggregate) {
+        add(aggregate.count(), aggregate.sum(), aggregate.min(), aggregate.max());
+        sketch.merge(aggregate.decodeSketch());
+    }
+
+    WindowAggregate toAggregate() {
+        return new WindowAggregate(
+            Instant.ofEpochMilli(windowStart),
+            width,
+            count,
+            sum,
+            count == 0 ? Double.NaN : min,
+            count == 0 ? Double.NaN : max,
+            sketch.quantile(50.0),
+            sketch.quantile(90.0),
+            sketch.quantile(99.0),
+            sketch.toBytes()
+        );
+    }
+}
@@ -0,0 +1,37 @@
+package com.ghostlogger.core.domain.analytics;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Sealed Window Aggregate
+ * <p>
+ * Immutable summary of one tumbling window of a metric series.
+ * Quantiles are computed once when the window seals so that queries never
+ * touch the sketch; the compressed sketch is kept for later merges.
+ */
+public record WindowAggregate(
+    Instant windowStart,
+    Duration width,
+    long count,
+    double sum,
+    double min,
+    double max,
+    double p50,
+    double p90,
+    double p99,
+    byte[] sketch
+) {
+
+    public Instant windowEnd() {
+        return windowStart.plus(width);
+    }
+
+    public double mean() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    public QuantileSketch decodeSketch() {
+        return QuantileSketch.fromBytes(sketch);
+    }
+}
@@ -0,0 +1,52 @@
+package com.ghostlogger.core.domain.analytics;
+
+import java.time.Duration;
+
+/**
+ * Tumbling Window Resolutions for Metric Aggregation
+ * <p>
+ * Every resolution is an exact multiple of the finest one, so coarser windows
+ * are built by merging sealed fine-grained windows instead of re-reading samples.
+ * Each resolution is a rollup tier whose retention is set by {@link RollupPolicy}.
+ */
+public enum WindowResolution {
+    TEN_SECONDS("10s", Duration.ofSeconds(10)),
+    ONE_MINUTE("1m", Duration.ofMinutes(1)),
+    ONE_HOUR("1h", Duration.ofHours(1));
+
+    private final String label;
+    private final Duration duration;
+
+    WindowResolution(String label, Duration duration) {
+        this.label = label;
+        this.duration = duration;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public Duration duration() {
+        return duration;
+    }
+
+    /**
+     * Start (epoch millis) of the window containing the given instant
+     */
+    public long windowStart(long epochMillis) {
+        long size = duration.toMillis();
+        return Math.floorDiv(epochMillis, size) * size;
+    }
+
+    /**
+     * Resolve a resolution from its label (e.g. "10s", "1m", "1h")
+     */
+    public static WindowResolution fromLabel(String label) {
+        for (WindowResolution resolution : values()) {
+            if (resolution.label.equalsIgnoreCase(label)) {
+                return resolution;
+            }
+        }
+        throw new IllegalArgumentException("Unknown window resolution: " + label);
+    }
+}
@@ -0,0 +1,160 @@
+package com.ghostlogger.core.domain.analytics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded, time-ordered ring of sealed windows for one rollup tier.
+ * <p>
+ * Windows are stored column-wise in primitive arrays rather than as one object
+ * per window, which keeps a year of hourly or a month of minutely windows per
+ * series at roughly the size of their compressed sketches. Arrays grow by
+ * doubling up to the tier capacity, so sparse series stay small.
+ * <p>
+ * Appends come from the sealing thread, reads from query threads; both are
+ * short critical sections, so a monitor is cheaper than a concurrent structure.
+ */
+final class WindowRing {
+
+    private static final int INITIAL_LENGTH = 16;
+
+    private final Duration width;
+    private final int capacity;
+
+    private long[] starts = new long[0];
+    private long[] counts = new long[0];
+    private double[] sums = new double[0];
+    private double[] mins = new double[0];
+    private double[] maxs = new double[0];
+    private double[] p50s = new double[0];
+    private double[] p90s = new double[0];
+    private double[] p99s = new double[0];
+    private byte[][] sketches = new byte[0][];
+    private int head;
+    private int size;
+
+    WindowRing(final Duration width, final int capacity) {
+        this.width = width;
+        this.capacity = capacity;
+    }
+
+    synchronized void add(final WindowAggregate aggregate) {
+        if (size == starts.length && starts.length < capacity) {
+            resize(Math.min(capacity, Math.max(INITIAL_LENGTH, starts.length * 2)));
+        }
+        int slot;
+        if (size == capacity) {
+            // Full: overwrite the oldest window
+            slot = head;
+            head = (head + 1) % starts.length;
+        } else {
+            slot = (head + size) % starts.length;
+            size++;
+        }
+        starts[slot] = aggregate.windowStart().toEpochMilli();
+        counts[slot] = aggregate.count();
+        sums[slot] = aggregate.sum();
+        mins[slot] = aggregate.min();
+        maxs[slot] = aggregate.max();
+        p50s[slot] = aggregate.p50();
+        p90s[slot] = aggregate.p90();
+        p99s[slot] = aggregate.p99();
+        sketches[slot] = aggregate.sketch();
+    }
+
+    /**
+     * Drop windows that ended before the cutoff
+     *
+     * @return number of expired windows
+     */
+    synchronized int expireBefore(final long cutoffMillis) {
+        int expired = 0;
+        long widthMillis = width.toMillis();
+        while (size > 0 && starts[head] + widthMillis <= cutoffMillis) {
+            sketches[head] = null;
+            head = (head + 1) % starts.length;
+            size--;
+            expired++;
+        }
+        return expired;
+    }
+
+    /**
+     * Windows overlapping [from, to), oldest first - O(retained windows)
+     */
+    synchronized List<WindowAggregate> between(final Instant from, final Instant to) {
+        long fromMillis = from.toEpochMilli();
+        long toMillis = to.toEpochMilli();
+        long widthMillis = width.toMillis();
+        List<WindowAggregate> result = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int slot = (head + i) % starts.length;
+            if (starts[slot] + widthMillis > fromMillis && starts[slot] < toMillis) {
+                result.add(new WindowAggregate(
+                    Instant.ofEpochMilli(starts[slot]),
+                    width,
+                    counts[slot],
+                    sums[slot],
+                    mins[slot],
+                    maxs[slot],
+                    p50s[slot],
+                    p90s[slot],
+                    p99s[slot],
+                    sketches[slot]
+                ));
+            }
+        }
+        return result;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Approximate heap footprint: primitive columns plus sketch payloads
+     */
+    synchronized long footprintBytes() {
+        long bytes = (long) starts.length * (8L * 8 + 8);
+        for (int i = 0; i < size; i++) {
+            byte[] sketch = sketches[(head + i) % starts.length];
+            bytes += sketch == null ? 0 : 16L + sketch.length;
+        }
+        return bytes;
+    }
+
+    private void resize(final int length) {
+        starts = copy(starts, length);
+        counts = copy(counts, length);
+        sums = copy(sums, length);
+        mins = copy(mins, length);
+        maxs = copy(maxs, length);
+        p50s = copy(p50s, length);
+        p90s = copy(p90s, length);
+        p99s = copy(p99s, length);
+        byte[][] resizedSketches = new byte[length][];
+        for (int i = 0; i < size; i++) {
+            resizedSketches[i] = sketches[(head + i) % sketches.length];
+        }
+        sketches = resizedSketches;
+        head = 0;
+    }
+
+    private long[] copy(final long[] column, final int length) {
+        long[] resized = new long[length];
+        for (int i = 0; i < size; i++) {
+            resized[i] = column[(head + i) % column.length];
+        }
+        return resized;
+    }
+
+    private double[] copy(final double[] column, final int length) {
+        double[] resized = new double[length];
+        for (int i = 0; i < size; i++) {
+            resized[i] = column[(head + i) % column.length];
+        }
+        return resized;
+    }
+}
@@ -0,0 +1,222 @@
+package com.ghostlogger.core.domain.cluster;
+
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.port.ClusterTransport;
+import com.ghostlogger.core.domain.port.PipelineMetrics;
+import com.ghostlogger.core.domain.port.PortGuard;
+import com.ghostlogger.core.domain.port.StorageService;
+import com.ghostlogger.core.domain.sink.SinkWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Cluster Forwarder - hands entries owned by other nodes to their owner
+ * <p>
+ * Architectural Decisions:
+ * - The owner of an entry is the node its partition key hashes to on the
+ *   {@link HashRing}; every node routes the same key to the same owner, so per-source
+ *   (or per-trace) analytics, templates and order live on one node
+ * - Each peer is a {@link SinkWriter} over the {@link ClusterTransport}: a bounded
+ *   queue, batches of up to {@code batchSize} entries per request, retries and a
+ *   circuit breaker named {@code peer-<id>} in the {@link PortGuard}. A slow or
+ *   down peer fills and then sheds its own queue only; the ingest request never
+ *   waits for a peer
+ * - A standalone node returns the batch untouched, without a lookup per entry
+ * - When the membership changes, the writers of departed nodes stop taking entries
+ *   and still send what they have queued
+ */
+public class ClusterForwarder implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterForwarder.class);
+    private static final long SHUTDOWN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final ClusterMembership membership;
+    private final ClusterTransport clusterTransport;
+    private final PortGuard portGuard;
+    private final PipelineMetrics pipelineMetrics;
+    private final Map<ClusterNode, SinkWriter> writers = new ConcurrentHashMap<>();
+    private final List<SinkWriter> retired = new CopyOnWriteArrayList<>();
+    private volatile ClusterMembership.View routedView;
+
+    /**
+     * Entries of a batch this node owns, and how many were queued for their owners
+     */
+    public record Split(List<LogEntry> local, int forwarded) {
+    }
+
+    /**
+     * Forwarding state of one peer
+     *
+     * @param lag how long the batch being sent has waited since its oldest entry was queued
+     */
+    public record PeerStats(String nodeId, int backlog, Duration lag, long forwarded, long failed, long shed) {
+    }
+
+    /**
+     * A peer as a storage sink: storing a batch sends it to the peer
+     */
+    private record PeerSink(ClusterNode node, ClusterTransport clusterTransport) implements StorageService {
+
+        @Override
+        public void store(final LogEntry logEntry) throws Exception {
+            clusterTransport.forward(node, List.of(logEntry));
+        }
+
+        @Override
+        public void storeBatch(final List<LogEntry> logEntries) throws Exception {
+            clusterTransport.forward(node, logEntries);
+        }
+
+        @Override
+        public String sinkName() {
+            return "peer-" + node.id();
+        }
+    }
+
+    public ClusterForwarder(
+        final ClusterMembership membership,
+        final ClusterTransport clusterTransport,
+        final PortGuard portGuard,
+        final PipelineMetrics pipelineMetrics
+    ) {
+        this.membership = membership;
+        this.clusterTransport = clusterTransport;
+        this.portGuard = portGuard;
+        this.pipelineMetrics = pipelineMetrics;
+        this.routedView = membership.current();
+    }
+
+    /**
+     * Queue the entries owned by other nodes for their owner; never blocks
+     *
+     * @return the entries this node owns, in order, and the number queued for peers;
+     *         entries a full peer queue shed are in neither
+     */
+    public Split split(final List<LogEntry> entries) {
+        ClusterMembership.View view = membership.current();
+        if (view != routedView) {
+            retireDeparted(view);
+        }
+        if (view.standalone()) {
+            return new Split(entries, 0);
+        }
+        String self = view.self().id();
+        List<LogEntry> local = new ArrayList<>(entries.size());
+        int forwarded = 0;
+        for (LogEntry entry : entries) {
+            ClusterNode owner = view.ring().owner(membership.keyOf(entry));
+            if (owner.id().equals(self)) {
+                local.add(entry);
+            } else if (writers.computeIfAbsent(owner, this::newWriter).offer(entry)) {
+                forwarded++;
+            }
+        }
+        return new Split(local, forwarded);
+    }
+
+    private SinkWriter newWriter(final ClusterNode node) {
+        return new SinkWriter(new PeerSink(node, clusterTransport), membership.policy().forwarding(),
+            portGuard, pipelineMetrics);
+    }
+
+    private synchronized void retireDeparted(final ClusterMembership.View view) {
+        if (view == routedView) {
+            return;
+        }
+        List<ClusterNode> nodes = view.ring().nodes();
+        writers.entrySet().removeIf(peer -> {
+            if (nodes.contains(peer.getKey())) {
+                return false;
+            }
+            log.info("Peer '{}' left the cluster, sending its {} queued entries",
+                peer.getKey().id(), peer.getValue().backlog());
+            peer.getValue().shutdown();
+            retired.add(peer.getValue());
+            return true;
+        });
+        routedView = view;
+    }
+
+    /**
+     * Forwarding state of the current peers this node has sent entries to
+     */
+    public List<PeerStats> peers() {
+        return writers.entrySet().stream()
+            .map(peer -> new PeerStats(
+                peer.getKey().id(),
+                peer.getValue().backlog(),
+                peer.getValue().lag(),
+                peer.getValue().storedEntries(),
+                peer.getValue().failedEntries(),
+                peer.getValue().shedEntries()
+            ))
+            .toList();
+    }
+
+    /**
+     * Entries waiting in the peer queues
+     */
+    public int backlog() {
+        return writers.values().stream().mapToInt(SinkWriter::backlog).sum();
+    }
+
+    /**
+     * Entries a peer accepted
+     */
+    public long forwardedEntries() {
+        return total(SinkWriter::storedEntries);
+    }
+
+    /**
+     * Entries of batches a peer still refused after the last attempt
+     */
+    public long failedEntries() {
+        return total(SinkWriter::failedEntries);
+    }
+
+    /**
+     * Entries dropped because a peer queue was full
+     */
+    public long shedEntries() {
+        return total(SinkWriter::shedEntries);
+    }
+
+    private long total(final ToLongFunction<SinkWriter> counter) {
+        long total = 0;
+        for (SinkWriter writer : writers.values()) {
+            total += counter.applyAsLong(writer);
+        }
+        for (SinkWriter writer : retired) {
+            total += counter.applyAsLong(writer);
+        }
+        return total;
+    }
+
+    /**
+     * Stop accepting entries and send the queued ones
+     */
+    @Override
+    public void close() throws InterruptedException {
+        List<SinkWriter> all = new ArrayList<>(writers.values());
+        all.addAll(retired);
+        for (SinkWriter writer : all) {
+            writer.shutdown();
+        }
+        long deadline = System.nanoTime() + SHUTDOWN_TIMEOUT_NANOS;
+        for (SinkWriter writer : all) {
+            if (!writer.awaitTermination(deadline)) {
+                log.warn("Forwarding to '{}' did not finish within the shutdown timeout [backlog={}]",
+                    writer.name(), writer.backlog());
+            }
+        }
+    }
+}
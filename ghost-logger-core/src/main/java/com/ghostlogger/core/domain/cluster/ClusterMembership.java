@@ -0,0 +1,123 @@
+package com.ghostlogger.core.domain.cluster;
+
+import com.ghostlogger.core.domain.model.LogEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cluster Membership - the nodes of the cluster and the hash ring over them
+ * <p>
+ * Starts from the static node list of the {@link ClusterPolicy} and can be replaced at
+ * runtime from a membership file, one {@code <node-id> = <address>} per line. Every
+ * node reading the same file builds the same ring, so they agree on the owner of
+ * every key without talking to each other. A replacement swaps one immutable
+ * {@link View}; readers never lock.
+ */
+public class ClusterMembership {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterMembership.class);
+    /** Address of a standalone node; it never forwards to itself */
+    private static final URI LOCAL = URI.create("http://localhost");
+
+    private final ClusterPolicy policy;
+    private volatile View view;
+
+    /**
+     * One membership version
+     *
+     * @param origin where the nodes were loaded from, e.g. a file path or "static"
+     */
+    public record View(long version, String origin, Instant loadedAt, HashRing ring, ClusterNode self) {
+
+        public boolean standalone() {
+            return ring.nodes().size() == 1;
+        }
+
+        public List<ClusterNode> peers() {
+            return ring.nodes().stream().filter(node -> !node.id().equals(self.id())).toList();
+        }
+    }
+
+    public ClusterMembership(final ClusterPolicy policy) {
+        this.policy = policy;
+        this.view = viewOf(1, "static", policy.nodes());
+        log.info("ClusterMembership initialized: node '{}' of {}", policy.nodeId(), view.ring().nodes());
+    }
+
+    /**
+     * Replace the membership with the nodes listed in {@code text}
+     * <p>
+     * Blank lines and {@code #} comments are ignored; an empty list runs this node standalone.
+     *
+     * @throws IllegalArgumentException on a malformed line, or if this node is not listed
+     */
+    public View load(final String origin, final String text) {
+        List<ClusterNode> nodes = new ArrayList<>();
+        String[] lines = text.split("\\R");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int separator = line.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": expected <node-id> = <address>");
+            }
+            try {
+                nodes.add(new ClusterNode(line.substring(0, separator).strip(),
+                    URI.create(line.substring(separator + 1).strip())));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return update(origin, nodes);
+    }
+
+    /**
+     * Replace the membership
+     *
+     * @throws IllegalArgumentException if this node is not one of {@code nodes}
+     */
+    public synchronized View update(final String origin, final List<ClusterNode> nodes) {
+        if (!nodes.isEmpty() && nodes.stream().noneMatch(node -> node.id().equals(policy.nodeId()))) {
+            throw new IllegalArgumentException("Node '" + policy.nodeId() + "' is not one of the cluster nodes");
+        }
+        View next = viewOf(view.version() + 1, origin, nodes);
+        if (!next.ring().nodes().equals(view.ring().nodes())) {
+            log.info("Cluster membership version {} from {}: {}", next.version(), origin, next.ring().nodes());
+        }
+        view = next;
+        return next;
+    }
+
+    private View viewOf(final long version, final String origin, final List<ClusterNode> nodes) {
+        List<ClusterNode> members = nodes.isEmpty() ? List.of(new ClusterNode(policy.nodeId(), LOCAL)) : nodes;
+        HashRing ring = new HashRing(members, policy.virtualNodes());
+        ClusterNode self = members.stream().filter(node -> node.id().equals(policy.nodeId())).findFirst().orElseThrow();
+        return new View(version, origin, Instant.now(), ring, self);
+    }
+
+    public View current() {
+        return view;
+    }
+
+    /**
+     * Partition key of the entry, hashed onto the ring to find its owner
+     */
+    public String keyOf(final LogEntry entry) {
+        String key = switch (policy.partitionKey()) {
+            case SOURCE -> entry.source();
+            case TRACE -> entry.traceContext() != null ? entry.traceContext().traceId() : null;
+        };
+        return key != null ? key : "";
+    }
+
+    public ClusterPolicy policy() {
+        return policy;
+    }
+}
@@ -0,0 +1,25 @@
+package com.ghostlogger.core.domain.cluster;
+
+import java.net.URI;
+
+/**
+ * Cluster Node - one Ghost Logger server in the cluster
+ *
+ * @param id      stable node id; the hash ring is built from ids, so a node keeps its
+ *                partitions when its address changes
+ * @param address base URI of the node's HTTP API, e.g. {@code http://10.0.0.5:8080}
+ */
+public record ClusterNode(
+    String id,
+    URI address
+) {
+
+    public ClusterNode {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("Node id cannot be null or blank");
+        }
+        if (address == null || address.getScheme() == null || address.getHost() == null) {
+            throw new IllegalArgumentException("Node '" + id + "' needs an absolute address, e.g. http://host:8080");
+        }
+    }
+}
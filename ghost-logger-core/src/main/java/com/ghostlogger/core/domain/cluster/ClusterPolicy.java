@@ -0,0 +1,59 @@
+package com.ghostlogger.core.domain.cluster;
+
+import com.ghostlogger.core.domain.pipeline.ShardingPolicy.PartitionKey;
+import com.ghostlogger.core.domain.sink.SinkPolicy;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Cluster Policy - partitioning of ingestion across Ghost Logger nodes
+ *
+ * @param nodeId       id of this node; must be one of {@code nodes} unless the list is empty
+ * @param nodes        static membership; empty runs the node standalone, owning every key
+ * @param virtualNodes points per node on the hash ring
+ * @param partitionKey entry attribute hashed to pick the owning node; TRACE keeps every
+ *                     trace on one node, so tail sampling still sees whole traces
+ * @param forwarding   queueing, batching and retries of the entries forwarded to each peer
+ * @param queryTimeout how long a scatter-gather query waits for the peers before
+ *                     answering with the results it has
+ */
+public record ClusterPolicy(
+    String nodeId,
+    List<ClusterNode> nodes,
+    int virtualNodes,
+    PartitionKey partitionKey,
+    SinkPolicy forwarding,
+    Duration queryTimeout
+) {
+
+    public ClusterPolicy {
+        if (nodeId == null || nodeId.isBlank()) {
+            throw new IllegalArgumentException("NodeId cannot be null or blank");
+        }
+        nodes = nodes == null ? List.of() : List.copyOf(nodes);
+        if (!nodes.isEmpty() && nodes.stream().noneMatch(node -> node.id().equals(nodeId))) {
+            throw new IllegalArgumentException("NodeId '" + nodeId + "' is not one of the cluster nodes");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("VirtualNodes must be positive");
+        }
+        if (partitionKey == null || forwarding == null) {
+            throw new IllegalArgumentException("PartitionKey and Forwarding must not be null");
+        }
+        if (queryTimeout == null || queryTimeout.isNegative() || queryTimeout.isZero()) {
+            throw new IllegalArgumentException("QueryTimeout must be positive");
+        }
+    }
+
+    public static ClusterPolicy defaults() {
+        return new ClusterPolicy(
+            "node-1",
+            List.of(),
+            256,
+            PartitionKey.SOURCE,
+            new SinkPolicy(10_000, 512, Duration.ofMillis(10), 5, Duration.ofSeconds(1), false),
+            Duration.ofSeconds(2)
+        );
+    }
+}
@@ -0,0 +1,113 @@
+package com.ghostlogger.core.domain.cluster;
+
+import com.ghostlogger.core.domain.analytics.Hashing;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Consistent Hash Ring over the cluster nodes
+ * <p>
+ * Every node is placed on the ring at {@code virtualNodes} points; a key belongs to
+ * the node of the first point at or after the key's hash. Adding or removing a node
+ * only moves the keys of its own points, about 1/N of them; with 256 virtual nodes
+ * each node's share of the keys stays within about 10% of 1/N.
+ * <p>
+ * Immutable: the points are one sorted {@code long[]} searched with a binary search,
+ * so a lookup allocates nothing and the ring can be swapped atomically on a
+ * membership change.
+ */
+public final class HashRing {
+
+    private final ClusterNode[] nodes;
+    private final long[] points;
+    private final int[] owners;
+
+    /**
+     * @param nodes        cluster nodes with unique ids
+     * @param virtualNodes points per node on the ring
+     * @throws IllegalArgumentException if there are no nodes or two share an id
+     */
+    public HashRing(final List<ClusterNode> nodes, final int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one node");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("VirtualNodes must be positive");
+        }
+        this.nodes = nodes.stream().sorted(Comparator.comparing(ClusterNode::id)).toArray(ClusterNode[]::new);
+        for (int i = 1; i < this.nodes.length; i++) {
+            if (this.nodes[i].id().equals(this.nodes[i - 1].id())) {
+                throw new IllegalArgumentException("Duplicate node id '" + this.nodes[i].id() + "'");
+            }
+        }
+
+        int size = this.nodes.length * virtualNodes;
+        long[] hashes = new long[size];
+        for (int node = 0; node < this.nodes.length; node++) {
+            for (int point = 0; point < virtualNodes; point++) {
+                hashes[node * virtualNodes + point] = Hashing.hash64(this.nodes[node].id() + "#" + point);
+            }
+        }
+        // Sort the points, carrying their node along
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> hashes[i]));
+        this.points = new long[size];
+        this.owners = new int[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = hashes[order[i]];
+            owners[i] = order[i] / virtualNodes;
+        }
+    }
+
+    /**
+     * Node owning the key
+     */
+    public ClusterNode owner(final String key) {
+        if (nodes.length == 1) {
+            return nodes[0];
+        }
+        long hash = Hashing.hash64(key);
+        int index = Arrays.binarySearch(points, hash);
+        if (index < 0) {
+            index = -index - 1;
+            if (index == points.length) {
+                index = 0;
+            }
+        }
+        return nodes[owners[index]];
+    }
+
+    /**
+     * Nodes on the ring, ordered by id
+     */
+    public List<ClusterNode> nodes() {
+        return List.of(nodes);
+    }
+
+    /**
+     * Fraction of the hash space owned by the node, 0 if it is not on the ring
+     */
+    public double share(final String nodeId) {
+        if (nodes.length == 1) {
+            return nodes[0].id().equals(nodeId) ? 1.0 : 0.0;
+        }
+        double owned = 0;
+        for (int i = 0; i < points.length; i++) {
+            if (nodes[owners[i]].id().equals(nodeId)) {
+                // A point owns the arc from the previous point up to itself
+                long previous = points[i == 0 ? points.length - 1 : i - 1];
+                owned += unsigned(points[i] - previous);
+            }
+        }
+        return owned / 0x1p64;
+    }
+
+    private static double unsigned(final long value) {
+        return value >= 0 ? value : value + 0x1p64;
+    }
+}
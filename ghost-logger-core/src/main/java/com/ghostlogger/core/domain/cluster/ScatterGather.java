@@ -0,0 +1,99 @@
+package com.ghostlogger.core.domain.cluster;
+
+import com.ghostlogger.core.domain.port.ClusterTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Scatter-Gather - one query answered by every node of the cluster
+ * <p>
+ * Each node only holds the analytics of the keys it owns, so a cluster-wide answer
+ * is the merge of every node's local answer. The peers are queried concurrently, as
+ * subtasks of a StructuredTaskScope, while this node computes its own; the scope
+ * waits at most {@code queryTimeout}. A peer that fails or is too slow is reported
+ * in {@link Gathered#unavailableNodes()} and the query is answered from the rest,
+ * so one down node degrades the answer instead of failing it.
+ */
+public class ScatterGather {
+
+    private static final Logger log = LoggerFactory.getLogger(ScatterGather.class);
+
+    private final ClusterMembership membership;
+    private final ClusterTransport clusterTransport;
+
+    /**
+     * Local answers of the nodes that answered, this node's first
+     *
+     * @param unavailableNodes ids of the peers that failed or timed out; empty if the answer is complete
+     */
+    public record Gathered<T>(List<T> results, List<String> unavailableNodes) {
+
+        public boolean partial() {
+            return !unavailableNodes.isEmpty();
+        }
+    }
+
+    public ScatterGather(final ClusterMembership membership, final ClusterTransport clusterTransport) {
+        this.membership = membership;
+        this.clusterTransport = clusterTransport;
+    }
+
+    /**
+     * Whether queries have peers to ask; a standalone node answers alone
+     */
+    public boolean clustered() {
+        return !membership.current().standalone();
+    }
+
+    /**
+     * Query every node
+     *
+     * @param pathAndQuery API path and query string the peers answer locally
+     * @param local        this node's local answer; null if it has nothing for the query
+     */
+    public <T> Gathered<T> gather(final String pathAndQuery, final Class<T> responseType, final Supplier<T> local)
+        throws InterruptedException {
+        List<ClusterNode> peers = membership.current().peers();
+        List<T> results = new ArrayList<>(peers.size() + 1);
+        List<String> unavailable = new ArrayList<>();
+        try (var scope = new StructuredTaskScope<T>()) {
+            List<StructuredTaskScope.Subtask<T>> subtasks = new ArrayList<>(peers.size());
+            for (ClusterNode peer : peers) {
+                subtasks.add(scope.fork(() -> clusterTransport.query(peer, pathAndQuery, responseType)));
+            }
+            T own = local.get();
+            if (own != null) {
+                results.add(own);
+            }
+            try {
+                scope.joinUntil(Instant.now().plus(membership.policy().queryTimeout()));
+            } catch (TimeoutException e) {
+                // Interrupt the stragglers; their subtasks end up UNAVAILABLE
+                scope.shutdown();
+                scope.join();
+            }
+            for (int i = 0; i < peers.size(); i++) {
+                StructuredTaskScope.Subtask<T> subtask = subtasks.get(i);
+                if (subtask.state() == StructuredTaskScope.Subtask.State.SUCCESS) {
+                    if (subtask.get() != null) {
+                        results.add(subtask.get());
+                    }
+                } else {
+                    unavailable.add(peers.get(i).id());
+                    log.warn("Node '{}' did not answer {}: {}", peers.get(i).id(), pathAndQuery,
+                        subtask.state() == StructuredTaskScope.Subtask.State.FAILED
+                            ? subtask.exception().getMessage()
+                            : "timed out after " + membership.policy().queryTimeout());
+                }
+            }
+        }
+        return new Gathered<>(results, unavailable);
+    }
+}
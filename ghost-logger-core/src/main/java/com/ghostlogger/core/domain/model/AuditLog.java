@@ -20,7 +20,8 @@ public record AuditLog(
     String action,
     String resourceType,
     String resourceId,
-    Map<String, String> metadata
+    Map<String, String> metadata,
+    double sampleWeight
 ) implements LogEntry {
     
     public AuditLog {
@@ -30,5 +31,36 @@ public record AuditLog(
         if (action == null || action.isBlank()) {
             throw new IllegalArgumentException("Action cannot be null or blank");
         }
+        if (!(sampleWeight >= 1.0)) {
+            throw new IllegalArgumentException("SampleWeight must be at least 1");
+        }
+    }
+
+    /**
+     * Creates an unsampled entry (sample weight 1)
+     */
+    public AuditLog(UUID id, String message, String source, Instant timestamp, TraceContext traceContext,
+                    String userId, String action, String resourceType, String resourceId,
+                    Map<String, String> metadata) {
+        this(id, message, source, timestamp, traceContext, userId, action, resourceType, resourceId, metadata, 1.0);
+    }
+
+    @Override
+    public AuditLog withSampleWeight(final double sampleWeight) {
+        return new AuditLog(id, message, source, timestamp, traceContext, userId, action, resourceType, resourceId, metadata, sampleWeight);
+    }
+
+    @Override
+    public AuditLog withMessage(final String message) {
+        return new AuditLog(id, message, source, timestamp, traceContext, userId, action, resourceType, resourceId, metadata, sampleWeight);
+    }
+
+    @Override
+    public AuditLog withSource(final String source) {
+        return new AuditLog(id, message, source, timestamp, traceContext, userId, action, resourceType, resourceId, metadata, sampleWeight);
+    }
+
+    public AuditLog withMetadata(final Map<String, String> metadata) {
+        return new AuditLog(id, message, source, timestamp, traceContext, userId, action, resourceType, resourceId, metadata, sampleWeight);
     }
 }
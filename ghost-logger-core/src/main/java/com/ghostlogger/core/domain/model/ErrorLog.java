@@ -17,7 +17,8 @@ public record ErrorLog(
     TraceContext traceContext,
     LogEntry.LogLevel severity,
     String exceptionType,
-    String stackTrace
+    String stackTrace,
+    double sampleWeight
 ) implements LogEntry {
     
     public ErrorLog {
@@ -28,5 +29,39 @@ public record ErrorLog(
         if (severity == null) {
             throw new IllegalArgumentException("Severity cannot be null");
         }
+        if (!(sampleWeight >= 1.0)) {
+            throw new IllegalArgumentException("SampleWeight must be at least 1");
+        }
+    }
+
+    /**
+     * Creates an unsampled entry (sample weight 1)
+     */
+    public ErrorLog(UUID id, String message, String source, Instant timestamp, TraceContext traceContext,
+                    LogEntry.LogLevel severity, String exceptionType, String stackTrace) {
+        this(id, message, source, timestamp, traceContext, severity, exceptionType, stackTrace, 1.0);
+    }
+
+    @Override
+    public ErrorLog withSampleWeight(final double sampleWeight) {
+        return new ErrorLog(id, message, source, timestamp, traceContext, severity, exceptionType, stackTrace, sampleWeight);
+    }
+
+    @Override
+    public ErrorLog withMessage(final String message) {
+        return new ErrorLog(id, message, source, timestamp, traceContext, severity, exceptionType, stackTrace, sampleWeight);
+    }
+
+    @Override
+    public ErrorLog withSource(final String source) {
+        return new ErrorLog(id, message, source, timestamp, traceContext, severity, exceptionType, stackTrace, sampleWeight);
+    }
+
+    public ErrorLog withStackTrace(final String stackTrace) {
+        return new ErrorLog(id, message, source, timestamp, traceContext, severity, exceptionType, stackTrace, sampleWeight);
+    }
+
+    public ErrorLog withSeverity(final LogEntry.LogLevel severity) {
+        return new ErrorLog(id, message, source, timestamp, traceContext, severity, exceptionType, stackTrace, sampleWeight);
     }
 }
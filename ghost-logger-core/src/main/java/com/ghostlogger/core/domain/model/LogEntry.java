@@ -19,6 +19,40 @@ public sealed interface LogEntry permits ErrorLog, AuditLog, MetricLog {
     Instant timestamp();
     TraceContext traceContext();
 
+    /**
+     * Number of original entries this stored entry stands for.
+     * <p>
+     * 1 for entries that were not sampled; 1/p for an entry kept with probability p,
+     * so counts can be re-estimated by summing weights.
+     */
+    double sampleWeight();
+
+    /**
+     * Returns a copy of this entry carrying the given sample weight
+     */
+    LogEntry withSampleWeight(double sampleWeight);
+
+    /**
+     * Returns a copy of this entry carrying the given message
+     */
+    LogEntry withMessage(String message);
+
+    /**
+     * Returns a copy of this entry carrying the given source
+     */
+    LogEntry withSource(String source);
+
+    /**
+     * Type discriminator, matching the "type" field of the ingestion API
+     */
+    default String type() {
+        return switch (this) {
+            case ErrorLog errorLog -> "ERROR";
+            case AuditLog auditLog -> "AUDIT";
+            case MetricLog metricLog -> "METRIC";
+        };
+    }
+
     /**
      * Log Level Enumeration
      */
@@ -9,6 +9,9 @@ import java.util.UUID;
  * <p>
  * Captures performance metrics, KPIs, and observability data.
  * Includes metric name, value, unit, and optional tags.
+ * <p>
+ * A {@link MetricSummary}, when present, makes the entry a pre-aggregate of many
+ * samples; {@code value} is then their mean.
  */
 public record MetricLog(
     UUID id,
@@ -19,7 +22,9 @@ public record MetricLog(
     String metricName,
     double value,
     String unit,
-    Map<String, String> tags
+    Map<String, String> tags,
+    double sampleWeight,
+    MetricSummary summary
 ) implements LogEntry {
     
     public MetricLog {
@@ -29,5 +34,43 @@ public record MetricLog(
         if (unit == null || unit.isBlank()) {
             throw new IllegalArgumentException("Unit cannot be null or blank");
         }
+        if (!(sampleWeight >= 1.0)) {
+            throw new IllegalArgumentException("SampleWeight must be at least 1");
+        }
+    }
+
+    /**
+     * Creates an unsampled entry (sample weight 1)
+     */
+    public MetricLog(UUID id, String message, String source, Instant timestamp, TraceContext traceContext,
+                     String metricName, double value, String unit, Map<String, String> tags) {
+        this(id, message, source, timestamp, traceContext, metricName, value, unit, tags, 1.0, null);
+    }
+
+    /**
+     * Creates a single-sample entry
+     */
+    public MetricLog(UUID id, String message, String source, Instant timestamp, TraceContext traceContext,
+                     String metricName, double value, String unit, Map<String, String> tags, double sampleWeight) {
+        this(id, message, source, timestamp, traceContext, metricName, value, unit, tags, sampleWeight, null);
+    }
+
+    @Override
+    public MetricLog withSampleWeight(final double sampleWeight) {
+        return new MetricLog(id, message, source, timestamp, traceContext, metricName, value, unit, tags, sampleWeight, summary);
+    }
+
+    @Override
+    public MetricLog withMessage(final String message) {
+        return new MetricLog(id, message, source, timestamp, traceContext, metricName, value, unit, tags, sampleWeight, summary);
+    }
+
+    @Override
+    public MetricLog withSource(final String source) {
+        return new MetricLog(id, message, source, timestamp, traceContext, metricName, value, unit, tags, sampleWeight, summary);
+    }
+
+    public MetricLog withTags(final Map<String, String> tags) {
+        return new MetricLog(id, message, source, timestamp, traceContext, metricName, value, unit, tags, sampleWeight, summary);
     }
 }
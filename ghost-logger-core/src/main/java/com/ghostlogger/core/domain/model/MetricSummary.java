@@ -0,0 +1,30 @@
+package com.ghostlogger.core.domain.model;
+
+/**
+ * Metric Summary Record
+ * <p>
+ * Pre-aggregated samples of one metric series over a client flush interval:
+ * the {@link MetricLog} carrying it stands for {@code count} samples rather than one.
+ * {@code sketch} is a compressed quantile sketch of the non-negative samples, or null.
+ */
+public record MetricSummary(
+    long count,
+    double sum,
+    double min,
+    double max,
+    byte[] sketch
+) {
+
+    public MetricSummary {
+        if (count < 1) {
+            throw new IllegalArgumentException("Count must be positive");
+        }
+        if (!(min <= max)) {
+            throw new IllegalArgumentException("Min cannot exceed max");
+        }
+    }
+
+    public double mean() {
+        return sum / count;
+    }
+}
@@ -10,12 +10,17 @@ import java.util.UUID;
  * <p>
  * ScopedValue provides a safe and efficient way to share immutable data within a thread
  * and its child threads, especially with Virtual Threads.
+ *
+ * @param generated true if the traceId was made up here rather than supplied by the
+ *                  client; such a context groups no entries that belong together, so
+ *                  it is never used to sample by trace
  */
 public record TraceContext(
     String traceId,
     String spanId,
     String correlationId,
-    String userId
+    String userId,
+    boolean generated
 ) {
     
     /**
@@ -37,6 +42,7 @@ public record TraceContext(
     public TraceContext {
         if (traceId == null || traceId.isBlank()) {
             traceId = UUID.randomUUID().toString();
+            generated = true;
         }
         if (spanId == null || spanId.isBlank()) {
             spanId = UUID.randomUUID().toString();
@@ -46,6 +52,13 @@ public record TraceContext(
         }
     }
     
+    /**
+     * Creates a context for a trace supplied by the client; a blank traceId is generated
+     */
+    public TraceContext(String traceId, String spanId, String correlationId, String userId) {
+        this(traceId, spanId, correlationId, userId, false);
+    }
+    
     /**
      * Factory method to create a new TraceContext
      */
@@ -54,7 +67,8 @@ public record TraceContext(
             UUID.randomUUID().toString(),
             UUID.randomUUID().toString(),
             UUID.randomUUID().toString(),
-            null
+            null,
+            true
         );
     }
     
@@ -66,7 +80,8 @@ public record TraceContext(
             UUID.randomUUID().toString(),
             UUID.randomUUID().toString(),
             UUID.randomUUID().toString(),
-            userId
+            userId,
+            true
         );
     }
     
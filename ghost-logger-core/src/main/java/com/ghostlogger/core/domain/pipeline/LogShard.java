@@ -0,0 +1,134 @@
+package com.ghostlogger.core.domain.pipeline;
+
+import com.ghostlogger.core.concurrent.MpscRingBuffer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * One Shard of the Ingestion Pipeline
+ * <p>
+ * Any number of ingest threads offer slices into a bounded {@link MpscRingBuffer};
+ * a single writer thread drains it and hands each pass to the pipeline. The writer
+ * parks while the queue is empty and is unparked by the next offer, so an idle shard
+ * costs nothing. A full queue makes the producer back off until the deadline,
+ * which throttles ingestion to the pace of the writer.
+ */
+final class LogShard implements Runnable {
+
+    private static final long MIN_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final MpscRingBuffer<ShardSlice> queue;
+    private final int maxDrainSlices;
+    private final Consumer<List<ShardSlice>> writer;
+    private final Thread thread;
+    private volatile Thread waiter;
+    private volatile boolean closed;
+
+    LogShard(final int index, final ShardingPolicy policy, final Consumer<List<ShardSlice>> writer) {
+        this.queue = new MpscRingBuffer<>(policy.queueCapacity());
+        this.maxDrainSlices = policy.maxDrainSlices();
+        this.writer = writer;
+        this.thread = Thread.ofVirtual().name("log-shard-" + index).unstarted(this);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Queue a slice, backing off while the queue is full (ingest threads)
+     *
+     * @return false if the deadline passed or the shard is closed
+     */
+    boolean offer(final ShardSlice slice, final long deadlineNanos) {
+        long backoff = MIN_BACKOFF_NANOS;
+        while (!closed) {
+            if (queue.offer(slice)) {
+                Thread consumer = waiter;
+                if (consumer != null) {
+                    LockSupport.unpark(consumer);
+                }
+                return true;
+            }
+            long remaining = deadlineNanos - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(this, Math.min(backoff, remaining));
+            backoff = Math.min(backoff << 1, MAX_BACKOFF_NANOS);
+        }
+        return false;
+    }
+
+    /**
+     * Wait until the queue has room for {@code slices} more slices, backing off like
+     * {@link #offer}; the room is not reserved
+     *
+     * @return false if the deadline passed or the shard is closed
+     */
+    boolean awaitRoom(final int slices, final long deadlineNanos) {
+        int needed = Math.min(slices, queue.capacity());
+        long backoff = MIN_BACKOFF_NANOS;
+        while (!closed) {
+            if (queue.capacity() - queue.size() >= needed) {
+                return true;
+            }
+            long remaining = deadlineNanos - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(this, Math.min(backoff, remaining));
+            backoff = Math.min(backoff << 1, MAX_BACKOFF_NANOS);
+        }
+        return false;
+    }
+
+    /**
+     * Writer loop: drain, hand over, park when empty; drains what is left once closed
+     */
+    @Override
+    public void run() {
+        List<ShardSlice> pass = new ArrayList<>(Math.min(maxDrainSlices, queue.capacity()));
+        while (true) {
+            queue.drain(pass::add, maxDrainSlices);
+            if (!pass.isEmpty()) {
+                writer.accept(pass);
+                pass.clear();
+                continue;
+            }
+            if (closed) {
+                if (queue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            waiter = thread;
+            if (queue.isEmpty() && !closed) {
+                LockSupport.park(this);
+            }
+            waiter = null;
+        }
+    }
+
+    /**
+     * Stop accepting slices and wait for the writer to finish the queued ones
+     *
+     * @return false if the writer was still busy at the deadline
+     */
+    boolean close(final long deadlineNanos) throws InterruptedException {
+        closed = true;
+        LockSupport.unpark(thread);
+        long remaining = deadlineNanos - System.nanoTime();
+        return remaining > 0 && thread.join(Duration.ofNanos(remaining));
+    }
+
+    int backlog() {
+        return queue.size();
+    }
+}
@@ -0,0 +1,24 @@
+package com.ghostlogger.core.domain.pipeline;
+
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.model.TraceContext;
+
+import java.util.List;
+
+/**
+ * The entries of one batch that share a partition key, queued as one unit
+ *
+ * @param key           partition key the slice was routed by
+ * @param traceContext  context the batch was ingested under
+ * @param batchId       ingest request the entries came from, null for released traces
+ * @param entries       entries in arrival order
+ * @param enqueuedNanos {@link System#nanoTime()} when the slice was queued
+ */
+record ShardSlice(
+    String key,
+    TraceContext traceContext,
+    String batchId,
+    List<LogEntry> entries,
+    long enqueuedNanos
+) {
+}
@@ -0,0 +1,227 @@
+package com.ghostlogger.core.domain.pipeline;
+
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.model.TraceContext;
+import com.ghostlogger.core.domain.port.PipelineMetrics;
+import com.ghostlogger.core.domain.port.PipelineMetrics.EntryType;
+import com.ghostlogger.core.domain.port.PipelineMetrics.Outcome;
+import com.ghostlogger.core.domain.port.PipelineMetrics.Stage;
+import com.ghostlogger.core.domain.sampling.PipelinePressure;
+import com.ghostlogger.core.domain.service.StructuredLogProcessor;
+import com.ghostlogger.core.jfr.PipelineEvents;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sharded Log Pipeline - Single Writer per Shard
+ * <p>
+ * Architectural Decisions:
+ * - Entries are partitioned by a hash of their source (or traceId) into N
+ *   {@link LogShard}s; each batch is split into one slice per key and queued
+ *   without locks into the shard that owns the key
+ * - One writer per shard drains its queue in order and processes every slice itself,
+ *   so entries with the same key reach the {@link StructuredLogProcessor} and its
+ *   ports in arrival order, and per-shard state is only touched by one thread.
+ *   Concurrency comes from the number of shards: a slow port stalls the shard it
+ *   is called from, not the others
+ * - Queued entries count towards {@link PipelinePressure}, so a backlog engages
+ *   adaptive sampling before the queues fill up
+ * <p>
+ * Ingestion returns once the entries are queued; processing failures are logged and
+ * counted here rather than reported to the client.
+ */
+@Service
+public class ShardedLogPipeline implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedLogPipeline.class);
+    private static final long SHUTDOWN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final ShardingPolicy policy;
+    private final StructuredLogProcessor structuredLogProcessor;
+    private final PipelinePressure pipelinePressure;
+    private final PipelineMetrics pipelineMetrics;
+    private final LogShard[] shards;
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public ShardedLogPipeline(
+        final ShardingPolicy policy,
+        final StructuredLogProcessor structuredLogProcessor,
+        final PipelinePressure pipelinePressure,
+        final PipelineMetrics pipelineMetrics
+    ) {
+        this.policy = policy;
+        this.structuredLogProcessor = structuredLogProcessor;
+        this.pipelinePressure = pipelinePressure;
+        this.pipelineMetrics = pipelineMetrics;
+        this.shards = new LogShard[policy.shards()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new LogShard(i, policy, this::write);
+        }
+        for (LogShard shard : shards) {
+            shard.start();
+        }
+        log.info("ShardedLogPipeline started with {} shards partitioned by {}", shards.length, policy.partitionKey());
+    }
+
+    /**
+     * Wait until every shard the entries map to has room for their slices
+     * <p>
+     * Lets a caller refuse a batch before it has any side effects. Waits up to
+     * {@link ShardingPolicy#enqueueTimeout()}; the room is not reserved, so a later
+     * {@link #submit} can still reject slices when other batches take it first.
+     *
+     * @return false if some shard stayed full
+     */
+    public boolean awaitCapacity(final List<LogEntry> entries) {
+        Map<Integer, Set<String>> keysByShard = new HashMap<>();
+        for (LogEntry entry : entries) {
+            String key = keyOf(entry);
+            keysByShard.computeIfAbsent(shardOf(key), shard -> new HashSet<>()).add(key);
+        }
+        long deadline = System.nanoTime() + policy.enqueueTimeout().toNanos();
+        for (Map.Entry<Integer, Set<String>> shard : keysByShard.entrySet()) {
+            if (!shards[shard.getKey()].awaitRoom(shard.getValue().size(), deadline)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Queue entries for processing, in the TraceContext and batch scope of the caller
+     * <p>
+     * Waits up to {@link ShardingPolicy#enqueueTimeout()} when a shard queue is full;
+     * the slices that still do not fit are rejected.
+     *
+     * @return the entries of rejected slices, in order; empty if all were queued
+     */
+    public List<LogEntry> submit(final List<LogEntry> entries) {
+        Map<String, List<LogEntry>> byKey = new LinkedHashMap<>();
+        for (LogEntry entry : entries) {
+            byKey.computeIfAbsent(keyOf(entry), key -> new ArrayList<>()).add(entry);
+        }
+        TraceContext traceContext = TraceContext.current();
+        String batchId = PipelineEvents.batchId();
+        long now = System.nanoTime();
+        long deadline = now + policy.enqueueTimeout().toNanos();
+
+        List<LogEntry> refused = List.of();
+        for (Map.Entry<String, List<LogEntry>> slice : byKey.entrySet()) {
+            int size = slice.getValue().size();
+            pipelinePressure.enter(size);
+            ShardSlice shardSlice = new ShardSlice(slice.getKey(), traceContext, batchId, slice.getValue(), now);
+            if (!shards[shardOf(slice.getKey())].offer(shardSlice, deadline)) {
+                pipelinePressure.exit(size);
+                rejected.add(size);
+                if (refused.isEmpty()) {
+                    refused = new ArrayList<>();
+                }
+                refused.addAll(slice.getValue());
+            }
+        }
+        return refused;
+    }
+
+    /**
+     * One drain pass of a shard writer: the slices in queue order, on the writer thread;
+     * a failed slice does not hold up the next
+     */
+    private void write(final List<ShardSlice> pass) {
+        for (ShardSlice slice : pass) {
+            int size = slice.entries().size();
+            pipelineMetrics.recordStage(Stage.QUEUE, EntryType.BATCH, Outcome.SUCCESS,
+                System.nanoTime() - slice.enqueuedNanos());
+            try {
+                TraceContext.callWithContext(slice.traceContext(), () -> PipelineEvents.callWithBatch(
+                    slice.batchId(), () -> structuredLogProcessor.processBatch(slice.entries())));
+                processed.add(size);
+            } catch (Exception e) {
+                failed.add(size);
+                log.error("Failed to process {} logs [key={}, traceId={}]: {}",
+                    size, slice.key(), slice.traceContext().traceId(), e.getMessage());
+            } finally {
+                pipelinePressure.exit(size);
+            }
+        }
+    }
+
+    private String keyOf(final LogEntry entry) {
+        String key = switch (policy.partitionKey()) {
+            case SOURCE -> entry.source();
+            case TRACE -> entry.traceContext() != null ? entry.traceContext().traceId() : null;
+        };
+        return key != null ? key : "";
+    }
+
+    /**
+     * Murmur3 finalizer over the key's hash, so similar keys ("service-1", "service-2")
+     * still spread across shards
+     */
+    int shardOf(final String key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, shards.length);
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Slices queued in one shard
+     */
+    public int backlog(final int shard) {
+        return shards[shard].backlog();
+    }
+
+    public long processedEntries() {
+        return processed.sum();
+    }
+
+    public long failedEntries() {
+        return failed.sum();
+    }
+
+    /**
+     * Entries that found their shard queue full until the enqueue timeout
+     */
+    public long rejectedEntries() {
+        return rejected.sum();
+    }
+
+    public ShardingPolicy policy() {
+        return policy;
+    }
+
+    /**
+     * Stop accepting entries and finish the queued ones
+     */
+    @Override
+    public void close() throws InterruptedException {
+        long deadline = System.nanoTime() + SHUTDOWN_TIMEOUT_NANOS;
+        for (LogShard shard : shards) {
+            if (!shard.close(deadline)) {
+                log.warn("Shard writer did not finish within the shutdown timeout [backlog={}]", shard.backlog());
+            }
+        }
+        log.info("ShardedLogPipeline stopped after processing {} logs ({} failed, {} rejected)",
+            processedEntries(), failedEntries(), rejectedEntries());
+    }
+}
@@ -0,0 +1,55 @@
+package com.ghostlogger.core.domain.pipeline;
+
+import java.time.Duration;
+
+/**
+ * Sharding Policy of the Ingestion Pipeline
+ *
+ * @param shards         number of shards, each with its own queue and writer
+ * @param partitionKey   entry attribute hashed to pick the shard; entries with the same
+ *                       key are processed in arrival order
+ * @param queueCapacity  slices (the entries of one batch for one key) queued per shard
+ * @param maxDrainSlices slices a writer takes from its queue per pass
+ * @param enqueueTimeout how long a batch waits for room in a full shard queue before
+ *                       its entries for that shard are rejected
+ */
+public record ShardingPolicy(
+    int shards,
+    PartitionKey partitionKey,
+    int queueCapacity,
+    int maxDrainSlices,
+    Duration enqueueTimeout
+) {
+
+    public enum PartitionKey {
+        /** Per-source order, e.g. for sinks that append per service */
+        SOURCE,
+        /** Per-trace order; spreads better when a few sources dominate */
+        TRACE
+    }
+
+    public ShardingPolicy {
+        if (shards < 1) {
+            throw new IllegalArgumentException("Shards must be positive");
+        }
+        if (partitionKey == null) {
+            throw new IllegalArgumentException("PartitionKey must not be null");
+        }
+        if (queueCapacity < 1 || maxDrainSlices < 1) {
+            throw new IllegalArgumentException("QueueCapacity and MaxDrainSlices must be positive");
+        }
+        if (enqueueTimeout == null || enqueueTimeout.isNegative()) {
+            throw new IllegalArgumentException("EnqueueTimeout must not be negative");
+        }
+    }
+
+    public static ShardingPolicy defaults() {
+        return new ShardingPolicy(
+            Runtime.getRuntime().availableProcessors(),
+            PartitionKey.SOURCE,
+            4096,
+            256,
+            Duration.ofMillis(50)
+        );
+    }
+}
@@ -0,0 +1,46 @@
+package com.ghostlogger.core.domain.port;
+
+import com.ghostlogger.core.domain.cluster.ClusterNode;
+import com.ghostlogger.core.domain.model.LogEntry;
+
+import java.util.List;
+
+/**
+ * Cluster Transport Port - Hexagonal Architecture
+ * <p>
+ * Node-to-node calls of a Ghost Logger cluster (e.g., compressed HTTP): forwarding
+ * entries to the node that owns them, and querying a peer's local results for a
+ * scatter-gather query. A request sent by another node carries
+ * {@link #FORWARDED_BY}; such requests are always handled locally, never forwarded
+ * again, so nodes with different membership views cannot bounce entries between them.
+ * The receiving node only honors that header from an authenticated peer, see
+ * {@link #CLUSTER_SECRET}.
+ */
+public interface ClusterTransport {
+
+    /**
+     * Request header naming the node that sent the request
+     */
+    String FORWARDED_BY = "X-GhostLogger-Forwarded-By";
+
+    /**
+     * Request header carrying the secret shared by the nodes of a cluster, if one is set
+     */
+    String CLUSTER_SECRET = "X-GhostLogger-Cluster-Secret";
+
+    /**
+     * Hand a batch of entries to the node that owns them, in order
+     *
+     * @throws Exception if the node did not accept the batch; it is retried as a whole
+     */
+    void forward(ClusterNode node, List<LogEntry> entries) throws Exception;
+
+    /**
+     * Read the node's local answer to a query
+     *
+     * @param pathAndQuery API path with its query string, e.g. {@code /api/v1/errors/top?limit=10}
+     * @return the response, or null if the node has nothing for the query (404)
+     * @throws Exception if the node could not be queried
+     */
+    <T> T query(ClusterNode node, String pathAndQuery, Class<T> responseType) throws Exception;
+}
@@ -1,7 +1,9 @@
 package com.ghostlogger.core.domain.port;
 
 import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.template.TemplatedMessage;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,6 +25,16 @@ public interface LogRepository {
      */
     LogEntry save(LogEntry logEntry);
 
+    /**
+     * Save a log entry whose message was already mined
+     * @param logEntry the log entry to save
+     * @param template the template mined for its message, or null
+     * @return the saved log entry
+     */
+    default LogEntry save(LogEntry logEntry, TemplatedMessage template) {
+        return save(logEntry);
+    }
+
     /**
      * Find a log entry by ID
      * @param id the log entry ID
@@ -48,4 +60,12 @@ public interface LogRepository {
      * @param id the log entry ID
      */
     void deleteById(UUID id);
+
+    /**
+     * Delete log entries of a given type older than a cutoff (retention)
+     * @param type the log entry type to purge
+     * @param cutoff entries with a timestamp before this instant are deleted
+     * @return number of deleted entries
+     */
+    int deleteOlderThan(Class<? extends LogEntry> type, Instant cutoff);
 }
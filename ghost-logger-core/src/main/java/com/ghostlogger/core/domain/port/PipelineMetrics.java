@@ -0,0 +1,95 @@
+package com.ghostlogger.core.domain.port;
+
+import com.ghostlogger.core.domain.model.AuditLog;
+import com.ghostlogger.core.domain.model.ErrorLog;
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.model.MetricLog;
+
+/**
+ * Pipeline Metrics Port - Hexagonal Architecture
+ * <p>
+ * Records stage timings and outcomes of the ingestion pipeline (e.g., Micrometer, Prometheus).
+ * Called for every entry on the ingest path, so implementations must not allocate
+ * per call: arguments are enums and primitives for that reason.
+ */
+public interface PipelineMetrics {
+
+    /**
+     * Does nothing; for wiring the domain services outside Spring (benchmarks, tools)
+     */
+    PipelineMetrics NOOP = new PipelineMetrics() {
+        @Override
+        public void recordStage(final Stage stage, final EntryType type, final Outcome outcome, final long nanos) {
+        }
+
+        @Override
+        public void recordRateLimit(final Outcome outcome) {
+        }
+
+        @Override
+        public void recordBatchSize(final int entries) {
+        }
+    };
+
+    enum Stage {
+        DESERIALIZE,
+        CONVERT,
+        /** Time a slice waited in its shard queue */
+        QUEUE,
+        PROCESS,
+        ALERT,
+        STORE
+    }
+
+    /**
+     * Log type of the entry a stage ran for; {@code BATCH} for stages that handle a whole request
+     */
+    enum EntryType {
+        BATCH,
+        ERROR,
+        AUDIT,
+        METRIC;
+
+        public static EntryType of(final LogEntry entry) {
+            return switch (entry) {
+                case ErrorLog errorLog -> ERROR;
+                case AuditLog auditLog -> AUDIT;
+                case MetricLog metricLog -> METRIC;
+            };
+        }
+    }
+
+    enum Outcome {
+        /** Stage completed */
+        SUCCESS,
+        /** Stage threw, e.g. a port call failed */
+        FAILURE,
+        /**
+         * Input refused: invalid entry, a batch over the rate limit with nothing worth keeping,
+         * or a port call refused by its bulkhead (circuit open, bulkhead full)
+         */
+        REJECTED,
+        /**
+         * Over the rate limit, low-value entries dropped and the rest kept; an alert dropped;
+         * an entry dropped by a processor stage (e.g. a drop rule) or by a full sink queue
+         */
+        SHED
+    }
+
+    /**
+     * Record one run of a stage
+     *
+     * @param nanos wall-clock duration of the stage in nanoseconds
+     */
+    void recordStage(Stage stage, EntryType type, Outcome outcome, long nanos);
+
+    /**
+     * Record the rate-limit decision for one batch ({@code SUCCESS} when permitted)
+     */
+    void recordRateLimit(Outcome outcome);
+
+    /**
+     * Record the number of entries in one ingest request
+     */
+    void recordBatchSize(int entries);
+}
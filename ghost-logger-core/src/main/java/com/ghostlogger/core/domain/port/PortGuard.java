@@ -0,0 +1,56 @@
+package com.ghostlogger.core.domain.port;
+
+/**
+ * Port Guard - Hexagonal Architecture
+ * <p>
+ * Isolates calls to an outbound port behind its own bulkhead: a concurrency
+ * limit, a timeout and a circuit breaker per {@link Port} and per storage sink
+ * (e.g., Resilience4j), so a slow or failing alert channel or archive cannot take
+ * the other ports down with it.
+ */
+public interface PortGuard {
+
+    /**
+     * Calls the port directly; for wiring the domain services outside Spring (benchmarks, tools)
+     */
+    PortGuard DIRECT = (port, call) -> call.call();
+
+    enum Port {
+        ALERT,
+        STORAGE
+    }
+
+    @FunctionalInterface
+    interface PortCall {
+        void call() throws Exception;
+    }
+
+    /**
+     * Run one call through the bulkhead of its port
+     *
+     * @throws PortUnavailableException if the call was not attempted (circuit open, bulkhead full)
+     * @throws Exception                what the call threw, or a timeout
+     */
+    void call(Port port, PortCall call) throws Exception;
+
+    /**
+     * Run one call to a storage sink through the bulkhead of that sink, so a failing
+     * sink opens its own circuit only; defaults to the STORAGE bulkhead
+     *
+     * @param sink sink name of the StorageService
+     * @throws PortUnavailableException if the call was not attempted (circuit open, bulkhead full)
+     * @throws Exception                what the call threw, or a timeout
+     */
+    default void callSink(final String sink, final PortCall call) throws Exception {
+        call(Port.STORAGE, call);
+    }
+
+    /**
+     * The guard refused the call without attempting it; retrying later may succeed
+     */
+    class PortUnavailableException extends Exception {
+        public PortUnavailableException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -1,14 +1,24 @@
 package com.ghostlogger.core.domain.port;
 
 import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.template.TemplatedMessage;
+
+import java.util.List;
 
 /**
  * Storage Service Port - Hexagonal Architecture
  * <p>
- * Persists logs to long-term storage (e.g., S3, Elasticsearch)
+ * Persists logs to long-term storage (e.g., S3, Elasticsearch). Every implementation
+ * is one sink of the SinkRegistry, named by {@link #sinkName()}, with its own queue,
+ * so a slow sink never holds up the others.
  */
 public interface StorageService {
-    
+
+    /**
+     * Sink name of the default implementation, for {@code route} rules
+     */
+    String PRIMARY_SINK = "primary";
+
     /**
      * Store log entry to long-term storage
      * 
@@ -16,4 +26,40 @@ public interface StorageService {
      * @throws Exception if storage fails
      */
     void store(LogEntry logEntry) throws Exception;
+
+    /**
+     * Store a batch of entries drained from the sink queue, in arrival order
+     * <p>
+     * Defaults to one {@link #store(LogEntry)} per entry; override for a bulk write.
+     * The batch is retried as a whole, so the write should be idempotent.
+     *
+     * @throws Exception if storage fails
+     */
+    default void storeBatch(final List<LogEntry> logEntries) throws Exception {
+        for (LogEntry logEntry : logEntries) {
+            store(logEntry);
+        }
+    }
+
+    /**
+     * Store a batch with the templates the analytics stage mined for its messages
+     * <p>
+     * {@code templates} is index-aligned with the entries, null where a message was
+     * not mined. Defaults to {@link #storeBatch(List)}; override to keep messages in
+     * template form without tokenizing them again.
+     *
+     * @throws Exception if storage fails
+     */
+    default void storeBatch(final List<LogEntry> logEntries, final List<TemplatedMessage> templates)
+        throws Exception {
+        storeBatch(logEntries);
+    }
+
+    /**
+     * Unique sink name, e.g. "archive"; configures the sink under
+     * {@code ghostlogger.sinks.instances.<name>} and is the target of {@code route} rules
+     */
+    default String sinkName() {
+        return PRIMARY_SINK;
+    }
 }
@@ -0,0 +1,114 @@
+package com.ghostlogger.core.domain.redaction;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton over ASCII patterns, ignoring ASCII case
+ * <p>
+ * Compiled into a dense transition table over a compressed alphabet: every character
+ * that occurs in no pattern shares one class, so the table stays a few KB and a scan
+ * costs one array load per character, whatever the number of patterns. Failure links
+ * are folded into the table at build time.
+ */
+final class AhoCorasick {
+
+    private final int[] charClass = new int[128];
+    private final int classes;
+    private final int[] transitions;
+    private final int[][] matches;
+
+    AhoCorasick(final List<String> patterns) {
+        int nextClass = 1;
+        for (String pattern : patterns) {
+            if (pattern.isEmpty()) {
+                throw new IllegalArgumentException("Patterns cannot be empty");
+            }
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = fold(pattern.charAt(i));
+                if (c >= 128) {
+                    throw new IllegalArgumentException("Patterns must be ASCII: " + pattern);
+                }
+                if (charClass[c] == 0) {
+                    charClass[c] = nextClass++;
+                    if (c >= 'a' && c <= 'z') {
+                        charClass[c - 'a' + 'A'] = charClass[c];
+                    }
+                }
+            }
+        }
+        classes = nextClass;
+
+        // Trie
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> outputs = new ArrayList<>();
+        trie.add(new int[classes]);
+        outputs.add(new ArrayList<>());
+        for (int id = 0; id < patterns.size(); id++) {
+            String pattern = patterns.get(id);
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                int cls = charClass[fold(pattern.charAt(i))];
+                if (trie.get(state)[cls] == 0) {
+                    trie.get(state)[cls] = trie.size();
+                    trie.add(new int[classes]);
+                    outputs.add(new ArrayList<>());
+                }
+                state = trie.get(state)[cls];
+            }
+            outputs.get(state).add(id);
+        }
+
+        // Breadth-first: failure links, folded into the transitions
+        int states = trie.size();
+        int[] fail = new int[states];
+        transitions = new int[states * classes];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int cls = 0; cls < classes; cls++) {
+            int child = trie.get(0)[cls];
+            transitions[cls] = child;
+            if (child != 0) {
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs.get(state).addAll(outputs.get(fail[state]));
+            for (int cls = 0; cls < classes; cls++) {
+                int child = trie.get(state)[cls];
+                if (child != 0) {
+                    fail[child] = transitions[fail[state] * classes + cls];
+                    transitions[state * classes + cls] = child;
+                    queue.add(child);
+                } else {
+                    transitions[state * classes + cls] = transitions[fail[state] * classes + cls];
+                }
+            }
+        }
+        matches = new int[states][];
+        for (int state = 0; state < states; state++) {
+            List<Integer> ids = outputs.get(state);
+            matches[state] = ids.isEmpty() ? null : ids.stream().distinct().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * State after reading {@code c} in {@code state}; the start state is 0
+     */
+    int next(final int state, final char c) {
+        return transitions[state * classes + (c < 128 ? charClass[c] : 0)];
+    }
+
+    /**
+     * Ids of the patterns ending in this state, or null
+     */
+    int[] matches(final int state) {
+        return matches[state];
+    }
+
+    private static char fold(final char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c - 'A' + 'a') : c;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ghostlogger.core.domain.redaction;
+
+/**
+ * Kinds of sensitive values the Redactor detects
+ */
+public enum PiiType {
+    /** local@domain.tld */
+    EMAIL,
+    /**
+     * 13-19 digits, optionally grouped by spaces or dashes, with a card brand's issuer
+     * prefix and length, passing the Luhn check
+     */
+    CARD_NUMBER,
+    /** eyJ...header.payload.signature */
+    JWT,
+    /** AKIA/ASIA followed by 16 upper-case alphanumerics */
+    AWS_ACCESS_KEY,
+    /** The token after "Bearer " */
+    BEARER_TOKEN,
+    /** The value of a secret key: password=..., "apiKey": "...", or a metadata entry with a secret key */
+    SECRET;
+
+    private final String replacement = "[REDACTED:" + name() + "]";
+
+    /**
+     * Text the value is replaced with
+     */
+    public String replacement() {
+        return replacement;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ghostlogger.core.domain.redaction;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Redaction Policy
+ *
+ * @param enabled    false to store entries verbatim
+ * @param types      kinds of values to redact
+ * @param secretKeys keys whose values are secrets, matched case-insensitively: in
+ *                   {@code key=value} / {@code "key": "value"} text and as AuditLog metadata keys
+ */
+public record RedactionPolicy(
+    boolean enabled,
+    Set<PiiType> types,
+    List<String> secretKeys
+) {
+
+    public RedactionPolicy {
+        if (types == null || secretKeys == null) {
+            throw new IllegalArgumentException("Types and secretKeys cannot be null");
+        }
+        if (secretKeys.stream().anyMatch(key -> key == null || key.isBlank())) {
+            throw new IllegalArgumentException("Secret keys cannot be blank");
+        }
+        types = types.isEmpty() ? Set.of() : Set.copyOf(EnumSet.copyOf(types));
+        secretKeys = secretKeys.stream().map(key -> key.toLowerCase(Locale.ROOT)).distinct().toList();
+    }
+
+    public static RedactionPolicy defaults() {
+        return new RedactionPolicy(
+            true,
+            EnumSet.allOf(PiiType.class),
+            List.of("password", "passwd", "secret", "token", "api_key", "apikey", "api-key", "access_key", "private_key")
+        );
+    }
+}
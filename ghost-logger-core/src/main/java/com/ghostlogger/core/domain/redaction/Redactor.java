@@ -0,0 +1,498 @@
+package com.ghostlogger.core.domain.redaction;
+
+import com.ghostlogger.core.domain.model.AuditLog;
+import com.ghostlogger.core.domain.model.ErrorLog;
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.model.MetricLog;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Redactor - Single-Pass PII and Secret Redaction
+ * <p>
+ * Architectural Decisions:
+ * - One pass per field: all literal anchors ({@code @}, {@code eyJ}, {@code AKIA},
+ *   {@code bearer }, the secret keys) are matched together by one case-insensitive
+ *   {@link AhoCorasick} automaton, and digit runs are tracked in the same loop for
+ *   card numbers; no regular expression runs on the hot path
+ * - Validators run only at an anchor hit, and check the value around it (e-mail
+ *   shape, JWT segments, card issuer prefix, length and Luhn checksum, key/value syntax)
+ * - A field with no match is returned as the same instance, so clean entries are
+ *   neither copied nor re-allocated
+ * - Counts every redacted value by PiiType, never the value itself
+ */
+@Service
+public class Redactor {
+
+    private enum Anchor {
+        EMAIL,
+        JWT,
+        AWS_ACCESS_KEY,
+        BEARER_TOKEN,
+        SECRET_KEY
+    }
+
+    private static final int MIN_CARD_DIGITS = 13;
+    private static final int CARD_PREFIX_DIGITS = 6;
+    private static final int MAX_CARD_DIGITS = 19;
+    private static final int MIN_JWT_HEADER = 10;
+    private static final int MIN_BEARER_TOKEN = 8;
+    private static final int AWS_KEY_LENGTH = 20;
+
+    private final RedactionPolicy policy;
+    private final AhoCorasick automaton;
+    private final Anchor[] anchors;
+    private final int[] anchorLengths;
+    private final boolean cardNumbers;
+    private final LongAdder[] redactions = new LongAdder[PiiType.values().length];
+    private final LongAdder redactedEntries = new LongAdder();
+
+    public Redactor(final RedactionPolicy policy) {
+        this.policy = policy;
+        List<String> patterns = new ArrayList<>();
+        List<Anchor> kinds = new ArrayList<>();
+        if (policy.types().contains(PiiType.EMAIL)) {
+            add(patterns, kinds, "@", Anchor.EMAIL);
+        }
+        if (policy.types().contains(PiiType.JWT)) {
+            add(patterns, kinds, "eyj", Anchor.JWT);
+        }
+        if (policy.types().contains(PiiType.AWS_ACCESS_KEY)) {
+            add(patterns, kinds, "akia", Anchor.AWS_ACCESS_KEY);
+            add(patterns, kinds, "asia", Anchor.AWS_ACCESS_KEY);
+        }
+        if (policy.types().contains(PiiType.BEARER_TOKEN)) {
+            add(patterns, kinds, "bearer ", Anchor.BEARER_TOKEN);
+        }
+        if (policy.types().contains(PiiType.SECRET)) {
+            policy.secretKeys().forEach(key -> add(patterns, kinds, key, Anchor.SECRET_KEY));
+        }
+        this.automaton = new AhoCorasick(patterns);
+        this.anchors = kinds.toArray(Anchor[]::new);
+        this.anchorLengths = patterns.stream().mapToInt(String::length).toArray();
+        this.cardNumbers = policy.types().contains(PiiType.CARD_NUMBER);
+        for (int i = 0; i < redactions.length; i++) {
+            redactions[i] = new LongAdder();
+        }
+    }
+
+    private static void add(final List<String> patterns, final List<Anchor> kinds, final String pattern, final Anchor anchor) {
+        patterns.add(pattern);
+        kinds.add(anchor);
+    }
+
+    public boolean enabled() {
+        return policy.enabled();
+    }
+
+    /**
+     * Redact the free-text fields of an entry: message, ErrorLog stack trace and
+     * AuditLog metadata (whole values under a secret key)
+     *
+     * @return the same entry if nothing was redacted, else a redacted copy
+     */
+    public LogEntry redact(final LogEntry entry) {
+        if (!policy.enabled()) {
+            return entry;
+        }
+        String message = redact(entry.message());
+        LogEntry redacted = switch (entry) {
+            case ErrorLog errorLog -> {
+                String stackTrace = redact(errorLog.stackTrace());
+                ErrorLog copy = message == entry.message() ? errorLog : errorLog.withMessage(message);
+                yield stackTrace == errorLog.stackTrace() ? copy : copy.withStackTrace(stackTrace);
+            }
+            case AuditLog auditLog -> {
+                Map<String, String> metadata = redact(auditLog.metadata());
+                AuditLog copy = message == entry.message() ? auditLog : auditLog.withMessage(message);
+                yield metadata == auditLog.metadata() ? copy : copy.withMetadata(metadata);
+            }
+            case MetricLog metricLog -> message == entry.message() ? metricLog : metricLog.withMessage(message);
+        };
+        if (redacted != entry) {
+            redactedEntries.increment();
+        }
+        return redacted;
+    }
+
+    private Map<String, String> redact(final Map<String, String> metadata) {
+        if (metadata == null || metadata.isEmpty()) {
+            return metadata;
+        }
+        Map<String, String> redacted = null;
+        for (Map.Entry<String, String> field : metadata.entrySet()) {
+            String value = field.getValue();
+            String replacement;
+            if (value != null && !value.isEmpty() && isSecretKey(field.getKey())) {
+                redactions[PiiType.SECRET.ordinal()].increment();
+                replacement = PiiType.SECRET.replacement();
+            } else {
+                replacement = redact(value);
+            }
+            if (replacement != value) {
+                if (redacted == null) {
+                    redacted = new HashMap<>(metadata);
+                }
+                redacted.put(field.getKey(), replacement);
+            }
+        }
+        return redacted == null ? metadata : redacted;
+    }
+
+    private boolean isSecretKey(final String key) {
+        if (key == null || !policy.types().contains(PiiType.SECRET)) {
+            return false;
+        }
+        String lower = key.toLowerCase(Locale.ROOT);
+        for (String secretKey : policy.secretKeys()) {
+            if (lower.contains(secretKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Redact one text value in a single pass
+     *
+     * @return the same instance if nothing was found, else a copy with each value
+     *         replaced by its {@link PiiType#replacement()}
+     */
+    public String redact(final String text) {
+        if (text == null || text.isEmpty() || !policy.enabled()) {
+            return text;
+        }
+        int length = text.length();
+        Spans spans = null;
+        int state = 0;
+        int runStart = 0;
+        int digits = 0;
+        int lastDigit = -2;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (cardNumbers) {
+                if (c >= '0' && c <= '9') {
+                    if (digits == 0) {
+                        runStart = i;
+                    }
+                    digits++;
+                    lastDigit = i;
+                } else if (digits > 0 && !((c == ' ' || c == '-') && lastDigit == i - 1)) {
+                    spans = cardNumber(text, runStart, lastDigit + 1, digits, spans);
+                    digits = 0;
+                }
+            }
+            state = automaton.next(state, c);
+            int[] hits = automaton.matches(state);
+            if (hits != null) {
+                for (int pattern : hits) {
+                    spans = validate(text, pattern, i + 1, spans);
+                }
+            }
+        }
+        if (digits > 0) {
+            spans = cardNumber(text, runStart, lastDigit + 1, digits, spans);
+        }
+        return spans == null ? text : spans.rewrite(text);
+    }
+
+    private Spans validate(final String text, final int pattern, final int end, final Spans spans) {
+        int start = end - anchorLengths[pattern];
+        return switch (anchors[pattern]) {
+            case EMAIL -> email(text, start, spans);
+            case JWT -> jwt(text, start, spans);
+            case AWS_ACCESS_KEY -> awsAccessKey(text, start, spans);
+            case BEARER_TOKEN -> bearerToken(text, start, end, spans);
+            case SECRET_KEY -> secretValue(text, start, end, spans);
+        };
+    }
+
+    private Spans email(final String text, final int at, final Spans spans) {
+        int start = at;
+        while (start > 0 && isEmailLocal(text.charAt(start - 1))) {
+            start--;
+        }
+        int end = at + 1;
+        while (end < text.length() && isDomain(text.charAt(end))) {
+            end++;
+        }
+        // A trailing dot ends the sentence, not the domain
+        while (end > at + 1 && (text.charAt(end - 1) == '.' || text.charAt(end - 1) == '-')) {
+            end--;
+        }
+        int lastDot = text.lastIndexOf('.', end - 1);
+        if (start == at || lastDot <= at + 1 || end - lastDot - 1 < 2) {
+            return spans;
+        }
+        for (int i = lastDot + 1; i < end; i++) {
+            if (!Character.isLetter(text.charAt(i))) {
+                return spans;
+            }
+        }
+        return add(spans, start, end, PiiType.EMAIL);
+    }
+
+    private Spans jwt(final String text, final int start, final Spans spans) {
+        if (!text.startsWith("eyJ", start) || (start > 0 && isBase64Url(text.charAt(start - 1)))) {
+            return spans;
+        }
+        int header = segmentEnd(text, start);
+        if (header - start < MIN_JWT_HEADER || header >= text.length() || text.charAt(header) != '.') {
+            return spans;
+        }
+        int payload = segmentEnd(text, header + 1);
+        if (payload == header + 1 || payload >= text.length() || text.charAt(payload) != '.') {
+            return spans;
+        }
+        return add(spans, start, segmentEnd(text, payload + 1), PiiType.JWT);
+    }
+
+    private Spans awsAccessKey(final String text, final int start, final Spans spans) {
+        int end = start + AWS_KEY_LENGTH;
+        if (end > text.length() || !(text.startsWith("AKIA", start) || text.startsWith("ASIA", start))
+            || (start > 0 && Character.isLetterOrDigit(text.charAt(start - 1)))
+            || (end < text.length() && Character.isLetterOrDigit(text.charAt(end)))) {
+            return spans;
+        }
+        for (int i = start + 4; i < end; i++) {
+            char c = text.charAt(i);
+            if (!((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9'))) {
+                return spans;
+            }
+        }
+        return add(spans, start, end, PiiType.AWS_ACCESS_KEY);
+    }
+
+    private Spans bearerToken(final String text, final int start, final int tokenStart, final Spans spans) {
+        if (start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) {
+            return spans;
+        }
+        int end = tokenStart;
+        while (end < text.length() && isTokenChar(text.charAt(end))) {
+            end++;
+        }
+        return end - tokenStart < MIN_BEARER_TOKEN ? spans : add(spans, tokenStart, end, PiiType.BEARER_TOKEN);
+    }
+
+    /**
+     * {@code key=value}, {@code key: value}, {@code "key": "value"}; the value is redacted, the key kept
+     */
+    private Spans secretValue(final String text, final int start, final int keyEnd, final Spans spans) {
+        if (start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) {
+            return spans;
+        }
+        int length = text.length();
+        int i = keyEnd;
+        if (i < length && (text.charAt(i) == '"' || text.charAt(i) == '\'')) {
+            i++;
+        }
+        while (i < length && text.charAt(i) == ' ') {
+            i++;
+        }
+        if (i >= length || (text.charAt(i) != '=' && text.charAt(i) != ':')) {
+            return spans;
+        }
+        i++;
+        while (i < length && text.charAt(i) == ' ') {
+            i++;
+        }
+        char quote = i < length && (text.charAt(i) == '"' || text.charAt(i) == '\'') ? text.charAt(i) : 0;
+        int valueStart = quote == 0 ? i : i + 1;
+        int end = valueStart;
+        while (end < length && (quote != 0 ? text.charAt(end) != quote : !isValueEnd(text.charAt(end)))) {
+            end++;
+        }
+        return end == valueStart ? spans : add(spans, valueStart, end, PiiType.SECRET);
+    }
+
+    private Spans cardNumber(final String text, final int start, final int end, final int digits, final Spans spans) {
+        if (digits < MIN_CARD_DIGITS || digits > MAX_CARD_DIGITS
+            || (start > 0 && Character.isLetter(text.charAt(start - 1)))
+            || (end < text.length() && Character.isLetter(text.charAt(end)))
+            || !isCardPrefix(leadingDigits(text, start, CARD_PREFIX_DIGITS), digits)) {
+            return spans;
+        }
+        // Luhn: double every second digit from the right
+        int sum = 0;
+        boolean doubled = false;
+        for (int i = end - 1; i >= start; i--) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                continue;
+            }
+            int digit = c - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return sum % 10 == 0 ? add(spans, start, end, PiiType.CARD_NUMBER) : spans;
+    }
+
+    /**
+     * Whether a number starts with the issuer prefix (IIN) of a major card brand and
+     * has one of that brand's lengths. One in ten digit runs passes Luhn by chance, so
+     * without this check timestamps and ids would be redacted as card numbers.
+     *
+     * @param prefix the first six digits of the number
+     */
+    static boolean isCardPrefix(final int prefix, final int digits) {
+        int two = prefix / 10_000;
+        int three = prefix / 1_000;
+        int four = prefix / 100;
+        // Visa
+        if (two / 10 == 4) {
+            return digits == 13 || digits == 16 || digits == 19;
+        }
+        // Mastercard
+        if (two >= 51 && two <= 55 || four >= 2221 && four <= 2720) {
+            return digits == 16;
+        }
+        // American Express
+        if (two == 34 || two == 37) {
+            return digits == 15;
+        }
+        // Discover, JCB, UnionPay
+        if (four == 6011 || two == 65 || three >= 644 && three <= 649
+            || four >= 3528 && four <= 3589 || two == 62) {
+            return digits >= 16 && digits <= 19;
+        }
+        // Diners Club
+        if (two == 36 || two == 38 || two == 39 || three >= 300 && three <= 305) {
+            return digits >= 14 && digits <= 19;
+        }
+        return false;
+    }
+
+    /**
+     * The first {@code count} digits from {@code start} as a number, skipping separators
+     */
+    private static int leadingDigits(final String text, final int start, final int count) {
+        int value = 0;
+        int read = 0;
+        for (int i = start; read < count && i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                read++;
+            }
+        }
+        return value;
+    }
+
+    private static int segmentEnd(final String text, final int start) {
+        int end = start;
+        while (end < text.length() && isBase64Url(text.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    private static boolean isEmailLocal(final char c) {
+        return isAsciiAlphanumeric(c) || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+    }
+
+    private static boolean isDomain(final char c) {
+        return isAsciiAlphanumeric(c) || c == '.' || c == '-';
+    }
+
+    private static boolean isBase64Url(final char c) {
+        return isAsciiAlphanumeric(c) || c == '-' || c == '_';
+    }
+
+    private static boolean isTokenChar(final char c) {
+        return isBase64Url(c) || c == '.' || c == '~' || c == '+' || c == '/' || c == '=';
+    }
+
+    private static boolean isValueEnd(final char c) {
+        return Character.isWhitespace(c) || c == ',' || c == ';' || c == '&' || c == '"' || c == '\''
+            || c == '}' || c == ')' || c == ']';
+    }
+
+    private static boolean isAsciiAlphanumeric(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    private Spans add(final Spans spans, final int start, final int end, final PiiType type) {
+        return (spans == null ? new Spans(redactions) : spans).add(start, end, type);
+    }
+
+    /**
+     * Redacted values counted since startup
+     */
+    public long redactions(final PiiType type) {
+        return redactions[type.ordinal()].sum();
+    }
+
+    /**
+     * Entries with at least one redacted value, counted since startup
+     */
+    public long redactedEntries() {
+        return redactedEntries.sum();
+    }
+
+    /**
+     * Value ranges found in one text, allocated on the first match only
+     */
+    private static final class Spans {
+
+        private final LongAdder[] redactions;
+        private int[] ranges = new int[12];
+        private int count;
+
+        Spans(final LongAdder[] redactions) {
+            this.redactions = redactions;
+        }
+
+        Spans add(final int start, final int end, final PiiType type) {
+            if ((count + 1) * 3 > ranges.length) {
+                ranges = Arrays.copyOf(ranges, ranges.length * 2);
+            }
+            ranges[count * 3] = start;
+            ranges[count * 3 + 1] = end;
+            ranges[count * 3 + 2] = type.ordinal();
+            count++;
+            return this;
+        }
+
+        /**
+         * Replace the ranges in start order; a range overlapping an earlier one is skipped
+         */
+        String rewrite(final String text) {
+            // Insertion sort by start; a text rarely holds more than a few values
+            for (int i = 1; i < count; i++) {
+                for (int j = i; j > 0 && ranges[(j - 1) * 3] > ranges[j * 3]; j--) {
+                    for (int k = 0; k < 3; k++) {
+                        int swap = ranges[j * 3 + k];
+                        ranges[j * 3 + k] = ranges[(j - 1) * 3 + k];
+                        ranges[(j - 1) * 3 + k] = swap;
+                    }
+                }
+            }
+            StringBuilder redacted = new StringBuilder(text.length() + 16 * count);
+            int copied = 0;
+            for (int i = 0; i < count; i++) {
+                int start = ranges[i * 3];
+                if (start < copied) {
+                    continue;
+                }
+                PiiType type = PiiType.values()[ranges[i * 3 + 2]];
+                redacted.append(text, copied, start).append(type.replacement());
+                redactions[type.ordinal()].increment();
+                copied = ranges[i * 3 + 1];
+            }
+            return redacted.append(text, copied, text.length()).toString();
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package com.ghostlogger.core.domain.rule;
+
+import com.ghostlogger.core.domain.model.AuditLog;
+import com.ghostlogger.core.domain.model.ErrorLog;
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.model.MetricLog;
+import com.ghostlogger.core.domain.rule.RuleParser.Action;
+import com.ghostlogger.core.domain.rule.RuleParser.Always;
+import com.ghostlogger.core.domain.rule.RuleParser.And;
+import com.ghostlogger.core.domain.rule.RuleParser.Comparison;
+import com.ghostlogger.core.domain.rule.RuleParser.Condition;
+import com.ghostlogger.core.domain.rule.RuleParser.Drop;
+import com.ghostlogger.core.domain.rule.RuleParser.FieldRef;
+import com.ghostlogger.core.domain.rule.RuleParser.Level;
+import com.ghostlogger.core.domain.rule.RuleParser.Literal;
+import com.ghostlogger.core.domain.rule.RuleParser.NoAlert;
+import com.ghostlogger.core.domain.rule.RuleParser.Not;
+import com.ghostlogger.core.domain.rule.RuleParser.Operator;
+import com.ghostlogger.core.domain.rule.RuleParser.Or;
+import com.ghostlogger.core.domain.rule.RuleParser.Position;
+import com.ghostlogger.core.domain.rule.RuleParser.Route;
+import com.ghostlogger.core.domain.rule.RuleParser.RuleDefinition;
+import com.ghostlogger.core.domain.rule.RuleParser.SetField;
+import com.ghostlogger.core.domain.rule.RuleParser.Stop;
+import com.ghostlogger.core.domain.rule.RuleSet.CompiledRule;
+import com.ghostlogger.core.domain.stage.StageContext;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiles parsed rules into a {@link RuleSet}
+ * <p>
+ * Every condition becomes a tree of predicates with its field reader, operator and
+ * constants resolved up front (sets for {@code in}, precompiled patterns for
+ * {@code matches}, ordinals for levels), so applying a rule never looks at the rule
+ * text again. Field names, operators, literals and sinks are checked here, with
+ * the position of the offending token.
+ */
+final class RuleCompiler {
+
+    private static final List<String> TYPES = List.of("ERROR", "AUDIT", "METRIC");
+
+    /**
+     * A compiled action
+     */
+    @FunctionalInterface
+    interface CompiledAction {
+        /**
+         * @return the entry, a modified copy, or null to drop it
+         */
+        LogEntry apply(LogEntry entry, StageContext context);
+    }
+
+    private final Set<String> sinks;
+
+    RuleCompiler(final Set<String> sinks) {
+        this.sinks = sinks;
+    }
+
+    RuleSet compile(final String text, final long version, final String origin) {
+        List<RuleDefinition> definitions = RuleParser.parse(text);
+        Set<String> names = new HashSet<>();
+        List<CompiledRule> rules = new ArrayList<>(definitions.size());
+        for (RuleDefinition definition : definitions) {
+            if (!names.add(definition.name())) {
+                throw error("duplicate rule name \"" + definition.name() + "\"", definition.position());
+            }
+            rules.add(compile(definition));
+        }
+        return new RuleSet(version, origin, Instant.now(), rules);
+    }
+
+    private CompiledRule compile(final RuleDefinition definition) {
+        Predicate<LogEntry> condition = condition(definition.condition());
+        List<CompiledAction> actions = new ArrayList<>();
+        boolean stop = false;
+        List<Action> parsed = definition.actions();
+        for (int i = 0; i < parsed.size(); i++) {
+            Action action = parsed.get(i);
+            if ((action instanceof Drop || action instanceof Stop) && i < parsed.size() - 1) {
+                throw error("'" + (action instanceof Drop ? "drop" : "stop") + "' must be the last action", action.position());
+            }
+            if (action instanceof Stop) {
+                stop = true;
+            } else {
+                actions.add(action(action));
+            }
+        }
+
+        // Index the rule under a constant its condition requires: source if it has one,
+        // else the first other text field compared with == or in
+        boolean[] types = {true, true, true};
+        RuleField indexField = null;
+        List<String> indexValues = null;
+        List<Condition> conjuncts = definition.condition() instanceof And and ? and.operands() : List.of(definition.condition());
+        for (Condition conjunct : conjuncts) {
+            if (conjunct instanceof Comparison comparison
+                && (comparison.operator() == Operator.EQ || comparison.operator() == Operator.IN)) {
+                RuleField field = field(comparison.field());
+                List<String> values = comparison.literals().stream().map(Literal::text).distinct().toList();
+                if (field == RuleField.TYPE) {
+                    for (int type = 0; type < TYPES.size(); type++) {
+                        types[type] &= values.contains(TYPES.get(type));
+                    }
+                } else if (field.kind() == RuleField.Kind.TEXT
+                    && (indexField == null || (field == RuleField.SOURCE && indexField != RuleField.SOURCE))) {
+                    indexField = field;
+                    indexValues = values;
+                }
+            }
+        }
+
+        return new CompiledRule(definition.name(), definition.position().line(), condition,
+            actions.toArray(CompiledAction[]::new), stop, types, indexField, indexValues, new LongAdder());
+    }
+
+    private Predicate<LogEntry> condition(final Condition condition) {
+        return switch (condition) {
+            case Always always -> entry -> true;
+            case Not not -> condition(not.operand()).negate();
+            case And and -> {
+                List<Predicate<LogEntry>> operands = and.operands().stream().map(this::condition).toList();
+                yield operands.size() == 2
+                    ? and(operands.get(0), operands.get(1))
+                    : all(operands.toArray(Predicate[]::new));
+            }
+            case Or or -> {
+                List<Predicate<LogEntry>> operands = or.operands().stream().map(this::condition).toList();
+                yield operands.size() == 2
+                    ? or(operands.get(0), operands.get(1))
+                    : any(operands.toArray(Predicate[]::new));
+            }
+            case Comparison comparison -> comparison(comparison);
+        };
+    }
+
+    private static Predicate<LogEntry> and(final Predicate<LogEntry> left, final Predicate<LogEntry> right) {
+        return entry -> left.test(entry) && right.test(entry);
+    }
+
+    private static Predicate<LogEntry> or(final Predicate<LogEntry> left, final Predicate<LogEntry> right) {
+        return entry -> left.test(entry) || right.test(entry);
+    }
+
+    private static Predicate<LogEntry> all(final Predicate<LogEntry>[] operands) {
+        return entry -> {
+            for (Predicate<LogEntry> operand : operands) {
+                if (!operand.test(entry)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    private static Predicate<LogEntry> any(final Predicate<LogEntry>[] operands) {
+        return entry -> {
+            for (Predicate<LogEntry> operand : operands) {
+                if (operand.test(entry)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private Predicate<LogEntry> comparison(final Comparison comparison) {
+        RuleField field = field(comparison.field());
+        Operator operator = comparison.operator();
+        if (!allowed(field.kind()).contains(operator)) {
+            throw error("operator '" + operator.symbol + "' does not apply to " + field.fieldName(), comparison.position());
+        }
+        return switch (field.kind()) {
+            case NUMBER -> numberComparison(field.numberReader(), operator, comparison.literals());
+            case LEVEL -> levelComparison(operator, comparison.literals());
+            case TYPE -> {
+                for (Literal literal : comparison.literals()) {
+                    if (!TYPES.contains(literal.text())) {
+                        throw error("unknown type '" + literal.text() + "', expected one of " + TYPES, literal.position());
+                    }
+                }
+                yield textComparison(field.textReader(null), operator, comparison.literals());
+            }
+            case TEXT, MAP -> textComparison(field.textReader(comparison.field().key()), operator, comparison.literals());
+        };
+    }
+
+    private static Set<Operator> allowed(final RuleField.Kind kind) {
+        return switch (kind) {
+            case TYPE -> EnumSet.of(Operator.EQ, Operator.NE, Operator.IN);
+            case TEXT, MAP -> EnumSet.of(Operator.EQ, Operator.NE, Operator.IN, Operator.EXISTS, Operator.CONTAINS,
+                Operator.STARTS_WITH, Operator.ENDS_WITH, Operator.MATCHES);
+            case LEVEL -> EnumSet.of(Operator.EQ, Operator.NE, Operator.IN, Operator.EXISTS,
+                Operator.LT, Operator.LE, Operator.GT, Operator.GE);
+            case NUMBER -> EnumSet.of(Operator.EQ, Operator.NE, Operator.EXISTS,
+                Operator.LT, Operator.LE, Operator.GT, Operator.GE);
+        };
+    }
+
+    private static Predicate<LogEntry> textComparison(
+        final Function<LogEntry, String> reader,
+        final Operator operator,
+        final List<Literal> literals
+    ) {
+        if (operator == Operator.EXISTS) {
+            return entry -> reader.apply(entry) != null;
+        }
+        if (operator == Operator.IN) {
+            Set<String> values = new LinkedHashSet<>();
+            literals.forEach(literal -> values.add(literal.text()));
+            if (values.size() > 1) {
+                Set<String> set = Set.copyOf(values);
+                return entry -> {
+                    String value = reader.apply(entry);
+                    return value != null && set.contains(value);
+                };
+            }
+        }
+        Literal literal = literals.get(0);
+        String constant = literal.text();
+        return switch (operator) {
+            case EQ, IN -> entry -> constant.equals(reader.apply(entry));
+            case NE -> entry -> {
+                String value = reader.apply(entry);
+                return value != null && !constant.equals(value);
+            };
+            case CONTAINS -> entry -> {
+                String value = reader.apply(entry);
+                return value != null && value.contains(constant);
+            };
+            case STARTS_WITH -> entry -> {
+                String value = reader.apply(entry);
+                return value != null && value.startsWith(constant);
+            };
+            case ENDS_WITH -> entry -> {
+                String value = reader.apply(entry);
+                return value != null && value.endsWith(constant);
+            };
+            case MATCHES -> {
+                Pattern pattern;
+                try {
+                    pattern = Pattern.compile(constant);
+                } catch (PatternSyntaxException e) {
+                    throw error("invalid pattern: " + e.getDescription(), literal.position());
+                }
+                yield entry -> {
+                    String value = reader.apply(entry);
+                    return value != null && pattern.matcher(value).find();
+                };
+            }
+            default -> throw new IllegalStateException("Unexpected text operator " + operator);
+        };
+    }
+
+    private static Predicate<LogEntry> levelComparison(final Operator operator, final List<Literal> literals) {
+        if (operator == Operator.EXISTS) {
+            return entry -> entry instanceof ErrorLog;
+        }
+        if (operator == Operator.IN) {
+            boolean[] levels = new boolean[LogEntry.LogLevel.values().length];
+            literals.forEach(literal -> levels[level(literal.text(), literal.position()).ordinal()] = true);
+            return entry -> entry instanceof ErrorLog errorLog && levels[errorLog.severity().ordinal()];
+        }
+        Literal literal = literals.get(0);
+        int constant = level(literal.text(), literal.position()).ordinal();
+        return switch (operator) {
+            case EQ -> entry -> entry instanceof ErrorLog errorLog && errorLog.severity().ordinal() == constant;
+            case NE -> entry -> entry instanceof ErrorLog errorLog && errorLog.severity().ordinal() != constant;
+            case LT -> entry -> entry instanceof ErrorLog errorLog && errorLog.severity().ordinal() < constant;
+            case LE -> entry -> entry instanceof ErrorLog errorLog && errorLog.severity().ordinal() <= constant;
+            case GT -> entry -> entry instanceof ErrorLog errorLog && errorLog.severity().ordinal() > constant;
+            case GE -> entry -> entry instanceof ErrorLog errorLog && errorLog.severity().ordinal() >= constant;
+            default -> throw new IllegalStateException("Unexpected level operator " + operator);
+        };
+    }
+
+    private static Predicate<LogEntry> numberComparison(
+        final ToDoubleFunction<LogEntry> reader,
+        final Operator operator,
+        final List<Literal> literals
+    ) {
+        if (operator == Operator.EXISTS) {
+            return entry -> !Double.isNaN(reader.applyAsDouble(entry));
+        }
+        Literal literal = literals.get(0);
+        double constant;
+        try {
+            if (!literal.number()) {
+                throw new NumberFormatException();
+            }
+            constant = Double.parseDouble(literal.text());
+        } catch (NumberFormatException e) {
+            throw error("expected a number but found '" + literal.text() + "'", literal.position());
+        }
+        // Comparisons with NaN (field absent) are false
+        return switch (operator) {
+            case EQ -> entry -> reader.applyAsDouble(entry) == constant;
+            case NE -> entry -> {
+                double value = reader.applyAsDouble(entry);
+                return !Double.isNaN(value) && value != constant;
+            };
+            case LT -> entry -> reader.applyAsDouble(entry) < constant;
+            case LE -> entry -> reader.applyAsDouble(entry) <= constant;
+            case GT -> entry -> reader.applyAsDouble(entry) > constant;
+            case GE -> entry -> reader.applyAsDouble(entry) >= constant;
+            default -> throw new IllegalStateException("Unexpected number operator " + operator);
+        };
+    }
+
+    private CompiledAction action(final Action action) {
+        return switch (action) {
+            case Drop drop -> (entry, context) -> null;
+            case Route route -> {
+                String sink = route.sink();
+                if (!sinks.contains(sink)) {
+                    throw error("unknown sink \"" + sink + "\", expected one of " + sinks, route.position());
+                }
+                yield (entry, context) -> {
+                    context.route(sink);
+                    return entry;
+                };
+            }
+            case Level level -> {
+                LogEntry.LogLevel severity = level(level.level(), level.position());
+                // Downgraded below ERROR: the entry is no longer worth an alert
+                boolean quiet = severity.compareTo(LogEntry.LogLevel.ERROR) < 0;
+                yield (entry, context) -> {
+                    if (!(entry instanceof ErrorLog errorLog)) {
+                        return entry;
+                    }
+                    if (quiet) {
+                        context.suppressAlert();
+                    }
+                    return errorLog.severity() != severity ? errorLog.withSeverity(severity) : entry;
+                };
+            }
+            case NoAlert noAlert -> (entry, context) -> {
+                context.suppressAlert();
+                return entry;
+            };
+            case SetField set -> set(set);
+            case Stop stop -> throw new IllegalStateException("stop is not an action");
+        };
+    }
+
+    private CompiledAction set(final SetField set) {
+        RuleField field = field(set.field());
+        String value = set.value();
+        String key = set.field().key();
+        return switch (field) {
+            case MESSAGE -> {
+                if (value.isBlank()) {
+                    throw error("message cannot be blank", set.position());
+                }
+                yield (entry, context) -> entry.withMessage(value);
+            }
+            case SOURCE -> (entry, context) -> entry.withSource(value);
+            case TAGS -> (entry, context) -> entry instanceof MetricLog metricLog
+                ? metricLog.withTags(with(metricLog.tags(), key, value))
+                : entry;
+            case METADATA -> (entry, context) -> entry instanceof AuditLog auditLog
+                ? auditLog.withMetadata(with(auditLog.metadata(), key, value))
+                : entry;
+            default -> throw error("cannot set " + field.fieldName()
+                + ", expected message, source, tags.<key> or metadata.<key>", set.field().position());
+        };
+    }
+
+    private static Map<String, String> with(final Map<String, String> map, final String key, final String value) {
+        Map<String, String> copy = map == null ? new HashMap<>(2) : new HashMap<>(map);
+        copy.put(key, value);
+        return copy;
+    }
+
+    private static RuleField field(final FieldRef ref) {
+        RuleField field = RuleField.byName(ref.name())
+            .orElseThrow(() -> error("unknown field '" + ref.name() + "'", ref.position()));
+        boolean map = field.kind() == RuleField.Kind.MAP;
+        if (map && ref.key() == null) {
+            throw error(field.fieldName() + " needs a key, e.g. " + field.fieldName() + ".region", ref.position());
+        }
+        if (!map && ref.key() != null) {
+            throw error(field.fieldName() + " has no keys", ref.position());
+        }
+        return field;
+    }
+
+    private static LogEntry.LogLevel level(final String name, final Position position) {
+        try {
+            return LogEntry.LogLevel.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            throw error("unknown level '" + name + "'", position);
+        }
+    }
+
+    private static RuleSyntaxException error(final String message, final Position position) {
+        return new RuleSyntaxException(message, position.line(), position.column());
+    }
+}
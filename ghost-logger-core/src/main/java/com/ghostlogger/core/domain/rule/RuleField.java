@@ -0,0 +1,98 @@
+package com.ghostlogger.core.domain.rule;
+
+import com.ghostlogger.core.domain.model.AuditLog;
+import com.ghostlogger.core.domain.model.ErrorLog;
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.model.MetricLog;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * LogEntry fields a rule can test
+ * <p>
+ * A field an entry does not have (e.g. {@code severity} of a MetricLog) reads as
+ * null, or NaN for numbers, and then matches no comparison.
+ */
+enum RuleField {
+    TYPE("type", Kind.TYPE, LogEntry::type),
+    SOURCE("source", Kind.TEXT, LogEntry::source),
+    MESSAGE("message", Kind.TEXT, LogEntry::message),
+    TRACE_ID("traceId", Kind.TEXT, entry -> entry.traceContext() == null ? null : entry.traceContext().traceId()),
+    SPAN_ID("spanId", Kind.TEXT, entry -> entry.traceContext() == null ? null : entry.traceContext().spanId()),
+    SEVERITY("severity", Kind.LEVEL, entry -> entry instanceof ErrorLog errorLog ? errorLog.severity().name() : null),
+    EXCEPTION_TYPE("exceptionType", Kind.TEXT, entry -> entry instanceof ErrorLog errorLog ? errorLog.exceptionType() : null),
+    STACK_TRACE("stackTrace", Kind.TEXT, entry -> entry instanceof ErrorLog errorLog ? errorLog.stackTrace() : null),
+    USER_ID("userId", Kind.TEXT, entry -> entry instanceof AuditLog auditLog ? auditLog.userId() : null),
+    ACTION("action", Kind.TEXT, entry -> entry instanceof AuditLog auditLog ? auditLog.action() : null),
+    RESOURCE_TYPE("resourceType", Kind.TEXT, entry -> entry instanceof AuditLog auditLog ? auditLog.resourceType() : null),
+    RESOURCE_ID("resourceId", Kind.TEXT, entry -> entry instanceof AuditLog auditLog ? auditLog.resourceId() : null),
+    METRIC_NAME("metricName", Kind.TEXT, entry -> entry instanceof MetricLog metricLog ? metricLog.metricName() : null),
+    UNIT("unit", Kind.TEXT, entry -> entry instanceof MetricLog metricLog ? metricLog.unit() : null),
+    VALUE("value", entry -> entry instanceof MetricLog metricLog ? metricLog.value() : Double.NaN),
+    SAMPLE_WEIGHT("sampleWeight", LogEntry::sampleWeight),
+    TAGS("tags", Kind.MAP, null),
+    METADATA("metadata", Kind.MAP, null);
+
+    enum Kind {
+        TYPE,
+        TEXT,
+        LEVEL,
+        NUMBER,
+        /** String map, addressed as {@code tags.key} */
+        MAP
+    }
+
+    private final String fieldName;
+    private final Kind kind;
+    private final Function<LogEntry, String> text;
+    private final ToDoubleFunction<LogEntry> number;
+
+    RuleField(final String fieldName, final Kind kind, final Function<LogEntry, String> text) {
+        this.fieldName = fieldName;
+        this.kind = kind;
+        this.text = text;
+        this.number = null;
+    }
+
+    RuleField(final String fieldName, final ToDoubleFunction<LogEntry> number) {
+        this.fieldName = fieldName;
+        this.kind = Kind.NUMBER;
+        this.text = null;
+        this.number = number;
+    }
+
+    static Optional<RuleField> byName(final String fieldName) {
+        return Arrays.stream(values()).filter(field -> field.fieldName.equals(fieldName)).findFirst();
+    }
+
+    String fieldName() {
+        return fieldName;
+    }
+
+    Kind kind() {
+        return kind;
+    }
+
+    /**
+     * Reader of a TYPE, TEXT or LEVEL field, or of one key of a MAP field
+     */
+    Function<LogEntry, String> textReader(final String key) {
+        return switch (this) {
+            case TAGS -> entry -> entry instanceof MetricLog metricLog ? get(metricLog.tags(), key) : null;
+            case METADATA -> entry -> entry instanceof AuditLog auditLog ? get(auditLog.metadata(), key) : null;
+            default -> text;
+        };
+    }
+
+    ToDoubleFunction<LogEntry> numberReader() {
+        return number;
+    }
+
+    private static String get(final Map<String, String> map, final String key) {
+        return map == null ? null : map.get(key);
+    }
+}
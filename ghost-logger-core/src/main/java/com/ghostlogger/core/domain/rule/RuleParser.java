@@ -0,0 +1,359 @@
+package com.ghostlogger.core.domain.rule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parser of the rule language
+ * <p>
+ * Grammar ({@code #} starts a comment, line breaks are insignificant):
+ * <pre>
+ * rules      := rule*
+ * rule       := 'rule' STRING 'when' expr 'then' action (',' action)*
+ * expr       := and ('or' and)*
+ * and        := unary ('and' unary)*
+ * unary      := 'not' unary | '(' expr ')' | 'true' | comparison
+ * comparison := field 'exists'
+ *             | field 'in' '(' literal (',' literal)* ')'
+ *             | field op literal
+ * op         := '==' | '!=' | '&lt;' | '&lt;=' | '&gt;' | '&gt;=' | 'contains' | 'startsWith' | 'endsWith' | 'matches'
+ * field      := IDENT ('.' (IDENT | STRING))?
+ * literal    := STRING | NUMBER | IDENT
+ * action     := 'drop' | 'stop' | 'route' STRING | 'set' field '=' STRING | 'level' IDENT | 'noalert'
+ * </pre>
+ * Produces the syntax tree only; names, types and literals are checked by the {@link RuleCompiler}.
+ */
+final class RuleParser {
+
+    enum Operator {
+        EQ("=="), NE("!="), LT("<"), LE("<="), GT(">"), GE(">="),
+        CONTAINS("contains"), STARTS_WITH("startsWith"), ENDS_WITH("endsWith"), MATCHES("matches"),
+        IN("in"), EXISTS("exists");
+
+        final String symbol;
+
+        Operator(final String symbol) {
+            this.symbol = symbol;
+        }
+    }
+
+    record Position(int line, int column) {
+    }
+
+    record FieldRef(String name, String key, Position position) {
+    }
+
+    record Literal(String text, boolean number, Position position) {
+    }
+
+    sealed interface Condition {
+    }
+
+    record And(List<Condition> operands) implements Condition {
+    }
+
+    record Or(List<Condition> operands) implements Condition {
+    }
+
+    record Not(Condition operand) implements Condition {
+    }
+
+    record Always() implements Condition {
+    }
+
+    record Comparison(FieldRef field, Operator operator, List<Literal> literals, Position position) implements Condition {
+    }
+
+    sealed interface Action {
+        Position position();
+    }
+
+    record Drop(Position position) implements Action {
+    }
+
+    record Stop(Position position) implements Action {
+    }
+
+    record Route(String sink, Position position) implements Action {
+    }
+
+    record SetField(FieldRef field, String value, Position position) implements Action {
+    }
+
+    record Level(String level, Position position) implements Action {
+    }
+
+    record NoAlert(Position position) implements Action {
+    }
+
+    record RuleDefinition(String name, Condition condition, List<Action> actions, Position position) {
+    }
+
+    private enum TokenType {
+        IDENT, STRING, NUMBER, SYMBOL, EOF
+    }
+
+    private record Token(TokenType type, String text, Position position) {
+    }
+
+    private final List<Token> tokens;
+    private int next;
+
+    private RuleParser(final List<Token> tokens) {
+        this.tokens = tokens;
+    }
+
+    static List<RuleDefinition> parse(final String text) {
+        RuleParser parser = new RuleParser(tokenize(text));
+        List<RuleDefinition> rules = new ArrayList<>();
+        while (parser.peek().type() != TokenType.EOF) {
+            rules.add(parser.rule());
+        }
+        return rules;
+    }
+
+    private RuleDefinition rule() {
+        Position position = expectKeyword("rule").position();
+        String name = expect(TokenType.STRING, "a quoted rule name").text();
+        expectKeyword("when");
+        Condition condition = expression();
+        expectKeyword("then");
+        List<Action> actions = new ArrayList<>();
+        do {
+            actions.add(action());
+        } while (acceptSymbol(","));
+        return new RuleDefinition(name, condition, List.copyOf(actions), position);
+    }
+
+    private Condition expression() {
+        List<Condition> operands = new ArrayList<>();
+        operands.add(conjunction());
+        while (acceptKeyword("or")) {
+            operands.add(conjunction());
+        }
+        return operands.size() == 1 ? operands.get(0) : new Or(List.copyOf(operands));
+    }
+
+    private Condition conjunction() {
+        List<Condition> operands = new ArrayList<>();
+        operands.add(unary());
+        while (acceptKeyword("and")) {
+            operands.add(unary());
+        }
+        return operands.size() == 1 ? operands.get(0) : new And(List.copyOf(operands));
+    }
+
+    private Condition unary() {
+        if (acceptKeyword("not")) {
+            return new Not(unary());
+        }
+        if (acceptSymbol("(")) {
+            Condition condition = expression();
+            expectSymbol(")");
+            return condition;
+        }
+        if (acceptKeyword("true")) {
+            return new Always();
+        }
+        return comparison();
+    }
+
+    private Condition comparison() {
+        FieldRef field = field();
+        Token token = advance();
+        Position position = token.position();
+        if (isKeyword(token, "exists")) {
+            return new Comparison(field, Operator.EXISTS, List.of(), position);
+        }
+        if (isKeyword(token, "in")) {
+            expectSymbol("(");
+            List<Literal> literals = new ArrayList<>();
+            do {
+                literals.add(literal());
+            } while (acceptSymbol(","));
+            expectSymbol(")");
+            return new Comparison(field, Operator.IN, List.copyOf(literals), position);
+        }
+        for (Operator operator : Operator.values()) {
+            if (operator != Operator.IN && operator != Operator.EXISTS && operator.symbol.equals(token.text())
+                && (token.type() == TokenType.SYMBOL || token.type() == TokenType.IDENT)) {
+                return new Comparison(field, operator, List.of(literal()), position);
+            }
+        }
+        throw unexpected(token, "an operator");
+    }
+
+    private FieldRef field() {
+        Token name = expect(TokenType.IDENT, "a field name");
+        String key = null;
+        if (acceptSymbol(".")) {
+            Token keyToken = advance();
+            if (keyToken.type() != TokenType.IDENT && keyToken.type() != TokenType.STRING) {
+                throw unexpected(keyToken, "a key");
+            }
+            key = keyToken.text();
+        }
+        return new FieldRef(name.text(), key, name.position());
+    }
+
+    private Literal literal() {
+        Token token = advance();
+        return switch (token.type()) {
+            case STRING, IDENT -> new Literal(token.text(), false, token.position());
+            case NUMBER -> new Literal(token.text(), true, token.position());
+            default -> throw unexpected(token, "a value");
+        };
+    }
+
+    private Action action() {
+        Token token = expect(TokenType.IDENT, "an action");
+        Position position = token.position();
+        return switch (token.text()) {
+            case "drop" -> new Drop(position);
+            case "stop" -> new Stop(position);
+            case "route" -> new Route(expect(TokenType.STRING, "a quoted sink name").text(), position);
+            case "set" -> {
+                FieldRef field = field();
+                expectSymbol("=");
+                yield new SetField(field, expect(TokenType.STRING, "a quoted value").text(), position);
+            }
+            case "level" -> new Level(expect(TokenType.IDENT, "a log level").text(), position);
+            case "noalert" -> new NoAlert(position);
+            default -> throw unexpected(token, "an action (drop, stop, route, set, level, noalert)");
+        };
+    }
+
+    private Token peek() {
+        return tokens.get(next);
+    }
+
+    private Token advance() {
+        Token token = tokens.get(next);
+        if (token.type() != TokenType.EOF) {
+            next++;
+        }
+        return token;
+    }
+
+    private Token expect(final TokenType type, final String expected) {
+        Token token = advance();
+        if (token.type() != type) {
+            throw unexpected(token, expected);
+        }
+        return token;
+    }
+
+    private Token expectKeyword(final String keyword) {
+        Token token = advance();
+        if (!isKeyword(token, keyword)) {
+            throw unexpected(token, "'" + keyword + "'");
+        }
+        return token;
+    }
+
+    private void expectSymbol(final String symbol) {
+        if (!acceptSymbol(symbol)) {
+            throw unexpected(peek(), "'" + symbol + "'");
+        }
+    }
+
+    private boolean acceptKeyword(final String keyword) {
+        if (isKeyword(peek(), keyword)) {
+            next++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean acceptSymbol(final String symbol) {
+        Token token = peek();
+        if (token.type() == TokenType.SYMBOL && token.text().equals(symbol)) {
+            next++;
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isKeyword(final Token token, final String keyword) {
+        return token.type() == TokenType.IDENT && token.text().equals(keyword);
+    }
+
+    private static RuleSyntaxException unexpected(final Token token, final String expected) {
+        String found = switch (token.type()) {
+            case EOF -> "end of input";
+            case STRING -> "\"" + token.text() + "\"";
+            default -> "'" + token.text() + "'";
+        };
+        return new RuleSyntaxException("expected " + expected + " but found " + found,
+            token.position().line(), token.position().column());
+    }
+
+    private static List<Token> tokenize(final String text) {
+        List<Token> tokens = new ArrayList<>();
+        int line = 1;
+        int lineStart = 0;
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            Position position = new Position(line, i - lineStart + 1);
+            if (c == '\n') {
+                line++;
+                lineStart = ++i;
+            } else if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '#') {
+                while (i < text.length() && text.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (Character.isLetter(c) || c == '_') {
+                int start = i;
+                while (i < text.length() && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '_')) {
+                    i++;
+                }
+                tokens.add(new Token(TokenType.IDENT, text.substring(start, i), position));
+            } else if (Character.isDigit(c) || (c == '-' && i + 1 < text.length() && Character.isDigit(text.charAt(i + 1)))) {
+                int start = i++;
+                while (i < text.length() && (Character.isDigit(text.charAt(i)) || text.charAt(i) == '.')) {
+                    i++;
+                }
+                tokens.add(new Token(TokenType.NUMBER, text.substring(start, i), position));
+            } else if (c == '"') {
+                StringBuilder value = new StringBuilder();
+                i++;
+                while (true) {
+                    if (i >= text.length() || text.charAt(i) == '\n') {
+                        throw new RuleSyntaxException("unterminated string", position.line(), position.column());
+                    }
+                    char s = text.charAt(i++);
+                    if (s == '"') {
+                        break;
+                    }
+                    if (s == '\\' && i < text.length()) {
+                        char escaped = text.charAt(i++);
+                        value.append(switch (escaped) {
+                            case 'n' -> '\n';
+                            case 't' -> '\t';
+                            default -> escaped;
+                        });
+                    } else {
+                        value.append(s);
+                    }
+                }
+                tokens.add(new Token(TokenType.STRING, value.toString(), position));
+            } else {
+                String symbol = i + 1 < text.length() ? text.substring(i, i + 2) : "";
+                if (symbol.equals("==") || symbol.equals("!=") || symbol.equals("<=") || symbol.equals(">=")) {
+                    i += 2;
+                } else if ("(),.<>=".indexOf(c) >= 0) {
+                    symbol = String.valueOf(c);
+                    i++;
+                } else {
+                    throw new RuleSyntaxException("unexpected character '" + c + "'", position.line(), position.column());
+                }
+                tokens.add(new Token(TokenType.SYMBOL, symbol, position));
+            }
+        }
+        tokens.add(new Token(TokenType.EOF, "", new Position(line, text.length() - lineStart + 1)));
+        return tokens;
+    }
+}
@@ -0,0 +1,215 @@
+package com.ghostlogger.core.domain.rule;
+
+import com.ghostlogger.core.domain.model.AuditLog;
+import com.ghostlogger.core.domain.model.ErrorLog;
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.model.MetricLog;
+import com.ghostlogger.core.domain.stage.StageContext;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Compiled, immutable set of routing/filter rules
+ * <p>
+ * Every matching rule applies its actions, in file order, until one drops the entry
+ * or stops evaluation. Conditions always see the entry as it entered the rule set:
+ * {@code set} and {@code level} only affect the stages after it.
+ * <p>
+ * Rules are not scanned linearly: a rule whose condition requires a text field
+ * ({@code source}, {@code metricName}, {@code action}, ...) to equal a constant is
+ * indexed under that constant, and a rule requiring a {@code type} is only kept for
+ * that type. An entry evaluates the unindexed rules of its type plus one hash
+ * lookup per indexed field, so the cost grows with the rules that can match it,
+ * not with the size of the rule set.
+ */
+public final class RuleSet {
+
+    private static final int TYPES = 3;
+
+    private final long version;
+    private final String origin;
+    private final Instant loadedAt;
+    private final CompiledRule[] rules;
+    /** Indexes of the unindexed rules, per entry type */
+    private final int[][] unindexed;
+    /** Indexed fields, per entry type */
+    private final FieldIndex[][] indexes;
+
+    /**
+     * One compiled rule
+     *
+     * @param types       entry types the rule can match (ERROR, AUDIT, METRIC), from its {@code type} condition
+     * @param indexField  text field the rule requires to equal one of {@code indexValues}; null if none
+     */
+    record CompiledRule(
+        String name,
+        int line,
+        Predicate<LogEntry> condition,
+        RuleCompiler.CompiledAction[] actions,
+        boolean stop,
+        boolean[] types,
+        RuleField indexField,
+        List<String> indexValues,
+        LongAdder matches
+    ) {
+    }
+
+    /**
+     * Rules indexed by the value of one field
+     */
+    private record FieldIndex(Function<LogEntry, String> reader, Map<String, int[]> rulesByValue) {
+    }
+
+    /**
+     * Matches of one rule since its rule set was loaded
+     */
+    public record RuleStats(String name, int line, long matches) {
+    }
+
+    RuleSet(final long version, final String origin, final Instant loadedAt, final List<CompiledRule> rules) {
+        this.version = version;
+        this.origin = origin;
+        this.loadedAt = loadedAt;
+        this.rules = rules.toArray(CompiledRule[]::new);
+        this.unindexed = new int[TYPES][];
+        this.indexes = new FieldIndex[TYPES][];
+        for (int type = 0; type < TYPES; type++) {
+            List<Integer> generic = new ArrayList<>();
+            Map<RuleField, Map<String, List<Integer>>> byField = new LinkedHashMap<>();
+            for (int index = 0; index < this.rules.length; index++) {
+                CompiledRule rule = this.rules[index];
+                if (!rule.types()[type]) {
+                    continue;
+                }
+                if (rule.indexField() == null) {
+                    generic.add(index);
+                } else {
+                    Map<String, List<Integer>> byValue = byField.computeIfAbsent(rule.indexField(), field -> new HashMap<>());
+                    for (String value : rule.indexValues()) {
+                        byValue.computeIfAbsent(value, key -> new ArrayList<>()).add(index);
+                    }
+                }
+            }
+            unindexed[type] = toArray(generic);
+            indexes[type] = byField.entrySet().stream()
+                .map(field -> {
+                    Map<String, int[]> rulesByValue = new HashMap<>();
+                    field.getValue().forEach((value, ruleIndexes) -> rulesByValue.put(value, toArray(ruleIndexes)));
+                    return new FieldIndex(field.getKey().textReader(null), rulesByValue);
+                })
+                .toArray(FieldIndex[]::new);
+        }
+    }
+
+    static RuleSet empty() {
+        return new RuleSet(0, "none", Instant.now(), List.of());
+    }
+
+    /**
+     * Apply the matching rules to one entry
+     * <p>
+     * Conditions are evaluated first, which allocates nothing; only when a rule matches
+     * are the matches ordered and their actions applied.
+     *
+     * @return the entry, a modified copy, or null if a rule dropped it
+     */
+    public LogEntry apply(final LogEntry entry, final StageContext context) {
+        if (rules.length == 0) {
+            return entry;
+        }
+        int type = typeIndex(entry);
+        int[] matched = collect(entry, unindexed[type], null);
+        for (FieldIndex index : indexes[type]) {
+            String value = index.reader().apply(entry);
+            int[] candidates = value == null ? null : index.rulesByValue().get(value);
+            if (candidates != null) {
+                matched = collect(entry, candidates, matched);
+            }
+        }
+        if (matched == null) {
+            return entry;
+        }
+
+        int count = matched[0];
+        Arrays.sort(matched, 1, count + 1);
+        LogEntry current = entry;
+        for (int i = 1; i <= count; i++) {
+            CompiledRule rule = rules[matched[i]];
+            rule.matches().increment();
+            for (RuleCompiler.CompiledAction action : rule.actions()) {
+                current = action.apply(current, context);
+                if (current == null) {
+                    return null;
+                }
+            }
+            if (rule.stop()) {
+                break;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Add the candidates whose condition holds to {@code matched}, a count followed by rule indexes
+     */
+    private int[] collect(final LogEntry entry, final int[] candidates, final int[] matched) {
+        int[] result = matched;
+        for (int index : candidates) {
+            if (rules[index].condition().test(entry)) {
+                if (result == null) {
+                    result = new int[4];
+                } else if (result[0] + 1 == result.length) {
+                    result = Arrays.copyOf(result, result.length * 2);
+                }
+                result[++result[0]] = index;
+            }
+        }
+        return result;
+    }
+
+    private static int[] toArray(final List<Integer> indexes) {
+        return indexes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    static int typeIndex(final LogEntry entry) {
+        return switch (entry) {
+            case ErrorLog errorLog -> 0;
+            case AuditLog auditLog -> 1;
+            case MetricLog metricLog -> 2;
+        };
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Where the rules were loaded from, e.g. a file path or "api"
+     */
+    public String origin() {
+        return origin;
+    }
+
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+
+    public int size() {
+        return rules.length;
+    }
+
+    public List<RuleStats> stats() {
+        return Arrays.stream(rules)
+            .map(rule -> new RuleStats(rule.name(), rule.line(), rule.matches().sum()))
+            .toList();
+    }
+}
@@ -0,0 +1,24 @@
+package com.ghostlogger.core.domain.rule;
+
+/**
+ * A rule set that does not parse or does not compile, with the position of the offending token
+ */
+public class RuleSyntaxException extends IllegalArgumentException {
+
+    private final int line;
+    private final int column;
+
+    public RuleSyntaxException(final String message, final int line, final int column) {
+        super("line " + line + ", column " + column + ": " + message);
+        this.line = line;
+        this.column = column;
+    }
+
+    public int line() {
+        return line;
+    }
+
+    public int column() {
+        return column;
+    }
+}
@@ -0,0 +1,224 @@
+package com.ghostlogger.core.domain.sampling;
+
+import com.ghostlogger.core.domain.model.AuditLog;
+import com.ghostlogger.core.domain.model.ErrorLog;
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.model.MetricLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adaptive Sampler - Load-Aware Probabilistic Sampling
+ * <p>
+ * Sits in front of the structured processor and thins out low-value entries when the
+ * pipeline is under pressure, instead of rejecting whole batches.
+ * <p>
+ * Architectural Decisions:
+ * - ERROR/FATAL ErrorLogs, all AuditLogs and client-side metric summaries are always kept
+ * - The base keep rate follows pipeline saturation (see {@link SamplingPolicy#keepRate})
+ * - Sources sending more than their fair share of the last window are sampled harder,
+ *   so a single noisy service cannot crowd out everyone else
+ * - Kept entries carry a sample weight of 1/p, so counts stay estimable downstream
+ * - No copy is made while nothing is sampled out
+ * - Entries of traces the {@link TraceSampler} kept are never sampled here, so a kept
+ *   trace stays complete
+ */
+@Service
+public class AdaptiveSampler {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveSampler.class);
+
+    /**
+     * Bucket for entries without a source, or beyond the tracked source limit
+     */
+    static final String OTHER_SOURCES = "__other__";
+
+    private final SamplingPolicy policy;
+    private final PipelinePressure pipelinePressure;
+    private final long windowMillis;
+    private final ConcurrentHashMap<String, SourceRate> sources = new ConcurrentHashMap<>();
+    private final LongAdder kept = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private volatile long windowEnd;
+    private volatile double fairShare;
+
+    public AdaptiveSampler(final SamplingPolicy policy, final PipelinePressure pipelinePressure) {
+        this.policy = policy;
+        this.pipelinePressure = pipelinePressure;
+        this.windowMillis = policy.rateWindow().toMillis();
+        this.windowEnd = System.currentTimeMillis() + windowMillis;
+    }
+
+    /**
+     * Sample a batch at the keep rate implied by current pipeline saturation
+     */
+    public List<LogEntry> sample(final List<LogEntry> entries) {
+        return sample(entries, pipelinePressure.saturation());
+    }
+
+    /**
+     * Sample a batch at the minimum keep rate, for use when the pipeline is known to be overloaded
+     */
+    public List<LogEntry> shed(final List<LogEntry> entries) {
+        return sample(entries, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Sample the entries a {@link TraceSampler} admission made ready: those that
+     * bypassed the trace buffer are sampled, those of kept traces are kept unchanged
+     */
+    public List<LogEntry> sample(final TraceAdmission admission) {
+        return sample(admission, pipelinePressure.saturation());
+    }
+
+    /**
+     * {@link #sample(TraceAdmission)} at the minimum keep rate
+     */
+    public List<LogEntry> shed(final TraceAdmission admission) {
+        return sample(admission, Double.POSITIVE_INFINITY);
+    }
+
+    private List<LogEntry> sample(final TraceAdmission admission, final double saturation) {
+        List<LogEntry> sampled = sample(admission.untraced(), saturation);
+        if (admission.kept().isEmpty()) {
+            return sampled;
+        }
+        // Kept traces still count towards their source's share of the window
+        for (LogEntry entry : admission.kept()) {
+            sourceRate(entry.source()).arrivals.increment();
+        }
+        kept.add(admission.kept().size());
+        if (sampled.isEmpty()) {
+            return admission.kept();
+        }
+        List<LogEntry> result = new ArrayList<>(sampled.size() + admission.kept().size());
+        result.addAll(sampled);
+        result.addAll(admission.kept());
+        return result;
+    }
+
+    List<LogEntry> sample(final List<LogEntry> entries, final double saturation) {
+        long now = System.currentTimeMillis();
+        if (now >= windowEnd) {
+            rotate(now);
+        }
+        double baseRate = policy.keepRate(saturation);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<LogEntry> result = null;
+
+        for (int i = 0; i < entries.size(); i++) {
+            LogEntry entry = entries.get(i);
+            SourceRate source = sourceRate(entry.source());
+            source.arrivals.increment();
+
+            LogEntry outcome = entry;
+            if (baseRate < 1.0 && !mustKeep(entry)) {
+                double keepRate = sourceKeepRate(source, baseRate);
+                outcome = random.nextDouble() < keepRate
+                    ? entry.withSampleWeight(entry.sampleWeight() / keepRate)
+                    : null;
+            }
+
+            if (outcome != entry && result == null) {
+                result = new ArrayList<>(entries.subList(0, i));
+            }
+            if (outcome == null) {
+                sampledOut.increment();
+            } else {
+                kept.increment();
+                if (result != null) {
+                    result.add(outcome);
+                }
+            }
+        }
+        return result == null ? entries : result;
+    }
+
+    /**
+     * Keep probability applied right now to low-value entries of an average source
+     */
+    public double currentKeepRate() {
+        return policy.keepRate(pipelinePressure.saturation());
+    }
+
+    public long keptEntries() {
+        return kept.sum();
+    }
+
+    public long sampledOutEntries() {
+        return sampledOut.sum();
+    }
+
+    public SamplingPolicy policy() {
+        return policy;
+    }
+
+    static boolean mustKeep(final LogEntry entry) {
+        return switch (entry) {
+            case ErrorLog errorLog -> errorLog.severity().compareTo(LogEntry.LogLevel.ERROR) >= 0;
+            case AuditLog auditLog -> true;
+            // A client-side summary already stands for a whole interval of samples
+            case MetricLog metricLog -> metricLog.summary() != null;
+        };
+    }
+
+    private double sourceKeepRate(final SourceRate source, final double baseRate) {
+        double share = fairShare;
+        long previous = source.previousArrivals;
+        if (share <= 0 || previous <= share) {
+            return baseRate;
+        }
+        return Math.max(policy.minKeepRate(), baseRate * share / previous);
+    }
+
+    private SourceRate sourceRate(final String source) {
+        String key = source == null ? OTHER_SOURCES : source;
+        SourceRate rate = sources.get(key);
+        if (rate != null) {
+            return rate;
+        }
+        if (sources.size() >= policy.maxTrackedSources()) {
+            key = OTHER_SOURCES;
+        }
+        return sources.computeIfAbsent(key, k -> new SourceRate());
+    }
+
+    /**
+     * Close the arrival window: snapshot per-source counts, forget idle sources
+     * and recompute the fair share (mean arrivals per active source).
+     */
+    private synchronized void rotate(final long now) {
+        if (now < windowEnd) {
+            return;
+        }
+        long total = 0;
+        int active = 0;
+        for (var iterator = sources.values().iterator(); iterator.hasNext(); ) {
+            SourceRate rate = iterator.next();
+            long arrivals = rate.arrivals.sumThenReset();
+            rate.previousArrivals = arrivals;
+            if (arrivals == 0) {
+                iterator.remove();
+            } else {
+                total += arrivals;
+                active++;
+            }
+        }
+        fairShare = active == 0 ? 0 : (double) total / active;
+        windowEnd = now + windowMillis;
+        log.debug("Sampling window rotated [sources={}, fairShare={}, keepRate={}]",
+            active, fairShare, currentKeepRate());
+    }
+
+    private static final class SourceRate {
+        final LongAdder arrivals = new LongAdder();
+        volatile long previousArrivals;
+    }
+}
@@ -0,0 +1,50 @@
+package com.ghostlogger.core.domain.sampling;
+
+import com.ghostlogger.core.domain.model.LogEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Buffered entries of one trace, and its decision once made.
+ * Guarded by its own monitor.
+ */
+final class PendingTrace {
+
+    enum State { OPEN, KEPT, DROPPED }
+
+    State state = State.OPEN;
+    double weight = 1.0;
+    long decidedAt;
+    private List<LogEntry> entries = new ArrayList<>(4);
+    private long firstTimestamp = Long.MAX_VALUE;
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    void add(final LogEntry entry) {
+        entries.add(entry);
+        if (entry.timestamp() != null) {
+            long timestamp = entry.timestamp().toEpochMilli();
+            firstTimestamp = Math.min(firstTimestamp, timestamp);
+            lastTimestamp = Math.max(lastTimestamp, timestamp);
+        }
+    }
+
+    /**
+     * Time between the first and last buffered entry
+     */
+    long span() {
+        return lastTimestamp < firstTimestamp ? 0 : lastTimestamp - firstTimestamp;
+    }
+
+    /**
+     * Record the decision and hand back the buffered entries
+     */
+    List<LogEntry> close(final State decision, final double keptWeight, final long nowMillis) {
+        List<LogEntry> buffered = entries;
+        entries = List.of();
+        state = decision;
+        weight = keptWeight;
+        decidedAt = nowMillis;
+        return buffered;
+    }
+}
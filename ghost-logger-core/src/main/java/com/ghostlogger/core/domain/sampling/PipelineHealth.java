@@ -0,0 +1,67 @@
+package com.ghostlogger.core.domain.sampling;
+
+/**
+ * Saturation of the ingestion pipeline at one point in time
+ * <p>
+ * Derived from the signals the pipeline already acts on:
+ * <ul>
+ *   <li>{@code DEGRADED} once adaptive sampling kicks in (saturation at the low
+ *       watermark) or the tail-sampling buffer is {@value #DEGRADED_TRACE_BUFFER_RATIO} full</li>
+ *   <li>{@code OVERLOADED} at the high watermark, where only must-keep entries
+ *       survive, or when the tail-sampling buffer is full and entries bypass it</li>
+ * </ul>
+ *
+ * @param saturation             entries in flight relative to the configured capacity
+ * @param keepRate               keep probability currently applied to low-value entries
+ * @param traceBufferUtilization entries buffered for tail sampling relative to the buffer limit
+ */
+public record PipelineHealth(
+    Status status,
+    double saturation,
+    long inFlightEntries,
+    int capacity,
+    double keepRate,
+    int trackedTraces,
+    long bufferedTraceEntries,
+    double traceBufferUtilization
+) {
+
+    static final double DEGRADED_TRACE_BUFFER_RATIO = 0.8;
+
+    public enum Status {
+        UP,
+        DEGRADED,
+        OVERLOADED
+    }
+
+    public static PipelineHealth assess(
+        final PipelinePressure pipelinePressure,
+        final AdaptiveSampler adaptiveSampler,
+        final TraceSampler traceSampler
+    ) {
+        SamplingPolicy samplingPolicy = adaptiveSampler.policy();
+        TraceSamplingStats traceStats = traceSampler.stats();
+        double saturation = pipelinePressure.saturation();
+        double traceBufferUtilization =
+            (double) traceStats.bufferedEntries() / traceSampler.policy().maxBufferedEntries();
+
+        Status status;
+        if (saturation >= samplingPolicy.highWatermark() || traceBufferUtilization >= 1.0) {
+            status = Status.OVERLOADED;
+        } else if (saturation >= samplingPolicy.lowWatermark() || traceBufferUtilization >= DEGRADED_TRACE_BUFFER_RATIO) {
+            status = Status.DEGRADED;
+        } else {
+            status = Status.UP;
+        }
+        return new PipelineHealth(
+            status,
+            saturation,
+            pipelinePressure.inFlight(),
+            pipelinePressure.capacity(),
+            adaptiveSampler.currentKeepRate(),
+            traceStats.trackedTraces(),
+            traceStats.bufferedEntries(),
+            traceBufferUtilization
+        );
+    }
+}
@@ -0,0 +1,47 @@
+package com.ghostlogger.core.domain.sampling;
+
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pipeline Pressure Gauge
+ * <p>
+ * Counts the entries queued in the pipeline shards or inside the structured
+ * processor. Ingestion returns once entries are queued, so a slow port shows up
+ * here as a growing in-flight count long before the shard queues fill up, which
+ * makes it a direct measure of how far the pipeline is behind.
+ */
+@Service
+public class PipelinePressure {
+
+    private final AtomicLong inFlight = new AtomicLong();
+    private final int capacity;
+
+    public PipelinePressure(final SamplingPolicy samplingPolicy) {
+        this.capacity = samplingPolicy.maxInFlightEntries();
+    }
+
+    public void enter(final int entries) {
+        inFlight.addAndGet(entries);
+    }
+
+    public void exit(final int entries) {
+        inFlight.addAndGet(-entries);
+    }
+
+    public long inFlight() {
+        return inFlight.get();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * In-flight entries relative to capacity; may exceed 1 under overload
+     */
+    public double saturation() {
+        return (double) inFlight.get() / capacity;
+    }
+}
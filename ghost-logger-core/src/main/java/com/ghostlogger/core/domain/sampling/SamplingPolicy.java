@@ -0,0 +1,63 @@
+package com.ghostlogger.core.domain.sampling;
+
+import java.time.Duration;
+
+/**
+ * Sampling Policy
+ * <p>
+ * Pipeline saturation is {@code inFlightEntries / maxInFlightEntries}. Below the low
+ * watermark every entry is kept; between the watermarks the keep rate falls linearly
+ * towards {@code minKeepRate}, which applies at and above the high watermark.
+ *
+ * @param maxInFlightEntries entries the processor can have in flight at full saturation
+ * @param lowWatermark       saturation at which sampling starts
+ * @param highWatermark      saturation at which the keep rate bottoms out
+ * @param minKeepRate        lowest keep probability for low-value entries
+ * @param rateWindow         window over which per-source arrival rates are measured
+ * @param maxTrackedSources  sources tracked individually; the rest share one bucket
+ */
+public record SamplingPolicy(
+    int maxInFlightEntries,
+    double lowWatermark,
+    double highWatermark,
+    double minKeepRate,
+    Duration rateWindow,
+    int maxTrackedSources
+) {
+
+    public SamplingPolicy {
+        if (maxInFlightEntries < 1) {
+            throw new IllegalArgumentException("MaxInFlightEntries must be positive");
+        }
+        if (lowWatermark < 0 || highWatermark <= lowWatermark) {
+            throw new IllegalArgumentException("Watermarks must satisfy 0 <= low < high");
+        }
+        if (!(minKeepRate > 0 && minKeepRate <= 1)) {
+            throw new IllegalArgumentException("MinKeepRate must be in (0, 1]");
+        }
+        if (rateWindow == null || rateWindow.isNegative() || rateWindow.isZero()) {
+            throw new IllegalArgumentException("RateWindow must be positive");
+        }
+        if (maxTrackedSources < 1) {
+            throw new IllegalArgumentException("MaxTrackedSources must be positive");
+        }
+    }
+
+    public static SamplingPolicy defaults() {
+        return new SamplingPolicy(10_000, 0.5, 1.0, 0.01, Duration.ofSeconds(10), 10_000);
+    }
+
+    /**
+     * Keep probability for low-value entries at the given saturation
+     */
+    public double keepRate(final double saturation) {
+        if (saturation <= lowWatermark) {
+            return 1.0;
+        }
+        if (saturation >= highWatermark) {
+            return minKeepRate;
+        }
+        double progress = (saturation - lowWatermark) / (highWatermark - lowWatermark);
+        return 1.0 - progress * (1.0 - minKeepRate);
+    }
+}
@@ -0,0 +1,30 @@
+package com.ghostlogger.core.domain.sampling;
+
+import com.ghostlogger.core.domain.model.LogEntry;
+
+import java.util.List;
+
+/**
+ * Entries the TraceSampler made ready for processing, in arrival order within each list
+ *
+ * @param untraced entries that bypassed the trace buffer (audit, metric, or sent without
+ *                 a trace); they are still subject to per-entry sampling
+ * @param kept     entries of traces kept as a whole; exempt from per-entry sampling, so
+ *                 a kept trace stays complete
+ */
+public record TraceAdmission(
+    List<LogEntry> untraced,
+    List<LogEntry> kept
+) {
+
+    /**
+     * Entries of traces that were already kept, e.g. released at window expiry
+     */
+    public static TraceAdmission kept(final List<LogEntry> entries) {
+        return new TraceAdmission(List.of(), entries);
+    }
+
+    public int size() {
+        return untraced.size() + kept.size();
+    }
+}
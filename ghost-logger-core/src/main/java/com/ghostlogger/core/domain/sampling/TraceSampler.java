@@ -0,0 +1,231 @@
+package com.ghostlogger.core.domain.sampling;
+
+import com.ghostlogger.core.concurrent.TimerWheel;
+import com.ghostlogger.core.domain.analytics.Hashing;
+import com.ghostlogger.core.domain.model.AuditLog;
+import com.ghostlogger.core.domain.model.ErrorLog;
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.model.MetricLog;
+import com.ghostlogger.core.domain.model.TraceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Trace Sampler - Trace-Aware Tail-Based Sampling
+ * <p>
+ * Buffers entries per {@link TraceContext#traceId()}
+ * for a short decision window and then keeps or drops the trace as a whole, so a
+ * stored trace is always complete.
+ * <p>
+ * Architectural Decisions:
+ * - An ERROR/FATAL ErrorLog keeps its trace immediately: buffered siblings are released
+ *   with it, so alerting is not delayed by the decision window
+ * - At window expiry, slow traces (first to last timestamp) are kept; healthy ones are
+ *   kept with probability {@code healthyKeepRate} and weight 1/p
+ * - The healthy-trace decision hashes the traceId, so every node decides the same way
+ *   and entries decided on overflow agree with buffered ones
+ * - AuditLogs are never sampled and bypass the buffer
+ * - MetricLogs bypass the buffer too: they feed aggregation windows that seal shortly
+ *   after they end, and a summary already stands for a whole interval of samples, so
+ *   they are left to {@link AdaptiveSampler} instead of being held and sampled by trace
+ * - Entries the client sent without a trace bypass the buffer: their generated
+ *   context groups nothing, and they are left to {@link AdaptiveSampler}
+ * - Entries of kept traces are exempt from {@link AdaptiveSampler}, which would
+ *   otherwise thin out the siblings of an error one by one under pressure
+ * - Expiry runs on a {@link TimerWheel}; buffered entries and tracked traces are bounded
+ * - Decisions are remembered for another window so late entries follow their trace
+ */
+@Service
+public class TraceSampler {
+
+    private static final Logger log = LoggerFactory.getLogger(TraceSampler.class);
+
+    private final TraceSamplingPolicy policy;
+    private final long windowMillis;
+    private final long slowMillis;
+    private final ConcurrentHashMap<String, PendingTrace> traces = new ConcurrentHashMap<>();
+    private final TimerWheel<String> timerWheel;
+    private final AtomicLong bufferedEntries = new AtomicLong();
+    private final LongAdder keptError = new LongAdder();
+    private final LongAdder keptSlow = new LongAdder();
+    private final LongAdder keptSampled = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder overflowEntries = new LongAdder();
+    private final LongAdder lateEntries = new LongAdder();
+
+    public TraceSampler(final TraceSamplingPolicy policy) {
+        this.policy = policy;
+        this.windowMillis = policy.decisionWindow().toMillis();
+        this.slowMillis = policy.slowTraceThreshold().toMillis();
+        this.timerWheel = new TimerWheel<>(policy.tick(), policy.wheelSize(), System.currentTimeMillis());
+    }
+
+    /**
+     * Admit a batch into the buffer
+     *
+     * @return entries that are ready for processing now: those that bypassed the buffer,
+     *         and those of traces kept by this batch or earlier
+     */
+    public TraceAdmission admit(final List<LogEntry> entries) {
+        return admit(entries, System.currentTimeMillis());
+    }
+
+    TraceAdmission admit(final List<LogEntry> entries, final long nowMillis) {
+        List<LogEntry> untraced = new ArrayList<>();
+        List<LogEntry> ready = new ArrayList<>();
+        for (LogEntry entry : entries) {
+            TraceContext traceContext = entry.traceContext();
+            if (entry instanceof AuditLog || entry instanceof MetricLog
+                || traceContext == null || traceContext.generated()) {
+                untraced.add(entry);
+                continue;
+            }
+            String traceId = traceContext.traceId();
+            PendingTrace trace = traces.get(traceId);
+            if (trace == null) {
+                if (traces.size() >= policy.maxTrackedTraces()
+                    || bufferedEntries.get() >= policy.maxBufferedEntries()) {
+                    decideOnArrival(entry, traceId, ready);
+                    continue;
+                }
+                trace = traces.computeIfAbsent(traceId, id -> {
+                    timerWheel.schedule(id, nowMillis + windowMillis);
+                    return new PendingTrace();
+                });
+            }
+            synchronized (trace) {
+                if (trace.state == PendingTrace.State.OPEN) {
+                    if (isError(entry)) {
+                        keptError.increment();
+                        release(trace, PendingTrace.State.KEPT, 1.0, nowMillis, ready);
+                        ready.add(entry);
+                    } else if (bufferedEntries.get() >= policy.maxBufferedEntries()) {
+                        decideOnArrival(entry, traceId, ready);
+                    } else {
+                        trace.add(entry);
+                        bufferedEntries.incrementAndGet();
+                    }
+                } else {
+                    lateEntries.increment();
+                    if (trace.state == PendingTrace.State.KEPT) {
+                        ready.add(weighted(entry, trace.weight));
+                    } else if (isError(entry)) {
+                        // Too late to recover the siblings, but errors are never dropped
+                        trace.state = PendingTrace.State.KEPT;
+                        trace.weight = 1.0;
+                        ready.add(entry);
+                    }
+                }
+            }
+        }
+        return new TraceAdmission(untraced, ready);
+    }
+
+    /**
+     * Decide every trace whose window has passed and forget expired decisions.
+     * Must be called from a single thread.
+     *
+     * @return entries of the traces kept in this pass
+     */
+    public List<LogEntry> expire(final long nowMillis) {
+        List<LogEntry> released = new ArrayList<>();
+        timerWheel.advance(nowMillis, traceId -> {
+            PendingTrace trace = traces.get(traceId);
+            if (trace == null) {
+                return;
+            }
+            synchronized (trace) {
+                if (trace.state == PendingTrace.State.OPEN) {
+                    decide(traceId, trace, nowMillis, released);
+                    timerWheel.schedule(traceId, nowMillis + windowMillis);
+                } else if (trace.decidedAt + windowMillis > nowMillis) {
+                    timerWheel.schedule(traceId, trace.decidedAt + windowMillis);
+                } else {
+                    traces.remove(traceId, trace);
+                }
+            }
+        });
+        if (!released.isEmpty()) {
+            log.debug("Trace sampling released {} entries [tracked={}, buffered={}]",
+                released.size(), traces.size(), bufferedEntries.get());
+        }
+        return released;
+    }
+
+    public TraceSamplingStats stats() {
+        return new TraceSamplingStats(
+            traces.size(),
+            bufferedEntries.get(),
+            keptError.sum(),
+            keptSlow.sum(),
+            keptSampled.sum(),
+            dropped.sum(),
+            overflowEntries.sum(),
+            lateEntries.sum()
+        );
+    }
+
+    public TraceSamplingPolicy policy() {
+        return policy;
+    }
+
+    private void decide(final String traceId, final PendingTrace trace, final long nowMillis, final List<LogEntry> released) {
+        if (trace.span() >= slowMillis) {
+            keptSlow.increment();
+            release(trace, PendingTrace.State.KEPT, 1.0, nowMillis, released);
+        } else if (keepHealthy(traceId)) {
+            keptSampled.increment();
+            release(trace, PendingTrace.State.KEPT, 1.0 / policy.healthyKeepRate(), nowMillis, released);
+        } else {
+            dropped.increment();
+            release(trace, PendingTrace.State.DROPPED, 0, nowMillis, null);
+        }
+    }
+
+    /**
+     * Close the trace, handing its buffered entries to {@code sink} (null to discard them)
+     */
+    private void release(final PendingTrace trace, final PendingTrace.State state, final double weight,
+                         final long nowMillis, final List<LogEntry> sink) {
+        List<LogEntry> buffered = trace.close(state, weight, nowMillis);
+        bufferedEntries.addAndGet(-buffered.size());
+        if (sink != null) {
+            for (LogEntry entry : buffered) {
+                sink.add(weighted(entry, weight));
+            }
+        }
+    }
+
+    private void decideOnArrival(final LogEntry entry, final String traceId, final List<LogEntry> ready) {
+        overflowEntries.increment();
+        if (isError(entry)) {
+            ready.add(entry);
+        } else if (keepHealthy(traceId)) {
+            ready.add(weighted(entry, 1.0 / policy.healthyKeepRate()));
+        }
+    }
+
+    private boolean keepHealthy(final String traceId) {
+        if (policy.healthyKeepRate() >= 1.0) {
+            return true;
+        }
+        long hash = Hashing.hash64(traceId);
+        return (hash >>> 11) * 0x1.0p-53 < policy.healthyKeepRate();
+    }
+
+    private static boolean isError(final LogEntry entry) {
+        return entry instanceof ErrorLog errorLog
+            && errorLog.severity().compareTo(LogEntry.LogLevel.ERROR) >= 0;
+    }
+
+    private static LogEntry weighted(final LogEntry entry, final double weight) {
+        return weight == 1.0 ? entry : entry.withSampleWeight(entry.sampleWeight() * weight);
+    }
+}
@@ -0,0 +1,61 @@
+package com.ghostlogger.core.domain.sampling;
+
+import java.time.Duration;
+
+/**
+ * Trace Sampling Policy
+ *
+ * @param decisionWindow     how long a trace is buffered before it is decided, and how
+ *                           long the decision is remembered for late entries
+ * @param slowTraceThreshold traces spanning at least this long are always kept
+ * @param healthyKeepRate    probability of keeping a trace with no errors that is not slow
+ * @param maxBufferedEntries entries held across all open traces; beyond it entries are
+ *                           decided on arrival
+ * @param maxTrackedTraces   open and recently decided traces tracked at once
+ * @param tick               timer wheel resolution
+ */
+public record TraceSamplingPolicy(
+    Duration decisionWindow,
+    Duration slowTraceThreshold,
+    double healthyKeepRate,
+    int maxBufferedEntries,
+    int maxTrackedTraces,
+    Duration tick
+) {
+
+    public TraceSamplingPolicy {
+        if (decisionWindow == null || decisionWindow.isNegative() || decisionWindow.isZero()) {
+            throw new IllegalArgumentException("DecisionWindow must be positive");
+        }
+        if (slowTraceThreshold == null || slowTraceThreshold.isNegative()) {
+            throw new IllegalArgumentException("SlowTraceThreshold must not be negative");
+        }
+        if (!(healthyKeepRate > 0 && healthyKeepRate <= 1)) {
+            throw new IllegalArgumentException("HealthyKeepRate must be in (0, 1]");
+        }
+        if (maxBufferedEntries < 0 || maxTrackedTraces < 0) {
+            throw new IllegalArgumentException("Buffer limits must not be negative");
+        }
+        if (tick == null || tick.toMillis() <= 0) {
+            throw new IllegalArgumentException("Tick must be at least 1ms");
+        }
+    }
+
+    public static TraceSamplingPolicy defaults() {
+        return new TraceSamplingPolicy(
+            Duration.ofSeconds(5),
+            Duration.ofSeconds(2),
+            0.1,
+            100_000,
+            50_000,
+            Duration.ofMillis(100)
+        );
+    }
+
+    /**
+     * Buckets needed for one wheel rotation to cover a full decision window
+     */
+    int wheelSize() {
+        return (int) Math.max(1, 2 * decisionWindow.toMillis() / tick.toMillis());
+    }
+}
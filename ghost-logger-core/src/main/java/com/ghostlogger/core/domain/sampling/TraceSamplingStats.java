@@ -0,0 +1,28 @@
+package com.ghostlogger.core.domain.sampling;
+
+/**
+ * Trace Sampling Statistics
+ * <p>
+ * Decision counters are cumulative and count traces; the rest are point-in-time
+ * or count entries.
+ *
+ * @param trackedTraces   open and recently decided traces currently tracked
+ * @param bufferedEntries entries waiting for their trace to be decided
+ * @param keptError       traces kept because they contain an ERROR or FATAL entry
+ * @param keptSlow        traces kept because they were slow
+ * @param keptSampled     healthy traces kept by the probabilistic sample
+ * @param dropped         healthy traces sampled out
+ * @param overflowEntries entries decided on arrival because the buffer was full
+ * @param lateEntries     entries arriving after their trace was decided
+ */
+public record TraceSamplingStats(
+    int trackedTraces,
+    long bufferedEntries,
+    long keptError,
+    long keptSlow,
+    long keptSampled,
+    long dropped,
+    long overflowEntries,
+    long lateEntries
+) {
+}
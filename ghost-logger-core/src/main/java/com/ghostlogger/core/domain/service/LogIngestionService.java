@@ -1,17 +1,29 @@
 package com.ghostlogger.core.domain.service;
 
+import com.ghostlogger.core.domain.cluster.ClusterForwarder;
 import com.ghostlogger.core.domain.model.AuditLog;
 import com.ghostlogger.core.domain.model.ErrorLog;
 import com.ghostlogger.core.domain.model.LogEntry;
 import com.ghostlogger.core.domain.model.MetricLog;
 import com.ghostlogger.core.domain.model.TraceContext;
+import com.ghostlogger.core.domain.pipeline.ShardedLogPipeline;
 import com.ghostlogger.core.domain.port.LogRepository;
+import com.ghostlogger.core.domain.port.PipelineMetrics;
+import com.ghostlogger.core.domain.sampling.AdaptiveSampler;
+import com.ghostlogger.core.domain.sampling.TraceAdmission;
+import com.ghostlogger.core.domain.sampling.TraceSampler;
+import com.ghostlogger.core.jfr.BatchAdmissionEvent;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -20,6 +32,11 @@ import java.util.concurrent.CompletableFuture;
  * Handles batch ingestion of log entries with:
  * - Pattern matching on sealed interfaces for type-safe processing
  * - Rate limiting via Resilience4j to protect against overload
+ * - Consistent-hash partitioning across cluster nodes: entries owned by another
+ *   node are forwarded to it before any sampling, and processed there
+ * - Trace-aware tail sampling that keeps or drops whole traces
+ * - Load-aware sampling of low-value entries instead of rejecting whole batches
+ * - Hand-off to the ShardedLogPipeline, which keeps per-source order
  * - Virtual Threads for high-throughput concurrent processing
  * - TraceContext propagation via ScopedValue
  * <p>
@@ -30,11 +47,26 @@ public class LogIngestionService {
 
     private static final Logger log = LoggerFactory.getLogger(LogIngestionService.class);
     private final LogRepository logRepository;
-    private final StructuredLogProcessor structuredLogProcessor;
+    private final ShardedLogPipeline shardedLogPipeline;
+    private final AdaptiveSampler adaptiveSampler;
+    private final TraceSampler traceSampler;
+    private final ClusterForwarder clusterForwarder;
+    private final PipelineMetrics pipelineMetrics;
 
-    public LogIngestionService(final LogRepository logRepository, final StructuredLogProcessor structuredLogProcessor) {
+    public LogIngestionService(
+        final LogRepository logRepository,
+        final ShardedLogPipeline shardedLogPipeline,
+        final AdaptiveSampler adaptiveSampler,
+        final TraceSampler traceSampler,
+        final ClusterForwarder clusterForwarder,
+        final PipelineMetrics pipelineMetrics
+    ) {
         this.logRepository = logRepository;
-        this.structuredLogProcessor = structuredLogProcessor;
+        this.shardedLogPipeline = shardedLogPipeline;
+        this.adaptiveSampler = adaptiveSampler;
+        this.traceSampler = traceSampler;
+        this.clusterForwarder = clusterForwarder;
+        this.pipelineMetrics = pipelineMetrics;
         log.info("LogIngestionService initialized with repository: {}", logRepository.getClass().getSimpleName());
     }
 
@@ -43,11 +75,23 @@ public class LogIngestionService {
      * <p>
      * Architectural Decisions:
      * - @RateLimiter protects the system from burst traffic
-     * - Uses StructuredTaskScope for parallel processing with fail-fast behavior
-     * - TraceContext is automatically propagated via ScopedValue
+     * - Entries owned by another cluster node are queued for it and count as accepted;
+     *   only the entries this node owns are sampled and processed here
+     * - Admitted entries are queued per source shard and processed asynchronously,
+     *   with StructuredTaskScope fan-out per ErrorLog
+     * - TraceContext is captured at hand-off and restored by the shard writer
+     * - Entries are held by the TraceSampler until their trace is decided; errors,
+     *   and the buffered rest of their trace, pass straight through
+     * - Low-value entries outside a kept trace are sampled according to pipeline
+     *   pressure; sampled-out entries count as accepted, since the kept ones carry
+     *   their weight
+     * - Shard capacity is checked before anything is forwarded or buffered, so a
+     *   batch refused as a whole can be resent as a whole without duplicates
      *
      * @param logEntries List of log entries to ingest
-     * @return Number of successfully ingested logs
+     * @return Number of accepted logs
+     * @throws PipelineSaturatedException if the shard queues have no room for the batch,
+     *         or if some of its entries found their shard full; the exception names them
      */
     @RateLimiter(name = "logIngestion", fallbackMethod = "rateLimitFallback")
     public int ingestBatch(final List<LogEntry> logEntries) {
@@ -55,37 +99,148 @@ public class LogIngestionService {
             log.warn("Received empty log batch");
             return 0;
         }
-        
+        pipelineMetrics.recordRateLimit(PipelineMetrics.Outcome.SUCCESS);
+        requireCapacity(logEntries);
+        ClusterForwarder.Split split = clusterForwarder.split(logEntries);
+        if (split.local().isEmpty()) {
+            return split.forwarded();
+        }
+        return split.forwarded() + admit(split.local());
+    }
+
+    /**
+     * Ingest a batch forwarded by the cluster node that received it
+     * <p>
+     * The entries were already rate limited and partitioned by that node, so they are
+     * admitted here directly and never forwarded again, even if this node's membership
+     * view disagrees about their owner.
+     *
+     * @param logEntries entries this node owns
+     * @return Number of accepted logs
+     * @throws PipelineSaturatedException as for {@link #ingestBatch}
+     */
+    public int ingestForwarded(final List<LogEntry> logEntries) {
+        if (logEntries == null || logEntries.isEmpty()) {
+            return 0;
+        }
+        requireCapacity(logEntries);
+        return admit(logEntries);
+    }
+
+    /**
+     * Refuse the whole batch while it has no side effects yet
+     */
+    private void requireCapacity(final List<LogEntry> logEntries) {
+        if (!shardedLogPipeline.awaitCapacity(logEntries)) {
+            log.warn("Pipeline saturated, refused batch of {} logs [traceId={}]",
+                logEntries.size(), TraceContext.current().traceId());
+            throw new PipelineSaturatedException(
+                "Log processing pipeline is saturated. Please retry later."
+            );
+        }
+    }
+
+    private int admit(final List<LogEntry> logEntries) {
+        BatchAdmissionEvent event = new BatchAdmissionEvent();
+        event.begin();
+        TraceAdmission ready = traceSampler.admit(logEntries);
+        List<LogEntry> sampled = adaptiveSampler.sample(ready);
+        event.complete("permitted", logEntries.size(), ready.size(), sampled.size());
+        return process(logEntries.size(), sampled);
+    }
+
+    /**
+     * Process the entries of every trace whose decision window has passed
+     * <p>
+     * Called periodically by the infrastructure scheduler. Released entries are
+     * queued from a virtual thread, one trace at a time under its own TraceContext,
+     * so full shard queues never stall the scheduler.
+     *
+     * @return Number of released logs
+     */
+    public int releaseDecidedTraces() {
+        List<LogEntry> released = traceSampler.expire(System.currentTimeMillis());
+        if (released.isEmpty()) {
+            return 0;
+        }
+        Thread.ofVirtual().name("trace-release").start(() -> processReleased(released));
+        return released.size();
+    }
+
+    private void processReleased(final List<LogEntry> released) {
+        Map<TraceContext, List<LogEntry>> byTrace = new LinkedHashMap<>();
+        for (LogEntry entry : released) {
+            byTrace.computeIfAbsent(entry.traceContext(), context -> new ArrayList<>()).add(entry);
+        }
+        byTrace.forEach((traceContext, entries) -> {
+            try {
+                TraceContext.callWithContext(traceContext,
+                    () -> process(entries.size(), adaptiveSampler.sample(TraceAdmission.kept(entries))));
+            } catch (Exception e) {
+                log.error("Failed to process released trace [traceId={}]: {}",
+                    traceContext.traceId(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * @throws PipelineSaturatedException naming the entries that found their shard full;
+     *         the rest of the batch has been taken
+     */
+    private int process(final int accepted, final List<LogEntry> sampled) {
+        if (sampled.isEmpty()) {
+            return accepted;
+        }
         TraceContext currentContext = TraceContext.current();
-        log.info("Ingesting batch of {} logs [traceId={}]", 
-            logEntries.size(), currentContext.traceId());
-        
-        try {
-            // Use StructuredTaskScope for parallel processing with fail-fast
-            int processed = structuredLogProcessor.processBatch(logEntries);
-            
-            log.info("Successfully ingested {} logs [traceId={}]", 
-                processed, currentContext.traceId());
-            
-            return processed;
-        } catch (Exception e) {
-            log.error("Failed to process log batch [traceId={}]: {}", 
-                currentContext.traceId(), e.getMessage(), e);
-            throw new RuntimeException("Log processing failed", e);
+        List<LogEntry> rejected = shardedLogPipeline.submit(sampled);
+        if (!rejected.isEmpty()) {
+            log.warn("Pipeline saturated, rejected {} of {} logs [traceId={}]",
+                rejected.size(), sampled.size(), currentContext.traceId());
+            throw new PipelineSaturatedException(
+                "Log processing pipeline is saturated. Please retry the rejected entries later.",
+                rejected.stream().map(LogEntry::id).toList()
+            );
         }
+        log.info("Queued {} of {} accepted logs for processing [traceId={}]",
+            sampled.size(), accepted, currentContext.traceId());
+        return accepted;
     }
 
     /**
      * Rate limit fallback method
      * <p>
-     * Returns 429 Too Many Requests via exception
+     * Degrades instead of rejecting: the batch is sampled at the minimum keep rate,
+     * so errors and audit events still get through. Entries owned by other cluster
+     * nodes are still forwarded, since the limit protects this node's pipeline. Only a
+     * batch that was shed entirely (nothing worth keeping or buffering) is reported as
+     * 429 Too Many Requests.
+     * <p>
+     * Only called when no permit was granted: Resilience4j picks the fallback by exception
+     * type, so failures of a permitted batch (e.g. {@link PipelineSaturatedException})
+     * propagate as they are instead of re-running the batch here, which would forward,
+     * buffer and queue its entries a second time.
      */
     @SuppressWarnings("unused")
-    private int rateLimitFallback(final List<LogEntry> logEntries, final Throwable throwable) {
-        log.error("Rate limit exceeded for log ingestion", throwable);
-        throw new RateLimitExceededException(
-            "Log ingestion rate limit exceeded. Please retry later."
-        );
+    private int rateLimitFallback(final List<LogEntry> logEntries, final RequestNotPermitted notPermitted) {
+        BatchAdmissionEvent event = new BatchAdmissionEvent();
+        event.begin();
+        requireCapacity(logEntries);
+        ClusterForwarder.Split split = clusterForwarder.split(logEntries);
+        List<LogEntry> local = split.local();
+        TraceAdmission ready = traceSampler.admit(local);
+        List<LogEntry> sampled = adaptiveSampler.shed(ready);
+        if (sampled.isEmpty() && ready.size() == local.size() && split.forwarded() == 0) {
+            event.complete("rejected", logEntries.size(), ready.size(), 0);
+            pipelineMetrics.recordRateLimit(PipelineMetrics.Outcome.REJECTED);
+            log.warn("Rate limit exceeded, shed entire batch of {} logs", logEntries.size());
+            throw new RateLimitExceededException(
+                "Log ingestion rate limit exceeded. Please retry later."
+            );
+        }
+        event.complete("shed", local.size(), ready.size(), sampled.size());
+        pipelineMetrics.recordRateLimit(PipelineMetrics.Outcome.SHED);
+        log.warn("Rate limit exceeded, shedding low-value logs ({} of {} kept)", sampled.size(), ready.size());
+        return split.forwarded() + process(local.size(), sampled);
     }
 
     /**
@@ -96,4 +251,34 @@ public class LogIngestionService {
             super(message);
         }
     }
+
+    /**
+     * Custom exception for shard queues that stayed full past the enqueue timeout
+     */
+    public static class PipelineSaturatedException extends RuntimeException {
+
+        private final List<UUID> rejectedEntryIds;
+
+        /**
+         * The whole batch was refused before any of it was taken
+         */
+        public PipelineSaturatedException(String message) {
+            this(message, List.of());
+        }
+
+        /**
+         * Only the given entries were rejected; the rest of the batch was taken
+         */
+        public PipelineSaturatedException(String message, List<UUID> rejectedEntryIds) {
+            super(message);
+            this.rejectedEntryIds = List.copyOf(rejectedEntryIds);
+        }
+
+        /**
+         * Ids of the rejected entries; empty if the whole batch was refused
+         */
+        public List<UUID> rejectedEntryIds() {
+            return rejectedEntryIds;
+        }
+    }
 }
@@ -1,60 +1,75 @@
 package com.ghostlogger.core.domain.service;
 
-import com.ghostlogger.core.domain.model.ErrorLog;
 import com.ghostlogger.core.domain.model.LogEntry;
 import com.ghostlogger.core.domain.model.TraceContext;
-import com.ghostlogger.core.domain.port.AlertService;
-import com.ghostlogger.core.domain.port.StorageService;
+import com.ghostlogger.core.domain.port.PipelineMetrics;
+import com.ghostlogger.core.domain.port.PipelineMetrics.EntryType;
+import com.ghostlogger.core.domain.port.PipelineMetrics.Outcome;
+import com.ghostlogger.core.domain.port.PipelineMetrics.Stage;
+import com.ghostlogger.core.domain.stage.ProcessorStage;
+import com.ghostlogger.core.domain.stage.StageContext;
+import com.ghostlogger.core.jfr.BatchProcessingEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.StructuredTaskScope;
-import java.util.concurrent.StructuredTaskScope.Subtask;
 
 /**
- * Structured Log Processor - Java 21 Structured Concurrency
+ * Structured Log Processor
  * <p>
- * Processes logs using StructuredTaskScope with fail-fast behavior.
- * When an ErrorLog is detected, triggers AlertService and StorageService in parallel.
+ * Processes the entries of one shard slice in order, called by the shard writers of
+ * the ShardedLogPipeline. Each entry runs through the chain of {@link ProcessorStage}s,
+ * every ProcessorStage bean in ascending order; a stage may modify the entry, route
+ * it or drop it.
  * <p>
  * Key Features:
- * - Uses Virtual Threads for lightweight concurrency
- * - Fail-Fast: If any subtask fails, entire scope fails immediately
- * - Structured Concurrency: Parent task waits for all children
+ * - Fail-Fast: the first failed stage fails the slice
+ * - Pluggable: drop/route/enrich rules and custom stages without touching the processor
  * - TraceContext propagation via ScopedValue
  * <p>
- * Architecture:
- * - AlertService: Sends alerts to external systems (PagerDuty, Slack)
- * - StorageService: Persists logs to long-term storage (S3, Elasticsearch)
+ * Built-in stages:
+ * - RuleStage: Hot-swappable routing/filter rules (RuleEngine)
+ * - RedactionStage: Redacts PII and secrets before anything is tailed, analyzed or stored
+ * - AnalyticsStage: Live tail, template mining, heavy hitters, metric windows, cardinality
+ * - AlertStage: Queues ERROR/FATAL alerts to the AlertDispatcher, so storage never waits for alerting
+ * - StorageStage: Queues logs for every StorageService sink (S3, Elasticsearch), each with its own writer
+ * <p>
+ * PipelineMetrics times each entry by log type and outcome; JFR events record slow batches.
  */
 @Service
 public class StructuredLogProcessor {
     
     private static final Logger log = LoggerFactory.getLogger(StructuredLogProcessor.class);
     
-    private final AlertService alertService;
-    private final StorageService storageService;
+    private final ProcessorStage[] stages;
+    private final PipelineMetrics pipelineMetrics;
     
-    public StructuredLogProcessor(final AlertService alertService, final StorageService storageService) {
-        this.alertService = alertService;
-        this.storageService = storageService;
+    public StructuredLogProcessor(
+        final List<ProcessorStage> stages,
+        final PipelineMetrics pipelineMetrics
+    ) {
+        this.stages = stages.stream()
+            .sorted(Comparator.comparingInt(ProcessorStage::order))
+            .toArray(ProcessorStage[]::new);
+        this.pipelineMetrics = pipelineMetrics;
+        log.info("StructuredLogProcessor initialized with stages: {}",
+            Arrays.stream(this.stages).map(ProcessorStage::name).toList());
     }
     
     /**
-     * Process a batch of log entries using Structured Concurrency
+     * Process a batch of log entries in order
      * <p>
-     * For each ErrorLog:
-     * - Triggers AlertService and StorageService in parallel
-     * - Uses StructuredTaskScope.ShutdownOnFailure for fail-fast behavior
-     * - Propagates TraceContext to subtasks via ScopedValue
+     * Each entry runs through every stage until one drops it. An entry dropped by a
+     * stage counts as processed.
      * <p>
-     * If any subtask fails, the entire scope shuts down immediately and the exception is propagated.
+     * If a stage fails, the remaining entries are skipped and the exception is propagated.
      * 
      * @param logEntries List of log entries to process
      * @return Number of successfully processed logs
-     * @throws Exception if any subtask fails (fail-fast)
+     * @throws Exception if a stage fails (fail-fast)
      */
     public int processBatch(final List<LogEntry> logEntries) throws Exception {
         if (logEntries == null || logEntries.isEmpty()) {
@@ -63,84 +78,42 @@ public class StructuredLogProcessor {
         }
         
         TraceContext currentContext = TraceContext.current();
-        log.info("🔀 Processing {} logs with StructuredTaskScope [traceId={}]", 
+        log.info("🔀 Processing {} logs [traceId={}]", 
             logEntries.size(), currentContext.traceId());
         
+        BatchProcessingEvent event = new BatchProcessingEvent();
+        event.begin();
         int processed = 0;
-        
-        for (LogEntry entry : logEntries) {
-            // Process ErrorLog with parallel alert + storage
-            if (entry instanceof ErrorLog errorLog) {
-                processErrorLogStructured(errorLog, currentContext);
-                processed++;
-            } else {
-                // For non-error logs, just store
-                storageService.store(entry);
-                processed++;
-            }
+        try {
+            processed = processEntries(logEntries);
+        } finally {
+            event.complete(logEntries.size(), processed);
         }
         
-        log.info("✅ Successfully processed {} logs with StructuredTaskScope [traceId={}]", 
+        log.info("✅ Successfully processed {} logs [traceId={}]", 
             processed, currentContext.traceId());
         
         return processed;
     }
-    
-    /**
-     * Process ErrorLog using StructuredTaskScope for parallel alert + storage
-     * <p>
-     * StructuredTaskScope.ShutdownOnFailure ensures:
-     * - If alert fails → storage is cancelled
-     * - If storage fails → alert is cancelled
-     * - Parent waits for both to complete before continuing
-     * <p>
-     * This implements the "Fail-Fast" principle.
-     */
-    private void processErrorLogStructured(final ErrorLog errorLog, final TraceContext traceContext) throws Exception {
-        log.debug("🔀 Processing ErrorLog with parallel tasks [id={}, traceId={}]", 
-            errorLog.id(), traceContext.traceId());
-        
-        // StructuredTaskScope.ShutdownOnFailure: Fail-fast behavior
-        // If any subtask fails, all other subtasks are cancelled
-        try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
-            
-            // Fork subtask 1: Send alert (with TraceContext propagation)
-            Subtask<Void> alertTask = scope.fork(() -> {
-                return TraceContext.callWithContext(traceContext, () -> {
-                    log.debug("⚡ Alert task started [errorId={}, traceId={}]", 
-                        errorLog.id(), traceContext.traceId());
-                    alertService.sendAlert(errorLog);
-                    log.debug("✅ Alert task completed [errorId={}, traceId={}]", 
-                        errorLog.id(), traceContext.traceId());
-                    return null;
-                });
-            });
-            
-            // Fork subtask 2: Store to long-term storage (with TraceContext propagation)
-            Subtask<Void> storageTask = scope.fork(() -> {
-                return TraceContext.callWithContext(traceContext, () -> {
-                    log.debug("💾 Storage task started [errorId={}, traceId={}]", 
-                        errorLog.id(), traceContext.traceId());
-                    storageService.store(errorLog);
-                    log.debug("✅ Storage task completed [errorId={}, traceId={}]", 
-                        errorLog.id(), traceContext.traceId());
-                    return null;
-                });
-            });
-            
-            // Join all subtasks - blocks until all complete or one fails
-            // If any subtask fails, throwIfFailed() propagates the exception
-            scope.join();
-            scope.throwIfFailed();
-            
-            log.debug("✅ Parallel processing completed [errorId={}, traceId={}]", 
-                errorLog.id(), traceContext.traceId());
-            
-        } catch (Exception e) {
-            // Fail-fast: One of the subtasks failed, propagate the exception
-            log.error("❌ Parallel processing failed [errorId={}, traceId={}]: {}", 
-                errorLog.id(), traceContext.traceId(), e.getMessage());
-            throw e;
+
+    private int processEntries(final List<LogEntry> logEntries) throws Exception {
+        StageContext context = new StageContext();
+        int processed = 0;
+        for (LogEntry entry : logEntries) {
+            long start = System.nanoTime();
+            Outcome outcome = Outcome.FAILURE;
+            context.reset();
+            try {
+                LogEntry current = entry;
+                for (int i = 0; i < stages.length && current != null; i++) {
+                    current = stages[i].process(current, context);
+                }
+                outcome = current == null ? Outcome.SHED : Outcome.SUCCESS;
+            } finally {
+                pipelineMetrics.recordStage(Stage.PROCESS, EntryType.of(entry), outcome, System.nanoTime() - start);
+            }
+            processed++;
         }
+        return processed;
     }
 }
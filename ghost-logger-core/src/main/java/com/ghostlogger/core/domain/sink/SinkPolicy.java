@@ -0,0 +1,43 @@
+package com.ghostlogger.core.domain.sink;
+
+import java.time.Duration;
+
+/**
+ * Sink Policy - queueing, batching and retries of one sink
+ *
+ * @param queueCapacity entries waiting for the sink; beyond it new entries are shed
+ * @param batchSize     most entries written in one {@code storeBatch} call
+ * @param maxBatchDelay longest a queued entry waits for its batch to fill while the
+ *                      sink is idle; zero wakes the sink for every entry
+ * @param maxAttempts   attempts per batch before its entries are counted as failed
+ * @param retryDelay    wait between those attempts
+ * @param defaultSink   true if entries without a {@code route} go to this sink
+ */
+public record SinkPolicy(
+    int queueCapacity,
+    int batchSize,
+    Duration maxBatchDelay,
+    int maxAttempts,
+    Duration retryDelay,
+    boolean defaultSink
+) {
+
+    public SinkPolicy {
+        if (queueCapacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("QueueCapacity and BatchSize must be positive");
+        }
+        if (batchSize > queueCapacity) {
+            throw new IllegalArgumentException("BatchSize cannot exceed QueueCapacity");
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("MaxAttempts must be positive");
+        }
+        if (maxBatchDelay == null || maxBatchDelay.isNegative() || retryDelay == null || retryDelay.isNegative()) {
+            throw new IllegalArgumentException("MaxBatchDelay and RetryDelay must not be negative");
+        }
+    }
+
+    public static SinkPolicy defaults() {
+        return new SinkPolicy(10_000, 256, Duration.ofMillis(5), 5, Duration.ofSeconds(1), true);
+    }
+}
@@ -0,0 +1,154 @@
+package com.ghostlogger.core.domain.sink;
+
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.port.PipelineMetrics;
+import com.ghostlogger.core.domain.port.PortGuard;
+import com.ghostlogger.core.domain.port.StorageService;
+import com.ghostlogger.core.domain.stage.StageContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sink Registry - fan-out of entries to every StorageService
+ * <p>
+ * Every StorageService implementation is one sink, named by its
+ * {@link StorageService#sinkName()} and given its own {@link SinkWriter}: a bounded
+ * queue, batching, retries and a circuit breaker. An entry goes to the sinks it is
+ * routed to by a rule, or to every default sink if it has no route. Writing to N sinks
+ * costs the shard writer N queue offers, not the sum of the sink latencies.
+ */
+public class SinkRegistry implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SinkRegistry.class);
+    private static final long SHUTDOWN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final SinkWriter[] writers;
+    private final boolean[] defaultSinks;
+    private final Map<String, SinkWriter> writersByName = new LinkedHashMap<>();
+
+    /**
+     * @param sinks    one StorageService per sink, with unique sink names
+     * @param policies policy per sink name; sinks without one get {@link SinkPolicy#defaults()}
+     * @throws IllegalArgumentException if two sinks share a name, or a policy names no sink
+     */
+    public SinkRegistry(
+        final List<StorageService> sinks,
+        final Map<String, SinkPolicy> policies,
+        final PortGuard portGuard,
+        final PipelineMetrics pipelineMetrics
+    ) {
+        if (sinks.isEmpty()) {
+            throw new IllegalArgumentException("At least one StorageService is required");
+        }
+        for (String name : policies.keySet()) {
+            if (sinks.stream().noneMatch(sink -> sink.sinkName().equals(name))) {
+                throw new IllegalArgumentException("Sink policy for unknown sink '" + name + "'");
+            }
+        }
+        for (StorageService sink : sinks) {
+            String name = sink.sinkName();
+            if (writersByName.containsKey(name)) {
+                throw new IllegalArgumentException("Duplicate sink name '" + name + "': "
+                    + sink.getClass().getSimpleName());
+            }
+            SinkPolicy policy = policies.getOrDefault(name, SinkPolicy.defaults());
+            writersByName.put(name, new SinkWriter(sink, policy, portGuard, pipelineMetrics));
+        }
+        this.writers = writersByName.values().toArray(SinkWriter[]::new);
+        this.defaultSinks = new boolean[writers.length];
+        for (int i = 0; i < writers.length; i++) {
+            defaultSinks[i] = writers[i].policy().defaultSink();
+        }
+        log.info("SinkRegistry initialized with sinks: {}", writersByName.keySet());
+    }
+
+    /**
+     * Queue the entry for each sink it is routed to; never blocks
+     *
+     * @return number of sinks that accepted the entry; a full sink sheds it
+     */
+    public int dispatch(final LogEntry entry, final StageContext context) {
+        int accepted = 0;
+        for (int i = 0; i < writers.length; i++) {
+            if (context.routedTo(writers[i].name(), defaultSinks[i])
+                && writers[i].offer(entry, context.template(entry.message()))) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Sink names, in registration order; the valid targets of {@code route} rules
+     */
+    public Set<String> names() {
+        return writersByName.keySet();
+    }
+
+    /**
+     * Entries waiting in the sink queue
+     */
+    public int backlog(final String sink) {
+        return writer(sink).backlog();
+    }
+
+    /**
+     * How long the batch the sink is writing has waited since its oldest entry was
+     * queued; zero when the sink is idle
+     */
+    public Duration lag(final String sink) {
+        return writer(sink).lag();
+    }
+
+    public long storedEntries(final String sink) {
+        return writer(sink).storedEntries();
+    }
+
+    /**
+     * Entries of batches that still failed after the last attempt
+     */
+    public long failedEntries(final String sink) {
+        return writer(sink).failedEntries();
+    }
+
+    /**
+     * Entries dropped because the sink queue was full
+     */
+    public long shedEntries(final String sink) {
+        return writer(sink).shedEntries();
+    }
+
+    private SinkWriter writer(final String sink) {
+        SinkWriter writer = writersByName.get(sink);
+        if (writer == null) {
+            throw new IllegalArgumentException("Unknown sink '" + sink + "'");
+        }
+        return writer;
+    }
+
+    /**
+     * Stop accepting entries and write out the queued ones
+     */
+    @Override
+    public void close() throws InterruptedException {
+        for (SinkWriter writer : writers) {
+            writer.shutdown();
+        }
+        long deadline = System.nanoTime() + SHUTDOWN_TIMEOUT_NANOS;
+        for (SinkWriter writer : writers) {
+            if (!writer.awaitTermination(deadline)) {
+                log.warn("Sink '{}' did not finish within the shutdown timeout [backlog={}]",
+                    writer.name(), writer.backlog());
+            }
+            log.info("Sink '{}' stopped after storing {} entries ({} failed, {} shed)",
+                writer.name(), writer.storedEntries(), writer.failedEntries(), writer.shedEntries());
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.ghostlogger.core.domain.sink;
+
+import com.ghostlogger.core.concurrent.MpscRingBuffer;
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.template.TemplatedMessage;
+import com.ghostlogger.core.domain.port.PipelineMetrics;
+import com.ghostlogger.core.domain.port.PipelineMetrics.EntryType;
+import com.ghostlogger.core.domain.port.PipelineMetrics.Outcome;
+import com.ghostlogger.core.domain.port.PipelineMetrics.Stage;
+import com.ghostlogger.core.domain.port.PortGuard;
+import com.ghostlogger.core.domain.port.StorageService;
+import com.ghostlogger.core.jfr.PortCallEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sink Writer - one StorageService behind its own queue
+ * <p>
+ * Architectural Decisions:
+ * - {@link #offer(LogEntry)} only queues the entry into a bounded
+ *   {@link MpscRingBuffer} and never blocks, so the shard writers never wait for a sink
+ * - One writer thread per sink drains whatever has queued, up to {@code batchSize}
+ *   entries, into one {@code storeBatch} call through the sink's own circuit breaker
+ *   in the {@link PortGuard}; batches grow with the load on their own
+ * - An idle writer is woken by a full batch or after {@code maxBatchDelay}, not by
+ *   every entry, so a shard writer pays a queue offer per sink and rarely a wakeup
+ * - A failed batch is retried as a whole; after {@code maxAttempts} its entries are
+ *   counted as failed and the writer moves on
+ * - A sink that falls behind only fills its own queue; when full, new entries for
+ *   that sink are shed and counted, and the other sinks are unaffected
+ * <p>
+ * Used by the SinkRegistry for storage and by the ClusterForwarder for each peer node.
+ */
+public final class SinkWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(SinkWriter.class);
+
+    private final StorageService storageService;
+    private final String name;
+    private final SinkPolicy policy;
+    private final PortGuard portGuard;
+    private final PipelineMetrics pipelineMetrics;
+    private final MpscRingBuffer<PendingEntry> queue;
+    private final Thread writer;
+    private final long maxBatchDelayNanos;
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    /** Enqueue time of the oldest entry being written, 0 when idle */
+    private volatile long writingSinceNanos;
+    private volatile Thread waiter;
+    private volatile boolean closed;
+
+    private record PendingEntry(LogEntry entry, TemplatedMessage template, long enqueuedNanos) {
+    }
+
+    public SinkWriter(
+        final StorageService storageService,
+        final SinkPolicy policy,
+        final PortGuard portGuard,
+        final PipelineMetrics pipelineMetrics
+    ) {
+        this.storageService = storageService;
+        this.name = storageService.sinkName();
+        this.policy = policy;
+        this.portGuard = portGuard;
+        this.pipelineMetrics = pipelineMetrics;
+        this.queue = new MpscRingBuffer<>(policy.queueCapacity());
+        this.maxBatchDelayNanos = policy.maxBatchDelay().toNanos();
+        this.writer = Thread.ofVirtual().name("sink-" + name).start(this::drain);
+    }
+
+    /**
+     * Queue an entry; never blocks
+     *
+     * @return false if the entry was shed because the queue is full
+     */
+    public boolean offer(final LogEntry entry) {
+        return offer(entry, null);
+    }
+
+    /**
+     * Queue an entry with the template mined for its message; never blocks
+     *
+     * @param template mined template, or null
+     * @return false if the entry was shed because the queue is full
+     */
+    public boolean offer(final LogEntry entry, final TemplatedMessage template) {
+        if (closed || !queue.offer(new PendingEntry(entry, template, System.nanoTime()))) {
+            shed.increment();
+            pipelineMetrics.recordStage(Stage.STORE, EntryType.of(entry), Outcome.SHED, 0);
+            return false;
+        }
+        Thread consumer = waiter;
+        if (consumer != null && (maxBatchDelayNanos == 0 || queue.size() >= policy.batchSize())) {
+            LockSupport.unpark(consumer);
+        }
+        return true;
+    }
+
+    private void drain() {
+        List<PendingEntry> pending = new ArrayList<>(policy.batchSize());
+        List<LogEntry> batch = new ArrayList<>(policy.batchSize());
+        List<TemplatedMessage> templates = new ArrayList<>(policy.batchSize());
+        while (true) {
+            queue.drain(pending::add, policy.batchSize());
+            if (pending.isEmpty()) {
+                writingSinceNanos = 0;
+                if (closed) {
+                    return;
+                }
+                waiter = Thread.currentThread();
+                if (queue.isEmpty() && !closed) {
+                    if (maxBatchDelayNanos == 0) {
+                        LockSupport.park(this);
+                    } else {
+                        LockSupport.parkNanos(this, maxBatchDelayNanos);
+                    }
+                }
+                waiter = null;
+                continue;
+            }
+            writingSinceNanos = pending.get(0).enqueuedNanos();
+            for (PendingEntry entry : pending) {
+                batch.add(entry.entry());
+                templates.add(entry.template());
+            }
+            try {
+                writeWithRetry(batch, templates);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                pending.clear();
+                batch.clear();
+                templates.clear();
+            }
+        }
+    }
+
+    private void writeWithRetry(final List<LogEntry> batch, final List<TemplatedMessage> templates)
+        throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            PortCallEvent event = new PortCallEvent();
+            event.begin();
+            long start = System.nanoTime();
+            Outcome outcome = Outcome.FAILURE;
+            try {
+                portGuard.callSink(name, () -> storageService.storeBatch(batch, templates));
+                outcome = Outcome.SUCCESS;
+                stored.add(batch.size());
+                return;
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                if (e instanceof PortGuard.PortUnavailableException) {
+                    outcome = Outcome.REJECTED;
+                }
+                if (attempt >= policy.maxAttempts()) {
+                    failed.add(batch.size());
+                    log.error("❌ Sink '{}' failed a batch of {} entries after {} attempts: {}",
+                        name, batch.size(), attempt, e.getMessage());
+                    return;
+                }
+                log.warn("Sink '{}' batch attempt {} failed, retrying in {}: {}",
+                    name, attempt, policy.retryDelay(), e.getMessage());
+            } finally {
+                pipelineMetrics.recordStage(Stage.STORE, EntryType.BATCH, outcome, System.nanoTime() - start);
+                event.complete("store:" + name, EntryType.BATCH, batch.get(0).id(), outcome == Outcome.SUCCESS);
+            }
+            Thread.sleep(policy.retryDelay());
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public SinkPolicy policy() {
+        return policy;
+    }
+
+    public int backlog() {
+        return queue.size();
+    }
+
+    /**
+     * Time the oldest entry being written has waited since it was queued; zero when idle
+     */
+    public Duration lag() {
+        long since = writingSinceNanos;
+        return since == 0 ? Duration.ZERO : Duration.ofNanos(System.nanoTime() - since);
+    }
+
+    public long storedEntries() {
+        return stored.sum();
+    }
+
+    public long failedEntries() {
+        return failed.sum();
+    }
+
+    public long shedEntries() {
+        return shed.sum();
+    }
+
+    /**
+     * Stop accepting entries; the queued ones are still written
+     */
+    public void shutdown() {
+        closed = true;
+        LockSupport.unpark(writer);
+    }
+
+    /**
+     * Wait for the queued entries to be written, up to the deadline
+     *
+     * @return true if the queue was written out in time
+     */
+    public boolean awaitTermination(final long deadlineNanos) throws InterruptedException {
+        return writer.join(Duration.ofNanos(Math.max(1, deadlineNanos - System.nanoTime())));
+    }
+}
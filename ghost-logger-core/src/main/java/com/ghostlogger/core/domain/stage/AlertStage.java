@@ -0,0 +1,41 @@
+package com.ghostlogger.core.domain.stage;
+
+import com.ghostlogger.core.domain.alert.AlertDispatcher;
+import com.ghostlogger.core.domain.model.ErrorLog;
+import com.ghostlogger.core.domain.model.LogEntry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Alert Stage
+ * <p>
+ * Queues an alert with the AlertDispatcher for every ErrorLog, whatever its severity;
+ * the dispatcher never blocks, so storage never waits for alerting. A rule silences
+ * an ErrorLog with {@code noalert}, or by downgrading it below ERROR with {@code level}.
+ */
+@Component
+public class AlertStage implements ProcessorStage {
+
+    private final AlertDispatcher alertDispatcher;
+
+    public AlertStage(final AlertDispatcher alertDispatcher) {
+        this.alertDispatcher = alertDispatcher;
+    }
+
+    @Override
+    public String name() {
+        return "alert";
+    }
+
+    @Override
+    public int order() {
+        return ALERT;
+    }
+
+    @Override
+    public LogEntry process(final LogEntry entry, final StageContext context) {
+        if (entry instanceof ErrorLog errorLog && !context.alertSuppressed()) {
+            alertDispatcher.dispatch(errorLog);
+        }
+        return entry;
+    }
+}
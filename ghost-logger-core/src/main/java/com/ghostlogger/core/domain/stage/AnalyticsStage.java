@@ -0,0 +1,71 @@
+package com.ghostlogger.core.domain.stage;
+
+import com.ghostlogger.core.domain.analytics.CardinalityTracker;
+import com.ghostlogger.core.domain.analytics.ErrorHeavyHitterTracker;
+import com.ghostlogger.core.domain.analytics.MetricAggregator;
+import com.ghostlogger.core.domain.model.AuditLog;
+import com.ghostlogger.core.domain.model.ErrorLog;
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.model.MetricLog;
+import com.ghostlogger.core.domain.tail.LogTailBroadcaster;
+import com.ghostlogger.core.domain.template.TemplateMiner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Analytics Stage
+ * <p>
+ * Fans the entry out to live tail subscribers, mines its message template (kept on
+ * the StageContext for storage) and feeds the type-specific analytics. Runs before storage, so a storage failure
+ * does not skew them:
+ * - ErrorLog: ErrorHeavyHitterTracker (top-K fingerprints)
+ * - MetricLog: MetricAggregator (tumbling windows)
+ * - AuditLog: CardinalityTracker (distinct users per action)
+ */
+@Component
+public class AnalyticsStage implements ProcessorStage {
+
+    private final MetricAggregator metricAggregator;
+    private final ErrorHeavyHitterTracker errorHeavyHitterTracker;
+    private final CardinalityTracker cardinalityTracker;
+    private final LogTailBroadcaster logTailBroadcaster;
+    private final TemplateMiner templateMiner;
+
+    public AnalyticsStage(
+        final MetricAggregator metricAggregator,
+        final ErrorHeavyHitterTracker errorHeavyHitterTracker,
+        final CardinalityTracker cardinalityTracker,
+        final LogTailBroadcaster logTailBroadcaster,
+        final TemplateMiner templateMiner
+    ) {
+        this.metricAggregator = metricAggregator;
+        this.errorHeavyHitterTracker = errorHeavyHitterTracker;
+        this.cardinalityTracker = cardinalityTracker;
+        this.logTailBroadcaster = logTailBroadcaster;
+        this.templateMiner = templateMiner;
+    }
+
+    @Override
+    public String name() {
+        return "analytics";
+    }
+
+    @Override
+    public int order() {
+        return ANALYTICS;
+    }
+
+    @Override
+    public LogEntry process(final LogEntry entry, final StageContext context) {
+        logTailBroadcaster.publish(entry);
+        if (entry.message() != null) {
+            context.mined(entry.message(),
+                templateMiner.mine(entry.message(), Math.max(1, Math.round(entry.sampleWeight()))));
+        }
+        switch (entry) {
+            case ErrorLog errorLog -> errorHeavyHitterTracker.record(errorLog);
+            case MetricLog metricLog -> metricAggregator.record(metricLog);
+            case AuditLog auditLog -> cardinalityTracker.recordAudit(auditLog);
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,50 @@
+package com.ghostlogger.core.domain.stage;
+
+import com.ghostlogger.core.domain.model.LogEntry;
+
+/**
+ * Processor Stage SPI
+ * <p>
+ * One step of the per-entry chain run by the StructuredLogProcessor. Every Spring bean
+ * implementing this interface joins the chain, in ascending {@link #order()}; the
+ * built-in stages leave gaps so custom stages can run between them:
+ * <ul>
+ *   <li>{@value #RULES} - routing/filter rules ({@link RuleStage})</li>
+ *   <li>{@value #REDACTION} - PII and secret redaction ({@link RedactionStage})</li>
+ *   <li>{@value #ANALYTICS} - live tail, template mining and analytics ({@link AnalyticsStage})</li>
+ *   <li>{@value #ALERT} - alerts for ERROR/FATAL ErrorLogs ({@link AlertStage})</li>
+ *   <li>{@value #STORAGE} - the StorageService sinks ({@link StorageStage})</li>
+ * </ul>
+ * Stages run on the shard writer thread of the entry, one entry at a time, so they
+ * must not block beyond their own port calls and must be safe for concurrent use
+ * across shards.
+ */
+public interface ProcessorStage {
+
+    int RULES = 100;
+    int REDACTION = 200;
+    int ANALYTICS = 300;
+    int ALERT = 400;
+    int STORAGE = 500;
+
+    /**
+     * Short name for logs, e.g. "rules"
+     */
+    String name();
+
+    /**
+     * Position in the chain; lower runs first
+     */
+    int order();
+
+    /**
+     * Process one entry
+     *
+     * @param entry   entry as left by the previous stage
+     * @param context routing state of this entry, shared by all stages
+     * @return the entry for the next stage (the same instance or a modified copy),
+     *         or null to drop it without running the remaining stages
+     * @throws Exception to fail the entry, and with it the rest of its slice
+     */
+    LogEntry process(LogEntry entry, StageContext context) throws Exception;
+}
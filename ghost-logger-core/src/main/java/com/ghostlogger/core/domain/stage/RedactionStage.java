@@ -0,0 +1,37 @@
+package com.ghostlogger.core.domain.stage;
+
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.redaction.Redactor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redaction Stage
+ * <p>
+ * Replaces e-mail addresses, card numbers, tokens and secrets in the message, stack
+ * trace and metadata of every entry before it reaches the live tail, the analytics
+ * or any sink. Runs after the rules, so rules still see the original text.
+ */
+@Component
+public class RedactionStage implements ProcessorStage {
+
+    private final Redactor redactor;
+
+    public RedactionStage(final Redactor redactor) {
+        this.redactor = redactor;
+    }
+
+    @Override
+    public String name() {
+        return "redaction";
+    }
+
+    @Override
+    public int order() {
+        return REDACTION;
+    }
+
+    @Override
+    public LogEntry process(final LogEntry entry, final StageContext context) {
+        return redactor.redact(entry);
+    }
+}
@@ -0,0 +1,36 @@
+package com.ghostlogger.core.domain.stage;
+
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.rule.RuleEngine;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rule Stage
+ * <p>
+ * Applies the active rule set of the {@link RuleEngine}: drops, routes, enriches or
+ * re-levels the entry before any other stage sees it.
+ */
+@Component
+public class RuleStage implements ProcessorStage {
+
+    private final RuleEngine ruleEngine;
+
+    public RuleStage(final RuleEngine ruleEngine) {
+        this.ruleEngine = ruleEngine;
+    }
+
+    @Override
+    public String name() {
+        return "rules";
+    }
+
+    @Override
+    public int order() {
+        return RULES;
+    }
+
+    @Override
+    public LogEntry process(final LogEntry entry, final StageContext context) {
+        return ruleEngine.current().apply(entry, context);
+    }
+}
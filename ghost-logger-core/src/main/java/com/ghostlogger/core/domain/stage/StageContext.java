@@ -0,0 +1,80 @@
+package com.ghostlogger.core.domain.stage;
+
+import com.ghostlogger.core.domain.template.TemplatedMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routing state of the entry currently in the processor chain
+ * <p>
+ * Lets an early stage (e.g. a rule) choose the sinks a later stage writes to, or
+ * keep the alert stage from alerting on the entry. An
+ * entry with no route goes to the default sinks. It also carries the template the
+ * analytics stage mined for the message, so storage does not tokenize it again. Reused for every entry of a
+ * slice and confined to the thread processing it, so it is not thread-safe.
+ */
+public final class StageContext {
+
+    private final List<String> routes = new ArrayList<>(2);
+    private boolean alertSuppressed;
+    private String minedMessage;
+    private TemplatedMessage template;
+
+    /**
+     * Send the entry to the given sink, in addition to the routes added so far
+     */
+    public void route(final String sink) {
+        if (!routes.contains(sink)) {
+            routes.add(sink);
+        }
+    }
+
+    /**
+     * True if the entry is routed to the sink, or has no route and the sink is a default one
+     */
+    public boolean routedTo(final String sink, final boolean defaultSink) {
+        return routes.isEmpty() ? defaultSink : routes.contains(sink);
+    }
+
+    public List<String> routes() {
+        return List.copyOf(routes);
+    }
+
+    /**
+     * Keep the alert stage from alerting on the entry
+     */
+    public void suppressAlert() {
+        alertSuppressed = true;
+    }
+
+    public boolean alertSuppressed() {
+        return alertSuppressed;
+    }
+
+    /**
+     * Remember the template mined for a message
+     */
+    public void mined(final String message, final TemplatedMessage template) {
+        this.minedMessage = message;
+        this.template = template;
+    }
+
+    /**
+     * The template mined for this message; null if it was not mined, or a later stage
+     * replaced the message
+     */
+    public TemplatedMessage template(final String message) {
+        return message != null && message == minedMessage ? template : null;
+    }
+
+    /**
+     * Clear the routes, the alert suppression and the mined template before the next entry
+     */
+    public void reset() {
+        routes.clear();
+        alertSuppressed = false;
+        minedMessage = null;
+        template = null;
+    }
+}
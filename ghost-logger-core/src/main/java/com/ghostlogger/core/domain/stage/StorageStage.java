@@ -0,0 +1,39 @@
+package com.ghostlogger.core.domain.stage;
+
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.sink.SinkRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Storage Stage
+ * <p>
+ * Hands the entry to the SinkRegistry, which queues it for every StorageService sink
+ * it is routed to, or for every default sink if no rule routed it. Never waits for a
+ * sink: writes, retries and failures happen on the writer of each sink, so a store
+ * no longer fails the entry.
+ */
+@Component
+public class StorageStage implements ProcessorStage {
+
+    private final SinkRegistry sinkRegistry;
+
+    public StorageStage(final SinkRegistry sinkRegistry) {
+        this.sinkRegistry = sinkRegistry;
+    }
+
+    @Override
+    public String name() {
+        return "storage";
+    }
+
+    @Override
+    public int order() {
+        return STORAGE;
+    }
+
+    @Override
+    public LogEntry process(final LogEntry entry, final StageContext context) {
+        sinkRegistry.dispatch(entry, context);
+        return entry;
+    }
+}
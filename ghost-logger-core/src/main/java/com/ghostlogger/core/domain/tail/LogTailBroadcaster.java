@@ -0,0 +1,75 @@
+package com.ghostlogger.core.domain.tail;
+
+import com.ghostlogger.core.domain.model.LogEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log Tail Broadcaster - Lock-Free Fan-Out to Live Tail Subscribers
+ * <p>
+ * Architectural Decisions:
+ * - Subscriptions are compiled into an immutable {@link SubscriptionIndex},
+ *   swapped atomically (copy-on-write) on subscribe/unsubscribe
+ * - {@link #publish(LogEntry)} evaluates filters once per entry on the ingest
+ *   path and costs a single volatile read when nobody is tailing
+ * - Delivery is a non-blocking offer into each subscriber's own ring buffer
+ */
+@Service
+public class LogTailBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(LogTailBroadcaster.class);
+
+    private final List<TailSubscription> subscriptions = new ArrayList<>();
+    private final LongAdder published = new LongAdder();
+    private volatile SubscriptionIndex index = SubscriptionIndex.EMPTY;
+
+    public TailSubscription subscribe(final TailFilter filter, final int bufferCapacity) {
+        TailSubscription subscription = new TailSubscription(filter, bufferCapacity);
+        synchronized (subscriptions) {
+            subscriptions.add(subscription);
+            index = new SubscriptionIndex(subscriptions);
+        }
+        log.info("Tail subscription opened [id={}, filter={}]", subscription.id(), filter);
+        return subscription;
+    }
+
+    public void unsubscribe(final TailSubscription subscription) {
+        subscription.close();
+        synchronized (subscriptions) {
+            if (!subscriptions.remove(subscription)) {
+                return;
+            }
+            index = new SubscriptionIndex(subscriptions);
+        }
+        log.info("Tail subscription closed [id={}]", subscription.id());
+    }
+
+    /**
+     * Offer an entry to every matching subscriber; never blocks
+     */
+    public void publish(final LogEntry entry) {
+        SubscriptionIndex current = index;
+        if (current.isEmpty()) {
+            return;
+        }
+        if (current.publish(entry) > 0) {
+            published.increment();
+        }
+    }
+
+    public int subscriberCount() {
+        return index.size();
+    }
+
+    /**
+     * Number of entries delivered to at least one subscriber
+     */
+    public long publishedEntries() {
+        return published.sum();
+    }
+}
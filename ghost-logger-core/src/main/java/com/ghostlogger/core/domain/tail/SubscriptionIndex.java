@@ -0,0 +1,88 @@
+package com.ghostlogger.core.domain.tail;
+
+import com.ghostlogger.core.domain.model.LogEntry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled, immutable set of tail subscriptions.
+ * <p>
+ * Subscriptions are bucketed by their most selective equality predicate
+ * (source, else traceId, else none), so publishing an entry costs two hash
+ * lookups plus the unkeyed subscriptions, not a scan of every subscriber.
+ * Each subscription lives in exactly one bucket, so it is offered an entry at
+ * most once. Rebuilt copy-on-write whenever subscriptions change.
+ */
+final class SubscriptionIndex {
+
+    private static final TailSubscription[] NONE = new TailSubscription[0];
+
+    static final SubscriptionIndex EMPTY = new SubscriptionIndex(List.of());
+
+    private final Map<String, TailSubscription[]> bySource;
+    private final Map<String, TailSubscription[]> byTraceId;
+    private final TailSubscription[] unkeyed;
+    private final int size;
+
+    SubscriptionIndex(final List<TailSubscription> subscriptions) {
+        Map<String, List<TailSubscription>> sources = new HashMap<>();
+        Map<String, List<TailSubscription>> traces = new HashMap<>();
+        List<TailSubscription> rest = new ArrayList<>();
+        for (TailSubscription subscription : subscriptions) {
+            TailFilter filter = subscription.filter();
+            if (filter.source() != null) {
+                sources.computeIfAbsent(filter.source(), k -> new ArrayList<>()).add(subscription);
+            } else if (filter.traceId() != null) {
+                traces.computeIfAbsent(filter.traceId(), k -> new ArrayList<>()).add(subscription);
+            } else {
+                rest.add(subscription);
+            }
+        }
+        this.bySource = freeze(sources);
+        this.byTraceId = freeze(traces);
+        this.unkeyed = rest.toArray(NONE);
+        this.size = subscriptions.size();
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return number of subscriptions the entry was offered to
+     */
+    int publish(final LogEntry entry) {
+        int matched = offerMatching(bySource.get(entry.source()), entry);
+        if (!byTraceId.isEmpty() && entry.traceContext() != null) {
+            matched += offerMatching(byTraceId.get(entry.traceContext().traceId()), entry);
+        }
+        return matched + offerMatching(unkeyed, entry);
+    }
+
+    private static int offerMatching(final TailSubscription[] candidates, final LogEntry entry) {
+        if (candidates == null) {
+            return 0;
+        }
+        int matched = 0;
+        for (TailSubscription subscription : candidates) {
+            if (subscription.filter().matches(entry)) {
+                subscription.offer(entry);
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    private static Map<String, TailSubscription[]> freeze(final Map<String, List<TailSubscription>> buckets) {
+        Map<String, TailSubscription[]> frozen = new HashMap<>(buckets.size() * 2);
+        buckets.forEach((key, list) -> frozen.put(key, list.toArray(NONE)));
+        return Map.copyOf(frozen);
+    }
+}
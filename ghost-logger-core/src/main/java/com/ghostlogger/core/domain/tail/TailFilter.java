@@ -0,0 +1,43 @@
+package com.ghostlogger.core.domain.tail;
+
+import com.ghostlogger.core.domain.model.ErrorLog;
+import com.ghostlogger.core.domain.model.LogEntry;
+
+/**
+ * Live Tail Filter
+ * <p>
+ * Server-side predicate of a tail subscription; null fields match everything.
+ * Only ErrorLog carries a severity, other entries are treated as INFO for
+ * the minimum-level check.
+ */
+public record TailFilter(
+    String source,
+    String type,
+    LogEntry.LogLevel minLevel,
+    String traceId
+) {
+
+    public TailFilter {
+        if (type != null) {
+            type = type.toUpperCase();
+            if (!type.equals("ERROR") && !type.equals("AUDIT") && !type.equals("METRIC")) {
+                throw new IllegalArgumentException("Unknown log type: " + type);
+            }
+        }
+    }
+
+    public static TailFilter all() {
+        return new TailFilter(null, null, null, null);
+    }
+
+    public boolean matches(final LogEntry entry) {
+        return (source == null || source.equals(entry.source()))
+            && (type == null || type.equals(entry.type()))
+            && (minLevel == null || levelOf(entry).compareTo(minLevel) >= 0)
+            && (traceId == null || (entry.traceContext() != null && traceId.equals(entry.traceContext().traceId())));
+    }
+
+    static LogEntry.LogLevel levelOf(final LogEntry entry) {
+        return entry instanceof ErrorLog errorLog ? errorLog.severity() : LogEntry.LogLevel.INFO;
+    }
+}
@@ -0,0 +1,103 @@
+package com.ghostlogger.core.domain.tail;
+
+import com.ghostlogger.core.concurrent.MpscRingBuffer;
+import com.ghostlogger.core.domain.model.LogEntry;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Live Tail Subscription
+ * <p>
+ * Each subscriber owns a bounded ring buffer. Ingest threads only ever
+ * {@link #offer(LogEntry)}, which never blocks: when the viewer falls behind,
+ * the entry is dropped and counted, and the drop count is reported to the
+ * viewer in-band. A slow viewer therefore cannot slow down ingestion.
+ */
+public final class TailSubscription {
+
+    private final String id = UUID.randomUUID().toString();
+    private final TailFilter filter;
+    private final MpscRingBuffer<LogEntry> buffer;
+    private final LongAdder dropped = new LongAdder();
+    private volatile Thread waiter;
+    private volatile boolean closed;
+
+    TailSubscription(final TailFilter filter, final int capacity) {
+        this.filter = filter;
+        this.buffer = new MpscRingBuffer<>(capacity);
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public TailFilter filter() {
+        return filter;
+    }
+
+    /**
+     * Called on the ingest path - never blocks
+     */
+    void offer(final LogEntry entry) {
+        if (!buffer.offer(entry)) {
+            dropped.increment();
+            return;
+        }
+        Thread consumer = waiter;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /**
+     * Next entry, waiting up to the timeout (subscriber thread only)
+     *
+     * @return null on timeout or when closed
+     */
+    public LogEntry poll(final Duration timeout) {
+        LogEntry entry = buffer.poll();
+        if (entry != null || closed) {
+            return entry;
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        waiter = Thread.currentThread();
+        try {
+            while ((entry = buffer.poll()) == null && !closed) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return null;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+            return entry;
+        } finally {
+            waiter = null;
+        }
+    }
+
+    /**
+     * Entries dropped since the previous call
+     */
+    public long takeDropped() {
+        return dropped.sumThenReset();
+    }
+
+    public int backlog() {
+        return buffer.size();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    void close() {
+        closed = true;
+        Thread consumer = waiter;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+}
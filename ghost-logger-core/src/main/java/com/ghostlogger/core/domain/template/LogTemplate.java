@@ -0,0 +1,11 @@
+package com.ghostlogger.core.domain.template;
+
+/**
+ * A mined template and the number of messages seen for it
+ *
+ * @param id       stable template id
+ * @param template current template text, with {@code <*>} for parameters
+ * @param count    messages matched, weighted by sample weight
+ */
+public record LogTemplate(long id, String template, long count) {
+}
@@ -0,0 +1,98 @@
+package com.ghostlogger.core.domain.template;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One template and its version history.
+ * <p>
+ * A template only ever generalizes (a literal token becomes a wildcard), and every
+ * change appends a version, so messages encoded against an older version can still
+ * be rendered exactly. Versions are published copy-on-write; mutation happens under
+ * the owning leaf's lock.
+ */
+final class TemplateCluster {
+
+    static final String WILDCARD = "<*>";
+
+    final long id;
+    final LongAdder count = new LongAdder();
+    private volatile String[][] versions;
+
+    TemplateCluster(final long id, final String[] tokens) {
+        this.id = id;
+        this.versions = new String[][] {tokens};
+    }
+
+    String[] current() {
+        String[][] snapshot = versions;
+        return snapshot[snapshot.length - 1];
+    }
+
+    int currentVersion() {
+        return versions.length - 1;
+    }
+
+    String[] version(final int version) {
+        String[][] snapshot = versions;
+        return version >= 0 && version < snapshot.length ? snapshot[version] : null;
+    }
+
+    /**
+     * Number of positions where the template has the same literal token, or -1 if
+     * wildcards plus matches cover less than {@code minCovered} positions
+     */
+    int literalMatches(final String[] tokens, final int minCovered) {
+        String[] template = current();
+        int same = 0;
+        int covered = 0;
+        for (int i = 0; i < tokens.length; i++) {
+            if (template[i].equals(WILDCARD)) {
+                covered++;
+            } else if (template[i].equals(tokens[i])) {
+                same++;
+                covered++;
+            }
+        }
+        return covered >= minCovered ? same : -1;
+    }
+
+    /**
+     * True if the current version matches the tokens without generalizing
+     */
+    boolean fits(final String[] tokens) {
+        String[] template = current();
+        for (int i = 0; i < tokens.length; i++) {
+            if (!template[i].equals(WILDCARD) && !template[i].equals(tokens[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Turn every differing literal into a wildcard, adding a version if anything changed
+     */
+    void generalize(final String[] tokens) {
+        String[] template = current();
+        String[] merged = null;
+        for (int i = 0; i < tokens.length; i++) {
+            if (!template[i].equals(WILDCARD) && !template[i].equals(tokens[i])) {
+                if (merged == null) {
+                    merged = template.clone();
+                }
+                merged[i] = WILDCARD;
+            }
+        }
+        if (merged != null) {
+            String[][] snapshot = versions;
+            String[][] grown = Arrays.copyOf(snapshot, snapshot.length + 1);
+            grown[snapshot.length] = merged;
+            versions = grown;
+        }
+    }
+
+    String text() {
+        return String.join(" ", current());
+    }
+}
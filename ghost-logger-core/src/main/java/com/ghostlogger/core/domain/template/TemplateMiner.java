@@ -0,0 +1,238 @@
+package com.ghostlogger.core.domain.template;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Template Miner - Online Log Template Extraction (Drain)
+ * <p>
+ * Maps every message to a template id plus the tokens that vary, learning templates
+ * as traffic arrives. "Log message number: 17" and "Log message number: 18" share
+ * the template "Log message number: &lt;*&gt;" with parameters ["17"] and ["18"].
+ * <p>
+ * Architectural Decisions:
+ * - Drain fixed-depth parse tree: messages are routed by token count, then by their
+ *   first {@code depth} tokens (tokens containing digits route as wildcards), to a
+ *   small leaf of candidate templates; cost is independent of the number of templates
+ * - A message joins the most specific candidate covering at least
+ *   {@code similarityThreshold} of its tokens, otherwise it starts a new template
+ * - Tokens are split on single spaces, so rendering is exact, whitespace included
+ * - Template ids are stable; generalizing adds a version instead of rewriting history
+ * - Routing nodes are concurrent maps; each leaf is locked only while matching
+ */
+@Service
+public class TemplateMiner {
+
+    private static final Logger log = LoggerFactory.getLogger(TemplateMiner.class);
+
+    private final TemplateMinerPolicy policy;
+    private final ConcurrentHashMap<Integer, Node> roots = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, TemplateCluster> clusters = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(TemplatedMessage.RAW + 1);
+    private final LongAdder rawMessages = new LongAdder();
+
+    public TemplateMiner(final TemplateMinerPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Learn from a message and count it against its template
+     *
+     * @param message non-null message
+     * @param weight number of original messages it stands for
+     */
+    public TemplatedMessage mine(final String message, final long weight) {
+        String[] tokens = tokenize(message);
+        if (tokens == null) {
+            rawMessages.add(weight);
+            return TemplatedMessage.raw(message);
+        }
+        Leaf leaf = route(tokens, true);
+        TemplateCluster cluster;
+        synchronized (leaf) {
+            cluster = leaf.bestMatch(tokens, minCovered(tokens));
+            if (cluster != null) {
+                cluster.generalize(tokens);
+            } else if (clusters.size() < policy.maxTemplates()) {
+                cluster = new TemplateCluster(nextId.getAndIncrement(), tokens.clone());
+                leaf.clusters.add(cluster);
+                clusters.put(cluster.id, cluster);
+                log.debug("New log template [id={}, template={}]", cluster.id, message);
+            } else {
+                rawMessages.add(weight);
+                return TemplatedMessage.raw(message);
+            }
+        }
+        cluster.count.add(weight);
+        return extract(cluster, cluster.currentVersion(), tokens);
+    }
+
+    /**
+     * Encode a non-null message against the known templates without learning or counting
+     */
+    public TemplatedMessage encode(final String message) {
+        String[] tokens = tokenize(message);
+        if (tokens == null) {
+            return TemplatedMessage.raw(message);
+        }
+        Leaf leaf = route(tokens, false);
+        if (leaf == null) {
+            return TemplatedMessage.raw(message);
+        }
+        synchronized (leaf) {
+            for (TemplateCluster cluster : leaf.clusters) {
+                if (cluster.fits(tokens)) {
+                    return extract(cluster, cluster.currentVersion(), tokens);
+                }
+            }
+        }
+        return TemplatedMessage.raw(message);
+    }
+
+    /**
+     * Rebuild the original message
+     *
+     * @throws IllegalArgumentException if the template or version is unknown
+     */
+    public String render(final TemplatedMessage templated) {
+        if (templated.isRaw()) {
+            return templated.params().get(0);
+        }
+        TemplateCluster cluster = clusters.get(templated.templateId());
+        String[] template = cluster == null ? null : cluster.version(templated.version());
+        if (template == null) {
+            throw new IllegalArgumentException(
+                "Unknown template " + templated.templateId() + " v" + templated.version());
+        }
+        StringBuilder message = new StringBuilder();
+        int param = 0;
+        for (int i = 0; i < template.length; i++) {
+            if (i > 0) {
+                message.append(' ');
+            }
+            message.append(template[i].equals(TemplateCluster.WILDCARD)
+                ? templated.params().get(param++)
+                : template[i]);
+        }
+        return message.toString();
+    }
+
+    public Optional<LogTemplate> template(final long id) {
+        return Optional.ofNullable(clusters.get(id)).map(TemplateMiner::toTemplate);
+    }
+
+    /**
+     * Templates with the highest message counts, largest first
+     */
+    public List<LogTemplate> top(final int limit) {
+        List<LogTemplate> templates = new ArrayList<>(clusters.size());
+        for (TemplateCluster cluster : clusters.values()) {
+            templates.add(toTemplate(cluster));
+        }
+        templates.sort(Comparator.comparingLong(LogTemplate::count).reversed());
+        return templates.size() > limit ? List.copyOf(templates.subList(0, limit)) : templates;
+    }
+
+    public int templateCount() {
+        return clusters.size();
+    }
+
+    /**
+     * Messages that were not templated (too long, or the template limit was reached)
+     */
+    public long rawMessages() {
+        return rawMessages.sum();
+    }
+
+    public TemplateMinerPolicy policy() {
+        return policy;
+    }
+
+    private String[] tokenize(final String message) {
+        if (message == null || message.isEmpty()) {
+            return null;
+        }
+        String[] tokens = message.split(" ", -1);
+        return tokens.length > policy.maxTokens() ? null : tokens;
+    }
+
+    private int minCovered(final String[] tokens) {
+        return (int) Math.ceil(policy.similarityThreshold() * tokens.length);
+    }
+
+    private Leaf route(final String[] tokens, final boolean create) {
+        Node node = create
+            ? roots.computeIfAbsent(tokens.length, length -> new Node())
+            : roots.get(tokens.length);
+        int levels = Math.min(policy.depth(), tokens.length);
+        for (int i = 0; i < levels && node != null; i++) {
+            String key = hasDigit(tokens[i]) ? TemplateCluster.WILDCARD : tokens[i];
+            Node child = node.children.get(key);
+            if (child == null && create) {
+                if (node.children.size() >= policy.maxChildren()) {
+                    key = TemplateCluster.WILDCARD;
+                }
+                child = node.children.computeIfAbsent(key, k -> new Node());
+            } else if (child == null) {
+                child = node.children.get(TemplateCluster.WILDCARD);
+            }
+            node = child;
+        }
+        return node == null ? null : node.leaf;
+    }
+
+    private static TemplatedMessage extract(final TemplateCluster cluster, final int version, final String[] tokens) {
+        String[] template = cluster.version(version);
+        List<String> params = new ArrayList<>();
+        for (int i = 0; i < template.length; i++) {
+            if (template[i].equals(TemplateCluster.WILDCARD)) {
+                params.add(tokens[i]);
+            }
+        }
+        return new TemplatedMessage(cluster.id, version, params);
+    }
+
+    private static LogTemplate toTemplate(final TemplateCluster cluster) {
+        return new LogTemplate(cluster.id, cluster.text(), cluster.count.sum());
+    }
+
+    private static boolean hasDigit(final String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (Character.isDigit(token.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Node {
+        final ConcurrentHashMap<String, Node> children = new ConcurrentHashMap<>();
+        final Leaf leaf = new Leaf();
+    }
+
+    private static final class Leaf {
+        final List<TemplateCluster> clusters = new ArrayList<>();
+
+        TemplateCluster bestMatch(final String[] tokens, final int minCovered) {
+            TemplateCluster best = null;
+            int bestMatches = -1;
+            for (TemplateCluster cluster : clusters) {
+                int matches = cluster.literalMatches(tokens, minCovered);
+                if (matches > bestMatches) {
+                    best = cluster;
+                    bestMatches = matches;
+                }
+            }
+            return best;
+        }
+    }
+}
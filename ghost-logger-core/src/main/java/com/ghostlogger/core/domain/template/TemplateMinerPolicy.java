@@ -0,0 +1,35 @@
+package com.ghostlogger.core.domain.template;
+
+/**
+ * Template Miner Policy
+ *
+ * @param depth               prefix tokens used to route a message down the parse tree
+ * @param similarityThreshold fraction of matching tokens needed to join an existing template
+ * @param maxChildren         children per tree node before new tokens route to the wildcard child
+ * @param maxTemplates        templates kept before new messages are stored raw
+ * @param maxTokens           longer messages are stored raw
+ */
+public record TemplateMinerPolicy(
+    int depth,
+    double similarityThreshold,
+    int maxChildren,
+    int maxTemplates,
+    int maxTokens
+) {
+
+    public TemplateMinerPolicy {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Depth must be positive");
+        }
+        if (!(similarityThreshold > 0 && similarityThreshold <= 1)) {
+            throw new IllegalArgumentException("SimilarityThreshold must be in (0, 1]");
+        }
+        if (maxChildren < 1 || maxTemplates < 1 || maxTokens < 1) {
+            throw new IllegalArgumentException("Limits must be positive");
+        }
+    }
+
+    public static TemplateMinerPolicy defaults() {
+        return new TemplateMinerPolicy(4, 0.5, 100, 10_000, 256);
+    }
+}
@@ -0,0 +1,51 @@
+package com.ghostlogger.core.domain.template;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact form of a log message: a template version plus the tokens substituted
+ * into its wildcards. Messages that do not fit a template are kept raw.
+ *
+ * @param templateId template id, or {@link #RAW} when {@code params} holds the whole message
+ * @param version    template version the parameters were extracted against
+ * @param params     wildcard values in order
+ */
+public record TemplatedMessage(long templateId, int version, List<String> params) {
+
+    public static final long RAW = 0;
+
+    public TemplatedMessage {
+        params = List.copyOf(params);
+    }
+
+    public static TemplatedMessage raw(final String message) {
+        return new TemplatedMessage(RAW, 0, List.of(message));
+    }
+
+    public boolean isRaw() {
+        return templateId == RAW;
+    }
+
+    /**
+     * The parameters packed into one UTF-8 array, space-separated as in the message
+     * (a token never contains a space); null when there are none, so that zero
+     * parameters and one empty parameter stay distinct
+     */
+    public byte[] packedParams() {
+        return params.isEmpty() ? null : String.join(" ", params).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Rebuild a message from its template version and {@link #packedParams()}
+     */
+    public static TemplatedMessage unpack(final long templateId, final int version, final byte[] packedParams) {
+        if (packedParams == null) {
+            return new TemplatedMessage(templateId, version, List.of());
+        }
+        String params = new String(packedParams, StandardCharsets.UTF_8);
+        return new TemplatedMessage(templateId, version,
+            templateId == RAW ? List.of(params) : Arrays.asList(params.split(" ", -1)));
+    }
+}
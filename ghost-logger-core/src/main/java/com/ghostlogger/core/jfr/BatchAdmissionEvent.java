@@ -0,0 +1,55 @@
+package com.ghostlogger.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Admission of one batch: rate-limit decision, tail sampling and adaptive sampling
+ */
+@Name(PipelineEvents.NAME_PREFIX + "BatchAdmission")
+@Label("Batch Admission")
+@Category({PipelineEvents.CATEGORY, "Ingestion"})
+@Description("Rate-limit decision and sampling of a batch before processing")
+@Threshold("20 ms")
+@StackTrace(false)
+public final class BatchAdmissionEvent extends Event {
+
+    @Label("Batch Id")
+    String batchId;
+
+    @Label("Trace Id")
+    String traceId;
+
+    @Label("Rate Limit")
+    @Description("permitted, shed or rejected")
+    String rateLimit;
+
+    @Label("Entries")
+    int entries;
+
+    @Label("Ready")
+    @Description("Entries not held back by tail sampling")
+    int ready;
+
+    @Label("Kept")
+    @Description("Ready entries kept by adaptive sampling")
+    int kept;
+
+    public void complete(final String rateLimit, final int entries, final int ready, final int kept) {
+        end();
+        if (shouldCommit()) {
+            this.batchId = PipelineEvents.batchId();
+            this.traceId = PipelineEvents.traceId();
+            this.rateLimit = rateLimit;
+            this.entries = entries;
+            this.ready = ready;
+            this.kept = kept;
+            commit();
+        }
+    }
+}
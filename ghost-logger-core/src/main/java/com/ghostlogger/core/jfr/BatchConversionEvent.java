@@ -0,0 +1,44 @@
+package com.ghostlogger.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Converting the DTOs of one batch to domain entries
+ */
+@Name(PipelineEvents.NAME_PREFIX + "BatchConversion")
+@Label("Batch Conversion")
+@Category({PipelineEvents.CATEGORY, "Ingestion"})
+@Description("Request DTOs of a batch converted to domain log entries")
+@Threshold("20 ms")
+@StackTrace(false)
+public final class BatchConversionEvent extends Event {
+
+    @Label("Batch Id")
+    String batchId;
+
+    @Label("Trace Id")
+    String traceId;
+
+    @Label("Converted")
+    int converted;
+
+    @Label("Rejected")
+    int rejected;
+
+    public void complete(final int converted, final int rejected) {
+        end();
+        if (shouldCommit()) {
+            this.batchId = PipelineEvents.batchId();
+            this.traceId = PipelineEvents.traceId();
+            this.converted = converted;
+            this.rejected = rejected;
+            commit();
+        }
+    }
+}
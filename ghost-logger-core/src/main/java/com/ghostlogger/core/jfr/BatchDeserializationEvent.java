@@ -0,0 +1,46 @@
+package com.ghostlogger.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Reading one {@code LogBatchRequest} body with Jackson
+ */
+@Name(PipelineEvents.NAME_PREFIX + "BatchDeserialization")
+@Label("Batch Deserialization")
+@Category({PipelineEvents.CATEGORY, "Ingestion"})
+@Description("JSON body of an ingest request read into a LogBatchRequest")
+@Threshold("20 ms")
+@StackTrace(false)
+public final class BatchDeserializationEvent extends Event {
+
+    @Label("Entries")
+    int entries;
+
+    @Label("Content Length")
+    @DataAmount
+    long contentLength;
+
+    @Label("Success")
+    boolean success;
+
+    /**
+     * @param entries       entries read, or 0 when the body was malformed
+     * @param contentLength declared body size, -1 when unknown
+     */
+    public void complete(final int entries, final long contentLength, final boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.entries = entries;
+            this.contentLength = contentLength;
+            this.success = success;
+            commit();
+        }
+    }
+}
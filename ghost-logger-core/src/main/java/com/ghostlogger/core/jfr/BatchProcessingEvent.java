@@ -0,0 +1,44 @@
+package com.ghostlogger.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * One {@code StructuredLogProcessor.processBatch} call
+ */
+@Name(PipelineEvents.NAME_PREFIX + "BatchProcessing")
+@Label("Batch Processing")
+@Category({PipelineEvents.CATEGORY, "Processing"})
+@Description("Admitted entries of a batch run through analytics, alerting and storage")
+@Threshold("20 ms")
+@StackTrace(false)
+public final class BatchProcessingEvent extends Event {
+
+    @Label("Batch Id")
+    String batchId;
+
+    @Label("Trace Id")
+    String traceId;
+
+    @Label("Entries")
+    int entries;
+
+    @Label("Processed")
+    int processed;
+
+    public void complete(final int entries, final int processed) {
+        end();
+        if (shouldCommit()) {
+            this.batchId = PipelineEvents.batchId();
+            this.traceId = PipelineEvents.traceId();
+            this.entries = entries;
+            this.processed = processed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.ghostlogger.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * One ingest request, from the deserialized batch to the response
+ */
+@Name(PipelineEvents.NAME_PREFIX + "BatchReceived")
+@Label("Batch Received")
+@Category({PipelineEvents.CATEGORY, "Ingestion"})
+@Description("Ingest request handled by the controller: conversion, admission and processing")
+@Threshold("20 ms")
+@StackTrace(false)
+public final class BatchReceivedEvent extends Event {
+
+    @Label("Batch Id")
+    String batchId;
+
+    @Label("Trace Id")
+    String traceId;
+
+    @Label("Entries")
+    int entries;
+
+    @Label("Accepted")
+    int accepted;
+
+    @Label("Rejected")
+    int rejected;
+
+    /**
+     * Called outside the batch scope, so the ids are passed in
+     */
+    public void complete(
+        final String batchId,
+        final String traceId,
+        final int entries,
+        final int accepted,
+        final int rejected
+    ) {
+        end();
+        if (shouldCommit()) {
+            this.batchId = batchId;
+            this.traceId = traceId;
+            this.entries = entries;
+            this.accepted = accepted;
+            this.rejected = rejected;
+            commit();
+        }
+    }
+}
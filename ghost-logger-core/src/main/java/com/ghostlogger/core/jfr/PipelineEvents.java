@@ -0,0 +1,53 @@
+package com.ghostlogger.core.jfr;
+
+import com.ghostlogger.core.domain.model.TraceContext;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Java Flight Recorder Events of the Ingestion Pipeline
+ * <p>
+ * Every event carries the batch and trace it ran for, so one slow request can be
+ * followed from deserialization to the port calls in JDK Mission Control. The
+ * batchId is bound by the controller in a ScopedValue, as the TraceContext is,
+ * and reaches the forked alert and storage subtasks the same way.
+ * <p>
+ * Events are threshold-gated: each is begun on the hot path, but its fields are
+ * only filled and the event committed when recording is on and the duration
+ * exceeds the configured threshold. The bundled {@code ghost-logger.jfc} sets the
+ * thresholds for continuous recording.
+ */
+public final class PipelineEvents {
+
+    static final String CATEGORY = "Ghost Logger";
+    static final String NAME_PREFIX = "com.ghostlogger.";
+
+    /**
+     * ScopedValue carrying the batchId of the ingest request being processed
+     */
+    public static final ScopedValue<String> BATCH_ID = ScopedValue.newInstance();
+
+    private PipelineEvents() {
+    }
+
+    /**
+     * Call code within the scope of an ingest request
+     */
+    public static <T> T callWithBatch(final String batchId, final Callable<T> task) throws Exception {
+        return ScopedValue.where(BATCH_ID, batchId).call(task);
+    }
+
+    /**
+     * batchId of the current scope; null for traces released by the scheduler
+     */
+    public static String batchId() {
+        return BATCH_ID.isBound() ? BATCH_ID.get() : null;
+    }
+
+    /**
+     * traceId of the current scope, without creating a TraceContext when none is bound
+     */
+    static String traceId() {
+        return TraceContext.SCOPED_TRACE_CONTEXT.isBound() ? TraceContext.SCOPED_TRACE_CONTEXT.get().traceId() : null;
+    }
+}
@@ -0,0 +1,56 @@
+package com.ghostlogger.core.jfr;
+
+import com.ghostlogger.core.domain.port.PipelineMetrics.EntryType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import java.util.UUID;
+
+/**
+ * One call to an outbound port: an {@code AlertService} alert or a {@code StorageService} sink batch
+ */
+@Name(PipelineEvents.NAME_PREFIX + "PortCall")
+@Label("Port Call")
+@Category({PipelineEvents.CATEGORY, "Processing"})
+@Description("Call to an alert port for one entry, or to a storage sink for one batch")
+@Threshold("10 ms")
+@StackTrace(false)
+public final class PortCallEvent extends Event {
+
+    @Label("Batch Id")
+    String batchId;
+
+    @Label("Trace Id")
+    String traceId;
+
+    @Label("Port")
+    String port;
+
+    @Label("Entry Type")
+    String entryType;
+
+    @Label("Entry Id")
+    @Description("The entry, or the first entry of a batch")
+    String entryId;
+
+    @Label("Success")
+    boolean success;
+
+    public void complete(final String port, final EntryType entryType, final UUID entryId, final boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.batchId = PipelineEvents.batchId();
+            this.traceId = PipelineEvents.traceId();
+            this.port = port;
+            this.entryType = entryType.name();
+            this.entryId = entryId.toString();
+            this.success = success;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.ghostlogger.core.domain.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Error Heavy-Hitter Tracker - Top-K Accuracy and Window Sliding
+ */
+class ErrorHeavyHitterTrackerTest {
+
+    private static final HeavyHitterPolicy POLICY = new HeavyHitterPolicy(5, Duration.ofSeconds(10), 10, 4, 2048);
+
+    @Test
+    void topKFindsTheHeavyFingerprintsAmongNoise() {
+        ErrorHeavyHitterTracker tracker = new ErrorHeavyHitterTracker(POLICY);
+        long now = System.currentTimeMillis();
+        long[] heavy = {1_000, 800, 600, 400, 200};
+        long total = 0;
+        for (int i = 0; i < heavy.length; i++) {
+            tracker.record(fingerprint("Heavy" + i), heavy[i], now);
+            total += heavy[i];
+        }
+        for (int i = 0; i < 5_000; i++) {
+            tracker.record(fingerprint("Noise" + i), 1, now);
+            total++;
+        }
+
+        List<HeavyHitter> top = tracker.top(5);
+        assertEquals(5, top.size());
+        double bound = Math.E / POLICY.sketchWidth() * total;
+        for (int i = 0; i < heavy.length; i++) {
+            HeavyHitter hitter = top.get(i);
+            long expected = heavy[i];
+            assertEquals(fingerprint("Heavy" + i), hitter.fingerprint());
+            assertTrue(hitter.estimatedCount() >= expected && hitter.estimatedCount() <= expected + bound,
+                () -> "%s estimated at %d, true count %d".formatted(hitter.fingerprint(), hitter.estimatedCount(), expected));
+        }
+    }
+
+    @Test
+    void topIsLimitedAndOrderedLargestFirst() {
+        ErrorHeavyHitterTracker tracker = new ErrorHeavyHitterTracker(POLICY);
+        long now = System.currentTimeMillis();
+        for (int i = 1; i <= 5; i++) {
+            tracker.record(fingerprint("E" + i), i * 10L, now);
+        }
+
+        List<HeavyHitter> top = tracker.top(3);
+        assertEquals(List.of(fingerprint("E5"), fingerprint("E4"), fingerprint("E3")),
+            top.stream().map(HeavyHitter::fingerprint).toList());
+    }
+
+    @Test
+    void countsExpireAsTheWindowSlides() {
+        ErrorHeavyHitterTracker tracker = new ErrorHeavyHitterTracker(POLICY);
+        long now = System.currentTimeMillis();
+        // Two windows ago: every slot it touched has been cleared since
+        tracker.record(fingerprint("Old"), 1_000, now - 2 * POLICY.window().toMillis());
+        // Three slots ago: still inside the window
+        tracker.record(fingerprint("Recent"), 5, now - 3 * POLICY.slotMillis());
+
+        assertEquals(0, tracker.estimate(fingerprint("Old")));
+        assertEquals(List.of(new HeavyHitter(fingerprint("Recent"), 5)), tracker.top(5));
+    }
+
+    @Test
+    void expiredSlotsLowerTheCountsOfCandidates() {
+        ErrorHeavyHitterTracker tracker = new ErrorHeavyHitterTracker(POLICY);
+        long now = System.currentTimeMillis();
+        long slot = POLICY.slotMillis();
+        tracker.record(fingerprint("Spike"), 100, now - POLICY.window().toMillis() - slot);
+        tracker.record(fingerprint("Spike"), 7, now - slot);
+
+        assertEquals(List.of(new HeavyHitter(fingerprint("Spike"), 7)), tracker.top(5));
+    }
+
+    private static ErrorFingerprint fingerprint(final String exceptionType) {
+        return new ErrorFingerprint("com.example." + exceptionType + "Exception", "checkout-service");
+    }
+}
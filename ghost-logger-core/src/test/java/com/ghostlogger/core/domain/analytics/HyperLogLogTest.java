@@ -0,0 +1,106 @@
+package com.ghostlogger.core.domain.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * HyperLogLog - Estimate Error, Merging and Sliding Windows
+ * <p>
+ * Estimates are checked against three standard errors ({@code 1.04 / sqrt(m)}), which
+ * a correct sketch stays within with probability above 99.7%; the values are hashed
+ * deterministically, so the outcome does not change between runs.
+ */
+class HyperLogLogTest {
+
+    private static final int PRECISION = 12;
+
+    @Test
+    void estimatesStayWithinThreeStandardErrors() {
+        for (int cardinality : new int[] {10, 1_000, 10_000, 100_000, 1_000_000}) {
+            HyperLogLog hll = new HyperLogLog(PRECISION);
+            for (int i = 0; i < cardinality; i++) {
+                hll.offer("user-" + i);
+            }
+            assertWithinError(hll, cardinality);
+        }
+    }
+
+    @Test
+    void duplicatesDoNotChangeTheEstimate() {
+        HyperLogLog hll = new HyperLogLog(PRECISION);
+        for (int repeat = 0; repeat < 10; repeat++) {
+            for (int i = 0; i < 5_000; i++) {
+                hll.offer("user-" + i);
+            }
+        }
+        assertWithinError(hll, 5_000);
+    }
+
+    @Test
+    void mergeEstimatesTheUnion() {
+        HyperLogLog left = new HyperLogLog(PRECISION);
+        HyperLogLog right = new HyperLogLog(PRECISION);
+        for (int i = 0; i < 60_000; i++) {
+            left.offer("user-" + i);
+        }
+        for (int i = 40_000; i < 100_000; i++) {
+            right.offer("user-" + i);
+        }
+        left.merge(right);
+        assertWithinError(left, 100_000);
+    }
+
+    @Test
+    void mergeRejectsAnotherPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(12).merge(new HyperLogLog(10)));
+    }
+
+    @Test
+    void emptySketchEstimatesZero() {
+        assertEquals(0, new HyperLogLog(PRECISION).estimate());
+    }
+
+    @Test
+    void slidingSketchMergesOnlyTheLookbackSlots() {
+        SlidingHyperLogLog sliding = new SlidingHyperLogLog(PRECISION, 6, Duration.ofSeconds(10));
+        long now = System.currentTimeMillis();
+        long slot = Duration.ofSeconds(10).toMillis();
+        // 1,000 distinct values in each of the last three slots, none shared
+        for (int age = 2; age >= 0; age--) {
+            for (int i = 0; i < 1_000; i++) {
+                sliding.offer(Hashing.hash64("slot" + age + "-user-" + i), now - age * slot);
+            }
+        }
+
+        assertWithinError(sliding.merged(Duration.ofSeconds(10), now), 1_000);
+        assertWithinError(sliding.merged(Duration.ofSeconds(30), now), 3_000);
+        // A lookback longer than the window is capped at the window
+        assertWithinError(sliding.merged(Duration.ofHours(1), now), 3_000);
+    }
+
+    @Test
+    void slidingSketchForgetsSlotsThatLeftTheWindow() {
+        SlidingHyperLogLog sliding = new SlidingHyperLogLog(PRECISION, 6, Duration.ofSeconds(10));
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 1_000; i++) {
+            sliding.offer(Hashing.hash64("old-user-" + i), now - Duration.ofMinutes(2).toMillis());
+        }
+        for (int i = 0; i < 500; i++) {
+            sliding.offer(Hashing.hash64("new-user-" + i), now);
+        }
+
+        assertWithinError(sliding.merged(Duration.ofMinutes(1), now), 500);
+    }
+
+    private static void assertWithinError(final HyperLogLog hll, final long actual) {
+        long estimate = hll.estimate();
+        double tolerance = 3 * hll.standardError() * actual;
+        assertTrue(Math.abs(estimate - actual) <= Math.max(1, tolerance),
+            () -> "Estimated %d distinct values for %d (tolerance %.0f)".formatted(estimate, actual, tolerance));
+    }
+}
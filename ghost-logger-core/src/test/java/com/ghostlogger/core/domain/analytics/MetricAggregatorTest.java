@@ -0,0 +1,76 @@
+package com.ghostlogger.core.domain.analytics;
+
+import com.ghostlogger.core.domain.model.MetricLog;
+import com.ghostlogger.core.domain.model.TraceContext;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Metric Aggregator - Series Expiry and Retirement
+ * <p>
+ * A series is forgotten once all of its windows have expired. Writers that looked it
+ * up before it was removed must not lose their samples into the orphaned series.
+ */
+class MetricAggregatorTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Duration PAST_RETENTION = Duration.ofDays(400);
+
+    @Test
+    void expiredSeriesIsForgottenAndRecreatedByTheNextSample() {
+        MetricAggregator aggregator = aggregator();
+        SeriesKey key = SeriesKey.of("latency", Map.of("route", "/pay"));
+
+        aggregator.record(metric(START));
+        aggregator.sealExpiredWindows(START.plus(Duration.ofHours(2)));
+        assertEquals(1, aggregator.windowCount(WindowResolution.TEN_SECONDS));
+
+        Instant later = START.plus(PAST_RETENTION);
+        assertTrue(aggregator.expireWindows(later) > 0);
+        assertEquals(Set.of(), aggregator.seriesKeys());
+
+        aggregator.record(metric(later));
+        aggregator.sealExpiredWindows(later.plus(Duration.ofHours(2)));
+        assertEquals(Set.of(key), aggregator.seriesKeys());
+        assertEquals(1, aggregator.windowCount(WindowResolution.TEN_SECONDS));
+        assertEquals(0, aggregator.lateSamples());
+    }
+
+    @Test
+    void retiredSeriesRefusesSamplesWithoutCountingThemLate() {
+        MetricSeries series = new MetricSeries(SeriesKey.of("latency", Map.of()), RollupPolicy.defaults());
+
+        assertTrue(series.retireIfEmpty());
+
+        assertFalse(series.record(START.toEpochMilli(), 1.0, 1));
+        assertTrue(series.isRetired());
+        assertEquals(0, series.windowCount(WindowResolution.TEN_SECONDS));
+    }
+
+    @Test
+    void seriesWithOpenWindowsIsNotRetired() {
+        MetricSeries series = new MetricSeries(SeriesKey.of("latency", Map.of()), RollupPolicy.defaults());
+        series.record(START.toEpochMilli(), 1.0, 1);
+
+        assertFalse(series.retireIfEmpty());
+        assertFalse(series.isRetired());
+    }
+
+    private static MetricAggregator aggregator() {
+        return new MetricAggregator(RollupPolicy.defaults(), new CardinalityTracker(CardinalityPolicy.defaults()));
+    }
+
+    private static MetricLog metric(final Instant timestamp) {
+        return new MetricLog(UUID.randomUUID(), "latency", "checkout", timestamp, TraceContext.create(),
+            "latency", 12.5, "ms", Map.of("route", "/pay"), 1.0, null);
+    }
+}
@@ -0,0 +1,93 @@
+package com.ghostlogger.core.domain.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sliding Count-Min Sketch - Error Bounds and Slot Rotation
+ * <p>
+ * A count-min sketch never undercounts, and with probability {@code 1 - e^-depth} it
+ * overcounts a key by at most {@code e / width} of the total count. The stream is
+ * skewed like real error traffic and hashed deterministically, so the test is stable.
+ */
+class SlidingCountMinSketchTest {
+
+    private static final int SLOTS = 4;
+    private static final int DEPTH = 4;
+    private static final int WIDTH = 1024;
+    private static final int KEYS = 20_000;
+
+    @Test
+    void estimatesStayWithinTheCountMinBound() {
+        SlidingCountMinSketch sketch = new SlidingCountMinSketch(SLOTS, DEPTH, WIDTH);
+        long[] counts = new long[KEYS];
+        long total = 0;
+        for (int key = 0; key < KEYS; key++) {
+            // Zipf-like: a few keys are very frequent, most are seen once or twice
+            counts[key] = Math.max(1, 5_000 / (key + 1));
+            sketch.addAndEstimate(key % SLOTS, hash(key), counts[key]);
+            total += counts[key];
+        }
+
+        double bound = Math.E / WIDTH * total;
+        int overBound = 0;
+        for (int key = 0; key < KEYS; key++) {
+            long estimate = sketch.estimate(hash(key));
+            int k = key;
+            assertTrue(estimate >= counts[key],
+                () -> "Key %d undercounted: %d < %d".formatted(k, estimate, counts[k]));
+            if (estimate - counts[key] > bound) {
+                overBound++;
+            }
+        }
+        // Expected failure rate is e^-4 (1.8%); allow some slack for the sample
+        double failureRate = (double) overBound / KEYS;
+        assertTrue(failureRate <= 0.03,
+            () -> "%.2f%% of keys overcounted by more than %.0f".formatted(failureRate * 100, bound));
+    }
+
+    @Test
+    void heavyKeysAreEstimatedClosely() {
+        SlidingCountMinSketch sketch = new SlidingCountMinSketch(SLOTS, DEPTH, WIDTH);
+        sketch.addAndEstimate(0, hash(-1), 10_000);
+        for (int key = 0; key < KEYS; key++) {
+            sketch.addAndEstimate(key % SLOTS, hash(key), 1);
+        }
+        long estimate = sketch.estimate(hash(-1));
+        assertTrue(estimate >= 10_000 && estimate <= 10_000 + Math.E / WIDTH * (10_000 + KEYS),
+            () -> "Heavy key estimated at " + estimate);
+    }
+
+    @Test
+    void clearingASlotForgetsOnlyItsCounts() {
+        SlidingCountMinSketch sketch = new SlidingCountMinSketch(SLOTS, DEPTH, WIDTH);
+        long key = hash(42);
+        for (int slot = 0; slot < SLOTS; slot++) {
+            sketch.addAndEstimate(slot, key, slot + 1);
+        }
+        assertEquals(10, sketch.estimate(key));
+
+        sketch.clearSlot(1);
+        assertEquals(8, sketch.estimate(key));
+
+        for (int slot = 0; slot < SLOTS; slot++) {
+            sketch.clearSlot(slot);
+        }
+        assertEquals(0, sketch.estimate(key));
+    }
+
+    @Test
+    void addReturnsTheEstimateAcrossAllSlots() {
+        SlidingCountMinSketch sketch = new SlidingCountMinSketch(SLOTS, DEPTH, WIDTH);
+        long key = hash(7);
+        sketch.addAndEstimate(0, key, 3);
+        sketch.addAndEstimate(2, key, 4);
+        assertEquals(12, sketch.addAndEstimate(3, key, 5));
+    }
+
+    private static long hash(final int key) {
+        return Hashing.mix64(key * 0x9E3779B97F4A7C15L);
+    }
+}
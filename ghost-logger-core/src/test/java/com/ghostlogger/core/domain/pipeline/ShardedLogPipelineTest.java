@@ -0,0 +1,199 @@
+package com.ghostlogger.core.domain.pipeline;
+
+import com.ghostlogger.core.domain.model.ErrorLog;
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.model.TraceContext;
+import com.ghostlogger.core.domain.port.PipelineMetrics;
+import com.ghostlogger.core.domain.sampling.PipelinePressure;
+import com.ghostlogger.core.domain.sampling.SamplingPolicy;
+import com.ghostlogger.core.domain.service.StructuredLogProcessor;
+import com.ghostlogger.core.domain.stage.ProcessorStage;
+import com.ghostlogger.core.domain.stage.StageContext;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sharded Log Pipeline - Per-Key Ordering and Rejection Accounting
+ * <p>
+ * Entries are processed by a recording stage, so the tests see the order in which
+ * each key reached the processor. Entry messages carry the sequence number a
+ * producer gave them.
+ */
+class ShardedLogPipelineTest {
+
+    private static final int PRODUCERS = 8;
+    private static final int KEYS_PER_PRODUCER = 16;
+    private static final int BATCHES_PER_PRODUCER = 200;
+
+    @Test
+    void entriesOfOneKeyAreProcessedInArrivalOrder() throws Exception {
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        PipelinePressure pressure = new PipelinePressure(SamplingPolicy.defaults());
+        ShardedLogPipeline pipeline = pipeline(
+            new ShardingPolicy(4, ShardingPolicy.PartitionKey.SOURCE, 64, 16, Duration.ofSeconds(5)),
+            pressure,
+            entry -> {
+                seen.computeIfAbsent(entry.source(), key -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(Integer.parseInt(entry.message()));
+                // Jitter, so keys of one drain pass finish out of step with each other
+                if (ThreadLocalRandom.current().nextInt(50) == 0) {
+                    Thread.yield();
+                }
+            });
+
+        // Each producer owns its keys, so their arrival order is the order it sent them in
+        List<Thread> producers = IntStream.range(0, PRODUCERS)
+            .mapToObj(producer -> Thread.ofVirtual().start(() -> {
+                int[] next = new int[KEYS_PER_PRODUCER];
+                for (int batch = 0; batch < BATCHES_PER_PRODUCER; batch++) {
+                    List<LogEntry> entries = new ArrayList<>();
+                    for (int i = 0; i < 10; i++) {
+                        int key = ThreadLocalRandom.current().nextInt(KEYS_PER_PRODUCER);
+                        entries.add(entry("p" + producer + "-k" + key, next[key]++));
+                    }
+                    pipeline.submit(entries);
+                }
+            }))
+            .toList();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        pipeline.close();
+
+        long total = (long) PRODUCERS * BATCHES_PER_PRODUCER * 10;
+        assertEquals(total, pipeline.processedEntries());
+        assertEquals(0, pipeline.rejectedEntries());
+        assertEquals(0, pressure.inFlight());
+        for (Map.Entry<String, List<Integer>> key : seen.entrySet()) {
+            List<Integer> order = key.getValue();
+            for (int i = 0; i < order.size(); i++) {
+                int position = i;
+                assertEquals(i, order.get(i),
+                    () -> "Key %s processed out of order at %d: %s".formatted(key.getKey(), position, order));
+            }
+        }
+    }
+
+    @Test
+    void slicesThatDoNotFitAreRejectedAndCounted() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PipelinePressure pressure = new PipelinePressure(SamplingPolicy.defaults());
+        ShardedLogPipeline pipeline = pipeline(
+            new ShardingPolicy(1, ShardingPolicy.PartitionKey.SOURCE, 2, 16, Duration.ZERO),
+            pressure,
+            entry -> {
+                if (entry.source().equals("blocker")) {
+                    writing.countDown();
+                    await(release);
+                }
+            });
+        try {
+            // Hold the single writer, so the queue fills up behind it
+            assertEquals(List.of(), pipeline.submit(List.of(entry("blocker", 0))));
+            assertTrue(writing.await(5, TimeUnit.SECONDS), "Writer never started");
+
+            // Five keys of two entries each: two slices fit in the queue, three do not
+            List<LogEntry> batch = new ArrayList<>();
+            for (int key = 0; key < 5; key++) {
+                batch.add(entry("key-" + key, 0));
+                batch.add(entry("key-" + key, 1));
+            }
+            assertEquals(batch.subList(4, 10), pipeline.submit(batch));
+            assertEquals(6, pipeline.rejectedEntries());
+            // A full queue refuses the next batch before it is split
+            assertFalse(pipeline.awaitCapacity(List.of(entry("key-0", 2))));
+            assertEquals(2, pipeline.backlog(0));
+            // Rejected entries leave the pressure gauge; the blocked and queued ones stay on it
+            assertEquals(5, pressure.inFlight());
+        } finally {
+            release.countDown();
+            pipeline.close();
+        }
+
+        assertEquals(5, pipeline.processedEntries());
+        assertEquals(6, pipeline.rejectedEntries());
+        assertEquals(0, pressure.inFlight());
+    }
+
+    @Test
+    void failedSlicesAreCountedWithoutHoldingUpTheKey() throws Exception {
+        List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+        PipelinePressure pressure = new PipelinePressure(SamplingPolicy.defaults());
+        ShardedLogPipeline pipeline = pipeline(
+            new ShardingPolicy(2, ShardingPolicy.PartitionKey.SOURCE, 16, 16, Duration.ofSeconds(1)),
+            pressure,
+            entry -> {
+                if (entry.message().equals("1")) {
+                    throw new IllegalStateException("Storage unavailable");
+                }
+                processed.add(Integer.parseInt(entry.message()));
+            });
+
+        for (int i = 0; i < 3; i++) {
+            pipeline.submit(List.of(entry("service", i)));
+        }
+        pipeline.close();
+
+        assertEquals(List.of(0, 2), processed);
+        assertEquals(2, pipeline.processedEntries());
+        assertEquals(1, pipeline.failedEntries());
+        assertEquals(0, pressure.inFlight());
+    }
+
+    private static ShardedLogPipeline pipeline(
+        final ShardingPolicy policy,
+        final PipelinePressure pressure,
+        final Consumer<LogEntry> onEntry
+    ) {
+        ProcessorStage recorder = new ProcessorStage() {
+            @Override
+            public String name() {
+                return "recorder";
+            }
+
+            @Override
+            public int order() {
+                return 0;
+            }
+
+            @Override
+            public LogEntry process(final LogEntry entry, final StageContext context) {
+                onEntry.accept(entry);
+                return entry;
+            }
+        };
+        StructuredLogProcessor processor = new StructuredLogProcessor(List.of(recorder), PipelineMetrics.NOOP);
+        return new ShardedLogPipeline(policy, processor, pressure, PipelineMetrics.NOOP);
+    }
+
+    private static LogEntry entry(final String source, final int sequence) {
+        return new ErrorLog(UUID.randomUUID(), Integer.toString(sequence), source, Instant.now(),
+            TraceContext.create(), LogEntry.LogLevel.WARN, "java.lang.IllegalStateException", null);
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
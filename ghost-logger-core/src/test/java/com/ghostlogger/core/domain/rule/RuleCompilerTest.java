@@ -0,0 +1,151 @@
+package com.ghostlogger.core.domain.rule;
+
+import com.ghostlogger.core.domain.model.AuditLog;
+import com.ghostlogger.core.domain.model.ErrorLog;
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.model.TraceContext;
+import com.ghostlogger.core.domain.stage.StageContext;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rule Compiler - Syntax Errors, Compile Errors and Compiled Rules
+ * <p>
+ * Every rejected rule set must point at the offending token, so the error checks
+ * assert the line and column as well as the message.
+ */
+class RuleCompilerTest {
+
+    private final RuleCompiler compiler = new RuleCompiler(Set.of("archive"));
+
+    @Test
+    void missingKeywordIsReportedAtTheTokenFound() {
+        assertError("rule \"a\" when source == \"x\" drop", 1, 29, "expected 'then' but found 'drop'");
+    }
+
+    @Test
+    void endOfInputIsReportedAfterTheLastCharacter() {
+        assertError("rule \"a\" when", 1, 14, "expected a field name but found end of input");
+    }
+
+    @Test
+    void unterminatedStringIsReportedAtItsOpeningQuote() {
+        assertError("# checkout rules\nrule \"open", 2, 6, "unterminated string");
+    }
+
+    @Test
+    void unexpectedCharacterIsReportedAtItsColumn() {
+        assertError("rule \"a\" when source == \"x\" then drop;", 1, 38, "unexpected character ';'");
+    }
+
+    @Test
+    void unknownLevelIsReportedAtTheLiteral() {
+        String rules = """
+            rule "a" when source == "x"
+              then drop
+            rule "b" when severity == WARNING then drop
+            """;
+        assertError(rules, 3, 27, "unknown level 'WARNING'");
+    }
+
+    @Test
+    void unknownFieldIsReportedAtTheFieldName() {
+        assertError("rule \"a\" when  sauce == \"x\" then drop", 1, 16, "unknown field 'sauce'");
+    }
+
+    @Test
+    void operatorThatDoesNotApplyIsReportedAtTheOperator() {
+        assertError("rule \"a\" when value contains \"x\" then drop", 1, 21,
+            "operator 'contains' does not apply to value");
+    }
+
+    @Test
+    void unknownSinkIsReportedAtTheRouteAction() {
+        assertError("rule \"a\" when true then route \"s3\"", 1, 25, "unknown sink \"s3\"");
+    }
+
+    @Test
+    void dropMustBeTheLastAction() {
+        assertError("rule \"a\" when true then drop, route \"archive\"", 1, 25, "'drop' must be the last action");
+    }
+
+    @Test
+    void duplicateRuleNameIsReportedAtTheSecondRule() {
+        assertError("rule \"a\" when true then stop\n\nrule \"a\" when true then drop", 3, 1,
+            "duplicate rule name \"a\"");
+    }
+
+    @Test
+    void compiledRulesApplyTheirActionsInOrder() {
+        RuleSet rules = compiler.compile("""
+            # Noisy batch jobs are not errors
+            rule "downgrade" when source == "batch-jobs" and severity >= ERROR then level WARN, route "archive"
+            rule "drop-health" when source in ("health", "probe") then drop
+            rule "tag-payments" when type == AUDIT and action startsWith "PAY" then set metadata.team = "payments"
+            """, 7, "test");
+
+        assertEquals(7, rules.version());
+        assertEquals(3, rules.size());
+
+        StageContext context = new StageContext();
+        LogEntry downgraded = rules.apply(error("batch-jobs", LogEntry.LogLevel.FATAL), context);
+        assertEquals(LogEntry.LogLevel.WARN, ((ErrorLog) downgraded).severity());
+        assertEquals(List.of("archive"), context.routes());
+
+        assertNull(rules.apply(error("probe", LogEntry.LogLevel.ERROR), new StageContext()));
+
+        LogEntry untouched = error("checkout", LogEntry.LogLevel.ERROR);
+        assertSame(untouched, rules.apply(untouched, new StageContext()));
+
+        AuditLog audit = new AuditLog(UUID.randomUUID(), "Payment captured", "checkout", Instant.now(),
+            TraceContext.create(), "user-1", "PAYMENT_CAPTURED", "order", "o-1", Map.of());
+        LogEntry tagged = rules.apply(audit, new StageContext());
+        assertEquals("payments", ((AuditLog) tagged).metadata().get("team"));
+
+        assertEquals(List.of(1L, 1L, 1L), rules.stats().stream().map(RuleSet.RuleStats::matches).toList());
+    }
+
+    @Test
+    void noalertAndDowngradesBelowErrorSilenceTheAlert() {
+        RuleSet rules = compiler.compile("""
+            rule "flaky" when source == "flaky" then noalert
+            rule "downgrade" when source == "batch-jobs" then level WARN
+            rule "upgrade" when source == "payments" then level FATAL
+            """, 1, "test");
+
+        for (String source : List.of("flaky", "batch-jobs")) {
+            StageContext context = new StageContext();
+            rules.apply(error(source, LogEntry.LogLevel.ERROR), context);
+            assertTrue(context.alertSuppressed(), source);
+        }
+        for (String source : List.of("payments", "checkout")) {
+            StageContext context = new StageContext();
+            rules.apply(error(source, LogEntry.LogLevel.WARN), context);
+            assertFalse(context.alertSuppressed(), source);
+        }
+    }
+
+    private void assertError(final String rules, final int line, final int column, final String message) {
+        RuleSyntaxException e = assertThrows(RuleSyntaxException.class, () -> compiler.compile(rules, 1, "test"));
+        assertEquals(line, e.line(), () -> "Line of: " + e.getMessage());
+        assertEquals(column, e.column(), () -> "Column of: " + e.getMessage());
+        assertTrue(e.getMessage().contains(message), () -> "Message: " + e.getMessage());
+    }
+
+    private static LogEntry error(final String source, final LogEntry.LogLevel severity) {
+        return new ErrorLog(UUID.randomUUID(), "Job failed", source, Instant.now(),
+            TraceContext.create(), severity, "java.lang.IllegalStateException", null);
+    }
+}
@@ -0,0 +1,87 @@
+package com.ghostlogger.core.domain.sampling;
+
+import com.ghostlogger.core.domain.model.ErrorLog;
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.model.TraceContext;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Trace Sampler - Trace Grouping and Kept-Trace Exemption
+ */
+class TraceSamplerTest {
+
+    private static final TraceSamplingPolicy POLICY = new TraceSamplingPolicy(
+        Duration.ofSeconds(5), Duration.ofSeconds(2), 0.1, 1_000, 1_000, Duration.ofMillis(100));
+
+    @Test
+    void anErrorKeepsOnlyItsOwnTrace() {
+        TraceSampler sampler = new TraceSampler(POLICY);
+        TraceContext checkout = trace("checkout");
+        TraceContext search = trace("search");
+        LogEntry checkoutStart = entry(checkout, LogEntry.LogLevel.WARN);
+        LogEntry searchStart = entry(search, LogEntry.LogLevel.WARN);
+        LogEntry checkoutFailure = entry(checkout, LogEntry.LogLevel.ERROR);
+
+        TraceAdmission admission = sampler.admit(List.of(checkoutStart, searchStart, checkoutFailure));
+
+        assertEquals(List.of(checkoutStart, checkoutFailure), admission.kept());
+        assertEquals(List.of(), admission.untraced());
+        assertEquals(1, sampler.stats().bufferedEntries());
+    }
+
+    @Test
+    void entriesWithoutAClientTraceBypassTheBuffer() {
+        TraceSampler sampler = new TraceSampler(POLICY);
+        TraceContext generated = TraceContext.create();
+        List<LogEntry> entries = List.of(entry(generated, LogEntry.LogLevel.WARN), entry(generated, LogEntry.LogLevel.INFO));
+
+        TraceAdmission admission = sampler.admit(entries);
+
+        assertEquals(entries, admission.untraced());
+        assertEquals(List.of(), admission.kept());
+        assertEquals(0, sampler.stats().trackedTraces());
+    }
+
+    @Test
+    void keptTracesAreNotThinnedByTheAdaptiveSampler() {
+        TraceSampler sampler = new TraceSampler(POLICY);
+        AdaptiveSampler adaptiveSampler = new AdaptiveSampler(SamplingPolicy.defaults(),
+            new PipelinePressure(SamplingPolicy.defaults()));
+        TraceContext checkout = trace("checkout");
+        List<LogEntry> batch = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            batch.add(entry(checkout, LogEntry.LogLevel.WARN));
+            batch.add(entry(TraceContext.create(), LogEntry.LogLevel.WARN));
+        }
+        batch.add(entry(checkout, LogEntry.LogLevel.ERROR));
+
+        // Shedding keeps 1% of low-value entries, but every entry of the kept trace
+        List<LogEntry> sampled = adaptiveSampler.shed(sampler.admit(batch));
+
+        List<LogEntry> checkoutEntries = sampled.stream()
+            .filter(entry -> entry.traceContext() == checkout)
+            .toList();
+        assertEquals(201, checkoutEntries.size());
+        assertTrue(checkoutEntries.stream().allMatch(entry -> entry.sampleWeight() == 1.0));
+        assertTrue(sampled.size() - checkoutEntries.size() < 200,
+            () -> "Untraced entries were not sampled: " + (sampled.size() - checkoutEntries.size()));
+    }
+
+    private static TraceContext trace(final String name) {
+        return new TraceContext(name + "-" + UUID.randomUUID(), "span", null, null);
+    }
+
+    private static LogEntry entry(final TraceContext traceContext, final LogEntry.LogLevel severity) {
+        return new ErrorLog(UUID.randomUUID(), "Request handled", "checkout-service", Instant.now(),
+            traceContext, severity, "java.lang.IllegalStateException", null);
+    }
+}
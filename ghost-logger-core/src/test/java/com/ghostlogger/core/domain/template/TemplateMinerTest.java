@@ -0,0 +1,76 @@
+package com.ghostlogger.core.domain.template;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Template Miner - Exact Round Trips
+ * <p>
+ * Storage keeps only the template version and packed parameters of a message, so
+ * rendering them must give back the message byte for byte, whitespace included.
+ */
+class TemplateMinerTest {
+
+    private final TemplateMiner miner = new TemplateMiner(TemplateMinerPolicy.defaults());
+
+    @Test
+    void renderOfEncodeIsTheMessage() {
+        List<String> messages = List.of(
+            "Order 17 shipped to warehouse eu-1 in 42 ms",
+            "Order 18 shipped to warehouse us-2 in 7 ms",
+            "Order 19 shipped to warehouse  in 3 ms",        // Empty parameter
+            "Order 20 shipped to warehouse é-3 in 5 ms ",     // Non-ASCII, trailing space
+            "Cache warmed"                                     // No parameters
+        );
+        messages.forEach(message -> miner.mine(message, 1));
+
+        for (String message : messages) {
+            TemplatedMessage encoded = miner.encode(message);
+            assertFalse(encoded.isRaw(), () -> "Not templated: " + message);
+            assertEquals(message, miner.render(encoded));
+            assertEquals(message, miner.render(TemplatedMessage.unpack(
+                encoded.templateId(), encoded.version(), encoded.packedParams())));
+        }
+    }
+
+    @Test
+    void olderVersionsStillRenderAfterTheTemplateIsGeneralized() {
+        String message = "Payment declined by gateway stripe after 3 retries";
+        TemplatedMessage mined = miner.mine(message, 1);
+
+        // Generalizes the gateway name into a wildcard: a new template version
+        miner.mine("Payment declined by gateway adyen after 2 retries", 1);
+
+        TemplatedMessage encoded = miner.encode(message);
+        assertEquals(mined.templateId(), encoded.templateId());
+        assertTrue(encoded.version() > mined.version(), "Template was not generalized");
+        assertEquals(message, miner.render(mined));
+        assertEquals(message, miner.render(encoded));
+    }
+
+    @Test
+    void unknownMessagesAreKeptRaw() {
+        String message = "Nothing was mined like this";
+
+        TemplatedMessage encoded = miner.encode(message);
+
+        assertTrue(encoded.isRaw());
+        assertEquals(message, miner.render(encoded));
+        assertEquals(message, miner.render(TemplatedMessage.unpack(
+            encoded.templateId(), encoded.version(), encoded.packedParams())));
+    }
+
+    @Test
+    void zeroParametersAndOneEmptyParameterPackDifferently() {
+        TemplatedMessage none = new TemplatedMessage(7, 1, List.of());
+        TemplatedMessage empty = new TemplatedMessage(7, 1, List.of(""));
+
+        assertEquals(none, TemplatedMessage.unpack(7, 1, none.packedParams()));
+        assertEquals(empty, TemplatedMessage.unpack(7, 1, empty.packedParams()));
+    }
+}
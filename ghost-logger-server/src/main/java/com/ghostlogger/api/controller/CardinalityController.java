@@ -0,0 +1,116 @@
+package com.ghostlogger.api.controller;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ghostlogger.core.api.dto.response.CardinalityResponse;
+import com.ghostlogger.core.domain.analytics.CardinalityTracker;
+import com.ghostlogger.core.domain.analytics.ExplodingTag;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Cardinality Controller
+ * <p>
+ * Distinct-count estimates served from HyperLogLog sketches maintained at ingest.
+ * <p>
+ * Architecture Rationale:
+ * - No repository scan and no exact set: each answer merges at most one window of sketches
+ * - Estimates carry a relative standard error of 1.04 / sqrt(2^precision)
+ */
+@RestController
+@RequestMapping("/api/v1/cardinality")
+@Tag(name = "Cardinality", description = "Distinct-Count Estimate Endpoints")
+public final class CardinalityController {
+
+    private final CardinalityTracker cardinalityTracker;
+
+    public CardinalityController(final CardinalityTracker cardinalityTracker) {
+        this.cardinalityTracker = cardinalityTracker;
+    }
+
+    @GetMapping(value = "/audit/users", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Distinct Audit Users",
+        description = "Estimated distinct userIds for an audit action and resource type over the lookback"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Distinct-count estimate"),
+        @ApiResponse(responseCode = "400", description = "Malformed lookback")
+    })
+    public ResponseEntity<CardinalityResponse> distinctAuditUsers(
+        @RequestParam String action,
+        @RequestParam(required = false) String resourceType,
+        @RequestParam(defaultValue = "1h") String lookback
+    ) {
+        Duration window;
+        try {
+            window = DurationStyle.detectAndParse(lookback);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        long estimate = cardinalityTracker.distinctUsers(action, resourceType, window);
+        return ResponseEntity.ok(new CardinalityResponse(
+            "audit.userId",
+            resourceType == null ? Map.of("action", action) : Map.of("action", action, "resourceType", resourceType),
+            window.toString(),
+            estimate,
+            standardError()
+        ));
+    }
+
+    @GetMapping(value = "/metrics/tags", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Distinct Metric Tag Values",
+        description = "Estimated distinct values of one tag key of a metric over the lookback"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Distinct-count estimate"),
+        @ApiResponse(responseCode = "400", description = "Malformed lookback")
+    })
+    public ResponseEntity<CardinalityResponse> distinctTagValues(
+        @RequestParam String metricName,
+        @RequestParam String tagKey,
+        @RequestParam(defaultValue = "1h") String lookback
+    ) {
+        Duration window;
+        try {
+            window = DurationStyle.detectAndParse(lookback);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        long estimate = cardinalityTracker.distinctTagValues(metricName, tagKey, window);
+        return ResponseEntity.ok(new CardinalityResponse(
+            "metric.tagValue",
+            Map.of("metricName", metricName, "tagKey", tagKey),
+            window.toString(),
+            estimate,
+            standardError()
+        ));
+    }
+
+    @GetMapping(value = "/metrics/exploding", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Exploding Metric Tags",
+        description = "Metric tag keys whose distinct values exceed the configured cardinality limit"
+    )
+    public ResponseEntity<List<ExplodingTag>> explodingTags() {
+        return ResponseEntity.ok(cardinalityTracker.explodingTags());
+    }
+
+    private double standardError() {
+        return 1.04 / Math.sqrt(1 << cardinalityTracker.policy().precision());
+    }
+}
@@ -0,0 +1,79 @@
+package com.ghostlogger.api.controller;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ghostlogger.core.api.dto.response.ClusterResponse;
+import com.ghostlogger.core.domain.cluster.ClusterForwarder;
+import com.ghostlogger.core.domain.cluster.ClusterMembership;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Cluster Controller
+ * <p>
+ * GET /cluster - This node's membership view, ring shares and forwarding state.
+ * <p>
+ * Architecture Rationale:
+ * - Every node answers from its own view; comparing the versions of all nodes shows
+ *   whether a membership change has reached them all
+ */
+@RestController
+@RequestMapping("/api/v1/cluster")
+@Tag(name = "Cluster", description = "Cluster Membership Endpoints")
+public final class ClusterController {
+
+    private final ClusterMembership clusterMembership;
+    private final ClusterForwarder clusterForwarder;
+
+    public ClusterController(
+        final ClusterMembership clusterMembership,
+        final ClusterForwarder clusterForwarder
+    ) {
+        this.clusterMembership = clusterMembership;
+        this.clusterForwarder = clusterForwarder;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Cluster Membership", description = "Returns the nodes on the hash ring and the forwarding state of each peer")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Membership as seen by this node")
+    })
+    public ResponseEntity<ClusterResponse> membership() {
+        ClusterMembership.View view = clusterMembership.current();
+        Map<String, ClusterForwarder.PeerStats> peers = clusterForwarder.peers().stream()
+            .collect(Collectors.toMap(ClusterForwarder.PeerStats::nodeId, Function.identity(), (a, b) -> a));
+        var nodes = view.ring().nodes().stream()
+            .map(node -> {
+                ClusterForwarder.PeerStats stats = peers.get(node.id());
+                return new ClusterResponse.Node(
+                    node.id(),
+                    node.address().toString(),
+                    view.ring().share(node.id()),
+                    stats == null ? 0 : stats.backlog(),
+                    stats == null ? 0 : stats.forwarded(),
+                    stats == null ? 0 : stats.failed(),
+                    stats == null ? 0 : stats.shed()
+                );
+            })
+            .toList();
+        return ResponseEntity.ok(new ClusterResponse(
+            view.self().id(),
+            view.version(),
+            view.origin(),
+            view.loadedAt(),
+            clusterMembership.policy().partitionKey().name(),
+            nodes
+        ));
+    }
+}
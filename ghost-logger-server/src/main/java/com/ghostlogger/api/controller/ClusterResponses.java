@@ -0,0 +1,41 @@
+package com.ghostlogger.api.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.ghostlogger.core.domain.cluster.ScatterGather;
+
+/**
+ * Responses of scatter-gather queries
+ * <p>
+ * A merged answer that is missing some nodes is still 200 OK, with the missing node
+ * ids in {@link #UNAVAILABLE_NODES}, so a dashboard can show it as partial.
+ */
+final class ClusterResponses {
+
+    static final String UNAVAILABLE_NODES = "X-GhostLogger-Unavailable-Nodes";
+
+    private ClusterResponses() {
+    }
+
+    static <T> ResponseEntity<T> merged(final T body, final ScatterGather.Gathered<?> gathered) {
+        return withUnavailableNodes(ResponseEntity.ok(), gathered).body(body);
+    }
+
+    /**
+     * No node had an answer; it may be with one of the unavailable nodes
+     */
+    static <T> ResponseEntity<T> notFound(final ScatterGather.Gathered<?> gathered) {
+        return withUnavailableNodes(ResponseEntity.status(HttpStatus.NOT_FOUND), gathered).build();
+    }
+
+    private static ResponseEntity.BodyBuilder withUnavailableNodes(
+        final ResponseEntity.BodyBuilder response,
+        final ScatterGather.Gathered<?> gathered
+    ) {
+        if (gathered.partial()) {
+            response.header(UNAVAILABLE_NODES, String.join(",", gathered.unavailableNodes()));
+        }
+        return response;
+    }
+}
@@ -0,0 +1,118 @@
+package com.ghostlogger.api.controller;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ghostlogger.core.api.dto.response.TopErrorsResponse;
+import com.ghostlogger.core.domain.analytics.ErrorFingerprint;
+import com.ghostlogger.core.domain.analytics.ErrorHeavyHitterTracker;
+import com.ghostlogger.core.domain.cluster.ScatterGather;
+import com.ghostlogger.core.domain.port.ClusterTransport;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Error Analytics Controller
+ * <p>
+ * GET /errors/top - Heavy-hitter error fingerprints in the sliding window.
+ * <p>
+ * Architecture Rationale:
+ * - Served from the always-on top-K heap, never from a repository scan
+ * - Cost is O(K log K) regardless of error volume
+ * - In a cluster, every node's top-K is gathered and re-ranked; with the default
+ *   SOURCE partitioning a fingerprint lives on one node, so the merge loses nothing
+ */
+@RestController
+@RequestMapping("/api/v1/errors")
+@Tag(name = "Error Analytics", description = "Streaming Error Analytics Endpoints")
+public final class ErrorAnalyticsController {
+
+    private final ErrorHeavyHitterTracker errorHeavyHitterTracker;
+    private final ScatterGather scatterGather;
+
+    public ErrorAnalyticsController(
+        final ErrorHeavyHitterTracker errorHeavyHitterTracker,
+        final ScatterGather scatterGather
+    ) {
+        this.errorHeavyHitterTracker = errorHeavyHitterTracker;
+        this.scatterGather = scatterGather;
+    }
+
+    @GetMapping(value = "/top", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Top Errors",
+        description = "Returns the most frequent exceptionType/source pairs in the current sliding window"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Heavy-hitter fingerprints, most frequent first")
+    })
+    public ResponseEntity<TopErrorsResponse> top(
+        @RequestParam(defaultValue = "10") int limit,
+        @Parameter(description = "Set by a cluster node gathering this node's local answer")
+        @RequestHeader(value = ClusterTransport.FORWARDED_BY, required = false) String forwardedBy
+    ) throws InterruptedException {
+        int boundedLimit = Math.max(1, Math.min(limit, errorHeavyHitterTracker.policy().topK()));
+        if (forwardedBy != null || !scatterGather.clustered()) {
+            return ResponseEntity.ok(localTop(boundedLimit));
+        }
+        ScatterGather.Gathered<TopErrorsResponse> gathered = scatterGather.gather(
+            "/api/v1/errors/top?limit=" + boundedLimit, TopErrorsResponse.class, () -> localTop(boundedLimit));
+        return ClusterResponses.merged(mergeTop(gathered.results(), boundedLimit), gathered);
+    }
+
+    private TopErrorsResponse localTop(final int limit) {
+        var errors = errorHeavyHitterTracker.top(limit).stream()
+            .map(hitter -> new TopErrorsResponse.Entry(
+                hitter.fingerprint().exceptionType(),
+                hitter.fingerprint().source(),
+                hitter.estimatedCount()
+            ))
+            .toList();
+        return new TopErrorsResponse(
+            errorHeavyHitterTracker.policy().window().toString(),
+            Instant.now(),
+            errors
+        );
+    }
+
+    /**
+     * Sum the counts of each fingerprint over the nodes and keep the {@code limit} largest
+     */
+    private TopErrorsResponse mergeTop(final List<TopErrorsResponse> responses, final int limit) {
+        Map<ErrorFingerprint, Long> counts = new LinkedHashMap<>();
+        for (TopErrorsResponse response : responses) {
+            for (TopErrorsResponse.Entry entry : response.errors()) {
+                counts.merge(new ErrorFingerprint(entry.exceptionType(), entry.source()), entry.estimatedCount(), Long::sum);
+            }
+        }
+        var errors = counts.entrySet().stream()
+            .sorted(Map.Entry.<ErrorFingerprint, Long>comparingByValue(Comparator.reverseOrder()))
+            .limit(limit)
+            .map(count -> new TopErrorsResponse.Entry(
+                count.getKey().exceptionType(),
+                count.getKey().source(),
+                count.getValue()
+            ))
+            .toList();
+        return new TopErrorsResponse(
+            errorHeavyHitterTracker.policy().window().toString(),
+            Instant.now(),
+            errors
+        );
+    }
+}
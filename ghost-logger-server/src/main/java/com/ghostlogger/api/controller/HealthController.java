@@ -1,10 +1,15 @@
 package com.ghostlogger.api.controller;
 
 import com.ghostlogger.core.api.dto.response.HealthResponse;
+import com.ghostlogger.core.domain.sampling.AdaptiveSampler;
+import com.ghostlogger.core.domain.sampling.PipelineHealth;
+import com.ghostlogger.core.domain.sampling.PipelinePressure;
+import com.ghostlogger.core.domain.sampling.TraceSampler;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,28 +21,66 @@ import java.time.Instant;
 /**
  * Health Check Controller
  * <p>
- * Provides basic health status of the Ghost Logger service.
- * This is a simple example of REST API design following best practices.
+ * Reports the saturation of the ingestion pipeline ({@link PipelineHealth}):
+ * in-flight entries against capacity, the current sampling keep rate and the
+ * tail-sampling buffer. An OVERLOADED pipeline answers 503 so load balancers
+ * route new batches elsewhere; DEGRADED still answers 200.
  */
 @RestController
 @RequestMapping("/api/v1/health")
 @Tag(name = "Health", description = "Health Check Endpoints")
 public final class HealthController {
 
+    private final PipelinePressure pipelinePressure;
+    private final AdaptiveSampler adaptiveSampler;
+    private final TraceSampler traceSampler;
+
+    public HealthController(
+        final PipelinePressure pipelinePressure,
+        final AdaptiveSampler adaptiveSampler,
+        final TraceSampler traceSampler
+    ) {
+        this.pipelinePressure = pipelinePressure;
+        this.adaptiveSampler = adaptiveSampler;
+        this.traceSampler = traceSampler;
+    }
+
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(
         summary = "Health Check",
-        description = "Returns the current health status of the Ghost Logger service"
+        description = "Returns the current health status and pipeline saturation of the Ghost Logger service"
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Service is healthy")
+        @ApiResponse(responseCode = "200", description = "Service is healthy or degraded (sampling engaged)"),
+        @ApiResponse(responseCode = "503", description = "Pipeline is overloaded")
     })
     public ResponseEntity<HealthResponse> health() {
+        PipelineHealth health = PipelineHealth.assess(pipelinePressure, adaptiveSampler, traceSampler);
         var response = new HealthResponse(
-            "UP",
-            "Ghost Logger is running",
-            Instant.now()
+            health.status().name(),
+            message(health.status()),
+            Instant.now(),
+            new HealthResponse.Pipeline(
+                health.saturation(),
+                health.inFlightEntries(),
+                health.capacity(),
+                health.keepRate(),
+                health.trackedTraces(),
+                health.bufferedTraceEntries(),
+                health.traceBufferUtilization()
+            )
         );
-        return ResponseEntity.ok(response);
+        HttpStatus status = health.status() == PipelineHealth.Status.OVERLOADED
+            ? HttpStatus.SERVICE_UNAVAILABLE
+            : HttpStatus.OK;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    private static String message(final PipelineHealth.Status status) {
+        return switch (status) {
+            case UP -> "Ghost Logger is running";
+            case DEGRADED -> "Ghost Logger is sampling low-value entries under load";
+            case OVERLOADED -> "Ghost Logger is overloaded; only errors and audit logs are kept";
+        };
     }
 }
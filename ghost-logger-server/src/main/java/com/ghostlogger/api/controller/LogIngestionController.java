@@ -2,16 +2,23 @@ package com.ghostlogger.api.controller;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -20,15 +27,27 @@ import com.ghostlogger.core.api.dto.request.ErrorLogRequest;
 import com.ghostlogger.core.api.dto.request.LogBatchRequest;
 import com.ghostlogger.core.api.dto.request.LogEntryRequest;
 import com.ghostlogger.core.api.dto.request.MetricLogRequest;
+import com.ghostlogger.core.api.dto.request.MetricSummaryRequest;
+import com.ghostlogger.core.api.dto.request.TraceContextRequest;
 import com.ghostlogger.core.api.dto.response.LogIngestResponse;
 import com.ghostlogger.core.domain.model.AuditLog;
 import com.ghostlogger.core.domain.model.ErrorLog;
 import com.ghostlogger.core.domain.model.LogEntry;
 import com.ghostlogger.core.domain.model.MetricLog;
+import com.ghostlogger.core.domain.model.MetricSummary;
 import com.ghostlogger.core.domain.model.TraceContext;
+import com.ghostlogger.core.domain.port.ClusterTransport;
+import com.ghostlogger.core.domain.port.PipelineMetrics;
+import com.ghostlogger.core.domain.port.PipelineMetrics.EntryType;
+import com.ghostlogger.core.domain.port.PipelineMetrics.Outcome;
+import com.ghostlogger.core.domain.port.PipelineMetrics.Stage;
 import com.ghostlogger.core.domain.service.LogIngestionService;
+import com.ghostlogger.core.jfr.BatchConversionEvent;
+import com.ghostlogger.core.jfr.BatchReceivedEvent;
+import com.ghostlogger.core.jfr.PipelineEvents;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -46,6 +65,9 @@ import jakarta.validation.Valid;
  * - Uses Virtual Threads for high-throughput concurrent processing
  * - Idempotency can be added via Idempotency-Key header if needed
  * - Rate limiting is handled via Resilience4j at the service layer
+ * - In a cluster, entries owned by another node are forwarded to it by the service
+ *   layer; a batch forwarded by a node ({@code X-GhostLogger-Forwarded-By}) keeps each
+ *   entry's own trace context and is ingested here without further forwarding
  * <p>
  * Richardson Maturity Level 2: HTTP verbs + status codes
  */
@@ -56,10 +78,45 @@ public final class LogIngestionController {
 
     private static final Logger logger = LoggerFactory.getLogger(LogIngestionController.class);
 
+    /**
+     * Seconds a client should back off when every shard is full; the shards drain in
+     * milliseconds, so one second is enough for the queues to have room again
+     */
+    private static final String SATURATED_RETRY_AFTER_SECONDS = "1";
+
+    /**
+     * Some entries of a batch found their shard full after the rest had been taken
+     *
+     * @param rejectedEntries indexes into the request's {@code logs} of the entries to resend
+     */
+    static final class PartiallyRejectedException extends RuntimeException {
+
+        private final String batchId;
+        private final int totalReceived;
+        private final int totalAccepted;
+        private final List<Integer> rejectedEntries;
+        private final List<String> errors;
+
+        PartiallyRejectedException(String message, String batchId, int totalReceived, int totalAccepted,
+                                   List<Integer> rejectedEntries, List<String> errors) {
+            super(message);
+            this.batchId = batchId;
+            this.totalReceived = totalReceived;
+            this.totalAccepted = totalAccepted;
+            this.rejectedEntries = rejectedEntries;
+            this.errors = errors;
+        }
+    }
+
     private final LogIngestionService logIngestionService;
+    private final PipelineMetrics pipelineMetrics;
 
-    public LogIngestionController(final LogIngestionService logIngestionService) {
+    public LogIngestionController(
+        final LogIngestionService logIngestionService,
+        final PipelineMetrics pipelineMetrics
+    ) {
         this.logIngestionService = logIngestionService;
+        this.pipelineMetrics = pipelineMetrics;
     }
 
     /**
@@ -79,8 +136,12 @@ public final class LogIngestionController {
      *   - 400 Bad Request: Invalid input (validation errors)
      *   - 422 Unprocessable Entity: Business logic validation failed
      *   - 429 Too Many Requests: Rate limit exceeded (via Resilience4j)
+     *   - 503 Service Unavailable: The shard queues are full (backpressure, with Retry-After).
+     *     If part of the batch was taken, the body lists the {@code rejectedEntries} to
+     *     resend; otherwise the whole batch should be resent
      *
-     * @param logEntries List of log entries to ingest
+     * @param request     List of log entries to ingest
+     * @param forwardedBy id of the cluster node that forwarded the batch, if any
      * @return LogIngestResponse with batchId and status
      */
     @PostMapping(
@@ -121,11 +182,20 @@ public final class LogIngestionController {
         @ApiResponse(
             responseCode = "429",
             description = "Too Many Requests - rate limit exceeded"
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Service Unavailable - pipeline saturated, resend the batch (or only its "
+                + "rejectedEntries, if listed) after the Retry-After delay"
         )
     })
     public ResponseEntity<LogIngestResponse> ingestLogs(
-        @Valid @RequestBody LogBatchRequest request
+        @Valid @RequestBody LogBatchRequest request,
+        @Parameter(description = "Set by a cluster node forwarding entries it does not own")
+        @RequestHeader(value = ClusterTransport.FORWARDED_BY, required = false) String forwardedBy
     ) {
+        BatchReceivedEvent event = new BatchReceivedEvent();
+        event.begin();
         logger.info("Received log ingestion request: {}", request);
 
         // Generate batchId for tracking
@@ -135,22 +205,64 @@ public final class LogIngestionController {
         // Extract or create TraceContext from the first entry
         TraceContext traceContext = extractTraceContext(logEntries);
 
-        // Process logs within the trace context scope
+        // Process logs within the trace context and batch scope
+        LogIngestResponse response = null;
         try {
-            LogIngestResponse response = TraceContext.callWithContext(
+            response = TraceContext.callWithContext(
                 traceContext,
-                () -> processLogEntries(batchId, logEntries, traceContext)
+                () -> PipelineEvents.callWithBatch(batchId,
+                    () -> processLogEntries(batchId, logEntries, traceContext, forwardedBy != null))
             );
 
             logger.info("Successfully processed log batch with ID: {}", batchId);
             // Return 202 Accepted for async processing
             return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (LogIngestionService.PipelineSaturatedException | PartiallyRejectedException e) {
+            // Backpressure, not a failure: answered with 503 by the handlers below
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to process log entries", e);
             throw new RuntimeException("Failed to process log entries", e);
+        } finally {
+            event.complete(batchId, traceContext.traceId(), logEntries.size(),
+                response == null ? 0 : response.totalAccepted(),
+                response == null ? logEntries.size() : response.totalRejected());
         }
     }
 
+    /**
+     * Map a saturated pipeline to 503 Service Unavailable with Retry-After
+     * <p>
+     * The shard queues were full for the whole enqueue timeout, so the client should
+     * back off and resend the batch rather than treat it as a server error.
+     */
+    @ExceptionHandler(LogIngestionService.PipelineSaturatedException.class)
+    public ResponseEntity<ProblemDetail> pipelineSaturated(final LogIngestionService.PipelineSaturatedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, SATURATED_RETRY_AFTER_SECONDS)
+            .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage()));
+    }
+
+    /**
+     * Map a partial rejection to 503 Service Unavailable with Retry-After
+     * <p>
+     * The rest of the batch was taken, so resending all of it would duplicate those
+     * entries: the body names the ones to resend. A success status would make the
+     * client drop them.
+     */
+    @ExceptionHandler(PartiallyRejectedException.class)
+    public ResponseEntity<ProblemDetail> partiallyRejected(final PartiallyRejectedException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        problem.setProperty("batchId", e.batchId);
+        problem.setProperty("totalReceived", e.totalReceived);
+        problem.setProperty("totalAccepted", e.totalAccepted);
+        problem.setProperty("rejectedEntries", e.rejectedEntries);
+        problem.setProperty("errors", e.errors);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, SATURATED_RETRY_AFTER_SECONDS)
+            .body(problem);
+    }
+
     /**
      * Extract TraceContext from the first log entry, or create a new one
      */
@@ -163,41 +275,83 @@ public final class LogIngestionController {
         var traceContextReq = firstEntry.traceContext();
 
         if (traceContextReq != null) {
-            return new TraceContext(
-                traceContextReq.traceId(),
-                traceContextReq.spanId(),
-                traceContextReq.correlationId(),
-                traceContextReq.userId()
-            );
+            return toTraceContext(traceContextReq);
         }
 
         return TraceContext.create();
     }
 
+    private static TraceContext toTraceContext(TraceContextRequest request) {
+        return new TraceContext(
+            request.traceId(),
+            request.spanId(),
+            request.correlationId(),
+            request.userId()
+        );
+    }
+
     /**
      * Process log entries and convert DTOs to domain models
+     * <p>
+     * A batch can mix the entries of many traces (an appender batches whatever was
+     * logged, a forwarded batch mixes many client batches), so each entry keeps its own
+     * trace context. Entries sent without one share a generated context, which the
+     * trace sampler ignores.
      */
     private LogIngestResponse processLogEntries(
         String batchId,
         List<LogEntryRequest> logEntries,
-        TraceContext traceContext
+        TraceContext traceContext,
+        boolean forwarded
     ) throws Exception {
 
         List<LogEntry> domainLogs = new ArrayList<>();
+        // Request index of each converted entry, to name rejected entries to the client
+        Map<UUID, Integer> indexes = new HashMap<>();
         List<String> errors = new ArrayList<>();
+        pipelineMetrics.recordBatchSize(logEntries.size());
+        BatchConversionEvent conversion = new BatchConversionEvent();
+        conversion.begin();
+
+        TraceContext untraced = traceContext.generated() ? traceContext : TraceContext.create();
 
         // Convert DTOs to domain models
         for (int i = 0; i < logEntries.size(); i++) {
+            LogEntryRequest entry = logEntries.get(i);
+            long start = System.nanoTime();
             try {
-                LogEntry domainLog = convertToDomain(logEntries.get(i), traceContext);
+                TraceContext entryContext = entry.traceContext() != null
+                    ? toTraceContext(entry.traceContext())
+                    : untraced;
+                LogEntry domainLog = convertToDomain(entry, entryContext);
                 domainLogs.add(domainLog);
+                indexes.put(domainLog.id(), i);
+                pipelineMetrics.recordStage(Stage.CONVERT, entryType(entry), Outcome.SUCCESS, System.nanoTime() - start);
             } catch (Exception e) {
+                pipelineMetrics.recordStage(Stage.CONVERT, entryType(entry), Outcome.REJECTED, System.nanoTime() - start);
                 errors.add("Entry %d: %s".formatted(i, e.getMessage()));
             }
         }
+        conversion.complete(domainLogs.size(), errors.size());
 
         // Delegate to service layer for business logic and persistence
-        int totalAccepted = logIngestionService.ingestBatch(domainLogs);
+        int totalAccepted;
+        try {
+            totalAccepted = forwarded
+                ? logIngestionService.ingestForwarded(domainLogs)
+                : logIngestionService.ingestBatch(domainLogs);
+        } catch (LogIngestionService.PipelineSaturatedException e) {
+            if (e.rejectedEntryIds().isEmpty()) {
+                throw e;
+            }
+            List<Integer> rejected = e.rejectedEntryIds().stream()
+                .map(indexes::get)
+                .filter(Objects::nonNull)
+                .sorted()
+                .toList();
+            throw new PartiallyRejectedException(e.getMessage(), batchId, logEntries.size(),
+                domainLogs.size() - rejected.size(), rejected, errors);
+        }
 
         // Build response
         if (errors.isEmpty()) {
@@ -217,8 +371,9 @@ public final class LogIngestionController {
      * Convert DTO to Domain Model (Pattern Matching with Sealed Interfaces)
      * <p>
      * Java 21 Pattern Matching ensures exhaustive handling of all subtypes.
+     * Package-private so the benchmarks module can measure it in isolation.
      */
-    private LogEntry convertToDomain(LogEntryRequest request, TraceContext traceContext) {
+    static LogEntry convertToDomain(LogEntryRequest request, TraceContext traceContext) {
         Instant timestamp = request.timestamp() != null ? request.timestamp() : Instant.now();
         UUID id = UUID.randomUUID();
 
@@ -256,8 +411,25 @@ public final class LogIngestionController {
                 metricReq.metricName(),
                 metricReq.value(),
                 metricReq.unit(),
-                metricReq.tags()
+                metricReq.tags(),
+                1.0,
+                toSummary(metricReq.summary())
             );
         };
     }
+
+    private static EntryType entryType(final LogEntryRequest request) {
+        return switch (request) {
+            case ErrorLogRequest errorReq -> EntryType.ERROR;
+            case AuditLogRequest auditReq -> EntryType.AUDIT;
+            case MetricLogRequest metricReq -> EntryType.METRIC;
+        };
+    }
+
+    private static MetricSummary toSummary(MetricSummaryRequest request) {
+        if (request == null) {
+            return null;
+        }
+        return new MetricSummary(request.count(), request.sum(), request.min(), request.max(), request.sketch());
+    }
 }
@@ -0,0 +1,144 @@
+package com.ghostlogger.api.controller;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.tail.LogTailBroadcaster;
+import com.ghostlogger.core.domain.tail.TailFilter;
+import com.ghostlogger.core.domain.tail.TailSubscription;
+import com.ghostlogger.infrastructure.config.TailProperties;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Log Tail Controller (Server-Sent Events)
+ * <p>
+ * GET /logs/tail - Streams newly ingested entries matching server-side filters.
+ * <p>
+ * Architecture Rationale:
+ * - One Virtual Thread per viewer drains its subscription, so thousands of tails are cheap
+ * - Filters run once per entry on the ingest path (LogTailBroadcaster), not per viewer request
+ * - Viewers that fall behind lose entries, reported in-band as "dropped" events
+ */
+@RestController
+@RequestMapping("/api/v1/logs")
+@Tag(name = "Log Tail", description = "Live Log Tail Endpoints")
+public final class LogTailController {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogTailController.class);
+
+    private final LogTailBroadcaster logTailBroadcaster;
+    private final TailProperties tailProperties;
+
+    public LogTailController(final LogTailBroadcaster logTailBroadcaster, final TailProperties tailProperties) {
+        this.logTailBroadcaster = logTailBroadcaster;
+        this.tailProperties = tailProperties;
+    }
+
+    /**
+     * GET /logs/tail - Live tail as a Server-Sent Events stream
+     * <p>
+     * Events:
+     * - ERROR / AUDIT / METRIC: a matching log entry (JSON)
+     * - dropped: number of entries dropped because this viewer fell behind
+     * - comment heartbeats keep idle connections open
+     */
+    @GetMapping(value = "/tail", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Live Log Tail",
+        description = "Streams newly ingested log entries filtered by source, type, minimum level and traceId"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+        @ApiResponse(responseCode = "400", description = "Unknown type or level"),
+        @ApiResponse(responseCode = "503", description = "Too many concurrent tails")
+    })
+    public ResponseEntity<SseEmitter> tail(
+        @RequestParam(required = false) String source,
+        @RequestParam(required = false) String type,
+        @RequestParam(required = false) String level,
+        @RequestParam(required = false) String traceId
+    ) {
+        TailFilter filter;
+        try {
+            filter = new TailFilter(
+                source,
+                type,
+                level != null ? LogEntry.LogLevel.valueOf(level.toUpperCase()) : null,
+                traceId
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (logTailBroadcaster.subscriberCount() >= tailProperties.maxSubscribers()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        SseEmitter emitter = new SseEmitter(0L);
+        TailSubscription subscription = logTailBroadcaster.subscribe(filter, tailProperties.bufferCapacity());
+        emitter.onCompletion(() -> logTailBroadcaster.unsubscribe(subscription));
+        emitter.onTimeout(() -> logTailBroadcaster.unsubscribe(subscription));
+        emitter.onError(error -> logTailBroadcaster.unsubscribe(subscription));
+
+        Thread.ofVirtual()
+            .name("log-tail-" + subscription.id())
+            .start(() -> stream(emitter, subscription));
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * Drain the subscription into the emitter until the viewer disconnects
+     */
+    private void stream(final SseEmitter emitter, final TailSubscription subscription) {
+        try {
+            while (!subscription.isClosed()) {
+                LogEntry entry = subscription.poll(tailProperties.heartbeat());
+                if (entry == null) {
+                    reportDrops(emitter, subscription);
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                    continue;
+                }
+                int sent = 0;
+                do {
+                    emitter.send(SseEmitter.event()
+                        .id(entry.id().toString())
+                        .name(entry.type())
+                        .data(entry, MediaType.APPLICATION_JSON));
+                    sent++;
+                } while (sent < tailProperties.maxEventsPerFlush()
+                    && (entry = subscription.poll(Duration.ZERO)) != null);
+                reportDrops(emitter, subscription);
+            }
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Tail viewer disconnected [id={}]: {}", subscription.id(), e.getMessage());
+        } finally {
+            logTailBroadcaster.unsubscribe(subscription);
+            emitter.complete();
+        }
+    }
+
+    private static void reportDrops(final SseEmitter emitter, final TailSubscription subscription) throws IOException {
+        long dropped = subscription.takeDropped();
+        if (dropped > 0) {
+            emitter.send(SseEmitter.event()
+                .name("dropped")
+                .data(Map.of("dropped", dropped), MediaType.APPLICATION_JSON));
+        }
+    }
+}
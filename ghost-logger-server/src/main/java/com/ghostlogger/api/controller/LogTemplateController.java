@@ -0,0 +1,81 @@
+package com.ghostlogger.api.controller;
+
+import java.time.Instant;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ghostlogger.core.api.dto.response.LogTemplatesResponse;
+import com.ghostlogger.core.domain.template.LogTemplate;
+import com.ghostlogger.core.domain.template.TemplateMiner;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Log Template Controller
+ * <p>
+ * GET /templates - Mined message templates with per-template counts.
+ * GET /templates/{id} - A single template.
+ * <p>
+ * Architecture Rationale:
+ * - Counts are maintained on ingest, so "group by template" never scans stored logs
+ */
+@RestController
+@RequestMapping("/api/v1/templates")
+@Tag(name = "Log Templates", description = "Log Template Mining Endpoints")
+public final class LogTemplateController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final TemplateMiner templateMiner;
+
+    public LogTemplateController(final TemplateMiner templateMiner) {
+        this.templateMiner = templateMiner;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Top Templates",
+        description = "Returns mined message templates, most frequent first"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Templates with message counts")
+    })
+    public ResponseEntity<LogTemplatesResponse> top(@RequestParam(defaultValue = "50") int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        var templates = templateMiner.top(boundedLimit).stream()
+            .map(LogTemplateController::toEntry)
+            .toList();
+        return ResponseEntity.ok(new LogTemplatesResponse(
+            Instant.now(),
+            templateMiner.templateCount(),
+            templateMiner.rawMessages(),
+            templates
+        ));
+    }
+
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Template by Id", description = "Returns a single template and its count")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Template found"),
+        @ApiResponse(responseCode = "404", description = "Unknown template id")
+    })
+    public ResponseEntity<LogTemplatesResponse.Entry> byId(@PathVariable long id) {
+        return templateMiner.template(id)
+            .map(LogTemplateController::toEntry)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static LogTemplatesResponse.Entry toEntry(final LogTemplate template) {
+        return new LogTemplatesResponse.Entry(template.id(), template.template(), template.count());
+    }
+}
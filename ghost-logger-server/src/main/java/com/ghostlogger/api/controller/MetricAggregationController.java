@@ -0,0 +1,253 @@
+package com.ghostlogger.api.controller;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.ghostlogger.core.api.dto.response.MetricAggregateResponse;
+import com.ghostlogger.core.domain.analytics.MetricAggregator;
+import com.ghostlogger.core.domain.analytics.QuantileSketch;
+import com.ghostlogger.core.domain.analytics.SeriesKey;
+import com.ghostlogger.core.domain.analytics.SeriesQueryResult;
+import com.ghostlogger.core.domain.analytics.WindowAggregate;
+import com.ghostlogger.core.domain.cluster.ScatterGather;
+import com.ghostlogger.core.domain.port.ClusterTransport;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Metric Aggregation Controller
+ * <p>
+ * GET /metrics/aggregates - Reads pre-aggregated windows of a metric series.
+ * <p>
+ * Architecture Rationale:
+ * - Aggregates are maintained at ingest time by MetricAggregator
+ * - A query only walks the sealed windows of one series: O(windows), never O(samples)
+ * - The coarsest rollup tier satisfying the requested resolution is used
+ * - In a cluster, a series fed by sources on several nodes is gathered from all of
+ *   them; windows are merged by start, and quantiles are recomputed from the merged
+ *   window sketches, so they are as exact as on a single node
+ */
+@RestController
+@RequestMapping("/api/v1/metrics")
+@Tag(name = "Metrics", description = "Pre-Aggregated Metric Query Endpoints")
+public final class MetricAggregationController {
+
+    private static final Duration DEFAULT_LOOKBACK = Duration.ofHours(1);
+
+    private final MetricAggregator metricAggregator;
+    private final ScatterGather scatterGather;
+
+    public MetricAggregationController(
+        final MetricAggregator metricAggregator,
+        final ScatterGather scatterGather
+    ) {
+        this.metricAggregator = metricAggregator;
+        this.scatterGather = scatterGather;
+    }
+
+    /**
+     * GET /metrics/aggregates - Window aggregates for one series
+     *
+     * @param metricName metric name of the series
+     * @param tags       series tags as key=value pairs
+     * @param resolution requested resolution, a multiple of 10s (e.g. 10s, 5m, 1h, 1d)
+     * @param from       inclusive lower bound, defaults to one hour ago
+     * @param to         exclusive upper bound, defaults to now
+     * @param forwardedBy cluster node gathering this node's local answer, if any
+     */
+    @GetMapping(value = "/aggregates", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Metric Window Aggregates",
+        description = "Returns count, sum, min, max, mean and p50/p90/p99 per window at the requested resolution"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Window aggregates of the series"),
+        @ApiResponse(responseCode = "400", description = "Unknown resolution or malformed tag"),
+        @ApiResponse(responseCode = "404", description = "Series not found")
+    })
+    public ResponseEntity<MetricAggregateResponse> aggregates(
+        @RequestParam String metricName,
+        @Parameter(description = "Series tags as key=value, repeatable")
+        @RequestParam(required = false) List<String> tags,
+        @Parameter(description = "Requested resolution, a multiple of 10s")
+        @RequestParam(defaultValue = "1m") String resolution,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+        @Parameter(description = "Set by a cluster node gathering this node's local answer")
+        @RequestHeader(value = ClusterTransport.FORWARDED_BY, required = false) String forwardedBy
+    ) throws InterruptedException {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(DEFAULT_LOOKBACK);
+        SeriesKey key;
+        Optional<SeriesQueryResult> result;
+        try {
+            key = SeriesKey.of(metricName, parseTags(tags));
+            result = metricAggregator.query(key, DurationStyle.detectAndParse(resolution), start, end);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        boolean forwarded = forwardedBy != null;
+        Optional<MetricAggregateResponse> local = result
+            .map(query -> new MetricAggregateResponse(
+                key.metricName(),
+                key.tags(),
+                resolution,
+                query.tier().label(),
+                query.windows().stream().map(window -> toWindow(window, forwarded)).toList()
+            ));
+        if (forwarded || !scatterGather.clustered()) {
+            return local.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+        }
+
+        UriComponentsBuilder peerQuery = UriComponentsBuilder.fromPath("/api/v1/metrics/aggregates")
+            .queryParam("metricName", metricName)
+            .queryParam("resolution", resolution)
+            .queryParam("from", start)
+            .queryParam("to", end);
+        if (tags != null) {
+            peerQuery.queryParam("tags", tags);
+        }
+        ScatterGather.Gathered<MetricAggregateResponse> gathered = scatterGather.gather(
+            peerQuery.encode().build().toUriString(), MetricAggregateResponse.class, () -> local.orElse(null));
+        if (gathered.results().isEmpty()) {
+            return ClusterResponses.notFound(gathered);
+        }
+        return ClusterResponses.merged(mergeWindows(gathered.results()), gathered);
+    }
+
+    /**
+     * GET /metrics/series - Known metric series, of every node in a cluster
+     */
+    @GetMapping(value = "/series", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Metric Series", description = "Lists all series currently being aggregated")
+    public ResponseEntity<List<SeriesKey>> series(
+        @Parameter(description = "Set by a cluster node gathering this node's local answer")
+        @RequestHeader(value = ClusterTransport.FORWARDED_BY, required = false) String forwardedBy
+    ) throws InterruptedException {
+        if (forwardedBy != null || !scatterGather.clustered()) {
+            return ResponseEntity.ok(List.copyOf(metricAggregator.seriesKeys()));
+        }
+        ScatterGather.Gathered<SeriesKey[]> gathered = scatterGather.gather(
+            "/api/v1/metrics/series", SeriesKey[].class,
+            () -> metricAggregator.seriesKeys().toArray(SeriesKey[]::new));
+        Set<SeriesKey> series = new LinkedHashSet<>();
+        for (SeriesKey[] keys : gathered.results()) {
+            series.addAll(List.of(keys));
+        }
+        return ClusterResponses.merged(List.copyOf(series), gathered);
+    }
+
+    /**
+     * Merge the windows of the nodes' answers by window start: counts and sums add up,
+     * and the quantiles are read from the union of the window sketches
+     */
+    private static MetricAggregateResponse mergeWindows(final List<MetricAggregateResponse> responses) {
+        MetricAggregateResponse first = responses.get(0);
+        if (responses.size() == 1) {
+            return new MetricAggregateResponse(first.metricName(), first.tags(), first.resolution(), first.tier(),
+                first.windows().stream().map(MetricAggregationController::withoutSketch).toList());
+        }
+        Map<Instant, List<MetricAggregateResponse.Window>> byStart = new TreeMap<>();
+        for (MetricAggregateResponse response : responses) {
+            for (MetricAggregateResponse.Window window : response.windows()) {
+                byStart.computeIfAbsent(window.start(), start -> new ArrayList<>()).add(window);
+            }
+        }
+        List<MetricAggregateResponse.Window> windows = byStart.values().stream()
+            .map(MetricAggregationController::mergeWindow)
+            .toList();
+        return new MetricAggregateResponse(first.metricName(), first.tags(), first.resolution(), first.tier(), windows);
+    }
+
+    private static MetricAggregateResponse.Window mergeWindow(final List<MetricAggregateResponse.Window> windows) {
+        MetricAggregateResponse.Window first = windows.get(0);
+        if (windows.size() == 1) {
+            return withoutSketch(first);
+        }
+        long count = 0;
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        QuantileSketch sketch = QuantileSketch.empty();
+        for (MetricAggregateResponse.Window window : windows) {
+            count += window.count();
+            sum += window.sum();
+            min = Math.min(min, window.min());
+            max = Math.max(max, window.max());
+            sketch.merge(QuantileSketch.fromBytes(window.sketch()));
+        }
+        return new MetricAggregateResponse.Window(
+            first.start(),
+            first.end(),
+            count,
+            sum,
+            min,
+            max,
+            count == 0 ? Double.NaN : sum / count,
+            sketch.quantile(50.0),
+            sketch.quantile(90.0),
+            sketch.quantile(99.0),
+            null
+        );
+    }
+
+    private static MetricAggregateResponse.Window withoutSketch(final MetricAggregateResponse.Window window) {
+        return new MetricAggregateResponse.Window(window.start(), window.end(), window.count(), window.sum(),
+            window.min(), window.max(), window.mean(), window.p50(), window.p90(), window.p99(), null);
+    }
+
+    private static Map<String, String> parseTags(List<String> tags) {
+        Map<String, String> parsed = new HashMap<>();
+        if (tags == null) {
+            return parsed;
+        }
+        for (String tag : tags) {
+            int separator = tag.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Tag must be key=value: " + tag);
+            }
+            parsed.put(tag.substring(0, separator), tag.substring(separator + 1));
+        }
+        return parsed;
+    }
+
+    private static MetricAggregateResponse.Window toWindow(WindowAggregate aggregate, boolean withSketch) {
+        return new MetricAggregateResponse.Window(
+            aggregate.windowStart(),
+            aggregate.windowEnd(),
+            aggregate.count(),
+            aggregate.sum(),
+            aggregate.min(),
+            aggregate.max(),
+            aggregate.mean(),
+            aggregate.p50(),
+            aggregate.p90(),
+            aggregate.p99(),
+            withSketch ? aggregate.sketch() : null
+        );
+    }
+}
@@ -0,0 +1,111 @@
+package com.ghostlogger.api.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.ErrorResponseException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import com.ghostlogger.core.api.dto.response.RuleSetResponse;
+import com.ghostlogger.core.domain.port.ClusterTransport;
+import com.ghostlogger.core.domain.rule.RuleEngine;
+import com.ghostlogger.core.domain.rule.RuleSet;
+import com.ghostlogger.core.domain.rule.RuleSyntaxException;
+import com.ghostlogger.infrastructure.config.ClusterProperties;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Rule Controller
+ * <p>
+ * GET /rules - The active routing/filter rules with match counts.
+ * PUT /rules - Replace the active rules (text/plain rule source).
+ * <p>
+ * Architecture Rationale:
+ * - A rule set can drop every entry and runs its own regexes, so replacing it takes
+ *   the cluster secret in {@link ClusterTransport#CLUSTER_SECRET}; without a secret
+ *   configured the endpoint is disabled and rules change through the rule file only
+ * - Rules are compiled before they are swapped in, so a bad rule set is refused with
+ *   its line and column and never reaches the pipeline
+ * - Rules replaced here are not written back to the rule file; the next change of the
+ *   file replaces them again
+ */
+@RestController
+@RequestMapping("/api/v1/rules")
+@Tag(name = "Rules", description = "Routing and Filter Rule Endpoints")
+public final class RuleController {
+
+    private final RuleEngine ruleEngine;
+    private final byte[] secret;
+
+    public RuleController(final RuleEngine ruleEngine, final ClusterProperties clusterProperties) {
+        this.ruleEngine = ruleEngine;
+        this.secret = clusterProperties.secret().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Active Rules", description = "Returns the active rule set and per-rule match counts")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Active rule set")
+    })
+    public ResponseEntity<RuleSetResponse> current() {
+        return ResponseEntity.ok(toResponse(ruleEngine.current()));
+    }
+
+    @PutMapping(consumes = MediaType.TEXT_PLAIN_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Replace Rules", description = "Compiles the rules and atomically replaces the active rule set")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rules compiled and active"),
+        @ApiResponse(responseCode = "400", description = "Rules do not compile; the active rule set is kept"),
+        @ApiResponse(responseCode = "401", description = "Cluster secret missing or wrong"),
+        @ApiResponse(responseCode = "403", description = "No cluster secret is configured; edit the rule file instead")
+    })
+    public ResponseEntity<RuleSetResponse> replace(
+        @RequestHeader(value = ClusterTransport.CLUSTER_SECRET, required = false) String presented,
+        @RequestBody String rules
+    ) {
+        authorize(presented);
+        try {
+            return ResponseEntity.ok(toResponse(ruleEngine.load("api", rules)));
+        } catch (RuleSyntaxException e) {
+            ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+            problem.setProperty("line", e.line());
+            problem.setProperty("column", e.column());
+            throw new ErrorResponseException(HttpStatus.BAD_REQUEST, problem, e);
+        }
+    }
+
+    private void authorize(final String presented) {
+        if (secret.length == 0) {
+            throw new ErrorResponseException(HttpStatus.FORBIDDEN, ProblemDetail.forStatusAndDetail(HttpStatus.FORBIDDEN,
+                "Replacing rules over the API needs ghostlogger.cluster.secret; edit the rule file instead"), null);
+        }
+        if (presented == null || !MessageDigest.isEqual(secret, presented.getBytes(StandardCharsets.UTF_8))) {
+            throw new ErrorResponseException(HttpStatus.UNAUTHORIZED, ProblemDetail.forStatusAndDetail(
+                HttpStatus.UNAUTHORIZED, "Missing or wrong " + ClusterTransport.CLUSTER_SECRET), null);
+        }
+    }
+
+    private static RuleSetResponse toResponse(final RuleSet rules) {
+        return new RuleSetResponse(
+            rules.version(),
+            rules.origin(),
+            rules.loadedAt(),
+            rules.stats().stream()
+                .map(stats -> new RuleSetResponse.Rule(stats.name(), stats.line(), stats.matches()))
+                .toList()
+        );
+    }
+}
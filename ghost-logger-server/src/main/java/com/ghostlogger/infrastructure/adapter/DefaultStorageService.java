@@ -6,10 +6,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * Default Storage Service Implementation
  * <p>
- * Simulates storing logs to long-term storage (S3, Elasticsearch, etc.)
+ * Simulates storing logs to long-term storage (S3, Elasticsearch, etc.); the
+ * primary sink, written in bulk batches
  */
 @Service
 public class DefaultStorageService implements StorageService {
@@ -31,4 +34,16 @@ public class DefaultStorageService implements StorageService {
             throw new Exception("Storage service temporarily unavailable");
         }
     }
+
+    @Override
+    public void storeBatch(List<LogEntry> logEntries) throws Exception {
+        // Simulate one bulk request (e.g. Elasticsearch _bulk) per batch
+        Thread.sleep(150);
+
+        log.debug("💾 STORED batch of {} entries", logEntries.size());
+
+        if (Math.random() < 0.05) {
+            throw new Exception("Storage service temporarily unavailable");
+        }
+    }
 }
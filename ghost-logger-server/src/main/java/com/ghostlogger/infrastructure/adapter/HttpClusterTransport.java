@@ -0,0 +1,223 @@
+package com.ghostlogger.infrastructure.adapter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.ghostlogger.core.api.dto.request.AuditLogRequest;
+import com.ghostlogger.core.api.dto.request.ErrorLogRequest;
+import com.ghostlogger.core.api.dto.request.LogBatchRequest;
+import com.ghostlogger.core.api.dto.request.LogEntryRequest;
+import com.ghostlogger.core.api.dto.request.MetricLogRequest;
+import com.ghostlogger.core.api.dto.request.MetricSummaryRequest;
+import com.ghostlogger.core.api.dto.request.TraceContextRequest;
+import com.ghostlogger.core.domain.cluster.ClusterNode;
+import com.ghostlogger.core.domain.model.AuditLog;
+import com.ghostlogger.core.domain.model.ErrorLog;
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.model.MetricLog;
+import com.ghostlogger.core.domain.model.MetricSummary;
+import com.ghostlogger.core.domain.model.TraceContext;
+import com.ghostlogger.core.domain.port.ClusterTransport;
+import com.ghostlogger.infrastructure.config.ClusterProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * HTTP Cluster Transport
+ * <p>
+ * Talks to the other nodes over their public API with one shared, keep-alive
+ * {@link HttpClient}:
+ * - A forwarded batch is POSTed to {@code /api/v1/logs/ingest} as the same JSON a
+ *   client sends, gzip-compressed; log batches are repetitive and compress well, so
+ *   forwarding costs a fraction of the client traffic it carries
+ * - Queries are plain GETs, accepting a gzip response
+ * - Every request carries {@link ClusterTransport#FORWARDED_BY}, so the peer answers it locally,
+ *   and the cluster secret, if one is set, so the peer can tell it comes from a node
+ * - A peer whose shards took only part of a batch answers 503 with the rejected entries;
+ *   only those are resent, after its Retry-After, so the rest is not stored twice
+ */
+@Component
+public class HttpClusterTransport implements ClusterTransport {
+
+    private static final String INGEST_PATH = "/api/v1/logs/ingest";
+    /** Resends of the rejected part of a batch before the forward fails */
+    private static final int MAX_PARTIAL_RESENDS = 3;
+
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final String nodeId;
+    private final String secret;
+    private final Duration requestTimeout;
+
+    public HttpClusterTransport(final ObjectMapper objectMapper, final ClusterProperties properties) {
+        this.objectMapper = objectMapper;
+        this.nodeId = properties.nodeId();
+        this.secret = properties.secret();
+        this.requestTimeout = properties.requestTimeout();
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(properties.connectTimeout())
+            .build();
+    }
+
+    @Override
+    public void forward(final ClusterNode node, final List<LogEntry> entries) throws Exception {
+        List<LogEntry> pending = entries;
+        for (int resends = 0; ; resends++) {
+            LogBatchRequest batch = new LogBatchRequest(pending.stream().map(HttpClusterTransport::toRequest).toList());
+            HttpRequest request = fromNode(HttpRequest.newBuilder(node.address().resolve(INGEST_PATH)))
+                .header("Content-Type", "application/json")
+                .header("Content-Encoding", "gzip")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(gzip(objectMapper.writeValueAsBytes(batch))))
+                .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 202) {
+                return;
+            }
+            List<LogEntry> rejected = response.statusCode() == 503 ? rejectedEntries(response, pending) : List.of();
+            if (rejected.isEmpty() || resends == MAX_PARTIAL_RESENDS) {
+                throw new IOException("Node '" + node.id() + "' refused " + (rejected.isEmpty()
+                    ? "a batch of " + pending.size() : rejected.size() + " of " + pending.size())
+                    + " entries: HTTP " + response.statusCode());
+            }
+            long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+            Thread.sleep(Duration.ofSeconds(Math.max(retryAfter, 0)));
+            pending = rejected;
+        }
+    }
+
+    /**
+     * The entries a 503 names as rejected; empty when the whole batch was refused
+     */
+    private List<LogEntry> rejectedEntries(final HttpResponse<String> response, final List<LogEntry> sent) {
+        JsonNode indexes;
+        try {
+            JsonNode body = response.body() == null ? null : objectMapper.readTree(response.body());
+            indexes = body == null ? MissingNode.getInstance() : body.path("rejectedEntries");
+        } catch (JsonProcessingException e) {
+            return List.of();
+        }
+        List<LogEntry> rejected = new ArrayList<>(indexes.size());
+        for (JsonNode index : indexes) {
+            int i = index.asInt(-1);
+            if (i >= 0 && i < sent.size()) {
+                rejected.add(sent.get(i));
+            }
+        }
+        return rejected;
+    }
+
+    @Override
+    public <T> T query(final ClusterNode node, final String pathAndQuery, final Class<T> responseType)
+        throws Exception {
+        HttpRequest request = fromNode(HttpRequest.newBuilder(node.address().resolve(pathAndQuery)))
+            .header("Accept", "application/json")
+            .header("Accept-Encoding", "gzip")
+            .GET()
+            .build();
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            if (response.statusCode() == 404) {
+                return null;
+            }
+            if (response.statusCode() != 200) {
+                throw new IOException("Node '" + node.id() + "' answered HTTP " + response.statusCode());
+            }
+            boolean gzipped = response.headers().firstValue("Content-Encoding")
+                .filter("gzip"::equalsIgnoreCase)
+                .isPresent();
+            return objectMapper.readValue(gzipped ? new GZIPInputStream(body) : body, responseType);
+        }
+    }
+
+    private HttpRequest.Builder fromNode(final HttpRequest.Builder request) {
+        request.timeout(requestTimeout).header(FORWARDED_BY, nodeId);
+        if (!secret.isEmpty()) {
+            request.header(CLUSTER_SECRET, secret);
+        }
+        return request;
+    }
+
+    private static byte[] gzip(final byte[] json) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(json);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * The client request an entry was converted from, with its own trace context
+     */
+    private static LogEntryRequest toRequest(final LogEntry entry) {
+        TraceContextRequest traceContext = toRequest(entry.traceContext());
+        return switch (entry) {
+            case ErrorLog errorLog -> new ErrorLogRequest(
+                "ERROR",
+                errorLog.message(),
+                errorLog.source(),
+                errorLog.timestamp(),
+                traceContext,
+                errorLog.severity().name(),
+                errorLog.exceptionType(),
+                errorLog.stackTrace()
+            );
+            case AuditLog auditLog -> new AuditLogRequest(
+                "AUDIT",
+                auditLog.message(),
+                auditLog.source(),
+                auditLog.timestamp(),
+                traceContext,
+                auditLog.userId(),
+                auditLog.action(),
+                auditLog.resourceType(),
+                auditLog.resourceId(),
+                auditLog.metadata()
+            );
+            case MetricLog metricLog -> new MetricLogRequest(
+                "METRIC",
+                metricLog.message(),
+                metricLog.source(),
+                metricLog.timestamp(),
+                traceContext,
+                metricLog.metricName(),
+                metricLog.value(),
+                metricLog.unit(),
+                metricLog.tags(),
+                toRequest(metricLog.summary())
+            );
+        };
+    }
+
+    private static TraceContextRequest toRequest(final TraceContext traceContext) {
+        // A generated context is not the client's, so the owner generates its own
+        if (traceContext == null || traceContext.generated()) {
+            return null;
+        }
+        return new TraceContextRequest(
+            traceContext.traceId(),
+            traceContext.spanId(),
+            traceContext.correlationId(),
+            traceContext.userId()
+        );
+    }
+
+    private static MetricSummaryRequest toRequest(final MetricSummary summary) {
+        if (summary == null) {
+            return null;
+        }
+        return new MetricSummaryRequest(summary.count(), summary.sum(), summary.min(), summary.max(), summary.sketch());
+    }
+}
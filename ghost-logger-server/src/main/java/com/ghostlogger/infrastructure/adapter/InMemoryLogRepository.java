@@ -1,6 +1,8 @@
 package com.ghostlogger.infrastructure.adapter;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -12,6 +14,8 @@ import org.springframework.stereotype.Repository;
 
 import com.ghostlogger.core.domain.model.LogEntry;
 import com.ghostlogger.core.domain.port.LogRepository;
+import com.ghostlogger.core.domain.template.TemplateMiner;
+import com.ghostlogger.core.domain.template.TemplatedMessage;
 
 /**
  * In-Memory Log Repository Adapter
@@ -19,34 +23,58 @@ import com.ghostlogger.core.domain.port.LogRepository;
  * This is an ADAPTER in Hexagonal Architecture - implements the LogRepository port.
  * Uses ConcurrentHashMap for thread-safe operations with Virtual Threads.
  * <p>
+ * Messages are stored in their compact template form (template id plus parameters,
+ * see {@link TemplateMiner}) and rebuilt only when an entry is read. A row holds the
+ * entry with a shared stand-in message, the template version and its parameters
+ * packed into one byte array; the template mined by the analytics stage is reused
+ * when the caller passes it, so the message is not tokenized twice.
+ * <p>
  * Note: This is a simple in-memory implementation for demonstration.
  * In production, replace with a JPA/JDBC implementation backed by PostgreSQL.
  */
 @Repository
 public class InMemoryLogRepository implements LogRepository {
 
-    private final Map<UUID, LogEntry> storage = new ConcurrentHashMap<>();
+    /**
+     * Shared stand-in for the message of a templated entry; the real message lives in the template
+     */
+    private static final String TEMPLATED = "<templated>";
+
+    private final Map<UUID, StoredLog> storage = new ConcurrentHashMap<>();
+    private final TemplateMiner templateMiner;
+
+    public InMemoryLogRepository(final TemplateMiner templateMiner) {
+        this.templateMiner = templateMiner;
+    }
 
     @Override
     public LogEntry save(LogEntry logEntry) {
-        storage.put(logEntry.id(), logEntry);
+        return save(logEntry, null);
+    }
+
+    @Override
+    public LogEntry save(LogEntry logEntry, TemplatedMessage template) {
+        storage.put(logEntry.id(), compact(logEntry, template));
         return logEntry;
     }
 
     @Override
     public Optional<LogEntry> findById(UUID id) {
-        return Optional.ofNullable(storage.get(id));
+        return Optional.ofNullable(storage.get(id)).map(this::expand);
     }
 
     @Override
     public List<LogEntry> findAll() {
-        return new ArrayList<>(storage.values());
+        return storage.values().stream()
+            .map(this::expand)
+            .collect(Collectors.toCollection(ArrayList::new));
     }
 
     @Override
     public List<LogEntry> findBySource(String source) {
         return storage.values().stream()
-            .filter(entry -> source.equals(entry.source()))
+            .filter(stored -> source.equals(stored.entry().source()))
+            .map(this::expand)
             .collect(Collectors.toList());
     }
 
@@ -54,4 +82,43 @@ public class InMemoryLogRepository implements LogRepository {
     public void deleteById(UUID id) {
         storage.remove(id);
     }
+
+    @Override
+    public int deleteOlderThan(Class<? extends LogEntry> type, Instant cutoff) {
+        int deleted = 0;
+        Iterator<StoredLog> entries = storage.values().iterator();
+        while (entries.hasNext()) {
+            LogEntry entry = entries.next().entry();
+            if (type.isInstance(entry) && entry.timestamp().isBefore(cutoff)) {
+                entries.remove();
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private StoredLog compact(final LogEntry logEntry, final TemplatedMessage template) {
+        if (logEntry.message() == null) {
+            return new StoredLog(logEntry, TemplatedMessage.RAW, 0, null);
+        }
+        TemplatedMessage templated = template != null ? template : templateMiner.encode(logEntry.message());
+        return templated.isRaw()
+            ? new StoredLog(logEntry, TemplatedMessage.RAW, 0, null)
+            : new StoredLog(logEntry.withMessage(TEMPLATED), templated.templateId(), templated.version(),
+                templated.packedParams());
+    }
+
+    private LogEntry expand(final StoredLog stored) {
+        return stored.templateId() == TemplatedMessage.RAW
+            ? stored.entry()
+            : stored.entry().withMessage(templateMiner.render(
+                TemplatedMessage.unpack(stored.templateId(), stored.version(), stored.params())));
+    }
+
+    /**
+     * Stored row: the entry, and when its own message was dropped, the template version
+     * and packed parameters that rebuild it
+     */
+    private record StoredLog(LogEntry entry, long templateId, int version, byte[] params) {
+    }
 }
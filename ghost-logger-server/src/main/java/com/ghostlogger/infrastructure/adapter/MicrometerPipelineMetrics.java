@@ -0,0 +1,87 @@
+package com.ghostlogger.infrastructure.adapter;
+
+import com.ghostlogger.core.domain.port.PipelineMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Micrometer Pipeline Metrics Adapter
+ * <p>
+ * Publishes pipeline stage timings as {@code ghostlogger.pipeline.stage} timers
+ * tagged {@code stage}, {@code type} and {@code outcome}. Each series is
+ * registered on first use and cached in an array indexed by the enum ordinals,
+ * so recording after that is a lookup plus the timer update: no tag lists,
+ * no registry lookup, no allocation. Threads racing on the first use of a series
+ * both register it; the registry hands both the same meter.
+ */
+@Component
+public class MicrometerPipelineMetrics implements PipelineMetrics {
+
+    static final String STAGE_TIMER = "ghostlogger.pipeline.stage";
+    static final String RATE_LIMIT_COUNTER = "ghostlogger.pipeline.rate.limit";
+    static final String BATCH_SIZE_SUMMARY = "ghostlogger.pipeline.batch.size";
+
+    private static final Stage[] STAGES = Stage.values();
+    private static final EntryType[] TYPES = EntryType.values();
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final MeterRegistry registry;
+    private final AtomicReferenceArray<Timer> stageTimers =
+        new AtomicReferenceArray<>(STAGES.length * TYPES.length * OUTCOMES.length);
+    private final AtomicReferenceArray<Counter> rateLimitCounters = new AtomicReferenceArray<>(OUTCOMES.length);
+    private final DistributionSummary batchSize;
+
+    public MicrometerPipelineMetrics(final MeterRegistry registry) {
+        this.registry = registry;
+        this.batchSize = DistributionSummary.builder(BATCH_SIZE_SUMMARY)
+            .description("Entries per ingest request")
+            .baseUnit("entries")
+            .register(registry);
+    }
+
+    @Override
+    public void recordStage(final Stage stage, final EntryType type, final Outcome outcome, final long nanos) {
+        int index = (stage.ordinal() * TYPES.length + type.ordinal()) * OUTCOMES.length + outcome.ordinal();
+        Timer timer = stageTimers.get(index);
+        if (timer == null) {
+            timer = Timer.builder(STAGE_TIMER)
+                .description("Time spent in one stage of the ingestion pipeline")
+                .tag("stage", tagValue(stage))
+                .tag("type", tagValue(type))
+                .tag("outcome", tagValue(outcome))
+                .register(registry);
+            stageTimers.set(index, timer);
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordRateLimit(final Outcome outcome) {
+        Counter counter = rateLimitCounters.get(outcome.ordinal());
+        if (counter == null) {
+            counter = Counter.builder(RATE_LIMIT_COUNTER)
+                .description("Rate-limit decisions per ingest request")
+                .baseUnit("batches")
+                .tag("outcome", tagValue(outcome))
+                .register(registry);
+            rateLimitCounters.set(outcome.ordinal(), counter);
+        }
+        counter.increment();
+    }
+
+    @Override
+    public void recordBatchSize(final int entries) {
+        batchSize.record(entries);
+    }
+
+    private static String tagValue(final Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
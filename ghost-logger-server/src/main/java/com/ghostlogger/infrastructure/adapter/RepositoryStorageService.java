@@ -0,0 +1,57 @@
+package com.ghostlogger.infrastructure.adapter;
+
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.port.LogRepository;
+import com.ghostlogger.core.domain.port.StorageService;
+import com.ghostlogger.core.domain.template.TemplatedMessage;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Repository Storage Service
+ * <p>
+ * The "repository" sink: writes ingested entries to the {@link LogRepository}, so the
+ * entries the API reads back are stored with their messages in template form (the
+ * template mined by the analytics stage is reused), and raw
+ * MetricLog samples are purged by the rollup retention.
+ */
+@Service
+public class RepositoryStorageService implements StorageService {
+
+    /**
+     * Sink name, for {@code route} rules and {@code ghostlogger.sinks.instances}
+     */
+    public static final String SINK_NAME = "repository";
+
+    private final LogRepository logRepository;
+
+    public RepositoryStorageService(final LogRepository logRepository) {
+        this.logRepository = logRepository;
+    }
+
+    @Override
+    public void store(final LogEntry logEntry) {
+        logRepository.save(logEntry);
+    }
+
+    @Override
+    public void storeBatch(final List<LogEntry> logEntries) {
+        // save replaces by id, so a retried batch is idempotent
+        for (LogEntry logEntry : logEntries) {
+            logRepository.save(logEntry);
+        }
+    }
+
+    @Override
+    public void storeBatch(final List<LogEntry> logEntries, final List<TemplatedMessage> templates) {
+        for (int i = 0; i < logEntries.size(); i++) {
+            logRepository.save(logEntries.get(i), templates.get(i));
+        }
+    }
+
+    @Override
+    public String sinkName() {
+        return SINK_NAME;
+    }
+}
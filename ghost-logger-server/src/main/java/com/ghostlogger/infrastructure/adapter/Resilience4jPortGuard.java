@@ -0,0 +1,131 @@
+package com.ghostlogger.infrastructure.adapter;
+
+import com.ghostlogger.core.domain.port.PortGuard;
+import com.ghostlogger.core.domain.port.StorageService;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Resilience4j Port Guard Adapter
+ * <p>
+ * One Resilience4j instance set per port, named after it ({@code alertService},
+ * {@code storageService}), and one per storage sink other than the primary one,
+ * named {@code <sink>Sink} (e.g. {@code archiveSink}); all configured in application.yml:
+ * <ul>
+ *   <li>Bulkhead - concurrent calls; a full bulkhead refuses the call</li>
+ *   <li>CircuitBreaker - an open circuit refuses the call; timeouts count as failures</li>
+ *   <li>TimeLimiter - the call runs as a subtask of a StructuredTaskScope and is
+ *       interrupted at the timeout, so the TraceContext reaches the port as usual</li>
+ * </ul>
+ */
+@Component
+public class Resilience4jPortGuard implements PortGuard {
+
+    private final Guard[] guards = new Guard[Port.values().length];
+    private final Map<String, Guard> sinkGuards = new ConcurrentHashMap<>();
+    private final BulkheadRegistry bulkheadRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final TimeLimiterRegistry timeLimiterRegistry;
+
+    private record Guard(String name, Bulkhead bulkhead, CircuitBreaker circuitBreaker, TimeLimiter timeLimiter) {
+    }
+
+    public Resilience4jPortGuard(
+        final BulkheadRegistry bulkheadRegistry,
+        final CircuitBreakerRegistry circuitBreakerRegistry,
+        final TimeLimiterRegistry timeLimiterRegistry
+    ) {
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.timeLimiterRegistry = timeLimiterRegistry;
+        for (Port port : Port.values()) {
+            guards[port.ordinal()] = guard(instanceName(port));
+        }
+    }
+
+    private Guard guard(final String name) {
+        return new Guard(
+            name,
+            bulkheadRegistry.bulkhead(name),
+            circuitBreakerRegistry.circuitBreaker(name),
+            timeLimiterRegistry.timeLimiter(name)
+        );
+    }
+
+    @Override
+    public void call(final Port port, final PortCall call) throws Exception {
+        call(guards[port.ordinal()], call);
+    }
+
+    @Override
+    public void callSink(final String sink, final PortCall call) throws Exception {
+        Guard guard = StorageService.PRIMARY_SINK.equals(sink)
+            ? guards[Port.STORAGE.ordinal()]
+            : sinkGuards.computeIfAbsent(sink, name -> guard(name + "Sink"));
+        call(guard, call);
+    }
+
+    private static void call(final Guard guard, final PortCall call) throws Exception {
+        if (!guard.bulkhead().tryAcquirePermission()) {
+            throw new PortUnavailableException(guard.name() + " bulkhead is full",
+                BulkheadFullException.createBulkheadFullException(guard.bulkhead()));
+        }
+        try {
+            if (!guard.circuitBreaker().tryAcquirePermission()) {
+                throw new PortUnavailableException(guard.name() + " circuit is open",
+                    CallNotPermittedException.createCallNotPermittedException(guard.circuitBreaker()));
+            }
+            long start = System.nanoTime();
+            try {
+                callWithTimeout(guard.timeLimiter(), call);
+                guard.circuitBreaker().onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            } catch (Exception e) {
+                guard.circuitBreaker().onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                throw e;
+            }
+        } finally {
+            guard.bulkhead().onComplete();
+        }
+    }
+
+    private static void callWithTimeout(final TimeLimiter timeLimiter, final PortCall call) throws Exception {
+        try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
+            scope.fork(() -> {
+                call.call();
+                return null;
+            });
+            scope.joinUntil(Instant.now().plus(timeLimiter.getTimeLimiterConfig().getTimeoutDuration()));
+            scope.throwIfFailed(cause -> cause instanceof Exception exception ? exception : new Exception(cause));
+            timeLimiter.onSuccess();
+        } catch (TimeoutException e) {
+            TimeoutException timeout = new TimeoutException(
+                "TimeLimiter '" + timeLimiter.getName() + "' timed out the call");
+            timeLimiter.onError(timeout);
+            throw timeout;
+        } catch (Exception e) {
+            timeLimiter.onError(e);
+            throw e;
+        }
+    }
+
+    private static String instanceName(final Port port) {
+        return switch (port) {
+            case ALERT -> "alertService";
+            case STORAGE -> "storageService";
+        };
+    }
+}
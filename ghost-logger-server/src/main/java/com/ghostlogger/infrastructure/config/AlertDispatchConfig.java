@@ -0,0 +1,27 @@
+package com.ghostlogger.infrastructure.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ghostlogger.core.domain.alert.AlertDispatchPolicy;
+
+/**
+ * Alert Dispatch Configuration
+ * <p>
+ * Builds the core AlertDispatchPolicy from externalized properties.
+ */
+@Configuration
+@EnableConfigurationProperties(AlertDispatchProperties.class)
+public class AlertDispatchConfig {
+
+    @Bean
+    public AlertDispatchPolicy alertDispatchPolicy(final AlertDispatchProperties properties) {
+        return new AlertDispatchPolicy(
+            properties.queueCapacity(),
+            properties.maxConcurrentAlerts(),
+            properties.maxAttempts(),
+            properties.retryDelay()
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package com.ghostlogger.infrastructure.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Alert Dispatch Properties
+ * <p>
+ * Bound from {@code ghostlogger.alerts.*} in application.yml.
+ */
+@ConfigurationProperties(prefix = "ghostlogger.alerts")
+public record AlertDispatchProperties(
+    @DefaultValue("10000") int queueCapacity,
+    @DefaultValue("16") int maxConcurrentAlerts,
+    @DefaultValue("3") int maxAttempts,
+    @DefaultValue("5s") Duration retryDelay
+) {
+}
@@ -0,0 +1,29 @@
+package com.ghostlogger.infrastructure.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ghostlogger.core.domain.analytics.CardinalityPolicy;
+
+/**
+ * Cardinality Configuration
+ * <p>
+ * Builds the core CardinalityPolicy from externalized properties.
+ */
+@Configuration
+@EnableConfigurationProperties(CardinalityProperties.class)
+public class CardinalityConfig {
+
+    @Bean
+    public CardinalityPolicy cardinalityPolicy(final CardinalityProperties properties) {
+        return new CardinalityPolicy(
+            properties.precision(),
+            properties.slotDuration(),
+            properties.slots(),
+            properties.maxTrackedKeys(),
+            properties.maxTagValues(),
+            properties.guardMode()
+        );
+    }
+}
@@ -0,0 +1,24 @@
+package com.ghostlogger.infrastructure.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import com.ghostlogger.core.domain.analytics.CardinalityPolicy;
+
+/**
+ * Cardinality Properties
+ * <p>
+ * Bound from {@code ghostlogger.cardinality.*} in application.yml.
+ */
+@ConfigurationProperties(prefix = "ghostlogger.cardinality")
+public record CardinalityProperties(
+    @DefaultValue("12") int precision,
+    @DefaultValue("5m") Duration slotDuration,
+    @DefaultValue("12") int slots,
+    @DefaultValue("10000") int maxTrackedKeys,
+    @DefaultValue("1000") long maxTagValues,
+    @DefaultValue("FLAG") CardinalityPolicy.GuardMode guardMode
+) {
+}
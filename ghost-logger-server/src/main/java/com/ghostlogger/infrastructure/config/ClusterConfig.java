@@ -0,0 +1,75 @@
+package com.ghostlogger.infrastructure.config;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ghostlogger.core.domain.cluster.ClusterForwarder;
+import com.ghostlogger.core.domain.cluster.ClusterMembership;
+import com.ghostlogger.core.domain.cluster.ClusterNode;
+import com.ghostlogger.core.domain.cluster.ClusterPolicy;
+import com.ghostlogger.core.domain.cluster.ScatterGather;
+import com.ghostlogger.core.domain.port.ClusterTransport;
+import com.ghostlogger.core.domain.port.PipelineMetrics;
+import com.ghostlogger.core.domain.port.PortGuard;
+import com.ghostlogger.core.domain.sink.SinkPolicy;
+
+/**
+ * Cluster Configuration
+ * <p>
+ * Builds the core ClusterPolicy from externalized properties, and the membership,
+ * forwarder and scatter-gather over the ClusterTransport; the membership file is
+ * loaded by the ClusterMembershipReloader.
+ */
+@Configuration
+@EnableConfigurationProperties(ClusterProperties.class)
+public class ClusterConfig {
+
+    @Bean
+    public ClusterPolicy clusterPolicy(final ClusterProperties properties) {
+        List<ClusterNode> nodes = properties.nodes().entrySet().stream()
+            .map(node -> new ClusterNode(node.getKey(), node.getValue()))
+            .toList();
+        ClusterProperties.Forwarding forwarding = properties.forwarding();
+        return new ClusterPolicy(
+            properties.nodeId(),
+            nodes,
+            properties.virtualNodes(),
+            properties.partitionKey(),
+            new SinkPolicy(
+                forwarding.queueCapacity(),
+                forwarding.batchSize(),
+                forwarding.maxBatchDelay(),
+                forwarding.maxAttempts(),
+                forwarding.retryDelay(),
+                false
+            ),
+            properties.queryTimeout()
+        );
+    }
+
+    @Bean
+    public ClusterMembership clusterMembership(final ClusterPolicy clusterPolicy) {
+        return new ClusterMembership(clusterPolicy);
+    }
+
+    @Bean
+    public ClusterForwarder clusterForwarder(
+        final ClusterMembership clusterMembership,
+        final ClusterTransport clusterTransport,
+        final PortGuard portGuard,
+        final PipelineMetrics pipelineMetrics
+    ) {
+        return new ClusterForwarder(clusterMembership, clusterTransport, portGuard, pipelineMetrics);
+    }
+
+    @Bean
+    public ScatterGather scatterGather(
+        final ClusterMembership clusterMembership,
+        final ClusterTransport clusterTransport
+    ) {
+        return new ScatterGather(clusterMembership, clusterTransport);
+    }
+}
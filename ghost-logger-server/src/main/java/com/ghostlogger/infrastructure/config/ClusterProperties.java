@@ -0,0 +1,43 @@
+package com.ghostlogger.infrastructure.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import com.ghostlogger.core.domain.pipeline.ShardingPolicy.PartitionKey;
+
+/**
+ * Cluster Properties
+ * <p>
+ * Bound from {@code ghostlogger.cluster.*} in application.yml. {@code nodes} maps node
+ * ids to their base address; with no nodes and no {@code members-file} the server
+ * runs standalone. A {@code members-file} replaces {@code nodes} once it exists.
+ * {@code secret} is shared by all nodes; without it a node trusts a peer by address.
+ */
+@ConfigurationProperties(prefix = "ghostlogger.cluster")
+public record ClusterProperties(
+    @DefaultValue("node-1") String nodeId,
+    @DefaultValue Map<String, URI> nodes,
+    @DefaultValue("") String membersFile,
+    @DefaultValue("PT10S") Duration reloadInterval,
+    @DefaultValue("256") int virtualNodes,
+    @DefaultValue("SOURCE") PartitionKey partitionKey,
+    @DefaultValue("1s") Duration connectTimeout,
+    @DefaultValue("5s") Duration requestTimeout,
+    @DefaultValue("2s") Duration queryTimeout,
+    @DefaultValue("") String secret,
+    @DefaultValue Forwarding forwarding
+) {
+
+    public record Forwarding(
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("512") int batchSize,
+        @DefaultValue("10ms") Duration maxBatchDelay,
+        @DefaultValue("5") int maxAttempts,
+        @DefaultValue("1s") Duration retryDelay
+    ) {
+    }
+}
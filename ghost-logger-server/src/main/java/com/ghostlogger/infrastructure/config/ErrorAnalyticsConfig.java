@@ -0,0 +1,28 @@
+package com.ghostlogger.infrastructure.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ghostlogger.core.domain.analytics.HeavyHitterPolicy;
+
+/**
+ * Error Analytics Configuration
+ * <p>
+ * Builds the core HeavyHitterPolicy from externalized properties.
+ */
+@Configuration
+@EnableConfigurationProperties(ErrorAnalyticsProperties.class)
+public class ErrorAnalyticsConfig {
+
+    @Bean
+    public HeavyHitterPolicy heavyHitterPolicy(final ErrorAnalyticsProperties properties) {
+        return new HeavyHitterPolicy(
+            properties.topK(),
+            properties.window(),
+            properties.slots(),
+            properties.sketchDepth(),
+            properties.sketchWidth()
+        );
+    }
+}
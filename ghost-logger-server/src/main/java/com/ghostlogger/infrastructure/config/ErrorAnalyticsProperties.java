@@ -0,0 +1,21 @@
+package com.ghostlogger.infrastructure.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Error Analytics Properties
+ * <p>
+ * Bound from {@code ghostlogger.errors.heavy-hitters.*} in application.yml.
+ */
+@ConfigurationProperties(prefix = "ghostlogger.errors.heavy-hitters")
+public record ErrorAnalyticsProperties(
+    @DefaultValue("20") int topK,
+    @DefaultValue("5m") Duration window,
+    @DefaultValue("10") int slots,
+    @DefaultValue("4") int sketchDepth,
+    @DefaultValue("2048") int sketchWidth
+) {
+}
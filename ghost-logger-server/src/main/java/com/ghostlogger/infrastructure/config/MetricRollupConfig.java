@@ -0,0 +1,33 @@
+package com.ghostlogger.infrastructure.config;
+
+import java.util.Map;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ghostlogger.core.domain.analytics.RollupPolicy;
+import com.ghostlogger.core.domain.analytics.WindowResolution;
+
+/**
+ * Metric Rollup Configuration
+ * <p>
+ * Builds the core RollupPolicy from externalized properties, keeping the
+ * core module free of Spring Boot binding.
+ */
+@Configuration
+@EnableConfigurationProperties(MetricRollupProperties.class)
+public class MetricRollupConfig {
+
+    @Bean
+    public RollupPolicy rollupPolicy(final MetricRollupProperties properties) {
+        return new RollupPolicy(
+            properties.rawRetention(),
+            Map.of(
+                WindowResolution.TEN_SECONDS, properties.tenSecondRetention(),
+                WindowResolution.ONE_MINUTE, properties.oneMinuteRetention(),
+                WindowResolution.ONE_HOUR, properties.oneHourRetention()
+            )
+        );
+    }
+}
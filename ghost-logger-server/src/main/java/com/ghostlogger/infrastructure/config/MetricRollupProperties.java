@@ -0,0 +1,20 @@
+package com.ghostlogger.infrastructure.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Metric Rollup Properties
+ * <p>
+ * Bound from {@code ghostlogger.metrics.rollup.*} in application.yml.
+ */
+@ConfigurationProperties(prefix = "ghostlogger.metrics.rollup")
+public record MetricRollupProperties(
+    @DefaultValue("1d") Duration rawRetention,
+    @DefaultValue("6h") Duration tenSecondRetention,
+    @DefaultValue("30d") Duration oneMinuteRetention,
+    @DefaultValue("365d") Duration oneHourRetention
+) {
+}
@@ -0,0 +1,27 @@
+package com.ghostlogger.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghostlogger.core.domain.port.PipelineMetrics;
+import com.ghostlogger.infrastructure.web.TimedJsonHttpMessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Metrics Configuration
+ * <p>
+ * Replaces Spring Boot's Jackson message converter with one that times batch
+ * deserialization; Boot backs off when a {@link MappingJackson2HttpMessageConverter}
+ * bean is present.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(
+        final ObjectMapper objectMapper,
+        final PipelineMetrics pipelineMetrics
+    ) {
+        return new TimedJsonHttpMessageConverter(objectMapper, pipelineMetrics);
+    }
+}
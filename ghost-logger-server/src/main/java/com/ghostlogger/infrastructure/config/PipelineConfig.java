@@ -0,0 +1,28 @@
+package com.ghostlogger.infrastructure.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ghostlogger.core.domain.pipeline.ShardingPolicy;
+
+/**
+ * Pipeline Configuration
+ * <p>
+ * Builds the core ShardingPolicy from externalized properties.
+ */
+@Configuration
+@EnableConfigurationProperties(PipelineProperties.class)
+public class PipelineConfig {
+
+    @Bean
+    public ShardingPolicy shardingPolicy(final PipelineProperties properties) {
+        return new ShardingPolicy(
+            properties.shards() > 0 ? properties.shards() : Runtime.getRuntime().availableProcessors(),
+            properties.partitionKey(),
+            properties.queueCapacity(),
+            properties.maxDrainSlices(),
+            properties.enqueueTimeout()
+        );
+    }
+}
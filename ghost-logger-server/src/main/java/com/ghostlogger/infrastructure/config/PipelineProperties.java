@@ -0,0 +1,24 @@
+package com.ghostlogger.infrastructure.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import com.ghostlogger.core.domain.pipeline.ShardingPolicy.PartitionKey;
+
+/**
+ * Pipeline Properties
+ * <p>
+ * Bound from {@code ghostlogger.pipeline.*} in application.yml. {@code shards: 0}
+ * uses one shard per available processor.
+ */
+@ConfigurationProperties(prefix = "ghostlogger.pipeline")
+public record PipelineProperties(
+    @DefaultValue("0") int shards,
+    @DefaultValue("SOURCE") PartitionKey partitionKey,
+    @DefaultValue("4096") int queueCapacity,
+    @DefaultValue("256") int maxDrainSlices,
+    @DefaultValue("50ms") Duration enqueueTimeout
+) {
+}
@@ -0,0 +1,22 @@
+package com.ghostlogger.infrastructure.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ghostlogger.core.domain.redaction.RedactionPolicy;
+
+/**
+ * Redaction Configuration
+ * <p>
+ * Builds the core RedactionPolicy from externalized properties.
+ */
+@Configuration
+@EnableConfigurationProperties(RedactionProperties.class)
+public class RedactionConfig {
+
+    @Bean
+    public RedactionPolicy redactionPolicy(final RedactionProperties properties) {
+        return new RedactionPolicy(properties.enabled(), properties.types(), properties.secretKeys());
+    }
+}
@@ -0,0 +1,23 @@
+package com.ghostlogger.infrastructure.config;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import com.ghostlogger.core.domain.redaction.PiiType;
+
+/**
+ * Redaction Properties
+ * <p>
+ * Bound from {@code ghostlogger.redaction.*} in application.yml.
+ */
+@ConfigurationProperties(prefix = "ghostlogger.redaction")
+public record RedactionProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue({"EMAIL", "CARD_NUMBER", "JWT", "AWS_ACCESS_KEY", "BEARER_TOKEN", "SECRET"}) Set<PiiType> types,
+    @DefaultValue({"password", "passwd", "secret", "token", "api_key", "apikey", "api-key", "access_key", "private_key"})
+    List<String> secretKeys
+) {
+}
@@ -0,0 +1,24 @@
+package com.ghostlogger.infrastructure.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ghostlogger.core.domain.rule.RuleEngine;
+import com.ghostlogger.core.domain.sink.SinkRegistry;
+
+/**
+ * Rule Configuration
+ * <p>
+ * Builds the core RuleEngine, whose {@code route} targets are the sinks of the
+ * SinkRegistry; rules are loaded by the RuleFileReloader or the rules API.
+ */
+@Configuration
+@EnableConfigurationProperties(RuleProperties.class)
+public class RuleConfig {
+
+    @Bean
+    public RuleEngine ruleEngine(final SinkRegistry sinkRegistry) {
+        return new RuleEngine(sinkRegistry.names());
+    }
+}
@@ -0,0 +1,21 @@
+package com.ghostlogger.infrastructure.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Rule Properties
+ * <p>
+ * Bound from {@code ghostlogger.rules.*} in application.yml.
+ *
+ * @param file           rule file, polled for changes; empty for no file
+ * @param reloadInterval how often the file is checked for changes
+ */
+@ConfigurationProperties(prefix = "ghostlogger.rules")
+public record RuleProperties(
+    @DefaultValue("") String file,
+    @DefaultValue("PT10S") Duration reloadInterval
+) {
+}
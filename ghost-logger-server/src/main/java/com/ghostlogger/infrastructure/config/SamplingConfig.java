@@ -0,0 +1,29 @@
+package com.ghostlogger.infrastructure.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ghostlogger.core.domain.sampling.SamplingPolicy;
+
+/**
+ * Sampling Configuration
+ * <p>
+ * Builds the core SamplingPolicy from externalized properties.
+ */
+@Configuration
+@EnableConfigurationProperties(SamplingProperties.class)
+public class SamplingConfig {
+
+    @Bean
+    public SamplingPolicy samplingPolicy(final SamplingProperties properties) {
+        return new SamplingPolicy(
+            properties.maxInFlightEntries(),
+            properties.lowWatermark(),
+            properties.highWatermark(),
+            properties.minKeepRate(),
+            properties.rateWindow(),
+            properties.maxTrackedSources()
+        );
+    }
+}
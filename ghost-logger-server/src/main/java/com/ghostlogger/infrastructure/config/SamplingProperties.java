@@ -0,0 +1,22 @@
+package com.ghostlogger.infrastructure.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Sampling Properties
+ * <p>
+ * Bound from {@code ghostlogger.sampling.*} in application.yml.
+ */
+@ConfigurationProperties(prefix = "ghostlogger.sampling")
+public record SamplingProperties(
+    @DefaultValue("10000") int maxInFlightEntries,
+    @DefaultValue("0.5") double lowWatermark,
+    @DefaultValue("1.0") double highWatermark,
+    @DefaultValue("0.01") double minKeepRate,
+    @DefaultValue("10s") Duration rateWindow,
+    @DefaultValue("10000") int maxTrackedSources
+) {
+}
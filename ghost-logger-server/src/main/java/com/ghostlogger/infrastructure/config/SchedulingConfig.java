@@ -0,0 +1,14 @@
+package com.ghostlogger.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling Configuration
+ * <p>
+ * Enables @Scheduled background tasks (window sealing, compaction, expiry).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
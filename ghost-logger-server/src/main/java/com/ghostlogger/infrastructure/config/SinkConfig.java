@@ -0,0 +1,45 @@
+package com.ghostlogger.infrastructure.config;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ghostlogger.core.domain.port.PipelineMetrics;
+import com.ghostlogger.core.domain.port.PortGuard;
+import com.ghostlogger.core.domain.port.StorageService;
+import com.ghostlogger.core.domain.sink.SinkPolicy;
+import com.ghostlogger.core.domain.sink.SinkRegistry;
+
+/**
+ * Sink Configuration
+ * <p>
+ * Builds the core SinkRegistry from every StorageService bean and the per-sink
+ * policies of the externalized properties.
+ */
+@Configuration
+@EnableConfigurationProperties(SinkProperties.class)
+public class SinkConfig {
+
+    @Bean
+    public SinkRegistry sinkRegistry(
+        final List<StorageService> storageServices,
+        final SinkProperties properties,
+        final PortGuard portGuard,
+        final PipelineMetrics pipelineMetrics
+    ) {
+        Map<String, SinkPolicy> policies = new LinkedHashMap<>();
+        properties.instances().forEach((name, sink) -> policies.put(name, new SinkPolicy(
+            sink.queueCapacity(),
+            sink.batchSize(),
+            sink.maxBatchDelay(),
+            sink.maxAttempts(),
+            sink.retryDelay(),
+            sink.defaultSink()
+        )));
+        return new SinkRegistry(storageServices, policies, portGuard, pipelineMetrics);
+    }
+}
@@ -0,0 +1,29 @@
+package com.ghostlogger.infrastructure.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Sink Properties
+ * <p>
+ * Bound from {@code ghostlogger.sinks.*} in application.yml; one entry under
+ * {@code instances} per StorageService sink name.
+ */
+@ConfigurationProperties(prefix = "ghostlogger.sinks")
+public record SinkProperties(
+    @DefaultValue Map<String, Sink> instances
+) {
+
+    public record Sink(
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("256") int batchSize,
+        @DefaultValue("5ms") Duration maxBatchDelay,
+        @DefaultValue("5") int maxAttempts,
+        @DefaultValue("1s") Duration retryDelay,
+        @DefaultValue("true") boolean defaultSink
+    ) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.ghostlogger.infrastructure.config;
+
+import com.ghostlogger.core.domain.service.LogIngestionService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Startup Configuration
+ * <p>
+ * The fast-start profile turns on lazy initialization, so analytics queries, OpenAPI
+ * docs and actuator endpoints are only built when first used. Two kinds of beans stay
+ * eager:
+ * - The ingest path ({@link LogIngestionService} and everything it depends on), so the
+ *   first batch after a scale-out does not pay for building the pipeline
+ * - Beans with {@link Scheduled} methods; a lazy one would never be created, and its
+ *   tasks (window sealing, trace expiry, rule reloads) would never run
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerIngestPath() {
+        return (beanName, beanDefinition, beanType) ->
+            LogIngestionService.class.isAssignableFrom(beanType) || hasScheduledMethods(beanType);
+    }
+
+    private static boolean hasScheduledMethods(final Class<?> beanType) {
+        return AnnotationUtils.isCandidateClass(beanType, Scheduled.class)
+            && !MethodIntrospector.selectMethods(beanType, (MethodIntrospector.MetadataLookup<Scheduled>) method ->
+                AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+    }
+}
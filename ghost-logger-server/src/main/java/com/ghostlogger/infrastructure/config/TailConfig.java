@@ -0,0 +1,12 @@
+package com.ghostlogger.infrastructure.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Live Tail Configuration
+ */
+@Configuration
+@EnableConfigurationProperties(TailProperties.class)
+public class TailConfig {
+}
@@ -0,0 +1,20 @@
+package com.ghostlogger.infrastructure.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Live Tail Properties
+ * <p>
+ * Bound from {@code ghostlogger.tail.*} in application.yml.
+ */
+@ConfigurationProperties(prefix = "ghostlogger.tail")
+public record TailProperties(
+    @DefaultValue("1024") int bufferCapacity,
+    @DefaultValue("5000") int maxSubscribers,
+    @DefaultValue("15s") Duration heartbeat,
+    @DefaultValue("256") int maxEventsPerFlush
+) {
+}
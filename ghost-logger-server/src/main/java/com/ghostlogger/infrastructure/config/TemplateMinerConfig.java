@@ -0,0 +1,28 @@
+package com.ghostlogger.infrastructure.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ghostlogger.core.domain.template.TemplateMinerPolicy;
+
+/**
+ * Template Miner Configuration
+ * <p>
+ * Builds the core TemplateMinerPolicy from externalized properties.
+ */
+@Configuration
+@EnableConfigurationProperties(TemplateMinerProperties.class)
+public class TemplateMinerConfig {
+
+    @Bean
+    public TemplateMinerPolicy templateMinerPolicy(final TemplateMinerProperties properties) {
+        return new TemplateMinerPolicy(
+            properties.depth(),
+            properties.similarityThreshold(),
+            properties.maxChildren(),
+            properties.maxTemplates(),
+            properties.maxTokens()
+        );
+    }
+}
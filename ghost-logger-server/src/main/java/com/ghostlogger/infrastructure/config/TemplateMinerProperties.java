@@ -0,0 +1,19 @@
+package com.ghostlogger.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Template Miner Properties
+ * <p>
+ * Bound from {@code ghostlogger.templates.*} in application.yml.
+ */
+@ConfigurationProperties(prefix = "ghostlogger.templates")
+public record TemplateMinerProperties(
+    @DefaultValue("4") int depth,
+    @DefaultValue("0.5") double similarityThreshold,
+    @DefaultValue("100") int maxChildren,
+    @DefaultValue("10000") int maxTemplates,
+    @DefaultValue("256") int maxTokens
+) {
+}
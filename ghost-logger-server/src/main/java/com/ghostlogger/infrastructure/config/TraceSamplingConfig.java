@@ -0,0 +1,39 @@
+package com.ghostlogger.infrastructure.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ghostlogger.core.domain.analytics.MetricAggregator;
+import com.ghostlogger.core.domain.sampling.TraceSamplingPolicy;
+
+/**
+ * Trace Sampling Configuration
+ * <p>
+ * Builds the core TraceSamplingPolicy from externalized properties.
+ * <p>
+ * The decision window must stay shorter than {@link MetricAggregator#SEAL_GRACE}: an
+ * entry held for a whole window has to reach its metric window before that seals.
+ */
+@Configuration
+@EnableConfigurationProperties(TraceSamplingProperties.class)
+public class TraceSamplingConfig {
+
+    @Bean
+    public TraceSamplingPolicy traceSamplingPolicy(final TraceSamplingProperties properties) {
+        TraceSamplingPolicy policy = new TraceSamplingPolicy(
+            properties.decisionWindow(),
+            properties.slowTraceThreshold(),
+            properties.healthyKeepRate(),
+            properties.maxBufferedEntries(),
+            properties.maxTrackedTraces(),
+            properties.tick()
+        );
+        if (policy.decisionWindow().compareTo(MetricAggregator.SEAL_GRACE) >= 0) {
+            throw new IllegalStateException(
+                "ghostlogger.trace-sampling.decision-window (%s) must be shorter than the metric seal grace (%s)"
+                    .formatted(policy.decisionWindow(), MetricAggregator.SEAL_GRACE));
+        }
+        return policy;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ghostlogger.infrastructure.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Trace Sampling Properties
+ * <p>
+ * Bound from {@code ghostlogger.trace-sampling.*} in application.yml.
+ */
+@ConfigurationProperties(prefix = "ghostlogger.trace-sampling")
+public record TraceSamplingProperties(
+    @DefaultValue("5s") Duration decisionWindow,
+    @DefaultValue("2s") Duration slowTraceThreshold,
+    @DefaultValue("0.1") double healthyKeepRate,
+    @DefaultValue("100000") int maxBufferedEntries,
+    @DefaultValue("50000") int maxTrackedTraces,
+    @DefaultValue("100ms") Duration tick
+) {
+}
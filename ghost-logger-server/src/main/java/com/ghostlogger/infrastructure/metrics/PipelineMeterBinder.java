@@ -0,0 +1,254 @@
+package com.ghostlogger.infrastructure.metrics;
+
+import com.ghostlogger.core.domain.alert.AlertDispatcher;
+import com.ghostlogger.core.domain.cluster.ClusterForwarder;
+import com.ghostlogger.core.domain.cluster.ClusterMembership;
+import com.ghostlogger.core.domain.pipeline.ShardedLogPipeline;
+import com.ghostlogger.core.domain.redaction.PiiType;
+import com.ghostlogger.core.domain.redaction.Redactor;
+import com.ghostlogger.core.domain.sampling.AdaptiveSampler;
+import com.ghostlogger.core.domain.sampling.PipelinePressure;
+import com.ghostlogger.core.domain.sampling.TraceSampler;
+import com.ghostlogger.core.domain.sink.SinkRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Pipeline Meter Binder
+ * <p>
+ * Exposes the state the pipeline already keeps as gauges and function counters,
+ * read at scrape time rather than updated on the ingest path:
+ * <ul>
+ *   <li>{@code ghostlogger.pipeline.in.flight} / {@code .saturation} - entries queued or being processed</li>
+ *   <li>{@code ghostlogger.pipeline.shard.backlog{shard}} - slices queued per shard</li>
+ *   <li>{@code ghostlogger.pipeline.entries{result}} - processed, failed and rejected entries</li>
+ *   <li>{@code ghostlogger.sink.backlog{sink}} / {@code .lag{sink}} / {@code ghostlogger.sink.entries{sink,result}}
+ *       - queue, write lag and stored, failed, shed entries per storage sink</li>
+ *   <li>{@code ghostlogger.cluster.nodes} / {@code ghostlogger.cluster.backlog} / {@code ghostlogger.cluster.forwarded{result}}
+ *       - cluster size, and queued, forwarded, failed and shed entries for the peers</li>
+ *   <li>{@code ghostlogger.alerts.backlog} / {@code ghostlogger.alerts{result}} - alert queue and sent, failed, shed alerts</li>
+ *   <li>{@code ghostlogger.redaction.entries} / {@code ghostlogger.redaction.values{type}} - redacted entries and values</li>
+ *   <li>{@code ghostlogger.sampling.keep.rate} / {@code ghostlogger.sampling.entries{decision}}</li>
+ *   <li>{@code ghostlogger.trace.tracked} / {@code .buffered} - tail-sampling queue depth</li>
+ *   <li>{@code ghostlogger.trace.decisions{decision}} / {@code ghostlogger.trace.bypassed{reason}}</li>
+ * </ul>
+ */
+@Component
+public class PipelineMeterBinder implements MeterBinder {
+
+    private final PipelinePressure pipelinePressure;
+    private final AdaptiveSampler adaptiveSampler;
+    private final TraceSampler traceSampler;
+    private final ShardedLogPipeline shardedLogPipeline;
+    private final AlertDispatcher alertDispatcher;
+    private final Redactor redactor;
+    private final SinkRegistry sinkRegistry;
+    private final ClusterMembership clusterMembership;
+    private final ClusterForwarder clusterForwarder;
+
+    public PipelineMeterBinder(
+        final PipelinePressure pipelinePressure,
+        final AdaptiveSampler adaptiveSampler,
+        final TraceSampler traceSampler,
+        final ShardedLogPipeline shardedLogPipeline,
+        final AlertDispatcher alertDispatcher,
+        final Redactor redactor,
+        final SinkRegistry sinkRegistry,
+        final ClusterMembership clusterMembership,
+        final ClusterForwarder clusterForwarder
+    ) {
+        this.pipelinePressure = pipelinePressure;
+        this.adaptiveSampler = adaptiveSampler;
+        this.traceSampler = traceSampler;
+        this.shardedLogPipeline = shardedLogPipeline;
+        this.alertDispatcher = alertDispatcher;
+        this.redactor = redactor;
+        this.sinkRegistry = sinkRegistry;
+        this.clusterMembership = clusterMembership;
+        this.clusterForwarder = clusterForwarder;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder("ghostlogger.pipeline.in.flight", pipelinePressure, PipelinePressure::inFlight)
+            .description("Entries queued or being processed")
+            .baseUnit("entries")
+            .register(registry);
+        Gauge.builder("ghostlogger.pipeline.saturation", pipelinePressure, PipelinePressure::saturation)
+            .description("Entries in flight relative to capacity")
+            .register(registry);
+        for (int shard = 0; shard < shardedLogPipeline.shardCount(); shard++) {
+            int index = shard;
+            Gauge.builder("ghostlogger.pipeline.shard.backlog", shardedLogPipeline, pipeline -> pipeline.backlog(index))
+                .description("Slices queued in one pipeline shard")
+                .baseUnit("slices")
+                .tag("shard", Integer.toString(shard))
+                .register(registry);
+        }
+        pipelineCounter(registry, "processed", ShardedLogPipeline::processedEntries);
+        pipelineCounter(registry, "failed", ShardedLogPipeline::failedEntries);
+        pipelineCounter(registry, "rejected", ShardedLogPipeline::rejectedEntries);
+
+        for (String sink : sinkRegistry.names()) {
+            Gauge.builder("ghostlogger.sink.backlog", sinkRegistry, sinks -> sinks.backlog(sink))
+                .description("Entries queued for one storage sink")
+                .baseUnit("entries")
+                .tag("sink", sink)
+                .register(registry);
+            TimeGauge.builder("ghostlogger.sink.lag", sinkRegistry, TimeUnit.NANOSECONDS,
+                    sinks -> sinks.lag(sink).toNanos())
+                .description("Age of the oldest entry one storage sink is writing")
+                .tag("sink", sink)
+                .register(registry);
+            sinkCounter(registry, sink, "stored", sinks -> sinks.storedEntries(sink));
+            sinkCounter(registry, sink, "failed", sinks -> sinks.failedEntries(sink));
+            sinkCounter(registry, sink, "shed", sinks -> sinks.shedEntries(sink));
+        }
+
+        Gauge.builder("ghostlogger.cluster.nodes", clusterMembership, membership -> membership.current().ring().nodes().size())
+            .description("Nodes in this node's cluster membership")
+            .baseUnit("nodes")
+            .register(registry);
+        Gauge.builder("ghostlogger.cluster.backlog", clusterForwarder, ClusterForwarder::backlog)
+            .description("Entries queued for forwarding to their owner node")
+            .baseUnit("entries")
+            .register(registry);
+        clusterCounter(registry, "forwarded", ClusterForwarder::forwardedEntries);
+        clusterCounter(registry, "failed", ClusterForwarder::failedEntries);
+        clusterCounter(registry, "shed", ClusterForwarder::shedEntries);
+
+        Gauge.builder("ghostlogger.alerts.backlog", alertDispatcher, AlertDispatcher::backlog)
+            .description("Alerts waiting for dispatch")
+            .baseUnit("alerts")
+            .register(registry);
+        alertCounter(registry, "sent", AlertDispatcher::sentAlerts);
+        alertCounter(registry, "failed", AlertDispatcher::failedAlerts);
+        alertCounter(registry, "shed", AlertDispatcher::shedAlerts);
+
+        FunctionCounter.builder("ghostlogger.redaction.entries", redactor, Redactor::redactedEntries)
+            .description("Entries with at least one redacted value")
+            .baseUnit("entries")
+            .register(registry);
+        for (PiiType type : PiiType.values()) {
+            FunctionCounter.builder("ghostlogger.redaction.values", redactor, r -> r.redactions(type))
+                .description("Values replaced by the redaction stage")
+                .baseUnit("values")
+                .tag("type", type.name())
+                .register(registry);
+        }
+
+        Gauge.builder("ghostlogger.sampling.keep.rate", adaptiveSampler, AdaptiveSampler::currentKeepRate)
+            .description("Keep probability applied to low-value entries")
+            .register(registry);
+        samplingCounter(registry, "kept", AdaptiveSampler::keptEntries);
+        samplingCounter(registry, "sampled_out", AdaptiveSampler::sampledOutEntries);
+
+        Gauge.builder("ghostlogger.trace.tracked", traceSampler, sampler -> sampler.stats().trackedTraces())
+            .description("Traces awaiting or recently given a tail-sampling decision")
+            .baseUnit("traces")
+            .register(registry);
+        Gauge.builder("ghostlogger.trace.buffered", traceSampler, sampler -> sampler.stats().bufferedEntries())
+            .description("Entries buffered until their trace is decided")
+            .baseUnit("entries")
+            .register(registry);
+        traceDecisionCounter(registry, "kept_error", sampler -> sampler.stats().keptError());
+        traceDecisionCounter(registry, "kept_slow", sampler -> sampler.stats().keptSlow());
+        traceDecisionCounter(registry, "kept_sampled", sampler -> sampler.stats().keptSampled());
+        traceDecisionCounter(registry, "dropped", sampler -> sampler.stats().dropped());
+        traceBypassCounter(registry, "overflow", sampler -> sampler.stats().overflowEntries());
+        traceBypassCounter(registry, "late", sampler -> sampler.stats().lateEntries());
+    }
+
+    private void pipelineCounter(
+        final MeterRegistry registry,
+        final String result,
+        final ToDoubleFunction<ShardedLogPipeline> count
+    ) {
+        FunctionCounter.builder("ghostlogger.pipeline.entries", shardedLogPipeline, count)
+            .description("Entries leaving the pipeline shards")
+            .baseUnit("entries")
+            .tag("result", result)
+            .register(registry);
+    }
+
+    private void sinkCounter(
+        final MeterRegistry registry,
+        final String sink,
+        final String result,
+        final ToDoubleFunction<SinkRegistry> count
+    ) {
+        FunctionCounter.builder("ghostlogger.sink.entries", sinkRegistry, count)
+            .description("Entries leaving one storage sink")
+            .baseUnit("entries")
+            .tag("sink", sink)
+            .tag("result", result)
+            .register(registry);
+    }
+
+    private void clusterCounter(
+        final MeterRegistry registry,
+        final String result,
+        final ToDoubleFunction<ClusterForwarder> count
+    ) {
+        FunctionCounter.builder("ghostlogger.cluster.forwarded", clusterForwarder, count)
+            .description("Entries leaving the peer forwarding queues")
+            .baseUnit("entries")
+            .tag("result", result)
+            .register(registry);
+    }
+
+    private void alertCounter(
+        final MeterRegistry registry,
+        final String result,
+        final ToDoubleFunction<AlertDispatcher> count
+    ) {
+        FunctionCounter.builder("ghostlogger.alerts", alertDispatcher, count)
+            .description("Alerts leaving the alert dispatcher")
+            .baseUnit("alerts")
+            .tag("result", result)
+            .register(registry);
+    }
+
+    private void samplingCounter(
+        final MeterRegistry registry,
+        final String decision,
+        final ToDoubleFunction<AdaptiveSampler> count
+    ) {
+        FunctionCounter.builder("ghostlogger.sampling.entries", adaptiveSampler, count)
+            .description("Entries seen by adaptive sampling")
+            .baseUnit("entries")
+            .tag("decision", decision)
+            .register(registry);
+    }
+
+    private void traceDecisionCounter(
+        final MeterRegistry registry,
+        final String decision,
+        final ToDoubleFunction<TraceSampler> count
+    ) {
+        FunctionCounter.builder("ghostlogger.trace.decisions", traceSampler, count)
+            .description("Tail-sampling decisions")
+            .baseUnit("traces")
+            .tag("decision", decision)
+            .register(registry);
+    }
+
+    private void traceBypassCounter(
+        final MeterRegistry registry,
+        final String reason,
+        final ToDoubleFunction<TraceSampler> count
+    ) {
+        FunctionCounter.builder("ghostlogger.trace.bypassed", traceSampler, count)
+            .description("Entries decided on arrival instead of buffered")
+            .baseUnit("entries")
+            .tag("reason", reason)
+            .register(registry);
+    }
+}
@@ -0,0 +1,71 @@
+package com.ghostlogger.infrastructure.scheduling;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ghostlogger.core.domain.cluster.ClusterMembership;
+import com.ghostlogger.infrastructure.config.ClusterProperties;
+
+/**
+ * Cluster Membership Reloader
+ * <p>
+ * Loads {@code ghostlogger.cluster.members-file} at startup, failing startup if it is
+ * malformed, then polls it and swaps the membership whenever it changes, so nodes are
+ * added or removed by editing one file shared by (or copied to) every node. A changed
+ * file that does not parse is logged and the active membership is kept.
+ */
+@Component
+public class ClusterMembershipReloader {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterMembershipReloader.class);
+
+    private final ClusterMembership clusterMembership;
+    private final Path file;
+    private FileTime lastModified;
+
+    public ClusterMembershipReloader(
+        final ClusterMembership clusterMembership,
+        final ClusterProperties properties
+    ) throws IOException {
+        this.clusterMembership = clusterMembership;
+        this.file = properties.membersFile().isBlank() ? null : Path.of(properties.membersFile());
+        if (file != null) {
+            if (Files.exists(file)) {
+                lastModified = Files.getLastModifiedTime(file);
+                clusterMembership.load(file.toString(), Files.readString(file));
+            } else {
+                log.info("Cluster members file {} not found, starting with the configured nodes", file);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ghostlogger.cluster.reload-interval:PT10S}")
+    public void reloadIfChanged() {
+        if (file == null) {
+            return;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            if (modified.equals(lastModified)) {
+                return;
+            }
+            lastModified = modified;
+            clusterMembership.load(file.toString(), Files.readString(file));
+        } catch (NoSuchFileException e) {
+            // Keep the active membership; the file may be in the middle of being replaced
+        } catch (IllegalArgumentException e) {
+            log.error("Cluster members file {} not loaded, keeping version {}: {}",
+                file, clusterMembership.current().version(), e.getMessage());
+        } catch (IOException e) {
+            log.warn("Could not read cluster members file {}: {}", file, e.getMessage());
+        }
+    }
+}
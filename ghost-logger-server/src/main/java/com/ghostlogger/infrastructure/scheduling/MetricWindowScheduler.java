@@ -0,0 +1,43 @@
+package com.ghostlogger.infrastructure.scheduling;
+
+import java.time.Instant;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ghostlogger.core.domain.analytics.CardinalityTracker;
+import com.ghostlogger.core.domain.analytics.MetricRollupCompactor;
+
+/**
+ * Metric Window Scheduler
+ * <p>
+ * Drives the rollup compactor off the ingest hot path:
+ * seals expired windows once per second, enforces tier retention once per minute
+ * and re-evaluates the tag cardinality guard every ten seconds.
+ */
+@Component
+public class MetricWindowScheduler {
+
+    private final MetricRollupCompactor compactor;
+    private final CardinalityTracker cardinalityTracker;
+
+    public MetricWindowScheduler(final MetricRollupCompactor compactor, final CardinalityTracker cardinalityTracker) {
+        this.compactor = compactor;
+        this.cardinalityTracker = cardinalityTracker;
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void sealExpiredWindows() {
+        compactor.sealWindows(Instant.now());
+    }
+
+    @Scheduled(fixedRate = 60_000)
+    public void enforceRetention() {
+        compactor.enforceRetention(Instant.now());
+    }
+
+    @Scheduled(fixedRate = 10_000)
+    public void evaluateCardinalityGuard() {
+        cardinalityTracker.evaluateGuard();
+    }
+}
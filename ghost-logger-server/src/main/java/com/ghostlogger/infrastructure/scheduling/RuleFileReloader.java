@@ -0,0 +1,68 @@
+package com.ghostlogger.infrastructure.scheduling;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ghostlogger.core.domain.rule.RuleEngine;
+import com.ghostlogger.core.domain.rule.RuleSyntaxException;
+import com.ghostlogger.infrastructure.config.RuleProperties;
+
+/**
+ * Rule File Reloader
+ * <p>
+ * Loads {@code ghostlogger.rules.file} at startup, failing startup if it does not
+ * compile, then polls it and hot-swaps the rules whenever it changes. A changed file
+ * that does not compile is logged and the active rules are kept.
+ */
+@Component
+public class RuleFileReloader {
+
+    private static final Logger log = LoggerFactory.getLogger(RuleFileReloader.class);
+
+    private final RuleEngine ruleEngine;
+    private final Path file;
+    private FileTime lastModified;
+
+    public RuleFileReloader(final RuleEngine ruleEngine, final RuleProperties properties) throws IOException {
+        this.ruleEngine = ruleEngine;
+        this.file = properties.file().isBlank() ? null : Path.of(properties.file());
+        if (file != null) {
+            if (Files.exists(file)) {
+                lastModified = Files.getLastModifiedTime(file);
+                ruleEngine.load(file.toString(), Files.readString(file));
+            } else {
+                log.info("Rule file {} not found, starting without rules", file);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ghostlogger.rules.reload-interval:PT10S}")
+    public void reloadIfChanged() {
+        if (file == null) {
+            return;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            if (modified.equals(lastModified)) {
+                return;
+            }
+            lastModified = modified;
+            ruleEngine.load(file.toString(), Files.readString(file));
+        } catch (NoSuchFileException e) {
+            // Keep the active rules; the file may be in the middle of being replaced
+        } catch (RuleSyntaxException e) {
+            log.error("Rule file {} not loaded, keeping version {}: {}",
+                file, ruleEngine.current().version(), e.getMessage());
+        } catch (IOException e) {
+            log.warn("Could not read rule file {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.ghostlogger.infrastructure.scheduling;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ghostlogger.core.domain.service.LogIngestionService;
+
+/**
+ * Trace Sampling Scheduler
+ * <p>
+ * Advances the trace sampler's timer wheel once per tick, releasing the traces
+ * whose decision window has passed.
+ */
+@Component
+public class TraceSamplingScheduler {
+
+    private final LogIngestionService logIngestionService;
+
+    public TraceSamplingScheduler(final LogIngestionService logIngestionService) {
+        this.logIngestionService = logIngestionService;
+    }
+
+    @Scheduled(fixedRateString = "#{@traceSamplingPolicy.tick().toMillis()}")
+    public void releaseDecidedTraces() {
+        logIngestionService.releaseDecidedTraces();
+    }
+}
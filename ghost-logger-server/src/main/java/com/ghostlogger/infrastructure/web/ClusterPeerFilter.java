@@ -0,0 +1,117 @@
+package com.ghostlogger.infrastructure.web;
+
+import com.ghostlogger.core.domain.cluster.ClusterMembership;
+import com.ghostlogger.core.domain.cluster.ClusterNode;
+import com.ghostlogger.core.domain.port.ClusterTransport;
+import com.ghostlogger.infrastructure.config.ClusterProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Cluster Peer Filter
+ * <p>
+ * A request carrying {@link ClusterTransport#FORWARDED_BY} skips the rate limiter and
+ * cluster routing, so the header is only honored when the request comes from a peer:
+ * - With {@code ghostlogger.cluster.secret} set, the request must carry the same
+ *   secret in {@link ClusterTransport#CLUSTER_SECRET}
+ * - Without a secret, the sender's address must be one the named peer's address
+ *   resolves to
+ * <p>
+ * Any other request is handled as an ordinary client request: both headers are
+ * hidden from the controllers.
+ */
+@Component
+public class ClusterPeerFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterPeerFilter.class);
+
+    private final ClusterMembership clusterMembership;
+    private final byte[] secret;
+
+    public ClusterPeerFilter(final ClusterMembership clusterMembership, final ClusterProperties properties) {
+        this.clusterMembership = clusterMembership;
+        this.secret = properties.secret().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doFilterInternal(
+        final HttpServletRequest request,
+        final HttpServletResponse response,
+        final FilterChain filterChain
+    ) throws ServletException, IOException {
+        String forwardedBy = request.getHeader(ClusterTransport.FORWARDED_BY);
+        if (forwardedBy == null || isPeer(request, forwardedBy)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        log.debug("Ignoring {} '{}' from unauthenticated sender {}",
+            ClusterTransport.FORWARDED_BY, forwardedBy, request.getRemoteAddr());
+        filterChain.doFilter(new ClientRequest(request), response);
+    }
+
+    private boolean isPeer(final HttpServletRequest request, final String forwardedBy) {
+        Optional<ClusterNode> peer = clusterMembership.current().peers().stream()
+            .filter(node -> node.id().equals(forwardedBy))
+            .findFirst();
+        if (peer.isEmpty()) {
+            return false;
+        }
+        if (secret.length > 0) {
+            String presented = request.getHeader(ClusterTransport.CLUSTER_SECRET);
+            return presented != null && MessageDigest.isEqual(secret, presented.getBytes(StandardCharsets.UTF_8));
+        }
+        return isAddressOf(request.getRemoteAddr(), peer.get());
+    }
+
+    private static boolean isAddressOf(final String remoteAddress, final ClusterNode peer) {
+        try {
+            InetAddress sender = InetAddress.getByName(remoteAddress);
+            for (InetAddress address : InetAddress.getAllByName(peer.address().getHost())) {
+                if (address.equals(sender) || address.isLoopbackAddress() && sender.isLoopbackAddress()) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (UnknownHostException e) {
+            log.debug("Cannot resolve address of node '{}': {}", peer.id(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static final class ClientRequest extends HttpServletRequestWrapper {
+
+        ClientRequest(final HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(final String name) {
+            return isClusterHeader(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(final String name) {
+            return isClusterHeader(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        private static boolean isClusterHeader(final String name) {
+            return ClusterTransport.FORWARDED_BY.equalsIgnoreCase(name)
+                || ClusterTransport.CLUSTER_SECRET.equalsIgnoreCase(name);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.ghostlogger.infrastructure.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.zip.GZIPInputStream;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Gzip Request Filter
+ * <p>
+ * Inflates request bodies sent with {@code Content-Encoding: gzip}, as the Logback
+ * appender does with {@code compression=gzip}. The body is inflated as it is read, never
+ * buffered whole, and reading fails past {@link #MAX_INFLATED_BYTES} so a small
+ * compressed payload cannot expand without bound.
+ */
+@Component
+public class GzipRequestFilter extends OncePerRequestFilter {
+
+    static final long MAX_INFLATED_BYTES = 32L << 20;
+
+    @Override
+    protected void doFilterInternal(
+        final HttpServletRequest request,
+        final HttpServletResponse response,
+        final FilterChain filterChain
+    ) throws ServletException, IOException {
+        String encoding = request.getHeader("Content-Encoding");
+        if (encoding == null || encoding.isBlank() || encoding.equalsIgnoreCase("identity")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!encoding.equalsIgnoreCase("gzip")) {
+            response.sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE, "Unsupported Content-Encoding: " + encoding);
+            return;
+        }
+        filterChain.doFilter(new InflatingRequest(request), response);
+    }
+
+    private static final class InflatingRequest extends HttpServletRequestWrapper {
+
+        private final HttpServletRequest request;
+        private ServletInputStream inputStream;
+
+        InflatingRequest(final HttpServletRequest request) {
+            super(request);
+            this.request = request;
+        }
+
+        @Override
+        public String getHeader(final String name) {
+            return isEncodingHeader(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(final String name) {
+            return isEncodingHeader(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new InflatingInputStream(new GZIPInputStream(request.getInputStream(), 8192));
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        private static boolean isEncodingHeader(final String name) {
+            return "Content-Encoding".equalsIgnoreCase(name);
+        }
+    }
+
+    private static final class InflatingInputStream extends ServletInputStream {
+
+        private final InputStream inflater;
+        private long inflated;
+        private boolean finished;
+
+        InflatingInputStream(final InputStream inflater) {
+            this.inflater = inflater;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = inflater.read();
+            count(b < 0 ? -1 : 1);
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+            int read = inflater.read(bytes, offset, length);
+            count(read);
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(final ReadListener readListener) {
+            throw new UnsupportedOperationException("Async reads are not supported for gzip request bodies");
+        }
+
+        @Override
+        public void close() throws IOException {
+            inflater.close();
+        }
+
+        private void count(final int read) throws IOException {
+            if (read < 0) {
+                finished = true;
+                return;
+            }
+            inflated += read;
+            if (inflated > MAX_INFLATED_BYTES) {
+                throw new IOException("Inflated request body exceeds " + MAX_INFLATED_BYTES + " bytes");
+            }
+        }
+    }
+}
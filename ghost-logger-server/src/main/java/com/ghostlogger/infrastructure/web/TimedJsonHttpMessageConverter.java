@@ -0,0 +1,57 @@
+package com.ghostlogger.infrastructure.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghostlogger.core.api.dto.request.LogBatchRequest;
+import com.ghostlogger.core.domain.port.PipelineMetrics;
+import com.ghostlogger.core.jfr.BatchDeserializationEvent;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * JSON Message Converter Timing Batch Deserialization
+ * <p>
+ * Spring's Jackson converter, recording the time spent reading a {@link LogBatchRequest}
+ * body as the {@code DESERIALIZE} stage and as a {@link BatchDeserializationEvent}.
+ * Malformed bodies are recorded as {@code REJECTED}; other request types are read untimed.
+ */
+public class TimedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final PipelineMetrics pipelineMetrics;
+
+    public TimedJsonHttpMessageConverter(final ObjectMapper objectMapper, final PipelineMetrics pipelineMetrics) {
+        super(objectMapper);
+        this.pipelineMetrics = pipelineMetrics;
+    }
+
+    @Override
+    public Object read(final Type type, final Class<?> contextClass, final HttpInputMessage inputMessage)
+        throws IOException, HttpMessageNotReadableException {
+        if (type != LogBatchRequest.class) {
+            return super.read(type, contextClass, inputMessage);
+        }
+        BatchDeserializationEvent event = new BatchDeserializationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        PipelineMetrics.Outcome outcome = PipelineMetrics.Outcome.FAILURE;
+        int entries = 0;
+        try {
+            Object body = super.read(type, contextClass, inputMessage);
+            if (body instanceof LogBatchRequest batch && batch.logs() != null) {
+                entries = batch.logs().size();
+            }
+            outcome = PipelineMetrics.Outcome.SUCCESS;
+            return body;
+        } catch (HttpMessageNotReadableException e) {
+            outcome = PipelineMetrics.Outcome.REJECTED;
+            throw e;
+        } finally {
+            pipelineMetrics.recordStage(PipelineMetrics.Stage.DESERIALIZE, PipelineMetrics.EntryType.BATCH,
+                outcome, System.nanoTime() - start);
+            event.complete(entries, inputMessage.getHeaders().getContentLength(), outcome == PipelineMetrics.Outcome.SUCCESS);
+        }
+    }
+}
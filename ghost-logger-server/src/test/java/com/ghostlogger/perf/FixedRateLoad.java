@@ -0,0 +1,160 @@
+package com.ghostlogger.perf;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load driver for the ingest endpoint
+ * <p>
+ * Batches are sent at a fixed rate on virtual threads, whether or not earlier
+ * requests have returned. Response time is measured from when a request was
+ * due, not from when it was sent, so a stalled server shows up in the
+ * percentiles instead of silently lowering the offered load (coordinated omission).
+ * <p>
+ * Every fourth batch carries ERROR entries, so its trace passes the tail sampler
+ * straight away and goes through alert and storage. The other batches are healthy
+ * traces of AUDIT and METRIC entries that the tail sampler buffers.
+ */
+final class FixedRateLoad {
+
+    private static final String STACK_TRACE = "java.lang.IllegalStateException: Payment declined\\n"
+        + "\\tat com.example.checkout.PaymentService.charge(PaymentService.java:88)\\n"
+        + "\\tat com.example.checkout.CheckoutController.submit(CheckoutController.java:41)";
+
+    private final HttpClient client;
+    private final URI ingestUri;
+    private final int rate;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private long sequence;
+
+    FixedRateLoad(final URI ingestUri, final int rate, final int batchSize, final int maxInFlight) {
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        this.ingestUri = ingestUri;
+        this.rate = rate;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Offer the fixed rate for {@code duration}, then wait for outstanding requests
+     */
+    Result run(final Duration duration) throws InterruptedException {
+        Recorder responseTimes = new Recorder(3);
+        LongAdder acceptedEntries = new LongAdder();
+        LongAdder errors = new LongAdder();
+        long skipped = 0;
+        long requests = duration.toNanos() * rate / TimeUnit.SECONDS.toNanos(1);
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < requests; i++) {
+                long due = start + i * periodNanos;
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (inFlight.get() >= maxInFlight) {
+                    skipped++;
+                    continue;
+                }
+                inFlight.incrementAndGet();
+                HttpRequest request = HttpRequest.newBuilder(ingestUri)
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(batch(sequence++), StandardCharsets.UTF_8))
+                    .build();
+                executor.execute(() -> {
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() == 202) {
+                            acceptedEntries.add(batchSize);
+                        } else {
+                            errors.increment();
+                        }
+                    } catch (Exception e) {
+                        errors.increment();
+                    } finally {
+                        responseTimes.recordValue(Math.max(0, System.nanoTime() - due));
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Result(requests, acceptedEntries.sum(), errors.sum() + skipped, responseTimes.getIntervalHistogram(), elapsed);
+    }
+
+    private String batch(final long sequence) {
+        boolean errorTrace = sequence % 4 == 0;
+        String traceContext = "{\"traceId\":\"perf-trace-" + sequence + "\",\"spanId\":\"span-" + (sequence % 16)
+            + "\",\"userId\":\"user-" + (sequence % 500) + "\"}";
+        String timestamp = Instant.now().toString();
+        StringBuilder json = new StringBuilder(batchSize * 300).append("{\"logs\":[");
+        for (int i = 0; i < batchSize; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            String source = "service-" + ((sequence + i) % 8);
+            if (errorTrace && i % 10 == 0) {
+                json.append("{\"type\":\"ERROR\",\"message\":\"Payment ").append(sequence)
+                    .append(" declined for order ").append(i).append("\",\"source\":\"").append(source)
+                    .append("\",\"timestamp\":\"").append(timestamp).append("\",\"traceContext\":").append(traceContext)
+                    .append(",\"severity\":\"ERROR\",\"exceptionType\":\"java.lang.IllegalStateException\",\"stackTrace\":\"")
+                    .append(STACK_TRACE).append("\"}");
+            } else if (i % 10 < 3) {
+                json.append("{\"type\":\"AUDIT\",\"message\":\"User updated order ").append(sequence * 31 + i)
+                    .append("\",\"source\":\"").append(source)
+                    .append("\",\"timestamp\":\"").append(timestamp).append("\",\"traceContext\":").append(traceContext)
+                    .append(",\"userId\":\"user-").append((sequence + i) % 500)
+                    .append("\",\"action\":\"UPDATE\",\"resourceType\":\"Order\",\"resourceId\":\"order-")
+                    .append(sequence * 31 + i).append("\"}");
+            } else {
+                json.append("{\"type\":\"METRIC\",\"message\":\"Request latency\",\"source\":\"").append(source)
+                    .append("\",\"timestamp\":\"").append(timestamp).append("\",\"traceContext\":").append(traceContext)
+                    .append(",\"metricName\":\"http.server.latency\",\"value\":").append(10 + (sequence * 7 + i) % 90)
+                    .append(",\"unit\":\"ms\",\"tags\":{\"region\":\"").append(i % 2 == 0 ? "eu-west-1" : "us-east-1")
+                    .append("\"}}");
+            }
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Outcome of one run; response times are in nanoseconds
+     */
+    record Result(long requests, long acceptedEntries, long errors, Histogram responseTimes, long elapsedNanos) {
+
+        double entriesPerSecond() {
+            return acceptedEntries * 1e9 / elapsedNanos;
+        }
+
+        double errorRatio() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+
+        Duration p99() {
+            return Duration.ofNanos(responseTimes.getValueAtPercentile(99.0));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.ghostlogger.perf;
+
+import com.ghostlogger.GhostLoggerApplication;
+import com.ghostlogger.core.domain.model.ErrorLog;
+import com.ghostlogger.core.domain.model.LogEntry;
+import com.ghostlogger.core.domain.port.AlertService;
+import com.ghostlogger.core.domain.port.StorageService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Performance Regression Suite - Ingest Throughput, Latency and Allocation Budgets
+ * <p>
+ * Boots {@link GhostLoggerApplication} in-process on a random port with stub
+ * {@link AlertService} / {@link StorageService} ports of fixed latency, drives
+ * {@code POST /api/v1/logs/ingest} at a fixed rate and fails when the measured
+ * window misses a budget of {@code perf-budget.properties}:
+ * <ul>
+ *   <li>sustained accepted entries per second</li>
+ *   <li>p99 response time, corrected for coordinated omission</li>
+ *   <li>bytes allocated per accepted entry (process-wide, load driver included)</li>
+ *   <li>ratio of failed or skipped requests</li>
+ * </ul>
+ * Run with {@code mvn -pl ghost-logger-server -am -Pperf verify}.
+ */
+@SpringBootTest(
+    classes = {GhostLoggerApplication.class, IngestPerformanceIT.StubPorts.class},
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.com.ghostlogger=INFO",
+        "spring.main.allow-bean-definition-overriding=true",
+        "resilience4j.ratelimiter.instances.logIngestion.limit-for-period=1000000",
+        "resilience4j.ratelimiter.instances.logIngestion.limit-refresh-period=1s",
+        "resilience4j.ratelimiter.instances.logIngestion.timeout-duration=0s"
+    }
+)
+class IngestPerformanceIT {
+
+    private static final PerfScenario SCENARIO = PerfScenario.load();
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void ingestMeetsThroughputLatencyAndAllocationBudgets() throws Exception {
+        FixedRateLoad load = new FixedRateLoad(
+            URI.create("http://localhost:" + port + "/api/v1/logs/ingest"),
+            SCENARIO.rate(), SCENARIO.batchSize(), SCENARIO.maxInFlight());
+
+        load.run(SCENARIO.warmup());
+
+        long allocatedBefore = THREADS.getTotalThreadAllocatedBytes();
+        FixedRateLoad.Result result = load.run(SCENARIO.duration());
+        long allocated = THREADS.getTotalThreadAllocatedBytes() - allocatedBefore;
+        boolean allocationMeasured = allocatedBefore >= 0;
+        long bytesPerEntry = result.acceptedEntries() == 0 ? Long.MAX_VALUE : allocated / result.acceptedEntries();
+
+        System.out.printf(
+            "[perf] offered %d entries/s for %ds: %.0f entries/s accepted, p50 %.1f ms, p99 %.1f ms, max %.1f ms, "
+                + "%d errors/skipped of %d requests, %s bytes/entry, %.1f MB/s allocated%n",
+            SCENARIO.rate() * SCENARIO.batchSize(), SCENARIO.duration().toSeconds(),
+            result.entriesPerSecond(),
+            result.responseTimes().getValueAtPercentile(50.0) / 1e6, result.p99().toNanos() / 1e6,
+            result.responseTimes().getMaxValue() / 1e6,
+            result.errors(), result.requests(),
+            allocationMeasured ? Long.toString(bytesPerEntry) : "n/a",
+            allocationMeasured ? allocated * 1e3 / result.elapsedNanos() : Double.NaN);
+
+        assertAll(
+            () -> assertTrue(result.entriesPerSecond() >= SCENARIO.minEntriesPerSecond(),
+                () -> "Throughput %.0f entries/s is below the budget of %.0f"
+                    .formatted(result.entriesPerSecond(), SCENARIO.minEntriesPerSecond())),
+            () -> assertTrue(result.p99().compareTo(SCENARIO.maxP99()) <= 0,
+                () -> "p99 %d ms exceeds the budget of %d ms"
+                    .formatted(result.p99().toMillis(), SCENARIO.maxP99().toMillis())),
+            () -> assertTrue(!allocationMeasured || bytesPerEntry <= SCENARIO.maxAllocatedBytesPerEntry(),
+                () -> "%d bytes allocated per entry exceeds the budget of %d"
+                    .formatted(bytesPerEntry, SCENARIO.maxAllocatedBytesPerEntry())),
+            () -> assertTrue(result.errorRatio() <= SCENARIO.maxErrorRatio(),
+                () -> "Error ratio %.4f exceeds the budget of %.4f"
+                    .formatted(result.errorRatio(), SCENARIO.maxErrorRatio()))
+        );
+    }
+
+    /**
+     * Alert and storage ports that only wait, in place of the simulated adapters
+     * with their random failures; the storage stub replaces the primary sink by bean name
+     */
+    @TestConfiguration
+    static class StubPorts {
+
+        @Bean
+        @Primary
+        AlertService stubAlertService() {
+            return new StubAlertService(SCENARIO.alertLatency());
+        }
+
+        @Bean("defaultStorageService")
+        StorageService stubStorageService() {
+            return new StubStorageService(SCENARIO.storageLatency());
+        }
+    }
+
+    private record StubAlertService(Duration latency) implements AlertService {
+        @Override
+        public void sendAlert(final ErrorLog errorLog) throws InterruptedException {
+            Thread.sleep(latency);
+        }
+    }
+
+    private record StubStorageService(Duration latency) implements StorageService {
+        @Override
+        public void store(final LogEntry logEntry) throws InterruptedException {
+            Thread.sleep(latency);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.ghostlogger.perf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Fixed load and budgets of the performance suite
+ * <p>
+ * Read from {@code perf-budget.properties}; any key can be overridden by a system property.
+ */
+record PerfScenario(
+    int rate,
+    int batchSize,
+    Duration warmup,
+    Duration duration,
+    int maxInFlight,
+    Duration alertLatency,
+    Duration storageLatency,
+    double minEntriesPerSecond,
+    Duration maxP99,
+    long maxAllocatedBytesPerEntry,
+    double maxErrorRatio
+) {
+
+    private static final String RESOURCE = "/perf-budget.properties";
+
+    static PerfScenario load() {
+        Properties properties = properties();
+
+        return new PerfScenario(
+            Integer.parseInt(properties.getProperty("perf.rate")),
+            Integer.parseInt(properties.getProperty("perf.batch-size")),
+            duration(properties.getProperty("perf.warmup")),
+            duration(properties.getProperty("perf.duration")),
+            Integer.parseInt(properties.getProperty("perf.max-in-flight")),
+            duration(properties.getProperty("perf.alert-latency")),
+            duration(properties.getProperty("perf.storage-latency")),
+            Double.parseDouble(properties.getProperty("perf.budget.min-entries-per-second")),
+            duration(properties.getProperty("perf.budget.max-p99")),
+            Long.parseLong(properties.getProperty("perf.budget.max-allocated-bytes-per-entry")),
+            Double.parseDouble(properties.getProperty("perf.budget.max-error-ratio"))
+        );
+    }
+
+    /**
+     * {@code perf-budget.properties}, overridden by the system properties
+     */
+    static Properties properties() {
+        Properties defaults = new Properties();
+        try (InputStream in = PerfScenario.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException(RESOURCE + " not found on the test classpath");
+            }
+            defaults.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Properties properties = new Properties(defaults);
+        properties.putAll(System.getProperties());
+        return properties;
+    }
+
+    /**
+     * {@code 250ms}, {@code 30s} or {@code 2m}
+     */
+    static Duration duration(final String value) {
+        String text = value.trim();
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        long amount = Long.parseLong(text.substring(0, text.length() - 1));
+        return switch (text.charAt(text.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Unsupported duration: " + value);
+        };
+    }
+}
@@ -0,0 +1,177 @@
+package com.ghostlogger.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Startup Benchmark - Fast-Start Profile Against the Default
+ * <p>
+ * Starts the server as a child JVM and measures what an autoscaled node is judged by:
+ * <ul>
+ *   <li>time to first accepted batch: from process launch until
+ *       {@code POST /api/v1/logs/ingest} first answers 202</li>
+ *   <li>first-request latency: response time of the first request the server answers</li>
+ * </ul>
+ * Both configurations run the jar of a {@code -Pfast-start} build. The default one has no
+ * flags (JPA, eager beans, no AOT, no CDS); the fast-start one adds the CDS archive,
+ * {@code -Dspring.aot.enabled=true} and the fast-start profile. The same jar layout is used
+ * for both, so the difference is the profile's alone. The configurations alternate, after
+ * one discarded launch each, and the medians of {@code perf.startup.runs} are compared to
+ * the budgets of {@code perf-budget.properties}.
+ * Run with {@code mvn -pl ghost-logger-server -am -Pfast-start,perf verify}.
+ */
+class StartupPerformanceIT {
+
+    private static final StartupScenario SCENARIO = StartupScenario.load();
+
+    private static final long POLL_INTERVAL_MILLIS = 5;
+
+    private static final String BATCH = """
+        {"logs":[{"type":"ERROR","message":"Startup probe failed","source":"startup-benchmark",\
+        "severity":"ERROR","exceptionType":"java.lang.IllegalStateException",\
+        "stackTrace":"at com.example.Probe.run(Probe.java:1)"}]}""";
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(1))
+        .build();
+
+    private enum Mode {
+        DEFAULT,
+        FAST_START
+    }
+
+    /**
+     * Durations of one launch
+     */
+    private record Startup(Duration timeToFirstBatch, Duration firstRequest) {
+    }
+
+    @Test
+    void fastStartMeetsStartupBudgets() throws Exception {
+        assumeTrue(Files.isRegularFile(SCENARIO.jar()) && Files.isRegularFile(SCENARIO.archive()),
+            "No fast-start jar and CDS archive; build with -Pfast-start to run the startup benchmark");
+
+        start(Mode.DEFAULT);
+        start(Mode.FAST_START);
+        Map<Mode, List<Startup>> startups = new EnumMap<>(Mode.class);
+        for (int run = 0; run < SCENARIO.runs(); run++) {
+            for (Mode mode : Mode.values()) {
+                startups.computeIfAbsent(mode, key -> new ArrayList<>()).add(start(mode));
+            }
+        }
+        Startup standard = median(startups.get(Mode.DEFAULT));
+        Startup fast = median(startups.get(Mode.FAST_START));
+
+        System.out.printf(
+            "[perf] startup, median of %d runs: default %d ms to first batch, first request %d ms; "
+                + "fast-start %d ms to first batch (%.0f%%), first request %d ms%n",
+            SCENARIO.runs(),
+            standard.timeToFirstBatch().toMillis(), standard.firstRequest().toMillis(),
+            fast.timeToFirstBatch().toMillis(),
+            100.0 * fast.timeToFirstBatch().toNanos() / standard.timeToFirstBatch().toNanos(),
+            fast.firstRequest().toMillis());
+
+        assertAll(
+            () -> assertTrue(
+                fast.timeToFirstBatch().toNanos() <= SCENARIO.maxTimeToFirstBatchRatio() * standard.timeToFirstBatch().toNanos(),
+                () -> "Fast-start time to first batch %d ms is over %.0f%% of the default's %d ms"
+                    .formatted(fast.timeToFirstBatch().toMillis(), SCENARIO.maxTimeToFirstBatchRatio() * 100,
+                        standard.timeToFirstBatch().toMillis())),
+            () -> assertTrue(fast.firstRequest().compareTo(SCENARIO.maxFirstRequest()) <= 0,
+                () -> "Fast-start first request %d ms exceeds the budget of %d ms"
+                    .formatted(fast.firstRequest().toMillis(), SCENARIO.maxFirstRequest().toMillis()))
+        );
+    }
+
+    /**
+     * Launch the server, send batches until one is accepted, and stop it
+     */
+    private Startup start(final Mode mode) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("--enable-preview");
+        if (mode == Mode.FAST_START) {
+            command.add("-XX:SharedArchiveFile=" + SCENARIO.archive());
+            command.add("-Dspring.aot.enabled=true");
+        }
+        command.add("-jar");
+        command.add(SCENARIO.jar().toString());
+        command.add("--server.port=" + port);
+        if (mode == Mode.FAST_START) {
+            command.add("--spring.profiles.active=fast-start");
+        }
+        Path log = SCENARIO.jar().resolveSibling("startup-" + mode.name().toLowerCase() + ".log");
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/logs/ingest"))
+            .timeout(SCENARIO.timeout())
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(BATCH, StandardCharsets.UTF_8))
+            .build();
+
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.appendTo(log.toFile()))
+            .start();
+        try {
+            long deadline = launched + SCENARIO.timeout().toNanos();
+            long firstRequest = -1;
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(
+                        mode + " server exited with " + process.exitValue() + ", see " + log);
+                }
+                long sent = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    long answered = System.nanoTime();
+                    if (firstRequest < 0) {
+                        firstRequest = answered - sent;
+                    }
+                    if (response.statusCode() == 202) {
+                        return new Startup(Duration.ofNanos(answered - launched), Duration.ofNanos(firstRequest));
+                    }
+                } catch (ConnectException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+            throw new IllegalStateException(mode + " server did not accept a batch within " + SCENARIO.timeout()
+                + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static Startup median(final List<Startup> startups) {
+        List<Duration> toFirstBatch = startups.stream().map(Startup::timeToFirstBatch).sorted().toList();
+        List<Duration> firstRequest = startups.stream().map(Startup::firstRequest).sorted().toList();
+        return new Startup(toFirstBatch.get(toFirstBatch.size() / 2), firstRequest.get(firstRequest.size() / 2));
+    }
+}
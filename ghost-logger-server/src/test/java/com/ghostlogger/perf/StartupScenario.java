@@ -0,0 +1,34 @@
+package com.ghostlogger.perf;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Runs and budgets of the startup benchmark
+ * <p>
+ * Read from {@code perf-budget.properties} like {@link PerfScenario}; the jar and the CDS
+ * archive are set by the perf profile and only exist after a {@code -Pfast-start} build.
+ */
+record StartupScenario(
+    Path jar,
+    Path archive,
+    int runs,
+    Duration timeout,
+    double maxTimeToFirstBatchRatio,
+    Duration maxFirstRequest
+) {
+
+    static StartupScenario load() {
+        Properties properties = PerfScenario.properties();
+
+        return new StartupScenario(
+            Path.of(properties.getProperty("perf.startup.jar", "")),
+            Path.of(properties.getProperty("perf.startup.archive", "")),
+            Integer.parseInt(properties.getProperty("perf.startup.runs")),
+            PerfScenario.duration(properties.getProperty("perf.startup.timeout")),
+            Double.parseDouble(properties.getProperty("perf.budget.startup.max-time-to-first-batch-ratio")),
+            PerfScenario.duration(properties.getProperty("perf.budget.startup.max-first-request"))
+        );
+    }
+}